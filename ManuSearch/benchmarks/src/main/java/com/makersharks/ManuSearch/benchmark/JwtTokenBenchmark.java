@@ -0,0 +1,122 @@
+package com.makersharks.ManuSearch.benchmark;
+
+import com.makersharks.ManuSearch.security.JwtAuthenticationCache;
+import com.makersharks.ManuSearch.security.JwtTokenGeneratorFilter;
+import com.makersharks.ManuSearch.security.JwtTokenValidatorFilter;
+import com.makersharks.ManuSearch.security.SecurityConstants;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks JWT parsing and verification in {@link JwtTokenValidatorFilter}, with a warm and a disabled
+ * {@link JwtAuthenticationCache}, and token generation in {@link JwtTokenGeneratorFilter}.
+ * Each invocation runs the filter on fresh mock requests, whose allocation is included in the results.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenBenchmark {
+
+    private static final String LOGIN_PATH = "/api/auth/login";
+
+    private static final String QUERY_PATH = "/api/supplier/query";
+
+    private final JwtTokenValidatorFilter cachedValidator =
+            new JwtTokenValidatorFilter(new JwtAuthenticationCache(10000, Duration.ofMinutes(10)));
+
+    // A zero time-to-live expires every entry on creation, so each request verifies the signature
+    private final JwtTokenValidatorFilter uncachedValidator =
+            new JwtTokenValidatorFilter(new JwtAuthenticationCache(10000, Duration.ZERO));
+
+    private final JwtTokenGeneratorFilter generator = new JwtTokenGeneratorFilter();
+
+    private String token;
+
+    /**
+     * Authenticates the benchmark thread and issues the token used by the validation benchmarks.
+     *
+     * @throws ServletException if the generator filter fails
+     * @throws IOException      if the generator filter fails
+     */
+    @Setup
+    public void setUp() throws ServletException, IOException {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "user@example.com", null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+        token = generateToken();
+    }
+
+    /**
+     * Validates a token that is already in the authentication cache.
+     *
+     * @return the authentication set by the filter, consumed by JMH
+     * @throws ServletException if the filter fails
+     * @throws IOException      if the filter fails
+     */
+    @Benchmark
+    public Authentication validateCached() throws ServletException, IOException {
+        return validate(cachedValidator);
+    }
+
+    /**
+     * Validates a token by parsing it and verifying its signature.
+     *
+     * @return the authentication set by the filter, consumed by JMH
+     * @throws ServletException if the filter fails
+     * @throws IOException      if the filter fails
+     */
+    @Benchmark
+    public Authentication validateUncached() throws ServletException, IOException {
+        return validate(uncachedValidator);
+    }
+
+    /**
+     * Builds and signs a token for the authenticated user.
+     *
+     * @return the generated token, consumed by JMH
+     * @throws ServletException if the filter fails
+     * @throws IOException      if the filter fails
+     */
+    @Benchmark
+    public String generate() throws ServletException, IOException {
+        return generateToken();
+    }
+
+    private Authentication validate(JwtTokenValidatorFilter validator) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", QUERY_PATH);
+        request.setServletPath(QUERY_PATH);
+        request.addHeader(SecurityConstants.JWT_HEADER, "Bearer " + token);
+        validator.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private String generateToken() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", LOGIN_PATH);
+        request.setServletPath(LOGIN_PATH);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        generator.doFilter(request, response, new MockFilterChain());
+        return response.getHeader(SecurityConstants.JWT_HEADER);
+    }
+}
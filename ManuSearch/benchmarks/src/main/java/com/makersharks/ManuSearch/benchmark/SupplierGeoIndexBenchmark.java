@@ -0,0 +1,96 @@
+package com.makersharks.ManuSearch.benchmark;
+
+import com.makersharks.ManuSearch.enums.ManufacturingProcess;
+import com.makersharks.ManuSearch.enums.NatureOfBusiness;
+import com.makersharks.ManuSearch.geo.GeoArea;
+import com.makersharks.ManuSearch.index.SupplierGeoIndex;
+import com.makersharks.ManuSearch.index.SupplierIdPage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks radius queries on the {@link SupplierGeoIndex} around Pune.
+ * Suppliers are spread over eight Indian cities, either at the city coordinates as geocoded from the bundled table
+ * ({@code CITY}), or each at its own coordinates within about 50 km of the city ({@code EXACT}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SupplierGeoIndexBenchmark {
+
+    private static final double[][] CITIES = {
+            {18.5204, 73.8567}, {19.0760, 72.8777}, {12.9716, 77.5946}, {13.0827, 80.2707},
+            {28.6139, 77.2090}, {17.3850, 78.4867}, {23.0225, 72.5714}, {22.5726, 88.3639}};
+
+    private static final NatureOfBusiness[] NATURES = NatureOfBusiness.values();
+
+    private static final ManufacturingProcess[] PROCESSES = ManufacturingProcess.values();
+
+    @Param({"1000000"})
+    private int supplierCount;
+
+    @Param({"CITY", "EXACT"})
+    private String coordinates;
+
+    @Param({"10", "200"})
+    private double radiusKm;
+
+    private SupplierGeoIndex index;
+
+    private GeoArea area;
+
+    /**
+     * Builds the index with deterministic suppliers.
+     */
+    @Setup
+    public void setUp() {
+        Random random = new Random(SyntheticSuppliers.SEED);
+        index = new SupplierGeoIndex(0.1);
+        boolean exact = "EXACT".equals(coordinates);
+        for (int i = 1; i <= supplierCount; i++) {
+            double[] city = CITIES[random.nextInt(CITIES.length)];
+            double latitude = exact ? city[0] + random.nextGaussian() * 0.25 : city[0];
+            double longitude = exact ? city[1] + random.nextGaussian() * 0.25 : city[1];
+            index.add((long) i, latitude, longitude, NATURES[random.nextInt(NATURES.length)],
+                    List.of(PROCESSES[random.nextInt(PROCESSES.length)]));
+        }
+        index.markReady();
+        area = GeoArea.circle(CITIES[0][0], CITIES[0][1], radiusKm);
+    }
+
+    /**
+     * Finds the first page of suppliers near Pune, without filters.
+     *
+     * @return the page, consumed by JMH
+     */
+    @Benchmark
+    public SupplierIdPage near() {
+        return index.near(area, null, null, 0, 10);
+    }
+
+    /**
+     * Finds the first page of small-scale casting suppliers near Pune.
+     *
+     * @return the page, consumed by JMH
+     */
+    @Benchmark
+    public SupplierIdPage nearFiltered() {
+        return index.near(area, NatureOfBusiness.SMALL_SCALE, ManufacturingProcess.CASTING, 0, 10);
+    }
+}
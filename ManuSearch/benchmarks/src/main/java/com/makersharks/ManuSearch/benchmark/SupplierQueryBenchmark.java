@@ -0,0 +1,99 @@
+package com.makersharks.ManuSearch.benchmark;
+
+import com.makersharks.ManuSearch.ManuSearchApplication;
+import com.makersharks.ManuSearch.entity.Supplier;
+import com.makersharks.ManuSearch.enums.IngestionFormat;
+import com.makersharks.ManuSearch.service.SupplierIngestionService;
+import com.makersharks.ManuSearch.service.SupplierService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@code SupplierServiceImpl.querySuppliers} end to end against an embedded H2 database
+ * seeded with synthetic suppliers, with and without the bitmap index and the query cache.
+ * The packed process bitmask strategy is not covered: H2 cannot bind the parameters of its bitwise filter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SupplierQueryBenchmark {
+
+    @Param({"10000"})
+    private int suppliers;
+
+    @Param({"false", "true"})
+    private boolean index;
+
+    @Param({"false", "true"})
+    private boolean queryCache;
+
+    private ConfigurableApplicationContext context;
+
+    private SupplierService supplierService;
+
+    private List<Supplier> queries;
+
+    private int next;
+
+    /**
+     * Starts the application on an in-memory database and ingests the synthetic suppliers.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Passed as command line arguments, so they override application.properties
+        context = new SpringApplicationBuilder(ManuSearchApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.show-sql=false",
+                "--manusearch.index.enabled=" + index,
+                "--manusearch.query-cache.enabled=" + queryCache);
+        List<Supplier> generated = SyntheticSuppliers.generate(suppliers, SyntheticSuppliers.SEED);
+        context.getBean(SupplierIngestionService.class).ingest(SyntheticSuppliers.toCsv(generated), IngestionFormat.CSV);
+        supplierService = context.getBean(SupplierService.class);
+        // Query the filters of the first suppliers, so every query has at least one match
+        queries = generated.subList(0, Math.min(64, generated.size()));
+    }
+
+    /**
+     * Stops the application. The in-memory database, created by the migrations, ends with the forked JVM.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Queries the first page of a rotating set of filters.
+     *
+     * @return the page, consumed by JMH
+     */
+    @Benchmark
+    public Page<Supplier> querySuppliers() {
+        Supplier filter = queries.get(Math.floorMod(next++, queries.size()));
+        return supplierService.querySuppliers(filter.getLocation(), filter.getNatureOfBusiness(),
+                filter.getManufacturingProcesses().get(0), 0, 10);
+    }
+}
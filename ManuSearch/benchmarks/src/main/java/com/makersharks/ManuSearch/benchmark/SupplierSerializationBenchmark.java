@@ -0,0 +1,84 @@
+package com.makersharks.ManuSearch.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.makersharks.ManuSearch.dto.SupplierSummaryPage;
+import com.makersharks.ManuSearch.entity.Supplier;
+import com.makersharks.ManuSearch.projection.SupplierSummary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks Jackson serialization of a {@code Page<Supplier>} as returned by the query endpoint,
+ * against the compact {@link SupplierSummaryPage} of the same suppliers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SupplierSerializationBenchmark {
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    // Configured like the ObjectMapper auto-configured by Spring Boot
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private Page<Supplier> supplierPage;
+
+    private SupplierSummaryPage summaryPage;
+
+    /**
+     * Builds one page of synthetic suppliers in both representations.
+     */
+    @Setup
+    public void setUp() {
+        List<Supplier> suppliers = SyntheticSuppliers.generate(pageSize, SyntheticSuppliers.SEED);
+        supplierPage = new PageImpl<>(suppliers, PageRequest.of(0, pageSize), 10000);
+        List<SupplierSummary> summaries = suppliers.stream()
+                .map(supplier -> new SupplierSummary(supplier.getSupplierId(), supplier.getCompanyName(),
+                        supplier.getWebsite(), supplier.getLocation(), supplier.getNatureOfBusiness()))
+                .toList();
+        summaryPage = new SupplierSummaryPage(summaries, 0, pageSize, 10000, 10000 / pageSize);
+    }
+
+    /**
+     * Serializes the page of supplier entities with the full page metadata.
+     *
+     * @return the JSON document, consumed by JMH
+     * @throws JsonProcessingException if serialization fails
+     */
+    @Benchmark
+    public byte[] serializeSupplierPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(supplierPage);
+    }
+
+    /**
+     * Serializes the compact page of supplier summaries.
+     *
+     * @return the JSON document, consumed by JMH
+     * @throws JsonProcessingException if serialization fails
+     */
+    @Benchmark
+    public byte[] serializeSummaryPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(summaryPage);
+    }
+}
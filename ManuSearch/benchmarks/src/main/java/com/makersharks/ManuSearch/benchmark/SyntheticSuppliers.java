@@ -0,0 +1,82 @@
+package com.makersharks.ManuSearch.benchmark;
+
+import com.makersharks.ManuSearch.entity.Supplier;
+import com.makersharks.ManuSearch.enums.ManufacturingProcess;
+import com.makersharks.ManuSearch.enums.NatureOfBusiness;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * Deterministic generator of synthetic suppliers for the benchmarks.
+ * The same seed always produces the same suppliers, so results are comparable across runs and commits.
+ */
+public final class SyntheticSuppliers {
+
+    /**
+     * The seed used by every benchmark.
+     */
+    public static final long SEED = 42L;
+
+    private static final String[] LOCATIONS = {
+            "Pune", "Mumbai", "Bengaluru", "Chennai", "Delhi", "Hyderabad", "Ahmedabad", "Kolkata"};
+
+    private static final NatureOfBusiness[] NATURES = NatureOfBusiness.values();
+
+    private static final ManufacturingProcess[] PROCESSES = ManufacturingProcess.values();
+
+    private SyntheticSuppliers() {
+    }
+
+    /**
+     * Generates suppliers with identifiers starting at 1.
+     *
+     * @param count the number of suppliers to generate
+     * @param seed  the random seed
+     * @return the generated suppliers
+     */
+    public static List<Supplier> generate(int count, long seed) {
+        Random random = new Random(seed);
+        List<Supplier> suppliers = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Supplier supplier = new Supplier();
+            supplier.setSupplierId((long) i);
+            supplier.setCompanyName("Supplier " + i);
+            supplier.setWebsite("https://supplier-" + i + ".example.com");
+            supplier.setLocation(LOCATIONS[random.nextInt(LOCATIONS.length)]);
+            supplier.setNatureOfBusiness(NATURES[random.nextInt(NATURES.length)]);
+            EnumSet<ManufacturingProcess> processes = EnumSet.of(PROCESSES[random.nextInt(PROCESSES.length)]);
+            if (random.nextBoolean()) {
+                processes.add(PROCESSES[random.nextInt(PROCESSES.length)]);
+            }
+            supplier.setManufacturingProcesses(new ArrayList<>(processes));
+            suppliers.add(supplier);
+        }
+        return suppliers;
+    }
+
+    /**
+     * Renders suppliers in the CSV format accepted by the bulk ingestion endpoint.
+     *
+     * @param suppliers the suppliers to render
+     * @return the CSV document, including the header row
+     */
+    public static InputStream toCsv(List<Supplier> suppliers) {
+        StringBuilder csv = new StringBuilder("companyName,website,location,natureOfBusiness,manufacturingProcesses\n");
+        for (Supplier supplier : suppliers) {
+            csv.append(supplier.getCompanyName()).append(',')
+                    .append(supplier.getWebsite()).append(',')
+                    .append(supplier.getLocation()).append(',')
+                    .append(supplier.getNatureOfBusiness()).append(',')
+                    .append(supplier.getManufacturingProcesses().stream().map(Enum::name).collect(Collectors.joining("|")))
+                    .append('\n');
+        }
+        return new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
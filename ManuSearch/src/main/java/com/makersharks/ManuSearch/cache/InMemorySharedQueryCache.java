@@ -0,0 +1,67 @@
+package com.makersharks.ManuSearch.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.makersharks.ManuSearch.index.SupplierIdPage;
+
+import java.time.Duration;
+
+/**
+ * In-process stand-in for the shared query cache tier.
+ * Bounded like the local tier: pages are weighted by their number of identifiers and expire after a fixed time,
+ * so clients requesting many distinct pages cannot grow it without limit.
+ */
+public class InMemorySharedQueryCache implements SharedQueryCache {
+
+    private final Cache<VersionedKey, SupplierIdPage> pages;
+
+    /**
+     * Creates the cache.
+     *
+     * @param maximumWeight    the maximum number of supplier identifiers held across all pages
+     * @param expireAfterWrite the maximum age of a page
+     */
+    public InMemorySharedQueryCache(long maximumWeight, Duration expireAfterWrite) {
+        this.pages = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher((VersionedKey key, SupplierIdPage page) -> page.ids().size() + 1)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+    }
+
+    @Override
+    public SupplierIdPage get(SupplierQueryKey key, long version) {
+        return pages.getIfPresent(new VersionedKey(key, version));
+    }
+
+    @Override
+    public void put(SupplierQueryKey key, long version, SupplierIdPage page) {
+        pages.put(new VersionedKey(key, version), page);
+    }
+
+    /**
+     * Does nothing: pages of earlier versions are unreachable and age out of the bounded cache,
+     * which is cheaper than scanning it for the pages of the filter on every write.
+     *
+     * @param filter the filter whose pages are removed
+     */
+    @Override
+    public void evict(SupplierFilterKey filter) {
+    }
+
+    /**
+     * Returns the approximate number of pages in the cache, after performing any pending evictions.
+     *
+     * @return the estimated cache size
+     */
+    public long estimatedSize() {
+        pages.cleanUp();
+        return pages.estimatedSize();
+    }
+
+    /**
+     * A query key tagged with the version of its filter at load time.
+     */
+    private record VersionedKey(SupplierQueryKey key, long version) {
+    }
+}
@@ -0,0 +1,40 @@
+package com.makersharks.ManuSearch.cache;
+
+import com.makersharks.ManuSearch.index.SupplierIdPage;
+
+/**
+ * Second, shared tier of the supplier query result cache.
+ * Implementations may be backed by a distributed store shared between application instances;
+ * {@link InMemorySharedQueryCache} is the in-process stand-in used when no other implementation is defined.
+ * Pages are stored under the {@link SupplierFilterVersions} version of their filter at load time and only read back
+ * under the same version, so a page loaded before a supplier write is never returned after it, even if it is
+ * stored after the write evicted its filter.
+ */
+public interface SharedQueryCache {
+
+    /**
+     * Returns a cached page of supplier identifiers.
+     *
+     * @param key     the query key
+     * @param version the current version of the query's filter
+     * @return the page cached under that version, or {@code null} if absent
+     */
+    SupplierIdPage get(SupplierQueryKey key, long version);
+
+    /**
+     * Stores a page of supplier identifiers.
+     *
+     * @param key     the query key
+     * @param version the version of the query's filter when the page was loaded
+     * @param page    the page of supplier identifiers
+     */
+    void put(SupplierQueryKey key, long version, SupplierIdPage page);
+
+    /**
+     * Removes every cached page of a filter. Called after a supplier matching the filter is written; the pages
+     * of earlier versions are never read again, so stores may also leave them to expire.
+     *
+     * @param filter the filter whose pages are removed
+     */
+    void evict(SupplierFilterKey filter);
+}
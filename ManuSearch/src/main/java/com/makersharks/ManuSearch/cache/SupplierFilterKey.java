@@ -0,0 +1,40 @@
+package com.makersharks.ManuSearch.cache;
+
+import com.makersharks.ManuSearch.enums.ManufacturingProcess;
+import com.makersharks.ManuSearch.enums.NatureOfBusiness;
+import com.makersharks.ManuSearch.util.LocationNormalizer;
+
+/**
+ * Identifies one combination of supplier search filters.
+ * Cached results and version stamps are tracked per filter key, so a supplier write only
+ * invalidates the filters that the supplier matched before or after the write.
+ */
+public record SupplierFilterKey(
+        /*
+         * The normalized location of the filter.
+         */
+        String location,
+
+        /*
+         * The nature of business of the filter.
+         */
+        NatureOfBusiness natureOfBusiness,
+
+        /*
+         * The manufacturing process of the filter.
+         */
+        ManufacturingProcess manufacturingProcess) {
+
+    /**
+     * Creates a filter key, normalizing the location.
+     *
+     * @param location             the location of the supplier
+     * @param natureOfBusiness     the nature of business of the supplier
+     * @param manufacturingProcess the manufacturing process used by the supplier
+     * @return the filter key
+     */
+    public static SupplierFilterKey of(String location, NatureOfBusiness natureOfBusiness,
+                                       ManufacturingProcess manufacturingProcess) {
+        return new SupplierFilterKey(LocationNormalizer.normalize(location), natureOfBusiness, manufacturingProcess);
+    }
+}
@@ -0,0 +1,76 @@
+package com.makersharks.ManuSearch.cache;
+
+import com.makersharks.ManuSearch.event.SupplierChangedEvent;
+import com.makersharks.ManuSearch.event.SupplierSnapshot;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps a version stamp per {@link SupplierFilterKey} that is bumped whenever a supplier matching
+ * the filter is written. Anything derived from a filter's results can be tagged with the version it was
+ * computed at and is stale as soon as the version moves on, which makes invalidation O(1) per filter.
+ * Versions live in memory and restart from 0 with the application, so stamps handed out to clients are
+ * prefixed with a random epoch drawn at startup.
+ */
+@Component
+public class SupplierFilterVersions {
+
+    private final ConcurrentMap<SupplierFilterKey, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    private final String epoch = Long.toHexString(ThreadLocalRandom.current().nextLong());
+
+    /**
+     * Returns the current version of a filter.
+     *
+     * @param filter the filter key
+     * @return the current version, 0 if the filter has never been invalidated
+     */
+    public long version(SupplierFilterKey filter) {
+        AtomicLong version = versions.get(filter);
+        return version == null ? 0 : version.get();
+    }
+
+    /**
+     * Returns the current version of a filter as an opaque stamp that is never reused, even across restarts
+     * or between application instances.
+     *
+     * @param filter the filter key
+     * @return the epoch of this application instance followed by the current version of the filter
+     */
+    public String stamp(SupplierFilterKey filter) {
+        return epoch + "-" + version(filter);
+    }
+
+    /**
+     * Bumps the version of a filter, invalidating everything derived from its previous version.
+     *
+     * @param filter the filter key
+     */
+    public void bump(SupplierFilterKey filter) {
+        versions.computeIfAbsent(filter, key -> new AtomicLong()).incrementAndGet();
+    }
+
+    /**
+     * Bumps the versions of every filter matched by the suppliers before or after a write.
+     * Runs after the writing transaction commits, so readers never cache uncommitted state under a new version.
+     *
+     * @param event the supplier change event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSupplierChanged(SupplierChangedEvent event) {
+        bumpAll(event.removed());
+        bumpAll(event.added());
+    }
+
+    private void bumpAll(List<SupplierSnapshot> snapshots) {
+        for (SupplierSnapshot snapshot : snapshots) {
+            snapshot.filterKeys().forEach(this::bump);
+        }
+    }
+}
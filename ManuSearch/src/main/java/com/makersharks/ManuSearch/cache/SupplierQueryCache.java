@@ -0,0 +1,147 @@
+package com.makersharks.ManuSearch.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.makersharks.ManuSearch.event.SupplierChangedEvent;
+import com.makersharks.ManuSearch.event.SupplierSnapshot;
+import com.makersharks.ManuSearch.index.SupplierIdPage;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Two-tier cache of supplier query results, stored as pages of supplier identifiers.
+ * Tier one is a local, size-bounded Caffeine (W-TinyLFU) cache weighted by the number of identifiers;
+ * tier two is a pluggable {@link SharedQueryCache}. Entries of both tiers are tagged with the
+ * {@link SupplierFilterVersions} version they were loaded at, so a supplier write makes them unreachable
+ * in O(1); the matching shared entries are also evicted, to free the space of stores that support it.
+ * Hit and miss counts of the local tier are published as the "supplier-query" cache metrics.
+ */
+@Component
+@ConditionalOnProperty(name = "manusearch.query-cache.enabled", havingValue = "true")
+public class SupplierQueryCache implements MeterBinder {
+
+    private final Cache<VersionedKey, SupplierIdPage> localCache;
+
+    private final SharedQueryCache sharedCache;
+
+    private final SupplierFilterVersions filterVersions;
+
+    /**
+     * Creates the cache.
+     *
+     * @param filterVersions   the per-filter version stamps
+     * @param sharedCache      the shared second tier
+     * @param maximumWeight    the maximum number of supplier identifiers held by the local tier
+     * @param expireAfterWrite the maximum age of a local entry
+     */
+    public SupplierQueryCache(SupplierFilterVersions filterVersions, SharedQueryCache sharedCache,
+                              @Value("${manusearch.query-cache.local.maximum-weight:100000}") long maximumWeight,
+                              @Value("${manusearch.query-cache.local.expire-after-write:PT10M}") Duration expireAfterWrite) {
+        this.filterVersions = filterVersions;
+        this.sharedCache = sharedCache;
+        this.localCache = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher((VersionedKey key, SupplierIdPage page) -> page.ids().size() + 1)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Publishes the size, hit, miss and eviction metrics of the local tier.
+     *
+     * @param registry the registry to publish the metrics to
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, localCache, "supplier-query");
+    }
+
+    /**
+     * Returns the current version of the filter of a query. Must be read before loading the query
+     * from the database and passed back to {@link #put}.
+     *
+     * @param key the query key
+     * @return the current version of the query's filter
+     */
+    public long version(SupplierQueryKey key) {
+        return filterVersions.version(key.filter());
+    }
+
+    /**
+     * Looks a query up in the local tier, then in the shared tier, promoting shared hits to the local tier.
+     *
+     * @param key the query key
+     * @return the cached page of supplier identifiers, or {@code null} on a miss
+     */
+    public SupplierIdPage get(SupplierQueryKey key) {
+        long version = version(key);
+        VersionedKey localKey = new VersionedKey(key, version);
+        SupplierIdPage page = localCache.getIfPresent(localKey);
+        if (page == null) {
+            page = sharedCache.get(key, version);
+            if (page != null) {
+                localCache.put(localKey, page);
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Stores the result of a query in both tiers, unless a supplier write changed its filter while it was loading.
+     *
+     * @param key     the query key
+     * @param version the version returned by {@link #version} before the query was loaded
+     * @param page    the page of supplier identifiers
+     */
+    public void put(SupplierQueryKey key, long version, SupplierIdPage page) {
+        if (version(key) != version) {
+            return; // The result may predate a committed write, so it must not be cached
+        }
+        localCache.put(new VersionedKey(key, version), page);
+        sharedCache.put(key, version, page);
+    }
+
+    /**
+     * Evicts the shared entries of every filter matched by the suppliers before or after a write.
+     * Correctness does not depend on it: a page loaded before the write is stored under an older version,
+     * which is never read again once {@link SupplierFilterVersions} has bumped it.
+     *
+     * @param event the supplier change event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSupplierChanged(SupplierChangedEvent event) {
+        evictAll(event.removed());
+        evictAll(event.added());
+    }
+
+    /**
+     * Returns the hit and miss counters of the local tier.
+     *
+     * @return the current {@link CacheStats} of the local tier
+     */
+    public CacheStats localStats() {
+        return localCache.stats();
+    }
+
+    private void evictAll(List<SupplierSnapshot> snapshots) {
+        for (SupplierSnapshot snapshot : snapshots) {
+            snapshot.filterKeys().forEach(sharedCache::evict);
+        }
+    }
+
+    /**
+     * A query key tagged with the version of its filter at load time.
+     */
+    private record VersionedKey(SupplierQueryKey key, long version) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.makersharks.ManuSearch.cache;
+
+/**
+ * Identifies one page of a supplier query in the result cache.
+ */
+public record SupplierQueryKey(
+        /*
+         * The filters of the query.
+         */
+        SupplierFilterKey filter,
+
+        /*
+         * The zero-based page number.
+         */
+        int page,
+
+        /*
+         * The page size.
+         */
+        int size) {
+}
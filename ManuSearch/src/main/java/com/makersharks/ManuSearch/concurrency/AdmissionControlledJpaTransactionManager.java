@@ -0,0 +1,54 @@
+package com.makersharks.ManuSearch.concurrency;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+/**
+ * {@link JpaTransactionManager} that takes a permit from the {@link ConnectionAdmissionController}
+ * before each new transaction obtains its connection, and returns it once the transaction completes.
+ * Every repository call runs in a transaction (its own or the caller's), so this admits repository work
+ * exactly where a pooled connection is acquired; calls joining an existing transaction need no extra permit.
+ * JDBC work that runs inside such a transaction, like the export cursor and the facet aggregation, is admitted with it.
+ * <p>
+ * JDBC work outside any transaction takes its connection without a permit: the periodic flush of the filter hit log
+ * and the startup migration of the process bitmask. Each is a single background task holding at most one connection,
+ * so when they are enabled {@code manusearch.admission.max-concurrent} should be one lower than the pool size.
+ */
+public class AdmissionControlledJpaTransactionManager extends JpaTransactionManager {
+
+    private final ConnectionAdmissionController admissionController;
+
+    /**
+     * Creates the transaction manager.
+     *
+     * @param entityManagerFactory the entity manager factory to manage transactions for
+     * @param admissionController  the admission controller to take permits from
+     */
+    public AdmissionControlledJpaTransactionManager(EntityManagerFactory entityManagerFactory,
+                                                    ConnectionAdmissionController admissionController) {
+        super(entityManagerFactory);
+        this.admissionController = admissionController;
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        admissionController.acquire();
+        try {
+            super.doBegin(transaction, definition);
+        } catch (RuntimeException | Error e) {
+            // No cleanup callback follows a failed begin, so the permit is returned here
+            admissionController.release();
+            throw e;
+        }
+    }
+
+    @Override
+    protected void doCleanupAfterCompletion(Object transaction) {
+        try {
+            super.doCleanupAfterCompletion(transaction);
+        } finally {
+            admissionController.release();
+        }
+    }
+}
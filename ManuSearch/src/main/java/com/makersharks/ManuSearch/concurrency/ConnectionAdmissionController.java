@@ -0,0 +1,103 @@
+package com.makersharks.ManuSearch.concurrency;
+
+import com.makersharks.ManuSearch.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission controller limiting the number of concurrent database transactions to the size of the connection pool.
+ * Callers beyond the limit wait on a fair semaphore, which costs a parked (virtual) thread rather than a
+ * blocked pool request. When too many callers are already waiting, or a permit does not become available in time,
+ * the caller is shed with a {@link ServiceOverloadedException}, answered with 503.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "manusearch.admission.enabled", havingValue = "true")
+public class ConnectionAdmissionController {
+
+    private final Semaphore permits;
+
+    private final int maxQueue;
+
+    private final Duration maxWait;
+
+    private Counter rejected;
+
+    /**
+     * Creates the admission controller.
+     *
+     * @param maxConcurrent the maximum number of concurrent transactions, by default the connection pool size
+     * @param maxQueue      the maximum number of callers waiting for a permit before new callers are shed
+     * @param maxWait       the maximum time a caller waits for a permit
+     * @param meterRegistry the registry to publish admission metrics to, if any
+     */
+    public ConnectionAdmissionController(
+            @Value("${manusearch.admission.max-concurrent:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrent,
+            @Value("${manusearch.admission.max-queue:1000}") int maxQueue,
+            @Value("${manusearch.admission.max-wait:PT1S}") Duration maxWait,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxQueue = maxQueue;
+        this.maxWait = maxWait;
+        meterRegistry.ifAvailable(registry -> {
+            Gauge.builder("manusearch.admission.active", permits, semaphore -> maxConcurrent - semaphore.availablePermits())
+                    .description("Transactions currently holding an admission permit")
+                    .register(registry);
+            Gauge.builder("manusearch.admission.queued", permits, Semaphore::getQueueLength)
+                    .description("Callers waiting for an admission permit")
+                    .register(registry);
+            rejected = Counter.builder("manusearch.admission.rejected")
+                    .description("Callers shed because the application was at capacity")
+                    .register(registry);
+        });
+        log.info("Admission control enabled: {} concurrent transactions, queue of {}, max wait {}",
+                maxConcurrent, maxQueue, maxWait);
+    }
+
+    /**
+     * Acquires a permit, waiting up to the configured maximum time.
+     * Every successful call must be paired with a call to {@link #release()}.
+     *
+     * @throws ServiceOverloadedException if the queue is full or no permit became available in time
+     */
+    public void acquire() {
+        if (permits.tryAcquire()) {
+            return;
+        }
+        if (permits.getQueueLength() >= maxQueue) {
+            throw shed("Too many requests are waiting for a database connection.");
+        }
+        try {
+            if (permits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        throw shed("No database connection became available in time.");
+    }
+
+    /**
+     * Releases a permit acquired with {@link #acquire()}.
+     */
+    public void release() {
+        permits.release();
+    }
+
+    private ServiceOverloadedException shed(String reason) {
+        if (rejected != null) {
+            rejected.increment();
+        }
+        return new ServiceOverloadedException(reason, maxWait);
+    }
+}
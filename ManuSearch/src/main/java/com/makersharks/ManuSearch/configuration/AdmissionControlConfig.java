@@ -0,0 +1,42 @@
+package com.makersharks.ManuSearch.configuration;
+
+import com.makersharks.ManuSearch.concurrency.AdmissionControlledJpaTransactionManager;
+import com.makersharks.ManuSearch.concurrency.ConnectionAdmissionController;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionManager;
+
+/**
+ * Configuration for admission control in front of the connection pool.
+ * Replaces the auto-configured transaction manager with one that admits new transactions
+ * through the {@link ConnectionAdmissionController}.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "manusearch.admission.enabled", havingValue = "true")
+public class AdmissionControlConfig {
+
+	/**
+	 * Creates the admission-controlled transaction manager.
+	 *
+	 * @param entityManagerFactory the entity manager factory
+	 * @param admissionController  the admission controller
+	 * @param customizers          the transaction manager customizers from the auto-configuration, if any
+	 * @return the JpaTransactionManager object
+	 */
+	@Bean
+	public JpaTransactionManager transactionManager(EntityManagerFactory entityManagerFactory,
+			ConnectionAdmissionController admissionController, ObjectProvider<TransactionManagerCustomizers> customizers) {
+		JpaTransactionManager transactionManager =
+				new AdmissionControlledJpaTransactionManager(entityManagerFactory, admissionController);
+		customizers.ifAvailable(customizer -> customizer.customize((TransactionManager) transactionManager));
+		log.info("Using admission-controlled JPA transaction manager.");
+		return transactionManager;
+	}
+}
@@ -0,0 +1,56 @@
+package com.makersharks.ManuSearch.configuration;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Configuration for the binary response formats.
+ * Clients sending {@code Accept: application/cbor} or {@code Accept: application/x-jackson-smile} receive the same
+ * documents as JSON clients, encoded in CBOR or Smile, with enums written as their ordinals instead of their names.
+ * The converters are built from the application's {@link Jackson2ObjectMapperBuilder}, so they share the
+ * {@code spring.jackson.*} settings and registered modules of the JSON converter.
+ */
+@Slf4j
+@Configuration
+public class BinaryFormatConfig {
+
+	/**
+	 * Creates the message converter for CBOR.
+	 *
+	 * @param builder a fresh copy of the application's ObjectMapper builder
+	 * @return the MappingJackson2CborHttpMessageConverter object
+	 */
+	@Bean
+	public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+		log.info("CBOR responses enabled.");
+		return new MappingJackson2CborHttpMessageConverter(withEnumOrdinals(builder).factory(new CBORFactory()).build());
+	}
+
+	/**
+	 * Creates the message converter for Smile.
+	 *
+	 * @param builder a fresh copy of the application's ObjectMapper builder
+	 * @return the MappingJackson2SmileHttpMessageConverter object
+	 */
+	@Bean
+	public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+		log.info("Smile responses enabled.");
+		return new MappingJackson2SmileHttpMessageConverter(withEnumOrdinals(builder).factory(new SmileFactory()).build());
+	}
+
+	/**
+	 * Writes enum values and enum map keys as their ordinals. Ordinals are part of the binary formats,
+	 * so enum constants must only ever be appended.
+	 */
+	private static Jackson2ObjectMapperBuilder withEnumOrdinals(Jackson2ObjectMapperBuilder builder) {
+		return builder.featuresToEnable(SerializationFeature.WRITE_ENUMS_USING_INDEX,
+				SerializationFeature.WRITE_ENUM_KEYS_USING_INDEX);
+	}
+}
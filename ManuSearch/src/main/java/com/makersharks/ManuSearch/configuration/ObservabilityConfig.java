@@ -0,0 +1,27 @@
+package com.makersharks.ManuSearch.configuration;
+
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.aop.ObservedAspect;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for application-level observations.
+ * HTTP endpoints, repository methods and the connection pool are instrumented by Spring Boot;
+ * this adds observations (a timer plus a span) around every method of the classes annotated with
+ * {@link io.micrometer.observation.annotation.Observed}, which are the service implementations.
+ */
+@Configuration
+public class ObservabilityConfig {
+
+	/**
+	 * Creates the aspect that turns {@link io.micrometer.observation.annotation.Observed} methods into observations.
+	 *
+	 * @param observationRegistry the observation registry
+	 * @return the ObservedAspect object
+	 */
+	@Bean
+	public ObservedAspect observedAspect(ObservationRegistry observationRegistry) {
+		return new ObservedAspect(observationRegistry);
+	}
+}
@@ -0,0 +1,38 @@
+package com.makersharks.ManuSearch.configuration;
+
+import com.makersharks.ManuSearch.cache.InMemorySharedQueryCache;
+import com.makersharks.ManuSearch.cache.SharedQueryCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the supplier query result cache.
+ * Provides the in-process shared tier unless another {@link SharedQueryCache} bean is defined.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "manusearch.query-cache.enabled", havingValue = "true")
+public class QueryCacheConfig {
+
+	/**
+	 * Creates the default, in-process shared cache tier.
+	 *
+	 * @param maximumWeight the maximum number of supplier identifiers held by the tier
+	 * @param expireAfterWrite the maximum age of an entry
+	 * @return the SharedQueryCache object
+	 */
+	@Bean
+	@ConditionalOnMissingBean(SharedQueryCache.class)
+	public SharedQueryCache sharedQueryCache(
+			@Value("${manusearch.query-cache.shared.maximum-weight:100000}") long maximumWeight,
+			@Value("${manusearch.query-cache.shared.expire-after-write:PT10M}") Duration expireAfterWrite) {
+		log.info("Using in-memory shared query cache tier.");
+		return new InMemorySharedQueryCache(maximumWeight, expireAfterWrite);
+	}
+}
@@ -0,0 +1,53 @@
+package com.makersharks.ManuSearch.configuration;
+
+import com.makersharks.ManuSearch.ratelimit.InMemoryRateLimitStore;
+import com.makersharks.ManuSearch.ratelimit.RateLimitProperties;
+import com.makersharks.ManuSearch.ratelimit.RateLimitStore;
+import com.makersharks.ManuSearch.ratelimit.RateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for the request rate limiter.
+ * Provides the in-process bucket store unless another {@link RateLimitStore} bean is defined.
+ * The limiter is applied by the {@link com.makersharks.ManuSearch.security.RateLimitFilter} in the security chain.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "manusearch.rate-limit.enabled", havingValue = "true")
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+
+	/**
+	 * Creates the default, in-process bucket store.
+	 *
+	 * @param properties the rate limiter configuration
+	 * @return the RateLimitStore object
+	 */
+	@Bean
+	@ConditionalOnMissingBean(RateLimitStore.class)
+	public RateLimitStore rateLimitStore(RateLimitProperties properties) {
+		log.info("Using in-memory rate limit store.");
+		return new InMemoryRateLimitStore(properties.maxClients());
+	}
+
+	/**
+	 * Creates the rate limiter.
+	 *
+	 * @param properties the rate limiter configuration
+	 * @param store the store of the token buckets
+	 * @param meterRegistry the registry to publish rejection counts to, if any
+	 * @return the RateLimiter object
+	 */
+	@Bean
+	public RateLimiter rateLimiter(RateLimitProperties properties, RateLimitStore store,
+			ObjectProvider<MeterRegistry> meterRegistry) {
+		return new RateLimiter(properties, store, meterRegistry.getIfAvailable());
+	}
+}
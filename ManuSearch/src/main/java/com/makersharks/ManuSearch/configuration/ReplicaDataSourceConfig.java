@@ -0,0 +1,125 @@
+package com.makersharks.ManuSearch.configuration;
+
+import com.makersharks.ManuSearch.datasource.ReplicaPool;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuration for read replicas.
+ * Replaces the auto-configured data source with one that sends read-only transactions to the replicas listed in
+ * {@code manusearch.replica.urls} and everything else to {@code spring.datasource}. Every pool takes its settings
+ * from {@code spring.datasource.hikari} and publishes the usual {@code hikaricp.*} metrics under its own pool name.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "manusearch.replica.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+	/**
+	 * Creates the primary and replica connection pools.
+	 *
+	 * @param properties    the spring.datasource properties, used for the primary and as defaults for the replicas
+	 * @param environment   the environment, to bind the spring.datasource.hikari pool settings
+	 * @param urls          the JDBC URLs of the replicas
+	 * @param username      the replica user name
+	 * @param password      the replica password
+	 * @param maxLag        the largest replication lag at which a replica still serves reads
+	 * @param meterRegistry the registry to publish pool and routing metrics to, if any
+	 * @return the ReplicaPool object
+	 */
+	@Bean
+	public ReplicaPool replicaPool(DataSourceProperties properties, Environment environment,
+			@Value("${manusearch.replica.urls:}") List<String> urls,
+			@Value("${manusearch.replica.username:${spring.datasource.username:}}") String username,
+			@Value("${manusearch.replica.password:${spring.datasource.password:}}") String password,
+			@Value("${manusearch.replica.max-lag:PT5S}") Duration maxLag,
+			ObjectProvider<MeterRegistry> meterRegistry) {
+		MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+		HikariDataSource primary = pool(environment, registry, "primary",
+				properties.determineUrl(), properties.determineUsername(), properties.determinePassword());
+		primary.setDriverClassName(properties.determineDriverClassName());
+		Map<String, DataSource> replicas = new LinkedHashMap<>();
+		for (String url : urls) {
+			if (StringUtils.hasText(url)) {
+				String name = "replica-" + (replicas.size() + 1);
+				HikariDataSource replica = pool(environment, registry, name, url.trim(), username, password);
+				replica.setReadOnly(true);
+				replicas.put(name, replica);
+			}
+		}
+		ReplicaPool replicaPool = new ReplicaPool(primary, replicas, maxLag, System::currentTimeMillis, registry);
+		log.info("Routing read-only transactions to {} replicas with a maximum lag of {}", replicas.size(), maxLag);
+		return replicaPool;
+	}
+
+	/**
+	 * Starts the replica health checks once the application is ready, after the migrations have created the
+	 * heartbeat table. Until the first check, including while the in-memory indexes load, reads use the primary.
+	 *
+	 * @param replicaPool   the replica pool
+	 * @param checkInterval the interval between replica health checks
+	 * @return the ApplicationListener object
+	 */
+	@Bean
+	public ApplicationListener<ApplicationReadyEvent> replicaHealthCheckStarter(ReplicaPool replicaPool,
+			@Value("${manusearch.replica.check-interval:PT1S}") Duration checkInterval) {
+		return event -> replicaPool.startHealthChecks(checkInterval);
+	}
+
+	/**
+	 * Creates the application data source, routing read-only transactions to the replicas.
+	 *
+	 * @param replicaPool the replica pool
+	 * @return the DataSource object
+	 */
+	@Bean
+	public DataSource dataSource(ReplicaPool replicaPool) {
+		return replicaPool.routingDataSource();
+	}
+
+	/**
+	 * Creates the health indicator reporting the lag and availability of each replica under /actuator/health.
+	 * It stays UP while replicas are down or behind, because reads then fall back to the primary.
+	 *
+	 * @param replicaPool the replica pool
+	 * @return the HealthIndicator object
+	 */
+	@Bean
+	public HealthIndicator replicasHealthIndicator(ReplicaPool replicaPool) {
+		return () -> Health.up().withDetails(replicaPool.getStatus()).build();
+	}
+
+	private static HikariDataSource pool(Environment environment, MeterRegistry registry, String name, String url,
+			String username, String password) {
+		HikariDataSource dataSource = new HikariDataSource();
+		Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+		dataSource.setPoolName(name);
+		dataSource.setJdbcUrl(url);
+		dataSource.setUsername(username);
+		dataSource.setPassword(password);
+		dataSource.setMetricRegistry(registry);
+		return dataSource;
+	}
+}
@@ -0,0 +1,28 @@
+package com.makersharks.ManuSearch.configuration;
+
+import com.makersharks.ManuSearch.migration.SchemaIndexVerifier;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for the versioned schema migrations in {@code db/migration}.
+ * Flyway runs before the JPA EntityManagerFactory is created, so Hibernate validates the migrated schema.
+ */
+@Configuration
+public class SchemaMigrationConfig {
+
+	/**
+	 * Creates the migration strategy: apply pending migrations, then check that the search indexes exist.
+	 *
+	 * @param schemaIndexVerifier the index verifier
+	 * @return the FlywayMigrationStrategy object
+	 */
+	@Bean
+	public FlywayMigrationStrategy flywayMigrationStrategy(SchemaIndexVerifier schemaIndexVerifier) {
+		return flyway -> {
+			flyway.migrate();
+			schemaIndexVerifier.verify();
+		};
+	}
+}
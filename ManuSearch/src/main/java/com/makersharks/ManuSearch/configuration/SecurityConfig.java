@@ -3,9 +3,16 @@ package com.makersharks.ManuSearch.configuration;
 import java.util.Arrays;
 import java.util.Collections;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.makersharks.ManuSearch.ratelimit.RateLimiter;
+import com.makersharks.ManuSearch.security.JwtAuthenticationCache;
 import com.makersharks.ManuSearch.security.JwtTokenGeneratorFilter;
 import com.makersharks.ManuSearch.security.JwtTokenValidatorFilter;
+import com.makersharks.ManuSearch.security.RateLimitFilter;
+import com.makersharks.ManuSearch.security.SecurityConstants;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -34,11 +41,19 @@ public class SecurityConfig {
 	 * Configures security filter chain for the application.
 	 *
 	 * @param http the HttpSecurity object
+	 * @param jwtAuthenticationCache the cache of validated JWT tokens used by the validator filter
+	 * @param observationRegistry the registry recording JWT validations and generations, if any
+	 * @param rateLimiter the request rate limiter, if enabled
+	 * @param objectMapper the mapper writing the error details of rate-limited requests
 	 * @return the SecurityFilterChain object
 	 * @throws Exception if an error occurs during configuration
 	 */
 	@Bean
-	public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+	public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtAuthenticationCache jwtAuthenticationCache,
+			ObjectProvider<ObservationRegistry> observationRegistry, ObjectProvider<RateLimiter> rateLimiter,
+			ObjectMapper objectMapper) throws Exception {
+
+		ObservationRegistry registry = observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP);
 
 		// Configure CSRF token request attribute handler
 		CsrfTokenRequestAttributeHandler requestHandler = new CsrfTokenRequestAttributeHandler();
@@ -60,7 +75,7 @@ public class SecurityConfig {
 							cfg.setAllowedHeaders(Collections.singletonList("*"));
 							cfg.setExposedHeaders(Arrays.asList("Authorization"));
 							// Log CORS configuration
-							log.info("CORS configuration applied: {}", cfg);
+							log.debug("CORS configuration applied: {}", cfg);
 							return cfg;
 						}
 					});
@@ -71,6 +86,9 @@ public class SecurityConfig {
 							.requestMatchers(HttpMethod.POST, "/api/auth/register").permitAll()
 							.requestMatchers(HttpMethod.POST, "/api/auth/login").permitAll()
 							.requestMatchers("/swagger-ui*/**", "/v3/api-docs/**").permitAll()
+							.requestMatchers(HttpMethod.GET, "/actuator/health", "/actuator/health/**", "/actuator/prometheus").permitAll()
+							// Anyone can register, so bulk writes need a role granted by configuration
+							.requestMatchers(HttpMethod.POST, "/api/supplier/bulk").hasRole(SecurityConstants.SUPPLIER_ADMIN_ROLE)
 							.anyRequest().authenticated();
 					// Log authorization rules
 					log.info("Authorization rules configured.");
@@ -82,14 +100,20 @@ public class SecurityConfig {
 					log.info("CSRF protection disabled.");
 				})
 				// Add custom JWT token validator filter before BasicAuthenticationFilter
-				.addFilterBefore(new JwtTokenValidatorFilter(), BasicAuthenticationFilter.class)
+				.addFilterBefore(new JwtTokenValidatorFilter(jwtAuthenticationCache, registry), BasicAuthenticationFilter.class)
 				// Add custom JWT token generator filter after BasicAuthenticationFilter
-				.addFilterAfter(new JwtTokenGeneratorFilter(), BasicAuthenticationFilter.class)
+				.addFilterAfter(new JwtTokenGeneratorFilter(registry), BasicAuthenticationFilter.class)
 				// Configure form login
 				.formLogin(Customizer.withDefaults())
 				// Configure basic authentication
 				.httpBasic(Customizer.withDefaults());
 
+		// Limit request rates once the JWT token has identified the client
+		rateLimiter.ifAvailable(limiter -> {
+			http.addFilterAfter(new RateLimitFilter(limiter, objectMapper), JwtTokenValidatorFilter.class);
+			log.info("Rate limiting enabled.");
+		});
+
 		// Log security filter chain configuration
 		log.info("Security filter chain configured.");
 
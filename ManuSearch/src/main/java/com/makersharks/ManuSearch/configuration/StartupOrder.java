@@ -0,0 +1,19 @@
+package com.makersharks.ManuSearch.configuration;
+
+/**
+ * StartupOrder holds the {@link org.springframework.core.annotation.Order} values of the listeners of the
+ * {@link org.springframework.boot.context.event.ApplicationReadyEvent}, which run one after the other in this order.
+ * Listeners without an order run last.
+ */
+public interface StartupOrder {
+
+	/**
+	 * The order of the listeners loading the in-memory indexes and the facet matrix from the database.
+	 */
+	public static final int LOAD_INDEXES = 0;
+
+	/**
+	 * The order of the startup warm-up, which queries through the indexes and so runs once they are loaded.
+	 */
+	public static final int WARM_UP = LOAD_INDEXES + 100;
+}
@@ -0,0 +1,56 @@
+package com.makersharks.ManuSearch.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.makersharks.ManuSearch.service.SupplierService;
+import com.makersharks.ManuSearch.warmup.FilterHitLog;
+import com.makersharks.ManuSearch.warmup.StartupWarmer;
+import com.makersharks.ManuSearch.warmup.WarmupProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Configuration for the startup warm-up.
+ * Provides the log of the most frequently requested filters, written to the database in the background,
+ * and the {@link StartupWarmer} replaying them before the application reports itself ready.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "manusearch.warmup.enabled", havingValue = "true")
+@EnableConfigurationProperties(WarmupProperties.class)
+public class WarmupConfig {
+
+	/**
+	 * Creates the filter hit log and starts its periodic flushes. Counts recorded since the last flush are written
+	 * when the application shuts down.
+	 *
+	 * @param jdbcTemplate the template writing to the database
+	 * @param properties the warm-up configuration
+	 * @return the FilterHitLog object
+	 */
+	@Bean(destroyMethod = "stop")
+	public FilterHitLog filterHitLog(JdbcTemplate jdbcTemplate, WarmupProperties properties) {
+		FilterHitLog hitLog = new FilterHitLog(jdbcTemplate, System::currentTimeMillis);
+		hitLog.start(properties.flushInterval());
+		return hitLog;
+	}
+
+	/**
+	 * Creates the startup warmer.
+	 *
+	 * @param hitLog the log of the most frequently requested filters
+	 * @param supplierService the service queried for each filter
+	 * @param objectMapper the mapper serializing the responses
+	 * @param properties the warm-up configuration
+	 * @return the StartupWarmer object
+	 */
+	@Bean
+	public StartupWarmer startupWarmer(FilterHitLog hitLog, SupplierService supplierService, ObjectMapper objectMapper,
+			WarmupProperties properties) {
+		log.info("Startup warm-up enabled for the {} most frequent filters.", properties.filters());
+		return new StartupWarmer(hitLog, supplierService, objectMapper, properties);
+	}
+}
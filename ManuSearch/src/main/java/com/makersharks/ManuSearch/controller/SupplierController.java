@@ -1,17 +1,52 @@
 package com.makersharks.ManuSearch.controller;
 
+import com.makersharks.ManuSearch.dto.BulkIngestionReport;
+import com.makersharks.ManuSearch.dto.SupplierBatchQuery;
+import com.makersharks.ManuSearch.dto.SupplierCursorPage;
+import com.makersharks.ManuSearch.dto.SupplierFacets;
+import com.makersharks.ManuSearch.dto.SupplierSearchCriteria;
+import com.makersharks.ManuSearch.dto.SupplierSuggestions;
+import com.makersharks.ManuSearch.dto.SupplierSummaryPage;
 import com.makersharks.ManuSearch.entity.Supplier;
+import com.makersharks.ManuSearch.enums.IngestionFormat;
 import com.makersharks.ManuSearch.enums.ManufacturingProcess;
 import com.makersharks.ManuSearch.enums.NatureOfBusiness;
+import com.makersharks.ManuSearch.enums.ProcessMatch;
+import com.makersharks.ManuSearch.enums.SupplierSort;
+import com.makersharks.ManuSearch.exception.ManuSearchException;
+import com.makersharks.ManuSearch.geo.GeoArea;
+import com.makersharks.ManuSearch.projection.SupplierSummary;
+import com.makersharks.ManuSearch.service.SupplierBatchService;
+import com.makersharks.ManuSearch.service.SupplierExportService;
+import com.makersharks.ManuSearch.service.SupplierFacetService;
+import com.makersharks.ManuSearch.service.SupplierIngestionService;
 import com.makersharks.ManuSearch.service.SupplierService;
+import com.makersharks.ManuSearch.util.SupplierCursor;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * REST controller for handling supplier-related API requests.
@@ -20,15 +55,45 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/api/supplier")
 public class SupplierController {
 
+    /**
+     * Media type for newline-delimited JSON.
+     */
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
     @Autowired
     private SupplierService supplierService;
 
+    @Autowired
+    private SupplierBatchService supplierBatchService;
+
+    @Autowired
+    private SupplierIngestionService supplierIngestionService;
+
+    @Autowired
+    private SupplierExportService supplierExportService;
+
+    @Autowired
+    private SupplierFacetService supplierFacetService;
+
+    @Value("${manusearch.paging.max-size:100}")
+    private int maxPageSize; // Largest number of suppliers a client may request per page or slice
+
+    @Value("${manusearch.http-cache.enabled:false}")
+    private boolean httpCacheEnabled; // Tag query results with ETags and answer conditional requests
+
+    @Value("${manusearch.http-cache.max-age:PT0S}")
+    private Duration httpCacheMaxAge; // How long clients may reuse query results without revalidating them
+
+    @Value("${manusearch.http-cache.public:false}")
+    private boolean httpCachePublic; // Let shared caches store query results despite the request being authenticated
+
     /**
      * Handles the request to query suppliers based on location, nature of business, and manufacturing process.
      *
      * @param location             the location of the supplier
      * @param natureOfBusiness     the nature of the business
      * @param manufacturingProcess the manufacturing process used by the supplier
+     * @param q                    a free-text query on company name and location (optional)
      * @param page                 the page number for pagination (default is 0)
      * @param size                 the number of suppliers per page (default is 10)
      * @return a ResponseEntity containing a page of suppliers and HTTP status
@@ -38,10 +103,318 @@ public class SupplierController {
             @RequestParam String location,
             @RequestParam NatureOfBusiness natureOfBusiness,
             @RequestParam ManufacturingProcess manufacturingProcess,
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+
+        checkPaging(page, size);
+        Page<Supplier> suppliers = supplierService.querySuppliers(location, natureOfBusiness, manufacturingProcess, q, page, size);
+        return new ResponseEntity<>(suppliers, HttpStatus.OK);
+    }
+
+    /**
+     * Handles the request to query suppliers based on location, nature of business, and manufacturing process,
+     * for clients and intermediaries that cache or poll the results.
+     * When HTTP caching is enabled, the results carry an ETag derived from the version stamp of the filter,
+     * which changes whenever a matching supplier is written, and a request whose {@code If-None-Match} header
+     * still matches is answered with 304 Not Modified without querying the database.
+     * The ETag is strong: the stamp identifies the results of every page and text query of the filter, and a hash
+     * of the {@code Accept} header tells apart the media types they are served in. Tomcat does not compress
+     * responses with a strong ETag, so these results are always sent uncompressed.
+     *
+     * @param location             the location of the supplier
+     * @param natureOfBusiness     the nature of the business
+     * @param manufacturingProcess the manufacturing process used by the supplier
+     * @param q                    a free-text query on company name and location (optional)
+     * @param page                 the page number for pagination (default is 0)
+     * @param size                 the number of suppliers per page (default is 10)
+     * @param request              the current request, for its conditional headers
+     * @return a ResponseEntity containing a page of suppliers and HTTP status, or {@code null} once the request
+     * has been answered with 304 Not Modified
+     */
+    @GetMapping("/query")
+    public ResponseEntity<Page<Supplier>> getSuppliers(
+            @RequestParam String location,
+            @RequestParam NatureOfBusiness natureOfBusiness,
+            @RequestParam ManufacturingProcess manufacturingProcess,
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
+
+        if (!httpCacheEnabled) {
+            return querySuppliers(location, natureOfBusiness, manufacturingProcess, q, page, size);
+        }
+        checkPaging(page, size);
+        // The stamp is read before the query runs, so results never carry a newer stamp than their data
+        String etag = "\"" + supplierService.queryResultsStamp(location, natureOfBusiness, manufacturingProcess) + "-"
+                + Integer.toHexString(Objects.hashCode(request.getHeader(HttpHeaders.ACCEPT))) + "\"";
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        Page<Supplier> suppliers = supplierService.querySuppliers(location, natureOfBusiness, manufacturingProcess, q, page, size);
+        CacheControl cacheControl = CacheControl.maxAge(httpCacheMaxAge).mustRevalidate();
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .varyBy(HttpHeaders.ACCEPT)
+                .cacheControl(httpCachePublic ? cacheControl.cachePublic() : cacheControl.cachePrivate())
+                .body(suppliers);
+    }
+
+    /**
+     * Handles the request to query suppliers within a radius of a point, nearest first.
+     * Selected over {@link #querySuppliers} when the {@code lat}, {@code lon} and {@code radiusKm} parameters are present.
+     *
+     * @param lat                  the latitude of the center in decimal degrees
+     * @param lon                  the longitude of the center in decimal degrees
+     * @param radiusKm             the radius in kilometers
+     * @param natureOfBusiness     the nature of the business (default is any)
+     * @param manufacturingProcess the manufacturing process used by the supplier (default is any)
+     * @param page                 the page number for pagination (default is 0)
+     * @param size                 the number of suppliers per page (default is 10)
+     * @return a ResponseEntity containing a page of suppliers ordered by distance and HTTP status
+     */
+    @PostMapping(value = "/query", params = {"lat", "lon", "radiusKm"})
+    public ResponseEntity<Page<Supplier>> querySuppliersWithinRadius(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam double radiusKm,
+            @RequestParam(required = false) NatureOfBusiness natureOfBusiness,
+            @RequestParam(required = false) ManufacturingProcess manufacturingProcess,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
 
-        Page<Supplier> suppliers = supplierService.querySuppliers(location, natureOfBusiness, manufacturingProcess, page, size);
+        checkPaging(page, size);
+        Page<Supplier> suppliers = supplierService.querySuppliersNear(GeoArea.circle(lat, lon, radiusKm),
+                natureOfBusiness, manufacturingProcess, page, size);
         return new ResponseEntity<>(suppliers, HttpStatus.OK);
     }
+
+    /**
+     * Handles the request to query suppliers within a bounding box, nearest to its center first.
+     * Selected over {@link #querySuppliers} when the four box parameters are present. A box whose
+     * {@code minLon} is greater than its {@code maxLon} crosses the antimeridian.
+     *
+     * @param minLat               the southern edge of the box
+     * @param minLon               the western edge of the box
+     * @param maxLat               the northern edge of the box
+     * @param maxLon               the eastern edge of the box
+     * @param natureOfBusiness     the nature of the business (default is any)
+     * @param manufacturingProcess the manufacturing process used by the supplier (default is any)
+     * @param page                 the page number for pagination (default is 0)
+     * @param size                 the number of suppliers per page (default is 10)
+     * @return a ResponseEntity containing a page of suppliers ordered by distance and HTTP status
+     */
+    @PostMapping(value = "/query", params = {"minLat", "minLon", "maxLat", "maxLon"})
+    public ResponseEntity<Page<Supplier>> querySuppliersInBox(
+            @RequestParam double minLat,
+            @RequestParam double minLon,
+            @RequestParam double maxLat,
+            @RequestParam double maxLon,
+            @RequestParam(required = false) NatureOfBusiness natureOfBusiness,
+            @RequestParam(required = false) ManufacturingProcess manufacturingProcess,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+
+        checkPaging(page, size);
+        Page<Supplier> suppliers = supplierService.querySuppliersNear(GeoArea.box(minLat, minLon, maxLat, maxLon),
+                natureOfBusiness, manufacturingProcess, page, size);
+        return new ResponseEntity<>(suppliers, HttpStatus.OK);
+    }
+
+    /**
+     * Handles multi-value supplier searches, answering in one request what would otherwise take one query per
+     * combination of values. Every criterion is optional and accepts several values, either repeated or
+     * comma-separated, e.g. {@code location=Pune,Mumbai&manufacturingProcess=CASTING,MOULDING}.
+     *
+     * @param location             the accepted locations (default is any location)
+     * @param natureOfBusiness     the accepted natures of business (default is any)
+     * @param manufacturingProcess the requested manufacturing processes (default is any)
+     * @param processMatch         whether a supplier must offer ANY or ALL of the processes (default is ANY)
+     * @param sort                 ID for exact matches by supplier id, RELEVANCE for the best matches first (default is ID)
+     * @param page                 the page number for pagination (default is 0)
+     * @param size                 the number of suppliers per page (default is 10)
+     * @return a ResponseEntity containing a page of suppliers in the requested order and HTTP status
+     */
+    @PostMapping("/search")
+    public ResponseEntity<Page<Supplier>> searchSuppliers(
+            @RequestParam(required = false) Set<String> location,
+            @RequestParam(required = false) Set<NatureOfBusiness> natureOfBusiness,
+            @RequestParam(required = false) Set<ManufacturingProcess> manufacturingProcess,
+            @RequestParam(defaultValue = "ANY") ProcessMatch processMatch,
+            @RequestParam(defaultValue = "ID") SupplierSort sort,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+
+        checkPaging(page, size);
+        SupplierSearchCriteria criteria = new SupplierSearchCriteria(location, natureOfBusiness, manufacturingProcess, processMatch);
+        Page<Supplier> suppliers = supplierService.searchSuppliers(criteria, sort, page, size);
+        return new ResponseEntity<>(suppliers, HttpStatus.OK);
+    }
+
+    /**
+     * Handles a batch of supplier searches in one request, e.g. for dashboards that would otherwise issue
+     * dozens of queries at once. Each query takes the same criteria and paging as {@code /search}.
+     *
+     * @param queries the queries of the batch
+     * @return a ResponseEntity containing one page of suppliers per query, in request order, and HTTP status
+     */
+    @PostMapping("/search/batch")
+    public ResponseEntity<List<Page<Supplier>>> searchSuppliersBatch(@RequestBody List<SupplierBatchQuery> queries) {
+        List<Page<Supplier>> pages = supplierBatchService.searchSuppliers(queries);
+        return new ResponseEntity<>(pages, HttpStatus.OK);
+    }
+
+    /**
+     * Handles compact supplier queries. Returns only the scalar supplier fields, optionally narrowed
+     * with a comma-separated field selector, in a minimal page envelope.
+     *
+     * @param location             the location of the supplier
+     * @param natureOfBusiness     the nature of the business
+     * @param manufacturingProcess the manufacturing process used by the supplier
+     * @param page                 the page number for pagination (default is 0)
+     * @param size                 the number of suppliers per page (default is 10)
+     * @param fields               the fields to include, e.g. "companyName,website" (default is all fields)
+     * @return a ResponseEntity containing the page of supplier summaries and HTTP status
+     */
+    @PostMapping("/query/compact")
+    public ResponseEntity<SupplierSummaryPage> querySupplierSummaries(
+            @RequestParam String location,
+            @RequestParam NatureOfBusiness natureOfBusiness,
+            @RequestParam ManufacturingProcess manufacturingProcess,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) Set<String> fields) {
+
+        checkPaging(page, size);
+        Page<SupplierSummary> summaries = supplierService.querySupplierSummaries(
+                location, natureOfBusiness, manufacturingProcess, page, size, fields);
+        SupplierSummaryPage body = new SupplierSummaryPage(summaries.getContent(), summaries.getNumber(),
+                summaries.getSize(), summaries.getTotalElements(), summaries.getTotalPages());
+        return new ResponseEntity<>(body, HttpStatus.OK);
+    }
+
+    /**
+     * Handles cursor-based (keyset) supplier queries. Selected instead of the page-based variant
+     * whenever the {@code after} parameter is present; pass an empty value to fetch the first slice.
+     *
+     * @param location             the location of the supplier
+     * @param natureOfBusiness     the nature of the business
+     * @param manufacturingProcess the manufacturing process used by the supplier
+     * @param after                the opaque cursor returned with the previous slice, or empty for the first slice
+     * @param size                 the number of suppliers per slice (default is 10)
+     * @return a ResponseEntity containing the slice of suppliers, the next cursor and HTTP status
+     */
+    @PostMapping(value = "/query", params = "after")
+    public ResponseEntity<SupplierCursorPage> querySuppliersAfter(
+            @RequestParam String location,
+            @RequestParam NatureOfBusiness natureOfBusiness,
+            @RequestParam ManufacturingProcess manufacturingProcess,
+            @RequestParam String after,
+            @RequestParam(defaultValue = "10") int size) {
+
+        checkPaging(0, size);
+        Slice<Supplier> suppliers = supplierService.querySuppliersAfter(
+                location, natureOfBusiness, manufacturingProcess, SupplierCursor.decode(after), size);
+        String nextCursor = suppliers.hasNext()
+                ? SupplierCursor.encode(suppliers.getContent().get(suppliers.getNumberOfElements() - 1).getSupplierId())
+                : null;
+        SupplierCursorPage body = new SupplierCursorPage(suppliers.getContent(), size, suppliers.hasNext(), nextCursor);
+        return new ResponseEntity<>(body, HttpStatus.OK);
+    }
+
+    /**
+     * Handles type-ahead requests. Matches company names and locations by prefix, by term and fuzzily.
+     *
+     * @param q     the partially typed query
+     * @param limit the maximum number of locations and of suppliers to return (default is 10)
+     * @return a ResponseEntity containing the suggested locations and suppliers and HTTP status
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<SupplierSuggestions> suggestSuppliers(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+
+        SupplierSuggestions suggestions = supplierService.suggestSuppliers(q, limit);
+        return new ResponseEntity<>(suggestions, HttpStatus.OK);
+    }
+
+    /**
+     * Handles the request for facet counts of a partial filter. Any of the criteria may be omitted;
+     * each facet is counted with the other criteria applied, so a single call fills every filter control.
+     *
+     * @param location             the location of the supplier (optional)
+     * @param natureOfBusiness     the nature of the business (optional)
+     * @param manufacturingProcess the manufacturing process used by the supplier (optional)
+     * @param locations            the maximum number of locations to return (default is 10)
+     * @return a ResponseEntity containing the facet counts and HTTP status
+     */
+    @PostMapping("/facets")
+    public ResponseEntity<SupplierFacets> getFacets(
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) NatureOfBusiness natureOfBusiness,
+            @RequestParam(required = false) ManufacturingProcess manufacturingProcess,
+            @RequestParam(defaultValue = "10") int locations) {
+
+        SupplierFacets facets = supplierFacetService.getFacets(location, natureOfBusiness, manufacturingProcess, locations);
+        return new ResponseEntity<>(facets, HttpStatus.OK);
+    }
+
+    /**
+     * Handles bulk supplier ingestion. The request body is streamed as CSV (with a header row and
+     * '|'-separated manufacturing processes) or NDJSON (one supplier object per line), depending on its content type.
+     *
+     * @param contentType the content type of the request body
+     * @param request     the HTTP request whose body holds the suppliers
+     * @return a ResponseEntity containing the ingestion report and HTTP status
+     * @throws IOException if the request body cannot be opened
+     */
+    @PostMapping(value = "/bulk", consumes = {"text/csv", APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkIngestionReport> ingestSuppliers(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            HttpServletRequest request) throws IOException {
+
+        IngestionFormat format = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.valueOf("text/csv"))
+                ? IngestionFormat.CSV
+                : IngestionFormat.NDJSON;
+        BulkIngestionReport report = supplierIngestionService.ingest(request.getInputStream(), format);
+        return new ResponseEntity<>(report, HttpStatus.OK);
+    }
+
+    /**
+     * Handles full result set exports. Every matching supplier is written to the response as one line of
+     * newline-delimited JSON while it is read from the database, so no page metadata is produced and
+     * the response size is not bounded by memory.
+     *
+     * @param location             the location of the supplier
+     * @param natureOfBusiness     the nature of the business
+     * @param manufacturingProcess the manufacturing process used by the supplier
+     * @return a ResponseEntity streaming the matching suppliers and HTTP status
+     */
+    @PostMapping(value = "/export", produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportSuppliers(
+            @RequestParam String location,
+            @RequestParam NatureOfBusiness natureOfBusiness,
+            @RequestParam ManufacturingProcess manufacturingProcess) {
+
+        StreamingResponseBody body = output ->
+                supplierExportService.exportSuppliers(location, natureOfBusiness, manufacturingProcess, output);
+        return ResponseEntity.ok()
+                .contentType(MediaType.valueOf(APPLICATION_NDJSON_VALUE))
+                .body(body);
+    }
+
+    /**
+     * Rejects paging parameters outside the accepted range, before any page is sized from them.
+     *
+     * @param page the requested page number
+     * @param size the requested number of suppliers per page or slice
+     * @throws ManuSearchException if the page is negative or the size is not between 1 and
+     *                             {@code manusearch.paging.max-size}
+     */
+    private void checkPaging(int page, int size) {
+        if (page < 0 || size < 1 || size > maxPageSize) {
+            throw new ManuSearchException("The page must be at least 0 and the size between 1 and " + maxPageSize + ".", false);
+        }
+    }
 }
@@ -0,0 +1,37 @@
+package com.makersharks.ManuSearch.converter;
+
+import com.makersharks.ManuSearch.enums.ManufacturingProcess;
+import com.makersharks.ManuSearch.util.ProcessMasks;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.Set;
+
+/**
+ * JPA converter persisting a set of {@link ManufacturingProcess} values as a single integer bitmask column.
+ */
+@Converter
+public class ManufacturingProcessMaskConverter implements AttributeConverter<Set<ManufacturingProcess>, Integer> {
+
+    /**
+     * Packs the set of processes into a bitmask.
+     *
+     * @param processes the set of processes, may be {@code null}
+     * @return the bitmask, or {@code null} if the set is {@code null}
+     */
+    @Override
+    public Integer convertToDatabaseColumn(Set<ManufacturingProcess> processes) {
+        return processes == null ? null : ProcessMasks.toMask(processes);
+    }
+
+    /**
+     * Unpacks a bitmask into a set of processes.
+     *
+     * @param mask the bitmask, may be {@code null} for rows that have not been migrated yet
+     * @return the set of processes, or {@code null} if the bitmask is {@code null}
+     */
+    @Override
+    public Set<ManufacturingProcess> convertToEntityAttribute(Integer mask) {
+        return mask == null ? null : ProcessMasks.fromMask(mask);
+    }
+}
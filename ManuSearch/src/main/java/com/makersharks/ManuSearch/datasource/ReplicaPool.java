@@ -0,0 +1,345 @@
+package com.makersharks.ManuSearch.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * The primary database and its read replicas.
+ * <p>
+ * {@link #routingDataSource()} hands out primary connections, except for connections marked read-only before their
+ * first statement, which is what read-only transactions do. Those are taken round-robin from the available replicas.
+ * A replica is available when its last health check succeeded and showed a replication lag of at most
+ * {@code maxLag}; read-only connections fall back to the primary when no replica is available.
+ * <p>
+ * Lag is measured with a heartbeat: each check writes the current time to the {@code replica_heartbeat} row on the
+ * primary, then reads the row back from every replica. The time is taken from this application's clock, so the
+ * measurement does not depend on the database clocks, only on application instances being in sync.
+ */
+@Slf4j
+public class ReplicaPool implements Closeable {
+
+    static final String PRIMARY = "primary";
+
+    private static final String WRITE_HEARTBEAT = "UPDATE replica_heartbeat SET beat_at = ? WHERE id = 1";
+
+    private static final String READ_HEARTBEAT = "SELECT beat_at FROM replica_heartbeat WHERE id = 1";
+
+    private final DataSource primary;
+
+    private final List<Replica> replicas;
+
+    private final Duration maxLag;
+
+    private final LongSupplier clock;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final Counter primaryConnections;
+
+    private final Counter fallbackConnections;
+
+    private ScheduledExecutorService healthChecker;
+
+    private volatile boolean heartbeatFailing;
+
+    /**
+     * Creates the pool. No replica is available until the first {@link #checkReplicas()}.
+     *
+     * @param primary       the primary data source
+     * @param replicas      the replica data sources, by name
+     * @param maxLag        the largest replication lag at which a replica still serves reads
+     * @param clock         the clock, in epoch milliseconds
+     * @param meterRegistry the registry to publish routing and lag metrics to
+     */
+    public ReplicaPool(DataSource primary, Map<String, DataSource> replicas, Duration maxLag, LongSupplier clock,
+                       MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.maxLag = maxLag;
+        this.clock = clock;
+        List<Replica> list = new ArrayList<>();
+        replicas.forEach((name, dataSource) -> list.add(new Replica(name, dataSource, meterRegistry)));
+        this.replicas = List.copyOf(list);
+        this.primaryConnections = connectionCounter(meterRegistry, PRIMARY, "write");
+        this.fallbackConnections = connectionCounter(meterRegistry, PRIMARY, "fallback");
+    }
+
+    /**
+     * Returns a data source that routes each connection according to its read-only flag, as set by the
+     * transaction manager. Physical connections are only taken on the first statement, once the flag is known.
+     *
+     * @return the routing data source
+     */
+    public DataSource routingDataSource() {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(new CountingDataSource());
+        proxy.setReadOnlyDataSource(new ReadOnlyDataSource());
+        proxy.afterPropertiesSet();
+        return proxy;
+    }
+
+    /**
+     * Runs {@link #checkReplicas()} at a fixed interval on a daemon thread, until the pool is closed.
+     *
+     * @param interval the check interval
+     */
+    public synchronized void startHealthChecks(Duration interval) {
+        if (healthChecker != null) {
+            return;
+        }
+        healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        healthChecker.scheduleWithFixedDelay(this::checkReplicas, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Writes a heartbeat to the primary, then measures the lag of every replica from the heartbeat it has replicated.
+     * A replica that cannot be queried is marked down until a later check succeeds.
+     */
+    public void checkReplicas() {
+        long now = clock.getAsLong();
+        try (Connection connection = primary.getConnection();
+             PreparedStatement statement = connection.prepareStatement(WRITE_HEARTBEAT)) {
+            statement.setLong(1, now);
+            statement.executeUpdate();
+            if (heartbeatFailing) {
+                log.info("Replica heartbeat written to the primary again");
+                heartbeatFailing = false;
+            }
+        } catch (SQLException e) {
+            if (!heartbeatFailing) {
+                log.warn("Unable to write the replica heartbeat to the primary: {}", e.getMessage());
+                heartbeatFailing = true;
+            }
+        }
+        for (Replica replica : replicas) {
+            replica.check(now);
+        }
+    }
+
+    /**
+     * Returns the state of every replica, by name, for health reporting.
+     *
+     * @return the replica states
+     */
+    public Map<String, ReplicaStatus> getStatus() {
+        long now = clock.getAsLong();
+        Map<String, ReplicaStatus> status = new LinkedHashMap<>();
+        for (Replica replica : replicas) {
+            status.put(replica.name, new ReplicaStatus(replica.isAvailable(now), replica.lagMillis, replica.lastError));
+        }
+        return status;
+    }
+
+    /**
+     * Stops the health checks and closes the primary and replica data sources that are closeable.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (healthChecker != null) {
+                healthChecker.shutdownNow();
+            }
+        }
+        for (Replica replica : replicas) {
+            closeQuietly(replica.dataSource);
+        }
+        closeQuietly(primary);
+    }
+
+    /**
+     * Takes a connection from the next available replica, or from the primary when none is available.
+     *
+     * @param connector opens the connection on the chosen data source, with the configured or given credentials
+     */
+    private Connection getReadOnlyConnection(Connector connector) throws SQLException {
+        long now = clock.getAsLong();
+        int size = replicas.size();
+        int start = size == 0 ? 0 : Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.isAvailable(now)) {
+                continue;
+            }
+            try {
+                Connection connection = connector.connect(replica.dataSource);
+                replica.connections.increment();
+                return connection;
+            } catch (SQLException e) {
+                replica.markDown(e);
+            }
+        }
+        fallbackConnections.increment();
+        return connector.connect(primary);
+    }
+
+    private static Counter connectionCounter(MeterRegistry meterRegistry, String pool, String route) {
+        return Counter.builder("manusearch.datasource.connections")
+                .description("Connections handed out by the replica routing data source")
+                .tag("pool", pool)
+                .tag("route", route)
+                .register(meterRegistry);
+    }
+
+    private static void closeQuietly(DataSource dataSource) {
+        if (dataSource instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.warn("Unable to close data source: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * The state of a replica as seen by the last health check.
+     */
+    public record ReplicaStatus(
+            /* Whether the replica currently serves read-only connections */
+            boolean available,
+            /* The replication lag measured by the last successful check, in milliseconds */
+            long lagMillis,
+            /* The error of the last failed check, or null */
+            String lastError) {
+    }
+
+    /**
+     * The primary target of the routing data source; counts the connections it hands out.
+     */
+    private class CountingDataSource extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection connection = primary.getConnection();
+            primaryConnections.increment();
+            return connection;
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            Connection connection = primary.getConnection(username, password);
+            primaryConnections.increment();
+            return connection;
+        }
+    }
+
+    /**
+     * The read-only target of the routing data source.
+     */
+    private class ReadOnlyDataSource extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return getReadOnlyConnection(DataSource::getConnection);
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return getReadOnlyConnection(dataSource -> dataSource.getConnection(username, password));
+        }
+    }
+
+    /**
+     * Opens a connection on a data source of the pool.
+     */
+    @FunctionalInterface
+    private interface Connector {
+
+        Connection connect(DataSource dataSource) throws SQLException;
+    }
+
+    /**
+     * A replica and the result of its last health check.
+     */
+    private class Replica {
+
+        private final String name;
+
+        private final DataSource dataSource;
+
+        private final Counter connections;
+
+        private volatile boolean up;
+
+        private volatile long checkedAt;
+
+        private volatile long lagMillis = -1;
+
+        private volatile String lastError;
+
+        Replica(String name, DataSource dataSource, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.connections = connectionCounter(meterRegistry, name, "read");
+            Gauge.builder("manusearch.datasource.replica.lag", this, replica -> replica.lagMillis)
+                    .description("Replication lag measured by the last successful health check")
+                    .baseUnit("milliseconds")
+                    .tag("pool", name)
+                    .register(meterRegistry);
+            Gauge.builder("manusearch.datasource.replica.available", this,
+                            replica -> replica.isAvailable(clock.getAsLong()) ? 1 : 0)
+                    .description("Whether the replica serves read-only connections")
+                    .tag("pool", name)
+                    .register(meterRegistry);
+        }
+
+        /**
+         * Whether the replica serves reads: its last check succeeded, is recent enough to vouch for the lag
+         * bound, and measured a lag within the bound.
+         */
+        boolean isAvailable(long now) {
+            return up && lagMillis <= maxLag.toMillis() && now - checkedAt <= maxLag.toMillis();
+        }
+
+        void check(long now) {
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement statement = connection.prepareStatement(READ_HEARTBEAT)) {
+                statement.setQueryTimeout((int) Math.max(1, maxLag.toSeconds()));
+                try (ResultSet rs = statement.executeQuery()) {
+                    long beatAt = rs.next() ? rs.getLong(1) : 0;
+                    boolean wasAvailable = isAvailable(now);
+                    lagMillis = Math.max(0, now - beatAt);
+                    checkedAt = now;
+                    up = true;
+                    lastError = null;
+                    if (wasAvailable && !isAvailable(now)) {
+                        log.warn("Replica {} is {} ms behind the primary; reads fall back to the primary", name, lagMillis);
+                    }
+                }
+            } catch (SQLException e) {
+                markDown(e);
+            }
+        }
+
+        void markDown(SQLException e) {
+            if (up) {
+                log.warn("Replica {} is down; reads fall back to the primary: {}", name, e.getMessage());
+            }
+            up = false;
+            lastError = e.getMessage();
+        }
+    }
+}
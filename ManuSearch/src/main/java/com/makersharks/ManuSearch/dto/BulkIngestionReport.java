@@ -0,0 +1,48 @@
+package com.makersharks.ManuSearch.dto;
+
+import java.util.List;
+
+/**
+ * Summary of a bulk supplier ingestion run.
+ */
+public record BulkIngestionReport(
+        /*
+         * The number of data rows read from the input.
+         */
+        long received,
+
+        /*
+         * The number of suppliers written to the database.
+         */
+        long accepted,
+
+        /*
+         * The number of rows rejected by parsing or validation, or not written because their batch failed.
+         */
+        long rejected,
+
+        /*
+         * The number of insert batches written to the database.
+         */
+        long batches,
+
+        /*
+         * The number of insert batches that failed and were rolled back.
+         */
+        long failedBatches,
+
+        /*
+         * The wall-clock duration of the run in milliseconds.
+         */
+        long durationMillis,
+
+        /*
+         * The number of accepted suppliers written per second.
+         */
+        double suppliersPerSecond,
+
+        /*
+         * Details of the first rejected rows, capped to keep the report small.
+         */
+        List<RejectedRow> rejections) {
+}
@@ -0,0 +1,16 @@
+package com.makersharks.ManuSearch.dto;
+
+/**
+ * The number of suppliers sharing one value of a free-text facet, such as a location.
+ */
+public record FacetCount(
+        /*
+         * The facet value.
+         */
+        String value,
+
+        /*
+         * The number of suppliers with this value.
+         */
+        long count) {
+}
@@ -0,0 +1,16 @@
+package com.makersharks.ManuSearch.dto;
+
+/**
+ * Describes an input row that was rejected during bulk supplier ingestion.
+ */
+public record RejectedRow(
+        /*
+         * The 1-based line number of the row in the uploaded file.
+         */
+        long line,
+
+        /*
+         * Why the row was rejected, for example a parse or validation error.
+         */
+        String reason) {
+}
@@ -0,0 +1,57 @@
+package com.makersharks.ManuSearch.dto;
+
+import com.makersharks.ManuSearch.enums.ManufacturingProcess;
+import com.makersharks.ManuSearch.enums.NatureOfBusiness;
+import com.makersharks.ManuSearch.enums.ProcessMatch;
+
+import java.util.Set;
+
+/**
+ * One query of a batched supplier search. The fields mirror the request parameters of
+ * {@code /api/supplier/search}; omitted criteria are not filtered and omitted paging defaults to page 0 of 10.
+ */
+public record SupplierBatchQuery(
+        /*
+         * The accepted locations; null or empty for any location.
+         */
+        Set<String> location,
+
+        /*
+         * The accepted natures of business; null or empty for any nature of business.
+         */
+        Set<NatureOfBusiness> natureOfBusiness,
+
+        /*
+         * The requested manufacturing processes; null or empty for any process.
+         */
+        Set<ManufacturingProcess> manufacturingProcess,
+
+        /*
+         * Whether a supplier must offer any or all of the requested processes; defaults to ANY.
+         */
+        ProcessMatch processMatch,
+
+        /*
+         * The zero-based page number; defaults to 0.
+         */
+        Integer page,
+
+        /*
+         * The number of suppliers per page; defaults to 10.
+         */
+        Integer size) {
+
+    public SupplierBatchQuery {
+        page = page == null ? 0 : page;
+        size = size == null ? 10 : size;
+    }
+
+    /**
+     * Returns the normalized search criteria of this query.
+     *
+     * @return the {@link SupplierSearchCriteria}
+     */
+    public SupplierSearchCriteria criteria() {
+        return new SupplierSearchCriteria(location, natureOfBusiness, manufacturingProcess, processMatch);
+    }
+}
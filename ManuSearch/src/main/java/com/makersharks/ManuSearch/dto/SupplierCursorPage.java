@@ -0,0 +1,33 @@
+package com.makersharks.ManuSearch.dto;
+
+import com.makersharks.ManuSearch.entity.Supplier;
+
+import java.util.List;
+
+/**
+ * Response body for cursor-based (keyset) supplier queries.
+ * Unlike a {@link org.springframework.data.domain.Page}, it carries no total count,
+ * only the token needed to fetch the next slice.
+ */
+public record SupplierCursorPage(
+        /*
+         * The suppliers in this slice, ordered by supplier identifier.
+         */
+        List<Supplier> content,
+
+        /*
+         * The requested slice size.
+         */
+        int size,
+
+        /*
+         * Whether another slice follows this one.
+         */
+        boolean hasNext,
+
+        /*
+         * The opaque token to pass as the "after" parameter for the next slice,
+         * or null when there is no next slice.
+         */
+        String nextCursor) {
+}
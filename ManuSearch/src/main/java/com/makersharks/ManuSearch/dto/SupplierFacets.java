@@ -0,0 +1,34 @@
+package com.makersharks.ManuSearch.dto;
+
+import com.makersharks.ManuSearch.enums.ManufacturingProcess;
+import com.makersharks.ManuSearch.enums.NatureOfBusiness;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Facet counts for a partial supplier filter.
+ * Each facet is counted with the filters on the other dimensions applied but not its own,
+ * so it shows how many suppliers the user would get by picking each value instead.
+ */
+public record SupplierFacets(
+        /*
+         * The number of suppliers matching the whole filter.
+         */
+        long total,
+
+        /*
+         * The number of matching suppliers per nature of business, including zero counts.
+         */
+        Map<NatureOfBusiness, Long> natureOfBusiness,
+
+        /*
+         * The number of matching suppliers offering each manufacturing process, including zero counts.
+         */
+        Map<ManufacturingProcess, Long> manufacturingProcess,
+
+        /*
+         * The locations with the most matching suppliers, by descending count.
+         */
+        List<FacetCount> location) {
+}
@@ -0,0 +1,62 @@
+package com.makersharks.ManuSearch.dto;
+
+import com.makersharks.ManuSearch.enums.ManufacturingProcess;
+import com.makersharks.ManuSearch.enums.NatureOfBusiness;
+import com.makersharks.ManuSearch.enums.ProcessMatch;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Multi-value supplier search criteria. Each dimension accepts a set of values, any of which may match,
+ * and an empty set leaves the dimension unfiltered. Manufacturing processes are matched with ANY or ALL semantics.
+ * The criteria are normalized on construction (trimmed, de-duplicated and sorted), so equal searches are equal
+ * records and always render the same query.
+ */
+public record SupplierSearchCriteria(
+        /*
+         * The accepted locations; empty for any location.
+         */
+        Set<String> locations,
+
+        /*
+         * The accepted natures of business; empty for any nature of business.
+         */
+        Set<NatureOfBusiness> naturesOfBusiness,
+
+        /*
+         * The requested manufacturing processes; empty for any process.
+         */
+        Set<ManufacturingProcess> manufacturingProcesses,
+
+        /*
+         * Whether a supplier must offer any or all of the requested processes.
+         */
+        ProcessMatch processMatch) {
+
+    public SupplierSearchCriteria {
+        TreeSet<String> normalizedLocations = new TreeSet<>();
+        if (locations != null) {
+            for (String location : locations) {
+                if (location != null && !location.isBlank()) {
+                    normalizedLocations.add(location.trim());
+                }
+            }
+        }
+        locations = Collections.unmodifiableSet(normalizedLocations);
+        naturesOfBusiness = Collections.unmodifiableSet(copyOf(naturesOfBusiness, NatureOfBusiness.class));
+        manufacturingProcesses = Collections.unmodifiableSet(copyOf(manufacturingProcesses, ManufacturingProcess.class));
+        processMatch = processMatch == null ? ProcessMatch.ANY : processMatch;
+    }
+
+    private static <E extends Enum<E>> EnumSet<E> copyOf(Collection<E> values, Class<E> type) {
+        EnumSet<E> copy = EnumSet.noneOf(type);
+        if (values != null) {
+            values.stream().filter(value -> value != null).forEach(copy::add);
+        }
+        return copy;
+    }
+}
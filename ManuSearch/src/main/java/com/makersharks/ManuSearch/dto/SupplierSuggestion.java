@@ -0,0 +1,21 @@
+package com.makersharks.ManuSearch.dto;
+
+/**
+ * A supplier proposed by the type-ahead suggestion endpoint.
+ */
+public record SupplierSuggestion(
+        /*
+         * The identifier of the supplier.
+         */
+        Long supplierId,
+
+        /*
+         * The name of the company.
+         */
+        String companyName,
+
+        /*
+         * The location of the supplier.
+         */
+        String location) {
+}
@@ -0,0 +1,18 @@
+package com.makersharks.ManuSearch.dto;
+
+import java.util.List;
+
+/**
+ * Response body of the type-ahead suggestion endpoint.
+ */
+public record SupplierSuggestions(
+        /*
+         * The matching locations with their number of suppliers, most suppliers first.
+         */
+        List<FacetCount> locations,
+
+        /*
+         * The best matching suppliers, best match first.
+         */
+        List<SupplierSuggestion> suppliers) {
+}
@@ -0,0 +1,37 @@
+package com.makersharks.ManuSearch.dto;
+
+import com.makersharks.ManuSearch.projection.SupplierSummary;
+
+import java.util.List;
+
+/**
+ * Compact response body for page-based supplier queries.
+ * Carries only the page coordinates and totals instead of the full {@link org.springframework.data.domain.Page}
+ * metadata (pageable, sort and flags).
+ */
+public record SupplierSummaryPage(
+        /*
+         * The suppliers on this page.
+         */
+        List<SupplierSummary> content,
+
+        /*
+         * The zero-based page number.
+         */
+        int page,
+
+        /*
+         * The requested page size.
+         */
+        int size,
+
+        /*
+         * The total number of suppliers matching the query across all pages.
+         */
+        long totalElements,
+
+        /*
+         * The total number of pages.
+         */
+        int totalPages) {
+}
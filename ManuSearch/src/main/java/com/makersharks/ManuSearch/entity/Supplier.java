@@ -1,14 +1,25 @@
 package com.makersharks.ManuSearch.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.makersharks.ManuSearch.converter.ManufacturingProcessMaskConverter;
 import com.makersharks.ManuSearch.enums.ManufacturingProcess;
 import com.makersharks.ManuSearch.enums.NatureOfBusiness;
+import com.makersharks.ManuSearch.event.SupplierEntityListener;
+import com.makersharks.ManuSearch.event.SupplierSnapshot;
 import jakarta.persistence.*;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
+import org.hibernate.Hibernate;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Represents a supplier entity in the system.
@@ -16,6 +27,7 @@ import java.util.List;
  */
 @Entity
 @Table(name = "suppliers")
+@EntityListeners(SupplierEntityListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -50,6 +62,34 @@ public class Supplier {
     @NotBlank(message = "Location is required")
     private String location;
 
+    /**
+     * The location trimmed and lower-cased, generated by the database from {@link #location}.
+     * Only read by the multi-value search query; it is not refreshed after the supplier is written,
+     * and not exposed in API responses.
+     */
+    @JsonIgnore
+    @Column(name = "location_key", insertable = false, updatable = false)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private String locationKey;
+
+    /**
+     * Latitude of the supplier in decimal degrees.
+     * Geocoded from the location when the supplier is written without coordinates; empty for unknown cities.
+     */
+    @DecimalMin(value = "-90", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90", message = "Latitude must be between -90 and 90")
+    private Double latitude;
+
+    /**
+     * Longitude of the supplier in decimal degrees.
+     * Geocoded from the location when the supplier is written without coordinates; empty for unknown cities.
+     */
+    @DecimalMin(value = "-180", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180", message = "Longitude must be between -180 and 180")
+    private Double longitude;
+
     /**
      * The nature of the business of the supplier.
      * Uses an enum to represent different business scales.
@@ -62,12 +102,75 @@ public class Supplier {
     /**
      * List of manufacturing processes the supplier is capable of.
      * Uses an enum to represent different manufacturing processes.
-     * The fetch type is EAGER to load all processes with the supplier.
+     * The collection table is joined by queries filtering on processes, but it is not read when suppliers are
+     * loaded: the fetch type is LAZY and {@link #getManufacturingProcesses()} reads the packed bitmask instead.
      * Cannot be null or empty.
      */
-    @ElementCollection(fetch = FetchType.EAGER)
+    @ElementCollection(fetch = FetchType.LAZY)
     @Enumerated(EnumType.STRING)
     @NotEmpty(message = "At least one manufacturing process is required")
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private List<ManufacturingProcess> manufacturingProcesses;
 
+    /**
+     * The same manufacturing processes packed into a single integer bitmask column.
+     * Lets the search query filter on processes with a bitwise AND instead of joining the collection table,
+     * and is loaded with the supplier row. Kept in sync with {@link #manufacturingProcesses}
+     * and not exposed in API responses.
+     */
+    @JsonIgnore
+    @Convert(converter = ManufacturingProcessMaskConverter.class)
+    @Column(name = "manufacturing_process_mask")
+    private Set<ManufacturingProcess> manufacturingProcessSet;
+
+    /**
+     * The searchable state of the supplier as last loaded or written.
+     * Used by {@link SupplierEntityListener} to report the previous state on updates; never persisted.
+     */
+    @Transient
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private transient SupplierSnapshot loadedState;
+
+    /**
+     * Returns the manufacturing processes of the supplier, in declaration order.
+     * They are read from the packed bitmask, so the collection table is not queried; rows inserted without a mask
+     * (see {@code V6__supplier_process_mask.sql}) fall back to the collection.
+     * The list cannot be modified: use {@link #setManufacturingProcesses(List)}, which keeps the bitmask in sync.
+     *
+     * @return an unmodifiable list of the manufacturing processes, or {@code null} if none were set
+     */
+    public List<ManufacturingProcess> getManufacturingProcesses() {
+        if (manufacturingProcessSet != null) {
+            return List.copyOf(manufacturingProcessSet);
+        }
+        return manufacturingProcesses == null ? null : Collections.unmodifiableList(manufacturingProcesses);
+    }
+
+    /**
+     * Sets the manufacturing processes and updates the packed bitmask accordingly.
+     *
+     * @param manufacturingProcesses the manufacturing processes of the supplier, copied
+     */
+    public void setManufacturingProcesses(List<ManufacturingProcess> manufacturingProcesses) {
+        this.manufacturingProcesses = manufacturingProcesses == null ? null : new ArrayList<>(manufacturingProcesses);
+        syncManufacturingProcessSet();
+    }
+
+    /**
+     * Recomputes the packed bitmask from the manufacturing process list before the supplier is written.
+     * A collection that was never loaded has not changed, so the bitmask is left as it is.
+     */
+    @PrePersist
+    @PreUpdate
+    void syncManufacturingProcessSet() {
+        if (!Hibernate.isInitialized(manufacturingProcesses)) {
+            return;
+        }
+        this.manufacturingProcessSet = manufacturingProcesses == null || manufacturingProcesses.isEmpty()
+                ? EnumSet.noneOf(ManufacturingProcess.class)
+                : EnumSet.copyOf(manufacturingProcesses);
+    }
 }
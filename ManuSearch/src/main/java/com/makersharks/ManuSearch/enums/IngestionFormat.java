@@ -0,0 +1,16 @@
+package com.makersharks.ManuSearch.enums;
+
+/**
+ * Enum representing the input formats accepted by bulk supplier ingestion.
+ */
+public enum IngestionFormat {
+    /**
+     * Comma-separated values with a header row; manufacturing processes are separated by '|'.
+     */
+    CSV,
+
+    /**
+     * Newline-delimited JSON, one supplier object per line.
+     */
+    NDJSON
+}
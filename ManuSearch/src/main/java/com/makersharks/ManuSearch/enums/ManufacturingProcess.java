@@ -2,6 +2,7 @@ package com.makersharks.ManuSearch.enums;
 
 /**
  * Enum representing various manufacturing processes.
+ * The ordinal of each constant is its bit in the persisted process bitmask, so new constants must be appended.
  */
 public enum ManufacturingProcess {
     /**
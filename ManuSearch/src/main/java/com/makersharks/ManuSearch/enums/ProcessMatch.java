@@ -0,0 +1,16 @@
+package com.makersharks.ManuSearch.enums;
+
+/**
+ * Enum representing how the manufacturing processes of a supplier search are combined.
+ */
+public enum ProcessMatch {
+    /**
+     * The supplier offers at least one of the requested processes.
+     */
+    ANY,
+
+    /**
+     * The supplier offers every requested process.
+     */
+    ALL
+}
@@ -0,0 +1,17 @@
+package com.makersharks.ManuSearch.enums;
+
+/**
+ * Enum representing the orders in which supplier search results can be returned.
+ */
+public enum SupplierSort {
+    /**
+     * Suppliers matching every criterion, ordered by supplier identifier.
+     */
+    ID,
+
+    /**
+     * Suppliers ordered by how well they match the criteria, best first. Nearby locations and other business
+     * scales are accepted, and suppliers offering more of the requested processes rank higher.
+     */
+    RELEVANCE
+}
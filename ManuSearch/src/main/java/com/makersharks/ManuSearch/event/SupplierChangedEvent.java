@@ -0,0 +1,51 @@
+package com.makersharks.ManuSearch.event;
+
+import java.util.List;
+
+/**
+ * Application event published after suppliers are created, updated or deleted.
+ * An update is described as the removal of the previous state followed by the addition of the new one,
+ * so listeners maintaining derived data (indexes, caches, counts) only need to handle both lists.
+ */
+public record SupplierChangedEvent(
+        /*
+         * The states that no longer exist: deleted suppliers and the previous state of updated suppliers.
+         */
+        List<SupplierSnapshot> removed,
+
+        /*
+         * The states that now exist: created suppliers and the new state of updated suppliers.
+         */
+        List<SupplierSnapshot> added) {
+
+    /**
+     * Creates an event for newly created suppliers.
+     *
+     * @param created the snapshots of the created suppliers
+     * @return the event
+     */
+    public static SupplierChangedEvent created(List<SupplierSnapshot> created) {
+        return new SupplierChangedEvent(List.of(), created);
+    }
+
+    /**
+     * Creates an event for an updated supplier.
+     *
+     * @param previous the state of the supplier before the update, or {@code null} if unknown
+     * @param current  the state of the supplier after the update
+     * @return the event
+     */
+    public static SupplierChangedEvent updated(SupplierSnapshot previous, SupplierSnapshot current) {
+        return new SupplierChangedEvent(previous == null ? List.of() : List.of(previous), List.of(current));
+    }
+
+    /**
+     * Creates an event for a deleted supplier.
+     *
+     * @param deleted the state of the supplier when it was deleted
+     * @return the event
+     */
+    public static SupplierChangedEvent deleted(SupplierSnapshot deleted) {
+        return new SupplierChangedEvent(List.of(deleted), List.of());
+    }
+}
@@ -0,0 +1,96 @@
+package com.makersharks.ManuSearch.event;
+
+import com.makersharks.ManuSearch.entity.Supplier;
+import com.makersharks.ManuSearch.geo.CityGazetteer;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * JPA entity listener that publishes a {@link SupplierChangedEvent} for every supplier written through
+ * {@link com.makersharks.ManuSearch.repository.SupplierRepository}.
+ * The state of a supplier is captured when it is loaded, so updates can report what changed.
+ * Suppliers written without coordinates are geocoded from their location first.
+ */
+@Component
+public class SupplierEntityListener {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private CityGazetteer cityGazetteer;
+
+    /**
+     * Remembers the state of a supplier as it was loaded from the database.
+     *
+     * @param supplier the loaded supplier
+     */
+    @PostLoad
+    public void onLoad(Supplier supplier) {
+        supplier.setLoadedState(SupplierSnapshot.of(supplier));
+    }
+
+    /**
+     * Fills the coordinates of a supplier from its location before it is written.
+     * When the location of a loaded supplier changed but its coordinates did not, they are geocoded again.
+     *
+     * @param supplier the supplier about to be inserted or updated
+     */
+    @PrePersist
+    @PreUpdate
+    public void onWrite(Supplier supplier) {
+        SupplierSnapshot loaded = supplier.getLoadedState();
+        if (loaded != null && !Objects.equals(loaded.location(), supplier.getLocation())
+                && Objects.equals(loaded.latitude(), supplier.getLatitude())
+                && Objects.equals(loaded.longitude(), supplier.getLongitude())) {
+            supplier.setLatitude(null);
+            supplier.setLongitude(null);
+        }
+        cityGazetteer.geocode(supplier);
+    }
+
+    /**
+     * Publishes an event for a newly inserted supplier.
+     *
+     * @param supplier the inserted supplier
+     */
+    @PostPersist
+    public void onPersist(Supplier supplier) {
+        SupplierSnapshot current = SupplierSnapshot.of(supplier);
+        supplier.setLoadedState(current);
+        eventPublisher.publishEvent(SupplierChangedEvent.created(List.of(current)));
+    }
+
+    /**
+     * Publishes an event for an updated supplier, including its previous state when known.
+     *
+     * @param supplier the updated supplier
+     */
+    @PostUpdate
+    public void onUpdate(Supplier supplier) {
+        SupplierSnapshot current = SupplierSnapshot.of(supplier);
+        eventPublisher.publishEvent(SupplierChangedEvent.updated(supplier.getLoadedState(), current));
+        supplier.setLoadedState(current);
+    }
+
+    /**
+     * Publishes an event for a deleted supplier.
+     *
+     * @param supplier the deleted supplier
+     */
+    @PostRemove
+    public void onRemove(Supplier supplier) {
+        SupplierSnapshot previous = supplier.getLoadedState() != null ? supplier.getLoadedState() : SupplierSnapshot.of(supplier);
+        eventPublisher.publishEvent(SupplierChangedEvent.deleted(previous));
+    }
+}
@@ -0,0 +1,80 @@
+package com.makersharks.ManuSearch.event;
+
+import com.makersharks.ManuSearch.cache.SupplierFilterKey;
+import com.makersharks.ManuSearch.entity.Supplier;
+import com.makersharks.ManuSearch.enums.ManufacturingProcess;
+import com.makersharks.ManuSearch.enums.NatureOfBusiness;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Immutable copy of the searchable state of a {@link Supplier} at a point in time.
+ * Snapshots are carried by {@link SupplierChangedEvent} so listeners never touch managed entities.
+ */
+public record SupplierSnapshot(
+        /*
+         * The identifier of the supplier.
+         */
+        Long supplierId,
+
+        /*
+         * The name of the company.
+         */
+        String companyName,
+
+        /*
+         * The location of the supplier.
+         */
+        String location,
+
+        /*
+         * The latitude of the supplier, or null if it has no coordinates.
+         */
+        Double latitude,
+
+        /*
+         * The longitude of the supplier, or null if it has no coordinates.
+         */
+        Double longitude,
+
+        /*
+         * The nature of business of the supplier.
+         */
+        NatureOfBusiness natureOfBusiness,
+
+        /*
+         * The manufacturing processes of the supplier.
+         */
+        Set<ManufacturingProcess> manufacturingProcesses) {
+
+    /**
+     * Captures the searchable state of a supplier.
+     *
+     * @param supplier the supplier to capture
+     * @return the snapshot
+     */
+    public static SupplierSnapshot of(Supplier supplier) {
+        Set<ManufacturingProcess> processes = supplier.getManufacturingProcesses() == null
+                || supplier.getManufacturingProcesses().isEmpty()
+                ? EnumSet.noneOf(ManufacturingProcess.class)
+                : EnumSet.copyOf(supplier.getManufacturingProcesses());
+        return new SupplierSnapshot(supplier.getSupplierId(), supplier.getCompanyName(), supplier.getLocation(),
+                supplier.getLatitude(), supplier.getLongitude(), supplier.getNatureOfBusiness(), processes);
+    }
+
+    /**
+     * Returns the filter keys this supplier matches, one per manufacturing process.
+     *
+     * @return the list of {@link SupplierFilterKey} values matched by the supplier
+     */
+    public List<SupplierFilterKey> filterKeys() {
+        List<SupplierFilterKey> keys = new ArrayList<>(manufacturingProcesses.size());
+        for (ManufacturingProcess process : manufacturingProcesses) {
+            keys.add(SupplierFilterKey.of(location, natureOfBusiness, process));
+        }
+        return keys;
+    }
+}
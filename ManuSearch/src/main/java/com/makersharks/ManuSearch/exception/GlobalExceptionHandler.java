@@ -1,14 +1,21 @@
 package com.makersharks.ManuSearch.exception;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.stream.Collectors;
 
-import com.makersharks.ManuSearch.exception.ErrorDetails;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.servlet.NoHandlerFoundException;
 
 import lombok.extern.slf4j.Slf4j;
@@ -16,11 +23,31 @@ import lombok.extern.slf4j.Slf4j;
 /**
  * The GlobalExceptionHandler class handles exceptions globally across the application.
  * It provides a centralized way to manage different types of exceptions and format them into a consistent response structure.
+ * Client errors are expected in normal traffic, so they are logged without stack traces (unless the exception carries one)
+ * and at a limited rate; unexpected exceptions are always logged in full.
  */
 @ControllerAdvice
 @Slf4j
 public class GlobalExceptionHandler {
 
+    /**
+     * Clock in the default time zone, resolved once instead of on every error response.
+     */
+    private static final Clock CLOCK = Clock.systemDefaultZone();
+
+    private final LogRateLimiter clientErrorLog;
+
+    /**
+     * Creates the handler.
+     *
+     * @param maxPerWindow the maximum number of client errors logged per window
+     * @param window       the length of a logging window
+     */
+    public GlobalExceptionHandler(@Value("${manusearch.error-log.max-per-window:20}") int maxPerWindow,
+                                  @Value("${manusearch.error-log.window:PT10S}") Duration window) {
+        this.clientErrorLog = new LogRateLimiter(maxPerWindow, window);
+    }
+
     /**
      * Handles NoHandlerFoundException which occurs when no handler is found for a given request.
      *
@@ -30,8 +57,8 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(NoHandlerFoundException.class)
     public ResponseEntity<ErrorDetails> noHandler(NoHandlerFoundException ex, WebRequest wr) {
-        log.warn("NoHandlerFoundException: " + ex.getMessage(), ex);
-        ErrorDetails errorDetails = new ErrorDetails(ex.getMessage(), wr.getDescription(false), LocalDateTime.now());
+        logClientError("NoHandlerFoundException", ex, false);
+        ErrorDetails errorDetails = new ErrorDetails(ex.getMessage(), wr.getDescription(false), LocalDateTime.now(CLOCK));
         return new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST);
     }
 
@@ -45,7 +72,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorDetails> parentException(Exception ex, WebRequest wr) {
         log.warn("Exception: " + ex.getMessage(), ex);
-        ErrorDetails errorDetails = new ErrorDetails(ex.getMessage(), wr.getDescription(false), LocalDateTime.now());
+        ErrorDetails errorDetails = new ErrorDetails(ex.getMessage(), wr.getDescription(false), LocalDateTime.now(CLOCK));
         return new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST);
     }
 
@@ -58,8 +85,44 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorDetails> methodArgValidException(MethodArgumentNotValidException ex, WebRequest wr) {
-        log.warn("MethodArgumentNotValidException: " + ex.getMessage(), ex);
-        ErrorDetails errorDetails = new ErrorDetails(ex.getMessage(), wr.getDescription(false), LocalDateTime.now());
+        logClientError("MethodArgumentNotValidException", ex, false);
+        ErrorDetails errorDetails = new ErrorDetails(ex.getMessage(), wr.getDescription(false), LocalDateTime.now(CLOCK));
+        return new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles MethodArgumentTypeMismatchException which occurs when a request parameter cannot be converted,
+     * such as an unknown enum constant. The valid values of enum parameters are listed in the error message.
+     *
+     * @param ex The exception thrown for the unconvertible parameter.
+     * @param wr The web request that caused the exception.
+     * @return A ResponseEntity containing the error details and an HTTP status of BAD_REQUEST.
+     */
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ErrorDetails> argumentTypeMismatchException(MethodArgumentTypeMismatchException ex, WebRequest wr) {
+        logClientError("MethodArgumentTypeMismatchException", ex, false);
+        String message = "Invalid value '" + ex.getValue() + "' for parameter '" + ex.getName() + "'";
+        Class<?> requiredType = ex.getRequiredType();
+        if (requiredType != null && requiredType.isEnum()) {
+            message += ". Valid values are: " + Arrays.stream(requiredType.getEnumConstants())
+                    .map(String::valueOf)
+                    .collect(Collectors.joining(","));
+        }
+        ErrorDetails errorDetails = new ErrorDetails(message, wr.getDescription(false), LocalDateTime.now(CLOCK));
+        return new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles MissingServletRequestParameterException which occurs when a required request parameter is absent.
+     *
+     * @param ex The exception thrown for the missing parameter.
+     * @param wr The web request that caused the exception.
+     * @return A ResponseEntity containing the error details and an HTTP status of BAD_REQUEST.
+     */
+    @ExceptionHandler(MissingServletRequestParameterException.class)
+    public ResponseEntity<ErrorDetails> missingParameterException(MissingServletRequestParameterException ex, WebRequest wr) {
+        logClientError("MissingServletRequestParameterException", ex, false);
+        ErrorDetails errorDetails = new ErrorDetails(ex.getMessage(), wr.getDescription(false), LocalDateTime.now(CLOCK));
         return new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST);
     }
 
@@ -72,8 +135,49 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(ManuSearchException.class)
     public ResponseEntity<ErrorDetails> gymException(ManuSearchException ex, WebRequest wr) {
-        log.warn("ManuSearchException: " + ex.getMessage(), ex);
-        ErrorDetails errorDetails = new ErrorDetails(ex.getMessage(), wr.getDescription(false), LocalDateTime.now());
+        logClientError("ManuSearchException", ex, ex.getStackTrace().length > 0);
+        ErrorDetails errorDetails = new ErrorDetails(ex.getMessage(), wr.getDescription(false), LocalDateTime.now(CLOCK));
         return new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST);
     }
+
+    /**
+     * Handles requests shed by admission control because the application is at capacity.
+     * Logged without a stack trace and at a limited rate, since shedding is expected under overload.
+     *
+     * @param ex The exception thrown when a request is shed.
+     * @param wr The web request that was shed.
+     * @return A ResponseEntity containing the error details, a Retry-After header and an HTTP status of SERVICE_UNAVAILABLE.
+     */
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ErrorDetails> overloadedException(ServiceOverloadedException ex, WebRequest wr) {
+        logClientError("ServiceOverloadedException", ex, false);
+        ErrorDetails errorDetails = new ErrorDetails(ex.getMessage(), wr.getDescription(false), LocalDateTime.now(CLOCK));
+        long retryAfterSeconds = Math.max(1, ex.getRetryAfter().toSeconds());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(errorDetails);
+    }
+
+    /**
+     * Logs a client error at WARN, unless the rate limit for client errors is exhausted.
+     * The first message after a suppressed burst reports how many messages were dropped.
+     *
+     * @param type           The name of the exception type, used as the message prefix.
+     * @param ex             The exception to log.
+     * @param withStackTrace Whether the stack trace should be logged.
+     */
+    private void logClientError(String type, Exception ex, boolean withStackTrace) {
+        long suppressed = clientErrorLog.tryAcquire();
+        if (suppressed < 0) {
+            return;
+        }
+        String message = suppressed == 0
+                ? type + ": " + ex.getMessage()
+                : type + ": " + ex.getMessage() + " (" + suppressed + " similar messages suppressed)";
+        if (withStackTrace) {
+            log.warn(message, ex);
+        } else {
+            log.warn(message);
+        }
+    }
 }
@@ -0,0 +1,69 @@
+package com.makersharks.ManuSearch.exception;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Limits how many messages are logged per time window.
+ * Messages over the limit are only counted, and the count is reported with the next permitted message,
+ * so a burst of expected errors costs neither log I/O nor formatting while still leaving a trace.
+ * The limit is approximate under contention, which is acceptable for logging.
+ */
+final class LogRateLimiter {
+
+    private final int maxPerWindow;
+
+    private final long windowNanos;
+
+    private final LongSupplier nanoClock;
+
+    private final AtomicLong windowStart;
+
+    private final AtomicInteger permitted = new AtomicInteger();
+
+    private final AtomicLong suppressed = new AtomicLong();
+
+    /**
+     * Creates a limiter on the system clock.
+     *
+     * @param maxPerWindow the maximum number of messages logged per window
+     * @param window       the length of a window
+     */
+    LogRateLimiter(int maxPerWindow, Duration window) {
+        this(maxPerWindow, window, System::nanoTime);
+    }
+
+    /**
+     * Creates a limiter on the given clock.
+     *
+     * @param maxPerWindow the maximum number of messages logged per window
+     * @param window       the length of a window
+     * @param nanoClock    the source of monotonic time, in nanoseconds
+     */
+    LogRateLimiter(int maxPerWindow, Duration window, LongSupplier nanoClock) {
+        this.maxPerWindow = maxPerWindow;
+        this.windowNanos = window.toNanos();
+        this.nanoClock = nanoClock;
+        this.windowStart = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    /**
+     * Tries to obtain a permit to log one message.
+     *
+     * @return -1 if the message must be dropped, otherwise the number of messages dropped since the last permit
+     */
+    long tryAcquire() {
+        long now = nanoClock.getAsLong();
+        long start = windowStart.get();
+        if (now - start >= windowNanos && windowStart.compareAndSet(start, now)) {
+            permitted.set(0);
+        }
+        if (permitted.incrementAndGet() > maxPerWindow) {
+            suppressed.incrementAndGet();
+            return -1;
+        }
+        return suppressed.getAndSet(0);
+    }
+}
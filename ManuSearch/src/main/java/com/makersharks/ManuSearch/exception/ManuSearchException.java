@@ -15,4 +15,16 @@ public class ManuSearchException extends RuntimeException {
     public ManuSearchException(String message) {
         super(message);
     }
+
+    /**
+     * Constructor to create a new instance of ManuSearchException, optionally without a stack trace.
+     * Use a stackless exception for expected client errors such as invalid input, where the stack trace
+     * would never be read but capturing it would be paid on every request.
+     *
+     * @param message            The detail message for the exception.
+     * @param writableStackTrace Whether the stack trace should be captured.
+     */
+    public ManuSearchException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
 }
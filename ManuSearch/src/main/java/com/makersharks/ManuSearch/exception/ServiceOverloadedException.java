@@ -0,0 +1,33 @@
+package com.makersharks.ManuSearch.exception;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a request is shed because the application is at capacity.
+ * It is mapped to HTTP 503 Service Unavailable with a Retry-After header, so clients back off and retry
+ * instead of waiting for a connection timeout.
+ */
+public class ServiceOverloadedException extends ManuSearchException {
+
+    private final Duration retryAfter;
+
+    /**
+     * Constructor to create a new instance of ServiceOverloadedException.
+     *
+     * @param message    The detail message for the exception.
+     * @param retryAfter How long the client should wait before retrying.
+     */
+    public ServiceOverloadedException(String message, Duration retryAfter) {
+        super(message, false); // Shedding is expected under overload, so no stack trace is captured
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Returns how long the client should wait before retrying.
+     *
+     * @return the retry delay
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
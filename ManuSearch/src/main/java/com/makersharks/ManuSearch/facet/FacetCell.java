@@ -0,0 +1,50 @@
+package com.makersharks.ManuSearch.facet;
+
+import com.makersharks.ManuSearch.enums.NatureOfBusiness;
+import com.makersharks.ManuSearch.event.SupplierSnapshot;
+import com.makersharks.ManuSearch.util.LocationNormalizer;
+import com.makersharks.ManuSearch.util.ProcessMasks;
+
+/**
+ * One cell of the supplier count matrix: the suppliers sharing a location, a nature of business and
+ * exactly the same set of manufacturing processes. Every facet count is a sum over cells,
+ * and the number of distinct cells is far smaller than the number of suppliers.
+ */
+public record FacetCell(
+        /*
+         * The normalized location of the suppliers in the cell.
+         */
+        String location,
+
+        /*
+         * The nature of business of the suppliers in the cell.
+         */
+        NatureOfBusiness natureOfBusiness,
+
+        /*
+         * The manufacturing processes of the suppliers in the cell, packed with ProcessMasks.
+         */
+        int processMask) {
+
+    /**
+     * Creates a cell, normalizing the location.
+     *
+     * @param location         the location of the suppliers
+     * @param natureOfBusiness the nature of business of the suppliers
+     * @param processMask      the packed manufacturing processes of the suppliers
+     * @return the cell
+     */
+    public static FacetCell of(String location, NatureOfBusiness natureOfBusiness, int processMask) {
+        return new FacetCell(LocationNormalizer.normalize(location), natureOfBusiness, processMask);
+    }
+
+    /**
+     * Returns the cell a supplier belongs to.
+     *
+     * @param snapshot the state of the supplier
+     * @return the cell
+     */
+    public static FacetCell of(SupplierSnapshot snapshot) {
+        return of(snapshot.location(), snapshot.natureOfBusiness(), ProcessMasks.toMask(snapshot.manufacturingProcesses()));
+    }
+}
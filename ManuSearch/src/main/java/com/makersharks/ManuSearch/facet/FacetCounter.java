@@ -0,0 +1,86 @@
+package com.makersharks.ManuSearch.facet;
+
+import com.makersharks.ManuSearch.dto.FacetCount;
+import com.makersharks.ManuSearch.dto.SupplierFacets;
+import com.makersharks.ManuSearch.enums.ManufacturingProcess;
+import com.makersharks.ManuSearch.enums.NatureOfBusiness;
+import com.makersharks.ManuSearch.util.LocationNormalizer;
+import com.makersharks.ManuSearch.util.ProcessMasks;
+
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Utility class computing every facet of a partial filter in a single pass over the supplier count matrix.
+ */
+public final class FacetCounter {
+
+    private static final ManufacturingProcess[] PROCESSES = ManufacturingProcess.values();
+
+    private FacetCounter() {
+    }
+
+    /**
+     * Computes the facet counts for a partial filter. A {@code null} criterion matches every supplier.
+     *
+     * @param cells                the supplier count per cell
+     * @param location             the location filter, or {@code null}
+     * @param natureOfBusiness     the nature of business filter, or {@code null}
+     * @param manufacturingProcess the manufacturing process filter, or {@code null}
+     * @param locationLimit        the maximum number of locations to return
+     * @return the {@link SupplierFacets} for the filter
+     */
+    public static SupplierFacets count(Map<FacetCell, Long> cells, String location, NatureOfBusiness natureOfBusiness,
+                                       ManufacturingProcess manufacturingProcess, int locationLimit) {
+        String normalizedLocation = location == null ? null : LocationNormalizer.normalize(location);
+        int processBit = manufacturingProcess == null ? 0 : ProcessMasks.bit(manufacturingProcess);
+
+        long total = 0;
+        long[] byNatureOfBusiness = new long[NatureOfBusiness.values().length];
+        long[] byProcess = new long[PROCESSES.length];
+        Map<String, Long> byLocation = new HashMap<>();
+
+        for (Map.Entry<FacetCell, Long> entry : cells.entrySet()) {
+            FacetCell cell = entry.getKey();
+            long count = entry.getValue();
+            boolean locationMatches = normalizedLocation == null || normalizedLocation.equals(cell.location());
+            boolean natureMatches = natureOfBusiness == null || natureOfBusiness == cell.natureOfBusiness();
+            boolean processMatches = processBit == 0 || (cell.processMask() & processBit) != 0;
+
+            if (locationMatches && natureMatches && processMatches) {
+                total += count;
+            }
+            if (locationMatches && processMatches && cell.natureOfBusiness() != null) {
+                byNatureOfBusiness[cell.natureOfBusiness().ordinal()] += count;
+            }
+            if (locationMatches && natureMatches) {
+                for (ManufacturingProcess process : PROCESSES) {
+                    if ((cell.processMask() & ProcessMasks.bit(process)) != 0) {
+                        byProcess[process.ordinal()] += count;
+                    }
+                }
+            }
+            if (natureMatches && processMatches) {
+                byLocation.merge(cell.location(), count, Long::sum);
+            }
+        }
+
+        Map<NatureOfBusiness, Long> natureFacet = new EnumMap<>(NatureOfBusiness.class);
+        for (NatureOfBusiness value : NatureOfBusiness.values()) {
+            natureFacet.put(value, byNatureOfBusiness[value.ordinal()]);
+        }
+        Map<ManufacturingProcess, Long> processFacet = new EnumMap<>(ManufacturingProcess.class);
+        for (ManufacturingProcess value : PROCESSES) {
+            processFacet.put(value, byProcess[value.ordinal()]);
+        }
+        List<FacetCount> locationFacet = byLocation.entrySet().stream()
+                .map(entry -> new FacetCount(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparingLong(FacetCount::count).reversed().thenComparing(FacetCount::value))
+                .limit(Math.max(0, locationLimit))
+                .toList();
+        return new SupplierFacets(total, natureFacet, processFacet, locationFacet);
+    }
+}
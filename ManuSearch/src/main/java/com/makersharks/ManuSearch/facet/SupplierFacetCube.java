@@ -0,0 +1,183 @@
+package com.makersharks.ManuSearch.facet;
+
+import com.makersharks.ManuSearch.configuration.StartupOrder;
+import com.makersharks.ManuSearch.event.SupplierChangedEvent;
+import com.makersharks.ManuSearch.repository.SupplierFacetRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Precomputed supplier count matrix, maintained incrementally.
+ * The matrix is loaded once the application is ready and afterwards every committed supplier write
+ * decrements the cell of the previous state and increments the cell of the new one,
+ * so facet requests never have to aggregate over the suppliers table.
+ * Writes committed while the matrix loads are buffered and reconciled with the state of each supplier the load read:
+ * the load may or may not have seen a write, and applying its delta in the first case would count it twice.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "manusearch.facets.incremental", havingValue = "true")
+public class SupplierFacetCube {
+
+    private final Map<FacetCell, Long> cells = new ConcurrentHashMap<>();
+
+    private final Object writeLock = new Object();
+
+    private volatile boolean ready;
+
+    /**
+     * Supplier writes committed during the current load, or {@code null} when no load is running.
+     * Guarded by {@code writeLock}.
+     */
+    private List<SupplierChangedEvent> pendingEvents;
+
+    @Autowired
+    private SupplierFacetRepository supplierFacetRepository;
+
+    /**
+     * Indicates whether the matrix has been loaded and can serve facet requests.
+     *
+     * @return true if the matrix is ready, false while it is loading
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Returns a read-only view of the supplier count per cell.
+     *
+     * @return the live cell counts
+     */
+    public Map<FacetCell, Long> cells() {
+        return Collections.unmodifiableMap(cells);
+    }
+
+    /**
+     * Rebuilds the matrix from the cell of every supplier, then reconciles it with the writes committed meanwhile.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(StartupOrder.LOAD_INDEXES)
+    public void load() {
+        long start = System.currentTimeMillis();
+        synchronized (writeLock) {
+            ready = false;
+            pendingEvents = new ArrayList<>();
+        }
+        Map<FacetCell, Long> counts = new HashMap<>();
+        LoadedCells loaded = new LoadedCells();
+        try {
+            supplierFacetRepository.forEachSupplierCell((cell, supplierId) -> {
+                counts.merge(cell, 1L, Long::sum);
+                loaded.add(supplierId, cell);
+            });
+        } catch (RuntimeException e) {
+            synchronized (writeLock) {
+                pendingEvents = null;
+            }
+            throw e;
+        }
+        synchronized (writeLock) {
+            cells.clear();
+            cells.putAll(counts);
+            reconcile(loaded);
+            log.debug("Reconciled {} supplier writes committed while the facet matrix was loading", pendingEvents.size());
+            pendingEvents = null;
+            ready = true;
+        }
+        log.info("Supplier facet matrix loaded with {} cells in {} ms", cells.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Applies committed supplier writes to the matrix, or buffers them while the matrix is loading.
+     *
+     * @param event the supplier change event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSupplierChanged(SupplierChangedEvent event) {
+        synchronized (writeLock) {
+            if (pendingEvents != null) {
+                pendingEvents.add(event);
+                return;
+            }
+            event.removed().forEach(snapshot -> adjust(FacetCell.of(snapshot), -1));
+            event.added().forEach(snapshot -> adjust(FacetCell.of(snapshot), 1));
+        }
+    }
+
+    /**
+     * Moves every supplier written during the load from the cell the load read it in to the cell of its last write.
+     * A supplier whose last write the load already saw is left where it is.
+     */
+    private void reconcile(LoadedCells loaded) {
+        // The cell of each written supplier after its last write, or null once deleted
+        Map<Long, FacetCell> written = new LinkedHashMap<>();
+        for (SupplierChangedEvent event : pendingEvents) {
+            event.removed().forEach(snapshot -> written.put(snapshot.supplierId(), null));
+            event.added().forEach(snapshot -> written.put(snapshot.supplierId(), FacetCell.of(snapshot)));
+        }
+        written.forEach((supplierId, cell) -> {
+            FacetCell loadedCell = loaded.get(supplierId);
+            if (!Objects.equals(loadedCell, cell)) {
+                if (loadedCell != null) {
+                    adjust(loadedCell, -1);
+                }
+                if (cell != null) {
+                    adjust(cell, 1);
+                }
+            }
+        });
+    }
+
+    private void adjust(FacetCell cell, long delta) {
+        cells.compute(cell, (key, count) -> {
+            long updated = (count == null ? 0 : count) + delta;
+            return updated <= 0 ? null : updated;
+        });
+    }
+
+    /**
+     * The cell of every supplier read by a load, in supplier identifier order.
+     * Suppliers sharing a cell share its instance, so this costs about twelve bytes per supplier.
+     */
+    private static class LoadedCells {
+
+        private final Map<FacetCell, FacetCell> instances = new HashMap<>();
+
+        private long[] supplierIds = new long[1024];
+
+        private FacetCell[] cells = new FacetCell[1024];
+
+        private int size;
+
+        void add(long supplierId, FacetCell cell) {
+            if (size == supplierIds.length) {
+                supplierIds = Arrays.copyOf(supplierIds, size * 2);
+                cells = Arrays.copyOf(cells, size * 2);
+            }
+            supplierIds[size] = supplierId;
+            cells[size++] = instances.computeIfAbsent(cell, Function.identity());
+        }
+
+        FacetCell get(long supplierId) {
+            int index = Arrays.binarySearch(supplierIds, 0, size, supplierId);
+            return index < 0 ? null : cells[index];
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.makersharks.ManuSearch.geo;
+
+import com.makersharks.ManuSearch.entity.Supplier;
+import com.makersharks.ManuSearch.util.CsvLineParser;
+import com.makersharks.ManuSearch.util.LocationNormalizer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Offline geocoder for supplier locations, backed by a bundled table of city coordinates
+ * ({@code geo/cities.csv}, columns {@code city,latitude,longitude}).
+ * Locations are matched as a whole after normalization, so "Pune", " pune " and "PUNE" share one entry;
+ * former and alternative city names are listed as rows of their own.
+ */
+@Slf4j
+@Component
+public class CityGazetteer {
+
+    private final Map<String, GeoPoint> cities = new HashMap<>();
+
+    private final Map<String, String> names = new HashMap<>(); // City name as listed in the table, by normalized name
+
+    /**
+     * Loads the city table.
+     *
+     * @param cityTable the CSV city table
+     * @throws UncheckedIOException if the table cannot be read
+     * @throws IllegalArgumentException if a row is malformed
+     */
+    public CityGazetteer(@Value("${manusearch.geo.cities:classpath:geo/cities.csv}") Resource cityTable) {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(cityTable.getInputStream(), StandardCharsets.UTF_8))) {
+            reader.readLine(); // Header
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                List<String> fields = CsvLineParser.parse(line);
+                if (fields.size() != 3) {
+                    throw new IllegalArgumentException("Malformed city table row: " + line);
+                }
+                String city = LocationNormalizer.normalize(fields.get(0));
+                cities.put(city, new GeoPoint(Double.parseDouble(fields.get(1)), Double.parseDouble(fields.get(2))));
+                names.put(city, fields.get(0).trim());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read the city table " + cityTable, e);
+        }
+        log.info("Loaded coordinates of {} cities", cities.size());
+    }
+
+    /**
+     * Looks up the coordinates of a location.
+     *
+     * @param location the location, a city name
+     * @return the coordinates of the city, or empty if it is not in the table
+     */
+    public Optional<GeoPoint> locate(String location) {
+        return Optional.ofNullable(cities.get(LocationNormalizer.normalize(location)));
+    }
+
+    /**
+     * Finds the cities within a distance of a location, other than the location itself.
+     *
+     * @param location the location, a city name
+     * @param radiusKm the largest distance in kilometers
+     * @return the distance in kilometers of each nearby city, by city name as listed in the table;
+     *         empty if the location is not in the table
+     */
+    public Map<String, Double> nearbyCities(String location, double radiusKm) {
+        String normalized = LocationNormalizer.normalize(location);
+        GeoPoint center = cities.get(normalized);
+        Map<String, Double> nearby = new HashMap<>();
+        if (center == null) {
+            return nearby;
+        }
+        cities.forEach((city, point) -> {
+            double distanceKm = GeoPoint.distanceKm(center.latitude(), center.longitude(), point.latitude(), point.longitude());
+            if (!city.equals(normalized) && distanceKm <= radiusKm) {
+                nearby.put(names.get(city), distanceKm);
+            }
+        });
+        return nearby;
+    }
+
+    /**
+     * Fills the coordinates of a supplier from its location, unless both are already set.
+     * Coordinates of unknown locations are left empty.
+     *
+     * @param supplier the supplier to geocode
+     */
+    public void geocode(Supplier supplier) {
+        if (supplier.getLatitude() != null && supplier.getLongitude() != null) {
+            return;
+        }
+        locate(supplier.getLocation()).ifPresent(point -> {
+            supplier.setLatitude(point.latitude());
+            supplier.setLongitude(point.longitude());
+        });
+    }
+}
@@ -0,0 +1,237 @@
+package com.makersharks.ManuSearch.geo;
+
+import com.makersharks.ManuSearch.exception.ManuSearchException;
+
+/**
+ * The area of a geographic supplier query: a circle around a point, or a latitude/longitude box.
+ * Both carry a bounding box, used to select the grid cells to scan, and a center, from which distances are measured.
+ * A box whose minimum longitude is greater than its maximum longitude crosses the antimeridian.
+ */
+public record GeoArea(
+        /*
+         * The point distances are measured from: the center of the circle or of the box.
+         */
+        GeoPoint center,
+
+        /*
+         * The radius of the circle in kilometers, or NaN for a box.
+         */
+        double radiusKm,
+
+        /*
+         * The southern edge of the bounding box.
+         */
+        double minLatitude,
+
+        /*
+         * The northern edge of the bounding box.
+         */
+        double maxLatitude,
+
+        /*
+         * The western edge of the bounding box.
+         */
+        double minLongitude,
+
+        /*
+         * The eastern edge of the bounding box.
+         */
+        double maxLongitude) {
+
+    /**
+     * Creates a circular area.
+     *
+     * @param latitude  the latitude of the center
+     * @param longitude the longitude of the center
+     * @param radiusKm  the radius in kilometers
+     * @return the area
+     * @throws ManuSearchException if a coordinate is out of range or the radius is not positive
+     */
+    public static GeoArea circle(double latitude, double longitude, double radiusKm) {
+        checkLatitude(latitude);
+        checkLongitude(longitude);
+        if (!(radiusKm > 0)) {
+            throw new ManuSearchException("The radius must be greater than 0 km.", false);
+        }
+        double angle = radiusKm / GeoPoint.EARTH_RADIUS_KM;
+        double dLat = Math.toDegrees(angle);
+        double minLat = latitude - dLat;
+        double maxLat = latitude + dLat;
+        double minLon = -180;
+        double maxLon = 180;
+        if (minLat > -90 && maxLat < 90 && angle < Math.PI / 2) {
+            double dLon = Math.toDegrees(Math.asin(Math.min(1, Math.sin(angle) / Math.cos(Math.toRadians(latitude)))));
+            minLon = wrap(longitude - dLon);
+            maxLon = wrap(longitude + dLon);
+            if (dLon >= 180) {
+                minLon = -180;
+                maxLon = 180;
+            }
+        }
+        return new GeoArea(new GeoPoint(latitude, longitude), radiusKm,
+                Math.max(-90, minLat), Math.min(90, maxLat), minLon, maxLon);
+    }
+
+    /**
+     * Creates a rectangular area. Distances are measured from its center.
+     *
+     * @param minLatitude  the southern edge
+     * @param minLongitude the western edge
+     * @param maxLatitude  the northern edge
+     * @param maxLongitude the eastern edge; less than the western edge when the box crosses the antimeridian
+     * @return the area
+     * @throws ManuSearchException if a coordinate is out of range or the southern edge is north of the northern one
+     */
+    public static GeoArea box(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude) {
+        checkLatitude(minLatitude);
+        checkLatitude(maxLatitude);
+        checkLongitude(minLongitude);
+        checkLongitude(maxLongitude);
+        if (minLatitude > maxLatitude) {
+            throw new ManuSearchException("minLat must not be greater than maxLat.", false);
+        }
+        double width = maxLongitude >= minLongitude ? maxLongitude - minLongitude : maxLongitude - minLongitude + 360;
+        GeoPoint center = new GeoPoint((minLatitude + maxLatitude) / 2, wrap(minLongitude + width / 2));
+        return new GeoArea(center, Double.NaN, minLatitude, maxLatitude, minLongitude, maxLongitude);
+    }
+
+    /**
+     * Indicates whether the area is a circle rather than a box.
+     *
+     * @return true for a circle
+     */
+    public boolean isCircle() {
+        return !Double.isNaN(radiusKm);
+    }
+
+    /**
+     * Indicates whether the bounding box crosses the antimeridian.
+     *
+     * @return true if the minimum longitude is greater than the maximum longitude
+     */
+    public boolean crossesAntimeridian() {
+        return minLongitude > maxLongitude;
+    }
+
+    /**
+     * Returns the distance from the center to a position if the position lies in the area.
+     *
+     * @param latitude  the latitude of the position
+     * @param longitude the longitude of the position
+     * @return the distance in kilometers, or a negative value if the position is outside the area
+     */
+    public double distanceIfContains(double latitude, double longitude) {
+        double haversine = haversineIfContains(latitude, longitude);
+        return haversine < 0 ? -1 : GeoPoint.haversineToKm(haversine);
+    }
+
+    /**
+     * Returns the haversine of the angle between the center and a position if the position lies in the area.
+     * Orders positions like {@link #distanceIfContains}, without computing distances.
+     *
+     * @param latitude  the latitude of the position
+     * @param longitude the longitude of the position
+     * @return the haversine (see {@link GeoPoint#haversine}), or a negative value if the position is outside the area
+     */
+    public double haversineIfContains(double latitude, double longitude) {
+        if (latitude < minLatitude || latitude > maxLatitude) {
+            return -1;
+        }
+        boolean inLongitude = crossesAntimeridian()
+                ? longitude >= minLongitude || longitude <= maxLongitude
+                : longitude >= minLongitude && longitude <= maxLongitude;
+        if (!inLongitude) {
+            return -1;
+        }
+        double haversine = haversineFromCenter(latitude, longitude);
+        return isCircle() && haversine > GeoPoint.kmToHaversine(radiusKm) ? -1 : haversine;
+    }
+
+    /**
+     * Indicates whether a latitude/longitude rectangle lies entirely in the area.
+     * The rectangle must not cross the antimeridian.
+     *
+     * @param minLatitude  the southern edge of the rectangle
+     * @param maxLatitude  the northern edge of the rectangle
+     * @param minLongitude the western edge of the rectangle
+     * @param maxLongitude the eastern edge of the rectangle
+     * @return true if every position of the rectangle is in the area
+     */
+    public boolean contains(double minLatitude, double maxLatitude, double minLongitude, double maxLongitude) {
+        if (minLatitude < this.minLatitude || maxLatitude > this.maxLatitude) {
+            return false;
+        }
+        boolean inLongitude = crossesAntimeridian()
+                ? minLongitude >= this.minLongitude || maxLongitude <= this.maxLongitude
+                : minLongitude >= this.minLongitude && maxLongitude <= this.maxLongitude;
+        if (!inLongitude || !isCircle()) {
+            return inLongitude;
+        }
+        // Distances along the edges of the rectangle peak at its corners, as long as the circle is within a hemisphere
+        double radius = GeoPoint.kmToHaversine(radiusKm);
+        return radius < 0.5
+                && haversineFromCenter(minLatitude, minLongitude) <= radius
+                && haversineFromCenter(minLatitude, maxLongitude) <= radius
+                && haversineFromCenter(maxLatitude, minLongitude) <= radius
+                && haversineFromCenter(maxLatitude, maxLongitude) <= radius;
+    }
+
+    /**
+     * Returns a lower bound of the haversine of the angle between the center and any position of a
+     * latitude/longitude rectangle. The rectangle must not cross the antimeridian.
+     *
+     * @param minLatitude  the southern edge of the rectangle
+     * @param maxLatitude  the northern edge of the rectangle
+     * @param minLongitude the western edge of the rectangle
+     * @param maxLongitude the eastern edge of the rectangle
+     * @return the haversine (see {@link GeoPoint#haversine}), 0 if the center lies in the rectangle
+     */
+    public double minHaversine(double minLatitude, double maxLatitude, double minLongitude, double maxLongitude) {
+        double latitude = center.latitude();
+        double longitude = center.longitude();
+        double nearest;
+        if (longitude >= minLongitude && longitude <= maxLongitude) {
+            double dLat = latitude < minLatitude ? minLatitude - latitude : Math.max(0, latitude - maxLatitude);
+            double sin = Math.sin(Math.toRadians(dLat) / 2);
+            nearest = sin * sin;
+        } else {
+            // Distances along a parallel grow with the longitude difference, so the nearest position
+            // lies on the meridian edge with the smallest longitude difference
+            double toWest = wrap(minLongitude - longitude);
+            double toEast = wrap(maxLongitude - longitude);
+            double edge = Math.abs(toWest) < Math.abs(toEast) ? minLongitude : maxLongitude;
+            nearest = Math.min(haversineFromCenter(minLatitude, edge), haversineFromCenter(maxLatitude, edge));
+            // Along a meridian, the cosine of the angle is c * cos(latitude - foot), which peaks at the foot latitude
+            double phi = Math.toRadians(latitude);
+            double cosDLon = Math.cos(Math.toRadians(edge - longitude));
+            double foot = Math.toDegrees(Math.atan2(Math.sin(phi), Math.cos(phi) * cosDLon));
+            if (foot >= minLatitude && foot <= maxLatitude) {
+                nearest = Math.min(nearest, (1 - Math.hypot(Math.sin(phi), Math.cos(phi) * cosDLon)) / 2);
+            }
+        }
+        return Math.max(0, nearest - 1e-15); // Absorb rounding differences with the haversine formula
+    }
+
+    private double haversineFromCenter(double latitude, double longitude) {
+        return GeoPoint.haversine(center.latitude(), center.longitude(), latitude, longitude);
+    }
+
+    private static double wrap(double longitude) {
+        if (longitude < -180) {
+            return longitude + 360;
+        }
+        return longitude > 180 ? longitude - 360 : longitude;
+    }
+
+    private static void checkLatitude(double latitude) {
+        if (!(latitude >= -90 && latitude <= 90)) {
+            throw new ManuSearchException("Latitudes must be between -90 and 90.", false);
+        }
+    }
+
+    private static void checkLongitude(double longitude) {
+        if (!(longitude >= -180 && longitude <= 180)) {
+            throw new ManuSearchException("Longitudes must be between -180 and 180.", false);
+        }
+    }
+}
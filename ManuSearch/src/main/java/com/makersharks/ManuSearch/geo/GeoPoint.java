@@ -0,0 +1,84 @@
+package com.makersharks.ManuSearch.geo;
+
+/**
+ * A position on the Earth's surface in decimal degrees (WGS 84).
+ */
+public record GeoPoint(
+        /*
+         * The latitude, between -90 and 90.
+         */
+        double latitude,
+
+        /*
+         * The longitude, between -180 and 180.
+         */
+        double longitude) {
+
+    /**
+     * Mean radius of the Earth in kilometers.
+     */
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    /**
+     * Returns the great-circle distance to another point, computed with the haversine formula.
+     *
+     * @param other the other point
+     * @return the distance in kilometers
+     */
+    public double distanceKm(GeoPoint other) {
+        return distanceKm(latitude, longitude, other.latitude, other.longitude);
+    }
+
+    /**
+     * Returns the great-circle distance between two positions, computed with the haversine formula.
+     *
+     * @param lat1 the latitude of the first position
+     * @param lon1 the longitude of the first position
+     * @param lat2 the latitude of the second position
+     * @param lon2 the longitude of the second position
+     * @return the distance in kilometers
+     */
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        return haversineToKm(haversine(lat1, lon1, lat2, lon2));
+    }
+
+    /**
+     * Returns the haversine of the central angle between two positions: a value from 0 to 1 that grows with
+     * their distance. Cheaper than the distance itself when positions only need to be compared.
+     *
+     * @param lat1 the latitude of the first position
+     * @param lon1 the longitude of the first position
+     * @param lat2 the latitude of the second position
+     * @param lon2 the longitude of the second position
+     * @return the haversine of the central angle
+     */
+    public static double haversine(double lat1, double lon1, double lat2, double lon2) {
+        double sinDLat = Math.sin(Math.toRadians(lat2 - lat1) / 2);
+        double sinDLon = Math.sin(Math.toRadians(lon2 - lon1) / 2);
+        return sinDLat * sinDLat + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * sinDLon * sinDLon;
+    }
+
+    /**
+     * Converts the haversine of a central angle to a distance.
+     *
+     * @param haversine the haversine of the central angle
+     * @return the distance in kilometers
+     */
+    public static double haversineToKm(double haversine) {
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(haversine)));
+    }
+
+    /**
+     * Converts a distance to the haversine of its central angle.
+     *
+     * @param distanceKm the distance in kilometers
+     * @return the haversine of the central angle, 1 for distances of half the circumference or more
+     */
+    public static double kmToHaversine(double distanceKm) {
+        if (distanceKm >= Math.PI * EARTH_RADIUS_KM) {
+            return 1;
+        }
+        double sin = Math.sin(distanceKm / (2 * EARTH_RADIUS_KM));
+        return sin * sin;
+    }
+}
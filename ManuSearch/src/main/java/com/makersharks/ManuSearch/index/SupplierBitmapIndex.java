@@ -0,0 +1,325 @@
+package com.makersharks.ManuSearch.index;
+
+import com.makersharks.ManuSearch.dto.SupplierSearchCriteria;
+import com.makersharks.ManuSearch.enums.ManufacturingProcess;
+import com.makersharks.ManuSearch.enums.NatureOfBusiness;
+import com.makersharks.ManuSearch.enums.ProcessMatch;
+import com.makersharks.ManuSearch.util.LocationNormalizer;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory bitmap index over the supplier search dimensions.
+ * Keeps one compressed {@link RoaringBitmap} of supplier identifiers per {@link NatureOfBusiness},
+ * per {@link ManufacturingProcess} and per normalized location, and answers queries by intersecting them.
+ * Only the identifiers on the requested page are returned, so the database is used purely for hydration.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "manusearch.index.enabled", havingValue = "true")
+public class SupplierBitmapIndex {
+
+    private final Map<NatureOfBusiness, RoaringBitmap> byNatureOfBusiness = new EnumMap<>(NatureOfBusiness.class);
+
+    private final Map<ManufacturingProcess, RoaringBitmap> byManufacturingProcess = new EnumMap<>(ManufacturingProcess.class);
+
+    private final Map<String, RoaringBitmap> byLocation = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile boolean ready;
+
+    /**
+     * Indicates whether the index has been fully loaded and can serve queries.
+     *
+     * @return true if the index is ready, false while it is (re)loading
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Removes all entries and marks the index as not ready until {@link #markReady()} is called.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            byNatureOfBusiness.clear();
+            byManufacturingProcess.clear();
+            byLocation.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Compresses the bitmaps and marks the index as ready to serve queries.
+     */
+    public void markReady() {
+        lock.writeLock().lock();
+        try {
+            byNatureOfBusiness.values().forEach(RoaringBitmap::runOptimize);
+            byManufacturingProcess.values().forEach(RoaringBitmap::runOptimize);
+            byLocation.values().forEach(RoaringBitmap::runOptimize);
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a supplier to the index. Adding the same supplier twice is harmless.
+     *
+     * @param supplierId             the identifier of the supplier
+     * @param location               the location of the supplier
+     * @param natureOfBusiness       the nature of business of the supplier
+     * @param manufacturingProcesses the manufacturing processes of the supplier
+     */
+    public void add(Long supplierId, String location, NatureOfBusiness natureOfBusiness,
+                    Collection<ManufacturingProcess> manufacturingProcesses) {
+        int id = toIndexId(supplierId);
+        lock.writeLock().lock();
+        try {
+            byLocation.computeIfAbsent(LocationNormalizer.normalize(location), key -> new RoaringBitmap()).add(id);
+            if (natureOfBusiness != null) {
+                byNatureOfBusiness.computeIfAbsent(natureOfBusiness, key -> new RoaringBitmap()).add(id);
+            }
+            if (manufacturingProcesses != null) {
+                for (ManufacturingProcess process : manufacturingProcesses) {
+                    byManufacturingProcess.computeIfAbsent(process, key -> new RoaringBitmap()).add(id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a supplier from every bitmap of the index.
+     *
+     * @param supplierId the identifier of the supplier to remove
+     */
+    public void remove(Long supplierId) {
+        int id = toIndexId(supplierId);
+        lock.writeLock().lock();
+        try {
+            byNatureOfBusiness.values().forEach(bitmap -> bitmap.remove(id));
+            byManufacturingProcess.values().forEach(bitmap -> bitmap.remove(id));
+            byLocation.values().removeIf(bitmap -> {
+                bitmap.remove(id);
+                return bitmap.isEmpty();
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the identifiers of suppliers matching all three criteria, ordered by identifier.
+     *
+     * @param location             the location of the supplier
+     * @param natureOfBusiness     the nature of business of the supplier
+     * @param manufacturingProcess the manufacturing process used by the supplier
+     * @param page                 the zero-based page number
+     * @param size                 the number of identifiers per page
+     * @return the {@link SupplierIdPage} for the requested page
+     */
+    public SupplierIdPage query(String location, NatureOfBusiness natureOfBusiness,
+                                ManufacturingProcess manufacturingProcess, int page, int size) {
+        return query(location, natureOfBusiness, manufacturingProcess, null, page, size);
+    }
+
+    /**
+     * Finds the identifiers of suppliers matching all three criteria and belonging to a restriction set,
+     * such as the matches of a text query, ordered by identifier.
+     *
+     * @param location             the location of the supplier
+     * @param natureOfBusiness     the nature of business of the supplier
+     * @param manufacturingProcess the manufacturing process used by the supplier
+     * @param restriction          the identifiers the results are restricted to, or {@code null} for no restriction
+     * @param page                 the zero-based page number
+     * @param size                 the number of identifiers per page
+     * @return the {@link SupplierIdPage} for the requested page
+     */
+    public SupplierIdPage query(String location, NatureOfBusiness natureOfBusiness,
+                                ManufacturingProcess manufacturingProcess, RoaringBitmap restriction, int page, int size) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap matches = match(location, natureOfBusiness, manufacturingProcess);
+            if (restriction != null) {
+                matches.and(restriction);
+            }
+            return slice(matches, page, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the identifiers of suppliers matching multi-value search criteria, ordered by identifier.
+     * The bitmaps of the values of each dimension are united, then the dimensions are intersected;
+     * with {@link ProcessMatch#ALL} the process bitmaps are intersected instead.
+     *
+     * @param criteria the search criteria
+     * @param page     the zero-based page number
+     * @param size     the number of identifiers per page
+     * @return the {@link SupplierIdPage} for the requested page
+     */
+    public SupplierIdPage search(SupplierSearchCriteria criteria, int page, int size) {
+        lock.readLock().lock();
+        try {
+            List<RoaringBitmap> dimensions = new ArrayList<>(3);
+            if (!criteria.locations().isEmpty()) {
+                dimensions.add(union(criteria.locations().stream()
+                        .map(location -> byLocation.get(LocationNormalizer.normalize(location))).toList()));
+            }
+            if (!criteria.naturesOfBusiness().isEmpty()) {
+                dimensions.add(union(criteria.naturesOfBusiness().stream().map(byNatureOfBusiness::get).toList()));
+            }
+            if (!criteria.manufacturingProcesses().isEmpty()) {
+                List<RoaringBitmap> processes = criteria.manufacturingProcesses().stream()
+                        .map(byManufacturingProcess::get).toList();
+                dimensions.add(criteria.processMatch() == ProcessMatch.ALL ? intersection(processes) : union(processes));
+            }
+
+            RoaringBitmap matches;
+            if (dimensions.isEmpty()) {
+                matches = union(new ArrayList<>(byNatureOfBusiness.values()));
+            } else {
+                matches = intersection(dimensions);
+            }
+            return slice(matches, page, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds up to {@code limit} identifiers of matching suppliers that are greater than {@code afterId}.
+     * This is the keyset counterpart of {@link #query}, used for cursor-based pagination.
+     *
+     * @param location             the location of the supplier
+     * @param natureOfBusiness     the nature of business of the supplier
+     * @param manufacturingProcess the manufacturing process used by the supplier
+     * @param afterId              the last identifier already returned, or {@code null} to start from the beginning
+     * @param limit                the maximum number of identifiers to return
+     * @return the matching identifiers in ascending order
+     */
+    public List<Long> seek(String location, NatureOfBusiness natureOfBusiness,
+                           ManufacturingProcess manufacturingProcess, Long afterId, int limit) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap matches = match(location, natureOfBusiness, manufacturingProcess);
+            List<Long> ids = new ArrayList<>((int) Math.min(Math.max(limit, 0), matches.getLongCardinality()));
+            PeekableIntIterator iterator = matches.getIntIterator();
+            if (afterId != null && afterId >= 0) {
+                if (afterId >= 0xFFFFFFFFL) {
+                    return Collections.emptyList();
+                }
+                iterator.advanceIfNeeded((int) (afterId + 1));
+            }
+            while (iterator.hasNext() && ids.size() < limit) {
+                ids.add(Integer.toUnsignedLong(iterator.next()));
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Intersects the bitmaps of the three criteria. Must be called while holding the read lock.
+     *
+     * @param location             the location of the supplier
+     * @param natureOfBusiness     the nature of business of the supplier
+     * @param manufacturingProcess the manufacturing process used by the supplier
+     * @return a new bitmap of the matching identifiers, empty if any criterion has no suppliers
+     */
+    private RoaringBitmap match(String location, NatureOfBusiness natureOfBusiness,
+                                ManufacturingProcess manufacturingProcess) {
+        RoaringBitmap locationBitmap = byLocation.get(LocationNormalizer.normalize(location));
+        RoaringBitmap natureBitmap = byNatureOfBusiness.get(natureOfBusiness);
+        RoaringBitmap processBitmap = byManufacturingProcess.get(manufacturingProcess);
+        if (locationBitmap == null || natureBitmap == null || processBitmap == null) {
+            return new RoaringBitmap();
+        }
+        return FastAggregation.and(locationBitmap, natureBitmap, processBitmap);
+    }
+
+    /**
+     * Unites bitmaps, skipping missing ones. Must be called while holding the read lock.
+     *
+     * @param bitmaps the bitmaps, some of which may be {@code null}
+     * @return a new bitmap of the identifiers in any of the bitmaps
+     */
+    private static RoaringBitmap union(List<RoaringBitmap> bitmaps) {
+        return FastAggregation.or(bitmaps.stream().filter(Objects::nonNull).iterator());
+    }
+
+    /**
+     * Intersects bitmaps. Must be called while holding the read lock.
+     *
+     * @param bitmaps the bitmaps, some of which may be {@code null}
+     * @return a new bitmap of the identifiers in every bitmap, empty if any bitmap is missing
+     */
+    private static RoaringBitmap intersection(List<RoaringBitmap> bitmaps) {
+        if (bitmaps.contains(null)) {
+            return new RoaringBitmap();
+        }
+        return bitmaps.size() == 1 ? bitmaps.get(0).clone() : FastAggregation.and(bitmaps.iterator());
+    }
+
+    /**
+     * Extracts one page of identifiers from a bitmap without materializing the others.
+     *
+     * @param matches the bitmap of all matching identifiers
+     * @param page    the zero-based page number
+     * @param size    the number of identifiers per page
+     * @return the {@link SupplierIdPage} for the requested page
+     */
+    private SupplierIdPage slice(RoaringBitmap matches, int page, int size) {
+        long total = matches.getLongCardinality();
+        long offset = (long) page * size;
+        if (offset >= total) {
+            return new SupplierIdPage(Collections.emptyList(), total);
+        }
+
+        List<Long> ids = new ArrayList<>((int) Math.min(size, total - offset));
+        PeekableIntIterator iterator = matches.getIntIterator();
+        iterator.advanceIfNeeded(matches.select((int) offset));
+        while (iterator.hasNext() && ids.size() < size) {
+            ids.add(Integer.toUnsignedLong(iterator.next()));
+        }
+        return new SupplierIdPage(ids, total);
+    }
+
+    /**
+     * Converts a supplier identifier to the 32-bit value stored in the bitmaps.
+     *
+     * @param supplierId the identifier of the supplier
+     * @return the identifier as an int
+     * @throws IllegalArgumentException if the identifier does not fit in 32 bits
+     */
+    private static int toIndexId(Long supplierId) {
+        if (supplierId == null || supplierId < 0 || supplierId > 0xFFFFFFFFL) {
+            throw new IllegalArgumentException("Supplier id cannot be indexed: " + supplierId);
+        }
+        return (int) supplierId.longValue();
+    }
+}
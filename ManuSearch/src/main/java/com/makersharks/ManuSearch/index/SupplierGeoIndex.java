@@ -0,0 +1,639 @@
+package com.makersharks.ManuSearch.index;
+
+import com.makersharks.ManuSearch.enums.ManufacturingProcess;
+import com.makersharks.ManuSearch.enums.NatureOfBusiness;
+import com.makersharks.ManuSearch.geo.GeoArea;
+import com.makersharks.ManuSearch.geo.GeoPoint;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory spatial index of supplier coordinates.
+ * <p>
+ * Suppliers are grouped by point (suppliers geocoded from the same city share one), and points by a two-level grid:
+ * square cells of {@code manusearch.geo.cell-size-degrees}, each split into {@value #SUBDIVISIONS} by
+ * {@value #SUBDIVISIONS} sub-cells. Every cell keeps its number of suppliers for each combination of nature of
+ * business and manufacturing process filters.
+ * A query visits the cells overlapping the bounding box of its area: cells entirely in the area are counted from
+ * their counters alone, cells cut by its edge are split into their sub-cells, and only the points of sub-cells cut by
+ * the edge are measured. Cells are then expanded nearest first, and only until the requested page is filled, so the
+ * cost of a query depends on the length of its edge rather than on the number of suppliers it matches.
+ */
+@Component
+@ConditionalOnProperty(name = "manusearch.geo.enabled", havingValue = "true")
+public class SupplierGeoIndex {
+
+    /**
+     * Number of sub-cells along each side of a cell.
+     */
+    static final int SUBDIVISIONS = 10;
+
+    private static final NatureOfBusiness[] NATURES = NatureOfBusiness.values();
+
+    private static final ManufacturingProcess[] PROCESSES = ManufacturingProcess.values();
+
+    private static final int FILTERS = (NATURES.length + 1) * (PROCESSES.length + 1);
+
+    private static final int SMALL_POINT = 64; // Points with at most this many suppliers are filtered supplier by supplier
+
+    private static final long NO_POINT = Long.MIN_VALUE;
+
+    private final double subCellDegrees;
+
+    private final int longitudeSubCells;
+
+    private final int longitudeCells;
+
+    private final Map<Long, Cell> cells = new HashMap<>();
+
+    private final Map<NatureOfBusiness, RoaringBitmap> byNatureOfBusiness = new EnumMap<>(NatureOfBusiness.class);
+
+    private final Map<ManufacturingProcess, RoaringBitmap> byManufacturingProcess = new EnumMap<>(ManufacturingProcess.class);
+
+    private final Map<Integer, RoaringBitmap> filterBitmaps = new ConcurrentHashMap<>(); // Cleared on every write
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long[] pointOf = new long[0]; // Point key of each indexed supplier, by identifier
+
+    private byte[] natureOf = new byte[0]; // Ordinal of the nature of business of each indexed supplier, or -1
+
+    private int[] processesOf = new int[0]; // Bitmask of the process ordinals of each indexed supplier
+
+    private volatile boolean ready;
+
+    /**
+     * Creates an empty index.
+     *
+     * @param cellDegrees the side of a grid cell in degrees
+     */
+    public SupplierGeoIndex(@Value("${manusearch.geo.cell-size-degrees:0.1}") double cellDegrees) {
+        if (!(cellDegrees > 0 && cellDegrees <= 90)) {
+            throw new IllegalArgumentException("Grid cell size must be between 0 and 90 degrees: " + cellDegrees);
+        }
+        if (PROCESSES.length > Integer.SIZE) {
+            throw new IllegalStateException("Too many manufacturing processes for a bitmask: " + PROCESSES.length);
+        }
+        this.subCellDegrees = cellDegrees / SUBDIVISIONS;
+        this.longitudeSubCells = (int) Math.ceil(360 / subCellDegrees);
+        this.longitudeCells = (longitudeSubCells + SUBDIVISIONS - 1) / SUBDIVISIONS;
+    }
+
+    /**
+     * Indicates whether the index has been fully loaded and can serve queries.
+     *
+     * @return true if the index is ready, false while it is (re)loading
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Removes all entries and marks the index as not ready until {@link #markReady()} is called.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            cells.clear();
+            byNatureOfBusiness.clear();
+            byManufacturingProcess.clear();
+            filterBitmaps.clear();
+            pointOf = new long[0];
+            natureOf = new byte[0];
+            processesOf = new int[0];
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Compresses the bitmaps and marks the index as ready to serve queries.
+     */
+    public void markReady() {
+        lock.writeLock().lock();
+        try {
+            cells.values().forEach(cell -> cell.subCells.values()
+                    .forEach(subCell -> subCell.points.values().forEach(RoaringBitmap::runOptimize)));
+            byNatureOfBusiness.values().forEach(RoaringBitmap::runOptimize);
+            byManufacturingProcess.values().forEach(RoaringBitmap::runOptimize);
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a supplier to the index, moving it if it was indexed at other coordinates.
+     * Processes accumulate over calls, so a supplier can be added once per process.
+     *
+     * @param supplierId             the identifier of the supplier
+     * @param latitude               the latitude of the supplier
+     * @param longitude              the longitude of the supplier
+     * @param natureOfBusiness       the nature of business of the supplier
+     * @param manufacturingProcesses the manufacturing processes of the supplier
+     */
+    public void add(Long supplierId, double latitude, double longitude, NatureOfBusiness natureOfBusiness,
+                    Collection<ManufacturingProcess> manufacturingProcesses) {
+        int id = toIndexId(supplierId);
+        long point = pointKey((float) latitude, (float) longitude);
+        lock.writeLock().lock();
+        try {
+            ensureCapacity(id);
+            filterBitmaps.clear();
+            removePoint(id);
+            if (natureOfBusiness != null) {
+                if (natureOf[id] >= 0 && natureOf[id] != natureOfBusiness.ordinal()) {
+                    byNatureOfBusiness.get(NATURES[natureOf[id]]).remove(id);
+                }
+                natureOf[id] = (byte) natureOfBusiness.ordinal();
+                byNatureOfBusiness.computeIfAbsent(natureOfBusiness, key -> new RoaringBitmap()).add(id);
+            }
+            if (manufacturingProcesses != null) {
+                for (ManufacturingProcess process : manufacturingProcesses) {
+                    processesOf[id] |= 1 << process.ordinal();
+                    byManufacturingProcess.computeIfAbsent(process, key -> new RoaringBitmap()).add(id);
+                }
+            }
+            int subRow = subRow(latitudeOf(point));
+            int subColumn = subColumn(longitudeOf(point));
+            Cell cell = cells.computeIfAbsent(cellKey(subRow, subColumn), key -> new Cell(false));
+            Cell subCell = cell.subCells.computeIfAbsent(subCellKey(subRow, subColumn), key -> new Cell(true));
+            count(cell, id, 1);
+            count(subCell, id, 1);
+            subCell.points.computeIfAbsent(point, key -> new RoaringBitmap()).add(id);
+            pointOf[id] = point;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a supplier from the index.
+     *
+     * @param supplierId the identifier of the supplier to remove
+     */
+    public void remove(Long supplierId) {
+        int id = toIndexId(supplierId);
+        lock.writeLock().lock();
+        try {
+            if (Integer.toUnsignedLong(id) >= pointOf.length) {
+                return;
+            }
+            filterBitmaps.clear();
+            removePoint(id);
+            byNatureOfBusiness.values().forEach(bitmap -> bitmap.remove(id));
+            byManufacturingProcess.values().forEach(bitmap -> bitmap.remove(id));
+            natureOf[id] = -1;
+            processesOf[id] = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds one page of the suppliers in an area, nearest to its center first.
+     * Suppliers at the same point are ordered by identifier.
+     *
+     * @param area                 the area to search
+     * @param natureOfBusiness     the nature of business to filter on, or {@code null} for any
+     * @param manufacturingProcess the manufacturing process to filter on, or {@code null} for any
+     * @param page                 the zero-based page number
+     * @param size                 the number of identifiers per page
+     * @return the {@link SupplierIdPage} for the requested page, in distance order
+     */
+    public SupplierIdPage near(GeoArea area, NatureOfBusiness natureOfBusiness, ManufacturingProcess manufacturingProcess,
+                               int page, int size) {
+        lock.readLock().lock();
+        try {
+            Filter filter = new Filter(natureOfBusiness, manufacturingProcess);
+            List<CellCandidate> cellsInArea = new ArrayList<>();
+            long total = collectCells(area, filter, cellsInArea);
+            long offset = (long) page * size;
+            if (offset >= total) {
+                return new SupplierIdPage(Collections.emptyList(), total);
+            }
+            PriorityQueue<CellCandidate> nearestCells = new PriorityQueue<>(cellsInArea); // Heapified in linear time
+
+            // Expand cells into points only while they may hold a point nearer than the nearest one found so far
+            long skipped = 0;
+            List<Long> ids = new ArrayList<>((int) Math.min(size, total - offset));
+            PriorityQueue<PointCandidate> nearestPoints = new PriorityQueue<>();
+            while (ids.size() < size) {
+                while (!nearestCells.isEmpty() && (nearestPoints.isEmpty()
+                        || nearestCells.peek().minHaversine() <= nearestPoints.peek().haversine())) {
+                    expand(area, filter, nearestCells.poll(), nearestCells, nearestPoints);
+                }
+                PointCandidate point = nearestPoints.poll();
+                if (point == null) {
+                    break;
+                }
+                if (skipped + point.count() > offset) {
+                    addMatches(point.suppliers(), filter, (int) Math.max(0, offset - skipped), size, ids);
+                }
+                skipped += point.count();
+            }
+            return new SupplierIdPage(ids, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Collects the cells of an area that hold suppliers passing the filter, and counts those suppliers.
+     * Scans the cells overlapping the bounding box, or every cell when that is cheaper.
+     * Must be called while holding the read lock.
+     *
+     * @return the number of suppliers in the area passing the filter
+     */
+    private long collectCells(GeoArea area, Filter filter, List<CellCandidate> candidates) {
+        int minRow = subRow(area.minLatitude()) / SUBDIVISIONS;
+        int maxRow = subRow(area.maxLatitude()) / SUBDIVISIONS;
+        int minColumn = subColumn(area.minLongitude()) / SUBDIVISIONS;
+        int maxColumn = subColumn(area.maxLongitude()) / SUBDIVISIONS;
+        int columns = area.crossesAntimeridian() ? longitudeCells - minColumn + maxColumn + 1 : maxColumn - minColumn + 1;
+        long rangeCells = (long) (maxRow - minRow + 1) * columns;
+
+        long total = 0;
+        if (rangeCells > cells.size()) {
+            for (Map.Entry<Long, Cell> entry : cells.entrySet()) {
+                long key = entry.getKey();
+                total += collectCell(area, filter, entry.getValue(), (int) (key / longitudeCells) * SUBDIVISIONS,
+                        (int) (key % longitudeCells) * SUBDIVISIONS, candidates);
+            }
+        } else {
+            for (int row = minRow; row <= maxRow; row++) {
+                for (int i = 0; i < columns; i++) {
+                    int column = (minColumn + i) % longitudeCells;
+                    Cell cell = cells.get((long) row * longitudeCells + column);
+                    if (cell != null) {
+                        total += collectCell(area, filter, cell, row * SUBDIVISIONS, column * SUBDIVISIONS, candidates);
+                    }
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Collects a cell or sub-cell holding suppliers in the area that pass the filter, and counts those suppliers.
+     * Cells entirely in the area are counted from their counters. Cells cut by the edge of the area are replaced
+     * by their sub-cells, and the points of sub-cells cut by the edge are measured.
+     *
+     * @param subRow    the grid row of the southernmost sub-cell of the cell
+     * @param subColumn the grid column of the westernmost sub-cell of the cell
+     * @return the number of suppliers of the cell in the area passing the filter
+     */
+    private long collectCell(GeoArea area, Filter filter, Cell cell, int subRow, int subColumn,
+                             List<CellCandidate> candidates) {
+        if (cell.counts[filter.index()] == 0) {
+            return 0;
+        }
+        int span = cell.isSubCell() ? 1 : SUBDIVISIONS;
+        double minHaversine = area.minHaversine(south(subRow), north(subRow, span), west(subColumn), east(subColumn, span));
+        if (area.isCircle() && minHaversine > GeoPoint.kmToHaversine(area.radiusKm())) {
+            return 0;
+        }
+
+        long count = 0;
+        boolean inside = area.contains(south(subRow), north(subRow, span), west(subColumn), east(subColumn, span));
+        if (inside) {
+            count = cell.counts[filter.index()];
+        } else if (!cell.isSubCell()) {
+            for (Map.Entry<Integer, Cell> entry : cell.subCells.entrySet()) {
+                int key = entry.getKey();
+                count += collectCell(area, filter, entry.getValue(), subRow + key / SUBDIVISIONS,
+                        subColumn + key % SUBDIVISIONS, candidates);
+            }
+            return count;
+        } else {
+            for (Map.Entry<Long, RoaringBitmap> entry : cell.points.entrySet()) {
+                long point = entry.getKey();
+                if (area.haversineIfContains(latitudeOf(point), longitudeOf(point)) >= 0) {
+                    count += countMatches(entry.getValue(), filter);
+                }
+            }
+        }
+        if (count > 0) {
+            candidates.add(new CellCandidate(cell, subRow, subColumn, inside, minHaversine));
+        }
+        return count;
+    }
+
+    /**
+     * Expands a queued cell: a cell entirely in the area into its sub-cells, and a sub-cell into its points
+     * in the area holding suppliers that pass the filter.
+     */
+    private void expand(GeoArea area, Filter filter, CellCandidate candidate, PriorityQueue<CellCandidate> cellQueue,
+                        PriorityQueue<PointCandidate> pointQueue) {
+        Cell cell = candidate.cell();
+        if (!cell.isSubCell()) {
+            for (Map.Entry<Integer, Cell> entry : cell.subCells.entrySet()) {
+                Cell subCell = entry.getValue();
+                if (subCell.counts[filter.index()] > 0) {
+                    int subRow = candidate.subRow() + entry.getKey() / SUBDIVISIONS;
+                    int subColumn = candidate.subColumn() + entry.getKey() % SUBDIVISIONS;
+                    double minHaversine = area.minHaversine(south(subRow), north(subRow, 1), west(subColumn), east(subColumn, 1));
+                    cellQueue.add(new CellCandidate(subCell, subRow, subColumn, true, minHaversine));
+                }
+            }
+            return;
+        }
+        GeoPoint center = area.center();
+        for (Map.Entry<Long, RoaringBitmap> entry : cell.points.entrySet()) {
+            long point = entry.getKey();
+            double haversine = candidate.inside()
+                    ? GeoPoint.haversine(center.latitude(), center.longitude(), latitudeOf(point), longitudeOf(point))
+                    : area.haversineIfContains(latitudeOf(point), longitudeOf(point));
+            long count = haversine < 0 ? 0 : countMatches(entry.getValue(), filter);
+            if (count > 0) {
+                pointQueue.add(new PointCandidate(point, haversine, entry.getValue(), count));
+            }
+        }
+    }
+
+    /**
+     * Counts the suppliers of a point that pass the filter, one by one for small points.
+     */
+    private long countMatches(RoaringBitmap suppliers, Filter filter) {
+        if (filter.isEmpty()) {
+            return suppliers.getLongCardinality();
+        }
+        if (suppliers.getCardinality() > SMALL_POINT) {
+            return RoaringBitmap.andCardinality(suppliers, filterBitmap(filter));
+        }
+        long count = 0;
+        for (PeekableIntIterator iterator = suppliers.getIntIterator(); iterator.hasNext(); ) {
+            if (filter.matches(iterator.next())) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Adds the suppliers of a point that pass the filter to a page, skipping the first ones.
+     */
+    private void addMatches(RoaringBitmap suppliers, Filter filter, int skip, int size, List<Long> ids) {
+        if (!filter.isEmpty() && suppliers.getCardinality() > SMALL_POINT) {
+            RoaringBitmap matches = RoaringBitmap.and(suppliers, filterBitmap(filter));
+            PeekableIntIterator iterator = matches.getIntIterator();
+            if (skip > 0) {
+                iterator.advanceIfNeeded(matches.select(skip));
+            }
+            while (iterator.hasNext() && ids.size() < size) {
+                ids.add(Integer.toUnsignedLong(iterator.next()));
+            }
+            return;
+        }
+        for (PeekableIntIterator iterator = suppliers.getIntIterator(); iterator.hasNext() && ids.size() < size; ) {
+            int id = iterator.next();
+            if (filter.matches(id) && skip-- <= 0) {
+                ids.add(Integer.toUnsignedLong(id));
+            }
+        }
+    }
+
+    /**
+     * Returns the bitmap of the suppliers passing a non-empty filter, intersected once per filter until the next
+     * write. Must be called while holding the read lock.
+     */
+    private RoaringBitmap filterBitmap(Filter filter) {
+        return filterBitmaps.computeIfAbsent(filter.index(), index -> {
+            RoaringBitmap natures = filter.natureOfBusiness() == null ? null
+                    : byNatureOfBusiness.getOrDefault(filter.natureOfBusiness(), new RoaringBitmap());
+            RoaringBitmap processes = filter.manufacturingProcess() == null ? null
+                    : byManufacturingProcess.getOrDefault(filter.manufacturingProcess(), new RoaringBitmap());
+            if (natures == null || processes == null) {
+                return natures != null ? natures : processes;
+            }
+            return RoaringBitmap.and(natures, processes);
+        });
+    }
+
+    /**
+     * Adds a supplier to, or removes it from, the counters of a cell. Must hold the write lock.
+     *
+     * @param delta 1 to add the supplier, -1 to remove it
+     */
+    private void count(Cell cell, int id, int delta) {
+        int nature = natureOf[id];
+        int processes = processesOf[id];
+        for (int natureKey : nature < 0 ? new int[] {0} : new int[] {0, nature + 1}) {
+            cell.counts[natureKey * (PROCESSES.length + 1)] += delta;
+            for (int process = 0; process < PROCESSES.length; process++) {
+                if ((processes & (1 << process)) != 0) {
+                    cell.counts[natureKey * (PROCESSES.length + 1) + process + 1] += delta;
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes a supplier from its point and from the counters of its cells, dropping the point, sub-cell and cell
+     * once empty. Must hold the write lock.
+     */
+    private void removePoint(int id) {
+        if (pointOf[id] == NO_POINT) {
+            return;
+        }
+        long point = pointOf[id];
+        int subRow = subRow(latitudeOf(point));
+        int subColumn = subColumn(longitudeOf(point));
+        long key = cellKey(subRow, subColumn);
+        int subKey = subCellKey(subRow, subColumn);
+        Cell cell = cells.get(key);
+        Cell subCell = cell.subCells.get(subKey);
+        RoaringBitmap suppliers = subCell.points.get(point);
+        suppliers.remove(id);
+        count(subCell, id, -1);
+        count(cell, id, -1);
+        if (suppliers.isEmpty()) {
+            subCell.points.remove(point);
+            if (subCell.points.isEmpty()) {
+                cell.subCells.remove(subKey);
+                if (cell.subCells.isEmpty()) {
+                    cells.remove(key);
+                }
+            }
+        }
+        pointOf[id] = NO_POINT;
+    }
+
+    private void ensureCapacity(int id) {
+        if (id < 0) {
+            throw new IllegalArgumentException("Supplier id cannot be geo-indexed: " + Integer.toUnsignedLong(id));
+        }
+        if (id >= pointOf.length) {
+            int previous = pointOf.length;
+            int length = Math.max(id + 1, (int) Math.min(Integer.MAX_VALUE - 8, previous * 3L / 2));
+            pointOf = Arrays.copyOf(pointOf, length);
+            natureOf = Arrays.copyOf(natureOf, length);
+            processesOf = Arrays.copyOf(processesOf, length);
+            Arrays.fill(pointOf, previous, length, NO_POINT);
+            Arrays.fill(natureOf, previous, length, (byte) -1);
+        }
+    }
+
+    private long cellKey(int subRow, int subColumn) {
+        return (long) (subRow / SUBDIVISIONS) * longitudeCells + subColumn / SUBDIVISIONS;
+    }
+
+    private static int subCellKey(int subRow, int subColumn) {
+        return subRow % SUBDIVISIONS * SUBDIVISIONS + subColumn % SUBDIVISIONS;
+    }
+
+    private int subRow(double latitude) {
+        return (int) Math.floor((latitude + 90) / subCellDegrees);
+    }
+
+    private int subColumn(double longitude) {
+        return Math.min(longitudeSubCells - 1, (int) Math.floor((longitude + 180) / subCellDegrees));
+    }
+
+    private double south(int subRow) {
+        return Math.max(-90, subRow * subCellDegrees - 90);
+    }
+
+    private double north(int subRow, int span) {
+        return Math.min(90, (subRow + span) * subCellDegrees - 90);
+    }
+
+    private double west(int subColumn) {
+        return subColumn * subCellDegrees - 180;
+    }
+
+    private double east(int subColumn, int span) {
+        return Math.min(180, (subColumn + span) * subCellDegrees - 180);
+    }
+
+    private static long pointKey(float latitude, float longitude) {
+        return ((long) Float.floatToIntBits(latitude) << 32) | (Float.floatToIntBits(longitude) & 0xFFFFFFFFL);
+    }
+
+    private static double latitudeOf(long point) {
+        return Float.intBitsToFloat((int) (point >>> 32));
+    }
+
+    private static double longitudeOf(long point) {
+        return Float.intBitsToFloat((int) point);
+    }
+
+    /**
+     * Converts a supplier identifier to the 32-bit value stored in the bitmaps.
+     *
+     * @param supplierId the identifier of the supplier
+     * @return the identifier as an int
+     * @throws IllegalArgumentException if the identifier does not fit in 32 bits
+     */
+    private static int toIndexId(Long supplierId) {
+        if (supplierId == null || supplierId < 0 || supplierId > 0xFFFFFFFFL) {
+            throw new IllegalArgumentException("Supplier id cannot be indexed: " + supplierId);
+        }
+        return (int) supplierId.longValue();
+    }
+
+    /**
+     * The nature of business and process filters of a query.
+     */
+    private final class Filter {
+
+        private final NatureOfBusiness natureOfBusiness;
+
+        private final ManufacturingProcess manufacturingProcess;
+
+        private final int index; // Position of the filter in the counters of a cell
+
+        private Filter(NatureOfBusiness natureOfBusiness, ManufacturingProcess manufacturingProcess) {
+            this.natureOfBusiness = natureOfBusiness;
+            this.manufacturingProcess = manufacturingProcess;
+            this.index = (natureOfBusiness == null ? 0 : natureOfBusiness.ordinal() + 1) * (PROCESSES.length + 1)
+                    + (manufacturingProcess == null ? 0 : manufacturingProcess.ordinal() + 1);
+        }
+
+        private NatureOfBusiness natureOfBusiness() {
+            return natureOfBusiness;
+        }
+
+        private ManufacturingProcess manufacturingProcess() {
+            return manufacturingProcess;
+        }
+
+        private int index() {
+            return index;
+        }
+
+        private boolean isEmpty() {
+            return index == 0;
+        }
+
+        private boolean matches(int id) {
+            return (natureOfBusiness == null || natureOf[id] == natureOfBusiness.ordinal())
+                    && (manufacturingProcess == null || (processesOf[id] & (1 << manufacturingProcess.ordinal())) != 0);
+        }
+    }
+
+    /**
+     * A grid cell, with its counters and either its sub-cells or, for a sub-cell, the suppliers of each point.
+     */
+    private static final class Cell {
+
+        private final int[] counts = new int[FILTERS]; // Number of suppliers passing each filter
+
+        private final Map<Integer, Cell> subCells;
+
+        private final Map<Long, RoaringBitmap> points;
+
+        private Cell(boolean subCell) {
+            this.subCells = subCell ? null : new HashMap<>();
+            this.points = subCell ? new HashMap<>() : null;
+        }
+
+        private boolean isSubCell() {
+            return points != null;
+        }
+    }
+
+    /**
+     * A queued cell or sub-cell holding matches, with a lower bound of the haversine of its distance to the center
+     * of the area and whether it lies entirely in the area. Ordered by distance.
+     */
+    private record CellCandidate(Cell cell, int subRow, int subColumn, boolean inside, double minHaversine)
+            implements Comparable<CellCandidate> {
+
+        @Override
+        public int compareTo(CellCandidate other) {
+            return Double.compare(minHaversine, other.minHaversine);
+        }
+    }
+
+    /**
+     * A point in the queried area, the haversine of its distance to the center, the suppliers located there and
+     * how many pass the filter. Ordered by distance, then by point so that ties are broken the same way on every query.
+     */
+    private record PointCandidate(long point, double haversine, RoaringBitmap suppliers, long count)
+            implements Comparable<PointCandidate> {
+
+        @Override
+        public int compareTo(PointCandidate other) {
+            int byDistance = Double.compare(haversine, other.haversine);
+            return byDistance != 0 ? byDistance : Long.compare(point, other.point);
+        }
+    }
+}
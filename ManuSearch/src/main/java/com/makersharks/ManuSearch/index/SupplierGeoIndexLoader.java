@@ -0,0 +1,87 @@
+package com.makersharks.ManuSearch.index;
+
+import com.makersharks.ManuSearch.configuration.StartupOrder;
+import com.makersharks.ManuSearch.event.SupplierChangedEvent;
+import com.makersharks.ManuSearch.event.SupplierSnapshot;
+import com.makersharks.ManuSearch.geo.CityGazetteer;
+import com.makersharks.ManuSearch.geo.GeoPoint;
+import com.makersharks.ManuSearch.projection.SupplierGeoEntry;
+import com.makersharks.ManuSearch.repository.SupplierRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Loads the {@link SupplierGeoIndex} from the database once the application is ready,
+ * and keeps it in sync with supplier writes afterwards.
+ * Suppliers stored without coordinates (rows written before they were geocoded) are geocoded from their location
+ * while loading; suppliers in cities missing from the {@link CityGazetteer} are left out of the index.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "manusearch.geo.enabled", havingValue = "true")
+public class SupplierGeoIndexLoader {
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private SupplierGeoIndex supplierGeoIndex;
+
+    @Autowired
+    private CityGazetteer cityGazetteer;
+
+    /**
+     * Rebuilds the index from the suppliers table.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(StartupOrder.LOAD_INDEXES)
+    @Transactional(readOnly = true)
+    public void load() {
+        long start = System.currentTimeMillis();
+        supplierGeoIndex.clear();
+        try (Stream<SupplierGeoEntry> entries = supplierRepository.streamGeoEntries()) {
+            entries.forEach(entry -> locate(entry.getLocation(), entry.getLatitude(), entry.getLongitude())
+                    .ifPresent(point -> supplierGeoIndex.add(entry.getSupplierId(), point.latitude(), point.longitude(),
+                            entry.getNatureOfBusiness(), List.of(entry.getManufacturingProcess()))));
+        }
+        supplierGeoIndex.markReady();
+        log.info("Supplier geo index loaded in {} ms", System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Applies committed supplier writes to the index.
+     *
+     * @param event the supplier change event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSupplierChanged(SupplierChangedEvent event) {
+        event.removed().forEach(snapshot -> supplierGeoIndex.remove(snapshot.supplierId()));
+        for (SupplierSnapshot snapshot : event.added()) {
+            supplierGeoIndex.remove(snapshot.supplierId());
+            locate(snapshot.location(), snapshot.latitude(), snapshot.longitude())
+                    .ifPresent(point -> supplierGeoIndex.add(snapshot.supplierId(), point.latitude(), point.longitude(),
+                            snapshot.natureOfBusiness(), snapshot.manufacturingProcesses()));
+        }
+    }
+
+    /**
+     * Returns the stored coordinates of a supplier, or those of its location if it has none.
+     */
+    private Optional<GeoPoint> locate(String location, Double latitude, Double longitude) {
+        if (latitude != null && longitude != null) {
+            return Optional.of(new GeoPoint(latitude, longitude));
+        }
+        return cityGazetteer.locate(location);
+    }
+}
@@ -0,0 +1,19 @@
+package com.makersharks.ManuSearch.index;
+
+import java.util.List;
+
+/**
+ * A page of supplier identifiers together with the total number of matches.
+ * The identifiers are hydrated into {@link com.makersharks.ManuSearch.entity.Supplier} entities by the service layer.
+ */
+public record SupplierIdPage(
+        /*
+         * The supplier identifiers on the requested page, in query order (ascending unless the query sorts otherwise).
+         */
+        List<Long> ids,
+
+        /*
+         * The total number of suppliers matching the query across all pages.
+         */
+        long total) {
+}
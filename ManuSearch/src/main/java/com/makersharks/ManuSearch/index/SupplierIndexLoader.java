@@ -0,0 +1,96 @@
+package com.makersharks.ManuSearch.index;
+
+import com.makersharks.ManuSearch.configuration.StartupOrder;
+import com.makersharks.ManuSearch.event.SupplierChangedEvent;
+import com.makersharks.ManuSearch.event.SupplierSnapshot;
+import com.makersharks.ManuSearch.projection.SupplierIndexEntry;
+import com.makersharks.ManuSearch.repository.SupplierRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Loads the {@link SupplierBitmapIndex} from the database once the application is ready,
+ * and keeps it in sync with supplier writes afterwards.
+ * Until loading completes, the index reports itself as not ready and queries fall back to the database.
+ * Writes committed while the index loads are buffered and applied once the load is done: the load may have read
+ * a row before the write committed, and would otherwise put the older row back after the write was applied.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "manusearch.index.enabled", havingValue = "true")
+public class SupplierIndexLoader {
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private SupplierBitmapIndex supplierBitmapIndex;
+
+    /**
+     * Supplier writes committed during the current load, or {@code null} when no load is running.
+     * Guarded by {@code this}.
+     */
+    private List<SupplierChangedEvent> pendingEvents;
+
+    /**
+     * Rebuilds the index from the suppliers table, then applies the writes committed meanwhile.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(StartupOrder.LOAD_INDEXES)
+    @Transactional(readOnly = true)
+    public void load() {
+        long start = System.currentTimeMillis();
+        synchronized (this) {
+            pendingEvents = new ArrayList<>();
+            supplierBitmapIndex.clear();
+        }
+        try {
+            try (Stream<SupplierIndexEntry> entries = supplierRepository.streamIndexEntries()) {
+                entries.forEach(entry -> supplierBitmapIndex.add(entry.getSupplierId(), entry.getLocation(),
+                        entry.getNatureOfBusiness(), List.of(entry.getManufacturingProcess())));
+            }
+        } finally {
+            synchronized (this) {
+                pendingEvents.forEach(this::apply);
+                log.debug("Applied {} supplier writes committed while the index was loading", pendingEvents.size());
+                pendingEvents = null;
+            }
+        }
+        supplierBitmapIndex.markReady();
+        log.info("Supplier bitmap index loaded in {} ms", System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Applies committed supplier writes to the index, or buffers them while the index is loading.
+     *
+     * @param event the supplier change event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onSupplierChanged(SupplierChangedEvent event) {
+        if (pendingEvents != null) {
+            pendingEvents.add(event);
+        } else {
+            apply(event);
+        }
+    }
+
+    private void apply(SupplierChangedEvent event) {
+        event.removed().forEach(snapshot -> supplierBitmapIndex.remove(snapshot.supplierId()));
+        for (SupplierSnapshot snapshot : event.added()) {
+            supplierBitmapIndex.remove(snapshot.supplierId());
+            supplierBitmapIndex.add(snapshot.supplierId(), snapshot.location(), snapshot.natureOfBusiness(),
+                    snapshot.manufacturingProcesses());
+        }
+    }
+}
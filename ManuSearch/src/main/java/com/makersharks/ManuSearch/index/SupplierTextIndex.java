@@ -0,0 +1,388 @@
+package com.makersharks.ManuSearch.index;
+
+import com.makersharks.ManuSearch.dto.FacetCount;
+import com.makersharks.ManuSearch.dto.SupplierSuggestion;
+import com.makersharks.ManuSearch.dto.SupplierSuggestions;
+import com.makersharks.ManuSearch.util.LocationNormalizer;
+import com.makersharks.ManuSearch.util.TextTokenizer;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over supplier company names and locations.
+ * Every term maps to a {@link RoaringBitmap} of supplier identifiers. Terms are kept sorted, so a prefix is
+ * a range scan, and indexed by trigram, so misspelled query terms can be matched within a small edit distance.
+ * A query matches the suppliers containing every query term, each as a prefix or, failing that, fuzzily.
+ */
+@Component
+@ConditionalOnProperty(name = "manusearch.text-index.enabled", havingValue = "true")
+public class SupplierTextIndex {
+
+    private static final int MIN_FUZZY_LENGTH = 3;
+
+    private static final int MAX_SUGGESTION_CANDIDATES = 10_000;
+
+    private final NavigableMap<String, RoaringBitmap> postings = new TreeMap<>();
+
+    private final Map<String, Set<String>> termsByTrigram = new HashMap<>();
+
+    private final Map<Integer, Document> documents = new HashMap<>();
+
+    private final Map<String, LocationEntry> locations = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile boolean ready;
+
+    /**
+     * Indicates whether the index has been fully loaded and can serve queries.
+     *
+     * @return true if the index is ready, false while it is (re)loading
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Removes all entries and marks the index as not ready until {@link #markReady()} is called.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            postings.clear();
+            termsByTrigram.clear();
+            documents.clear();
+            locations.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Compresses the posting lists and marks the index as ready to serve queries.
+     */
+    public void markReady() {
+        lock.writeLock().lock();
+        try {
+            postings.values().forEach(RoaringBitmap::runOptimize);
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a supplier to the index, replacing any previous entry for the same supplier.
+     *
+     * @param supplierId  the identifier of the supplier
+     * @param companyName the name of the company
+     * @param location    the location of the supplier
+     */
+    public void add(Long supplierId, String companyName, String location) {
+        int id = toIndexId(supplierId);
+        Set<String> terms = new LinkedHashSet<>(TextTokenizer.tokenize(companyName));
+        terms.addAll(TextTokenizer.tokenize(location));
+        lock.writeLock().lock();
+        try {
+            removeDocument(id);
+            documents.put(id, new Document(companyName, location, terms));
+            for (String term : terms) {
+                postings.computeIfAbsent(term, key -> {
+                    trigrams(key).forEach(trigram -> termsByTrigram.computeIfAbsent(trigram, t -> new HashSet<>()).add(key));
+                    return new RoaringBitmap();
+                }).add(id);
+            }
+            locations.computeIfAbsent(LocationNormalizer.normalize(location),
+                    key -> new LocationEntry(location, TextTokenizer.tokenize(location))).count++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a supplier from the index.
+     *
+     * @param supplierId the identifier of the supplier to remove
+     */
+    public void remove(Long supplierId) {
+        int id = toIndexId(supplierId);
+        lock.writeLock().lock();
+        try {
+            removeDocument(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the suppliers whose company name or location contains every term of the query.
+     *
+     * @param query the free-text query
+     * @return a new bitmap of the matching supplier identifiers, empty if the query has no terms
+     */
+    public RoaringBitmap match(String query) {
+        List<String> queryTerms = TextTokenizer.tokenize(query);
+        lock.readLock().lock();
+        try {
+            return matchTerms(queryTerms);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Suggests locations and suppliers for a partially typed query.
+     * Suppliers whose company name starts with the query rank first, then those with a company name term
+     * starting with the first query term, then any other match; shorter names rank first within each group.
+     *
+     * @param query the partially typed query
+     * @param limit the maximum number of locations and of suppliers to return
+     * @return the {@link SupplierSuggestions} for the query
+     */
+    public SupplierSuggestions suggest(String query, int limit) {
+        List<String> queryTerms = TextTokenizer.tokenize(query);
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return new SupplierSuggestions(List.of(), List.of());
+        }
+        String normalizedQuery = TextTokenizer.normalize(query);
+        lock.readLock().lock();
+        try {
+            List<FacetCount> locationSuggestions = locations.values().stream()
+                    .filter(entry -> queryTerms.stream().allMatch(queryTerm -> entry.terms.stream()
+                            .anyMatch(term -> term.startsWith(queryTerm) || fuzzyMatches(queryTerm, term))))
+                    .sorted(Comparator.comparingInt((LocationEntry entry) -> entry.count).reversed()
+                            .thenComparing(entry -> entry.display))
+                    .limit(limit)
+                    .map(entry -> new FacetCount(entry.display, entry.count))
+                    .toList();
+
+            List<ScoredSuggestion> scored = new ArrayList<>();
+            IntIterator ids = matchTerms(queryTerms).getIntIterator();
+            while (ids.hasNext() && scored.size() < MAX_SUGGESTION_CANDIDATES) {
+                int id = ids.next();
+                Document document = documents.get(id);
+                scored.add(new ScoredSuggestion(score(document, normalizedQuery, queryTerms.get(0)),
+                        new SupplierSuggestion(Integer.toUnsignedLong(id), document.companyName(), document.location())));
+            }
+            List<SupplierSuggestion> supplierSuggestions = scored.stream()
+                    .sorted(Comparator.comparingInt(ScoredSuggestion::score)
+                            .thenComparingInt(suggestion -> suggestion.suggestion().companyName().length())
+                            .thenComparing(suggestion -> suggestion.suggestion().companyName()))
+                    .limit(limit)
+                    .map(ScoredSuggestion::suggestion)
+                    .toList();
+            return new SupplierSuggestions(locationSuggestions, supplierSuggestions);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Intersects the posting lists of the query terms. Must be called while holding the read lock.
+     *
+     * @param queryTerms the normalized query terms
+     * @return a new bitmap of the matching identifiers
+     */
+    private RoaringBitmap matchTerms(List<String> queryTerms) {
+        if (queryTerms.isEmpty()) {
+            return new RoaringBitmap();
+        }
+        List<RoaringBitmap> perTerm = new ArrayList<>(queryTerms.size());
+        for (String queryTerm : new LinkedHashSet<>(queryTerms)) {
+            RoaringBitmap matches = postingsFor(queryTerm);
+            if (matches.isEmpty()) {
+                return matches;
+            }
+            perTerm.add(matches);
+        }
+        return perTerm.size() == 1 ? perTerm.get(0) : FastAggregation.and(perTerm.iterator());
+    }
+
+    /**
+     * Returns the union of the posting lists of every term starting with the query term,
+     * or of every term within edit distance of it when no term has it as a prefix.
+     *
+     * @param queryTerm the normalized query term
+     * @return a new bitmap of the matching identifiers
+     */
+    private RoaringBitmap postingsFor(String queryTerm) {
+        List<RoaringBitmap> matches = new ArrayList<>(
+                postings.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, false).values());
+        if (matches.isEmpty() && queryTerm.length() >= MIN_FUZZY_LENGTH) {
+            Set<String> candidates = new HashSet<>();
+            for (String trigram : trigrams(queryTerm)) {
+                candidates.addAll(termsByTrigram.getOrDefault(trigram, Set.of()));
+            }
+            for (String candidate : candidates) {
+                if (fuzzyMatches(queryTerm, candidate)) {
+                    matches.add(postings.get(candidate));
+                }
+            }
+        }
+        return matches.isEmpty() ? new RoaringBitmap() : FastAggregation.or(matches.iterator());
+    }
+
+    /**
+     * Removes a supplier from every structure of the index. Must be called while holding the write lock.
+     *
+     * @param id the index identifier of the supplier
+     */
+    private void removeDocument(int id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        for (String term : document.terms()) {
+            RoaringBitmap bitmap = postings.get(term);
+            if (bitmap != null) {
+                bitmap.remove(id);
+                if (bitmap.isEmpty()) {
+                    postings.remove(term);
+                    for (String trigram : trigrams(term)) {
+                        Set<String> terms = termsByTrigram.get(trigram);
+                        if (terms != null && terms.remove(term) && terms.isEmpty()) {
+                            termsByTrigram.remove(trigram);
+                        }
+                    }
+                }
+            }
+        }
+        String locationKey = LocationNormalizer.normalize(document.location());
+        LocationEntry location = locations.get(locationKey);
+        if (location != null && --location.count == 0) {
+            locations.remove(locationKey);
+        }
+    }
+
+    private static int score(Document document, String normalizedQuery, String firstQueryTerm) {
+        if (TextTokenizer.normalize(document.companyName()).startsWith(normalizedQuery)) {
+            return 0;
+        }
+        for (String term : TextTokenizer.tokenize(document.companyName())) {
+            if (term.startsWith(firstQueryTerm)) {
+                return 1;
+            }
+        }
+        return 2;
+    }
+
+    /**
+     * Returns the trigrams of a term, anchored at its start so that prefixes share trigrams with full terms.
+     *
+     * @param term the term
+     * @return the trigrams of the term
+     */
+    private static Set<String> trigrams(String term) {
+        String anchored = "^" + term;
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + 3 <= anchored.length(); i++) {
+            trigrams.add(anchored.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    /**
+     * Checks whether a query term is within the allowed edit distance of a term or of a prefix of it.
+     * One edit is allowed for terms of up to five characters and two for longer ones.
+     *
+     * @param queryTerm the normalized query term
+     * @param term      the indexed term
+     * @return true if the term matches fuzzily
+     */
+    private static boolean fuzzyMatches(String queryTerm, String term) {
+        if (queryTerm.length() < MIN_FUZZY_LENGTH) {
+            return false;
+        }
+        int maxEdits = queryTerm.length() <= 5 ? 1 : 2;
+        if (editDistance(queryTerm, term, maxEdits) <= maxEdits) {
+            return true;
+        }
+        return term.length() > queryTerm.length()
+                && editDistance(queryTerm, term.substring(0, queryTerm.length()), maxEdits) <= maxEdits;
+    }
+
+    /**
+     * Computes the Levenshtein distance between two strings, giving up once it exceeds a bound.
+     *
+     * @param a     the first string
+     * @param b     the second string
+     * @param bound the largest distance of interest
+     * @return the distance, or {@code bound + 1} if it exceeds the bound
+     */
+    private static int editDistance(String a, String b, int bound) {
+        if (Math.abs(a.length() - b.length()) > bound) {
+            return bound + 1;
+        }
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMinimum = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+                rowMinimum = Math.min(rowMinimum, current[j]);
+            }
+            if (rowMinimum > bound) {
+                return bound + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    private static int toIndexId(Long supplierId) {
+        if (supplierId == null || supplierId < 0 || supplierId > 0xFFFFFFFFL) {
+            throw new IllegalArgumentException("Supplier id cannot be indexed: " + supplierId);
+        }
+        return (int) supplierId.longValue();
+    }
+
+    /**
+     * The indexed text of a supplier, kept to remove its terms and to render suggestions.
+     */
+    private record Document(String companyName, String location, Set<String> terms) {
+    }
+
+    /**
+     * A distinct location with its display form, terms and number of suppliers.
+     */
+    private static final class LocationEntry {
+
+        private final String display;
+
+        private final List<String> terms;
+
+        private int count;
+
+        private LocationEntry(String display, List<String> terms) {
+            this.display = display;
+            this.terms = terms;
+        }
+    }
+
+    private record ScoredSuggestion(int score, SupplierSuggestion suggestion) {
+    }
+}
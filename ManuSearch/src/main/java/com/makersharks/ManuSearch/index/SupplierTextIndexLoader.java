@@ -0,0 +1,63 @@
+package com.makersharks.ManuSearch.index;
+
+import com.makersharks.ManuSearch.configuration.StartupOrder;
+import com.makersharks.ManuSearch.event.SupplierChangedEvent;
+import com.makersharks.ManuSearch.event.SupplierSnapshot;
+import com.makersharks.ManuSearch.projection.SupplierTextEntry;
+import com.makersharks.ManuSearch.repository.SupplierRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.stream.Stream;
+
+/**
+ * Loads the {@link SupplierTextIndex} from the database once the application is ready,
+ * and keeps it in sync with supplier writes afterwards.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "manusearch.text-index.enabled", havingValue = "true")
+public class SupplierTextIndexLoader {
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private SupplierTextIndex supplierTextIndex;
+
+    /**
+     * Rebuilds the index from the suppliers table.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(StartupOrder.LOAD_INDEXES)
+    @Transactional(readOnly = true)
+    public void load() {
+        long start = System.currentTimeMillis();
+        supplierTextIndex.clear();
+        try (Stream<SupplierTextEntry> entries = supplierRepository.streamTextEntries()) {
+            entries.forEach(entry -> supplierTextIndex.add(entry.getSupplierId(), entry.getCompanyName(), entry.getLocation()));
+        }
+        supplierTextIndex.markReady();
+        log.info("Supplier text index loaded in {} ms", System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Applies committed supplier writes to the index.
+     *
+     * @param event the supplier change event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSupplierChanged(SupplierChangedEvent event) {
+        event.removed().forEach(snapshot -> supplierTextIndex.remove(snapshot.supplierId()));
+        for (SupplierSnapshot snapshot : event.added()) {
+            supplierTextIndex.add(snapshot.supplierId(), snapshot.companyName(), snapshot.location());
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.makersharks.ManuSearch.migration;
+
+import com.makersharks.ManuSearch.util.ProcessMasks;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills the {@code manufacturing_process_mask} column of {@code suppliers} from the
+ * {@code supplier_manufacturing_processes} collection table, for rows that have no mask.
+ * The {@code V6} migration backfills every existing supplier; this runner catches the rows inserted afterwards
+ * by instances of an earlier version of the application, while this one is rolled out.
+ * Only rows without a mask are updated, so running it again is harmless.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "manusearch.supplier.process-mask.migrate", havingValue = "true")
+public class ManufacturingProcessMaskMigration implements ApplicationRunner {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Computes each supplier's bitmask by summing the distinct bits of its processes.
+     *
+     * @param args the application arguments
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        String sql = "UPDATE suppliers SET manufacturing_process_mask = ("
+                + "SELECT COALESCE(SUM(DISTINCT " + ProcessMasks.sqlBitExpression("p.manufacturing_processes") + "), 0) "
+                + "FROM supplier_manufacturing_processes p WHERE p.supplier_supplier_id = suppliers.supplier_id) "
+                + "WHERE manufacturing_process_mask IS NULL";
+        int updated = jdbcTemplate.update(sql);
+        log.info("Manufacturing process mask migrated for {} suppliers", updated);
+    }
+}
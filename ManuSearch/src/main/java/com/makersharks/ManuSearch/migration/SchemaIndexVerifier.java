@@ -0,0 +1,138 @@
+package com.makersharks.ManuSearch.migration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Checks at startup, right after the migrations have run, that the indexes the supplier search relies on exist.
+ * A database whose schema was created outside the migrations (for example by Hibernate's auto-DDL) may lack them,
+ * in which case every search degrades to a full scan; the application then refuses to start instead.
+ */
+@Slf4j
+@Component
+public class SchemaIndexVerifier {
+
+    /**
+     * Indexes required by the search queries, as a table and its leading columns.
+     * Any index whose columns start with these columns satisfies the requirement, whatever its name.
+     */
+    static final List<ExpectedIndex> EXPECTED_INDEXES = List.of(
+            new ExpectedIndex("suppliers", List.of("location", "nature_of_business", "supplier_id")),
+            new ExpectedIndex("suppliers", List.of("location_key", "nature_of_business", "supplier_id")),
+            new ExpectedIndex("supplier_manufacturing_processes", List.of("manufacturing_processes", "supplier_supplier_id")),
+            new ExpectedIndex("supplier_manufacturing_processes", List.of("supplier_supplier_id", "manufacturing_processes")));
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Value("${manusearch.schema.verify-indexes:true}")
+    private boolean verifyIndexes;
+
+    /**
+     * Reads the indexes of the search tables from the database metadata and fails if any expected index is missing.
+     *
+     * @throws IllegalStateException if an expected index is missing or the metadata cannot be read
+     */
+    public void verify() {
+        if (!verifyIndexes) {
+            log.warn("Schema index verification is disabled");
+            return;
+        }
+        List<ExpectedIndex> missing = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            Map<String, List<List<String>>> indexesByTable = new TreeMap<>();
+            for (ExpectedIndex expected : EXPECTED_INDEXES) {
+                List<List<String>> indexes = indexesByTable.get(expected.table());
+                if (indexes == null) {
+                    indexes = readIndexes(connection, metaData, expected.table());
+                    indexesByTable.put(expected.table(), indexes);
+                }
+                if (!isCovered(expected, indexes)) {
+                    missing.add(expected);
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Unable to read the database indexes", e);
+        }
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("Missing database indexes required by the supplier search: " + missing
+                    + ". Run the migrations in db/migration or create the indexes manually.");
+        }
+        log.info("Verified {} supplier search indexes", EXPECTED_INDEXES.size());
+    }
+
+    /**
+     * Returns whether one of the given indexes starts with the expected columns, compared case-insensitively.
+     *
+     * @param expected the expected index
+     * @param indexes the column lists of the existing indexes of its table
+     * @return true if the expected index is covered
+     */
+    static boolean isCovered(ExpectedIndex expected, List<List<String>> indexes) {
+        for (List<String> columns : indexes) {
+            if (columns.size() < expected.columns().size()) {
+                continue;
+            }
+            boolean matches = true;
+            for (int i = 0; i < expected.columns().size() && matches; i++) {
+                matches = expected.columns().get(i).equalsIgnoreCase(columns.get(i));
+            }
+            if (matches) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reads the column lists of every index of a table, in key order.
+     */
+    private List<List<String>> readIndexes(Connection connection, DatabaseMetaData metaData, String table)
+            throws SQLException {
+        String tableName = metaData.storesUpperCaseIdentifiers() ? table.toUpperCase(Locale.ROOT) : table;
+        Map<String, TreeMap<Short, String>> columnsByIndex = new TreeMap<>();
+        try (ResultSet rs = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(), tableName, false, false)) {
+            while (rs.next()) {
+                String indexName = rs.getString("INDEX_NAME");
+                String column = rs.getString("COLUMN_NAME");
+                if (indexName == null || column == null) {
+                    continue;
+                }
+                columnsByIndex.computeIfAbsent(indexName, name -> new TreeMap<>())
+                        .put(rs.getShort("ORDINAL_POSITION"), column);
+            }
+        }
+        List<List<String>> indexes = new ArrayList<>();
+        columnsByIndex.values().forEach(columns -> indexes.add(List.copyOf(columns.values())));
+        return indexes;
+    }
+
+    /**
+     * An index the search queries need.
+     */
+    record ExpectedIndex(
+            /* The table the index belongs to */
+            String table,
+            /* The leading columns of the index, in key order */
+            List<String> columns) {
+
+        @Override
+        public String toString() {
+            return table + columns;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.makersharks.ManuSearch.projection;
+
+import com.makersharks.ManuSearch.enums.ManufacturingProcess;
+import com.makersharks.ManuSearch.enums.NatureOfBusiness;
+
+/**
+ * Projection of a single (supplier, manufacturing process) pair used to build the in-memory geo index.
+ * The location is included so suppliers stored without coordinates can be geocoded while loading.
+ */
+public interface SupplierGeoEntry {
+
+    /**
+     * @return the identifier of the supplier
+     */
+    Long getSupplierId();
+
+    /**
+     * @return the location of the supplier
+     */
+    String getLocation();
+
+    /**
+     * @return the latitude of the supplier, or null if it has no coordinates
+     */
+    Double getLatitude();
+
+    /**
+     * @return the longitude of the supplier, or null if it has no coordinates
+     */
+    Double getLongitude();
+
+    /**
+     * @return the nature of business of the supplier
+     */
+    NatureOfBusiness getNatureOfBusiness();
+
+    /**
+     * @return one of the manufacturing processes of the supplier
+     */
+    ManufacturingProcess getManufacturingProcess();
+}
@@ -0,0 +1,31 @@
+package com.makersharks.ManuSearch.projection;
+
+import com.makersharks.ManuSearch.enums.ManufacturingProcess;
+import com.makersharks.ManuSearch.enums.NatureOfBusiness;
+
+/**
+ * Projection of a single (supplier, manufacturing process) pair used to build the in-memory supplier index.
+ * Reading these rows avoids hydrating full {@link com.makersharks.ManuSearch.entity.Supplier} entities at startup.
+ */
+public interface SupplierIndexEntry {
+
+    /**
+     * @return the identifier of the supplier
+     */
+    Long getSupplierId();
+
+    /**
+     * @return the location of the supplier
+     */
+    String getLocation();
+
+    /**
+     * @return the nature of business of the supplier
+     */
+    NatureOfBusiness getNatureOfBusiness();
+
+    /**
+     * @return one of the manufacturing processes of the supplier
+     */
+    ManufacturingProcess getManufacturingProcess();
+}
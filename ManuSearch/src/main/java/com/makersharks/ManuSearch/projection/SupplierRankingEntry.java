@@ -0,0 +1,33 @@
+package com.makersharks.ManuSearch.projection;
+
+import com.makersharks.ManuSearch.enums.ManufacturingProcess;
+import com.makersharks.ManuSearch.enums.NatureOfBusiness;
+
+import java.util.Set;
+
+/**
+ * Projection of the columns a supplier is ranked on.
+ * With the packed bitmask enabled it is built by a JPQL constructor expression and no collection table is joined;
+ * otherwise the processes are folded from the rows of the process collection table.
+ */
+public record SupplierRankingEntry(
+        /*
+         * The identifier of the supplier.
+         */
+        Long supplierId,
+
+        /*
+         * The location of the supplier.
+         */
+        String location,
+
+        /*
+         * The nature of business of the supplier.
+         */
+        NatureOfBusiness natureOfBusiness,
+
+        /*
+         * The manufacturing processes of the supplier.
+         */
+        Set<ManufacturingProcess> manufacturingProcesses) {
+}
@@ -0,0 +1,59 @@
+package com.makersharks.ManuSearch.projection;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.makersharks.ManuSearch.enums.NatureOfBusiness;
+
+import java.util.Set;
+
+/**
+ * Read-only projection of the scalar columns of a {@link com.makersharks.ManuSearch.entity.Supplier}.
+ * Built directly by JPQL constructor expressions, so no entity, persistent collection or dirty-checking
+ * snapshot is created. Components left {@code null} are omitted from the JSON response.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record SupplierSummary(
+        /*
+         * The identifier of the supplier.
+         */
+        Long supplierId,
+
+        /*
+         * The name of the company.
+         */
+        String companyName,
+
+        /*
+         * The website URL of the company.
+         */
+        String website,
+
+        /*
+         * The location of the supplier.
+         */
+        String location,
+
+        /*
+         * The nature of business of the supplier.
+         */
+        NatureOfBusiness natureOfBusiness) {
+
+    /**
+     * The names of the fields that can be selected with {@link #select(Set)}.
+     */
+    public static final Set<String> FIELDS = Set.of("supplierId", "companyName", "website", "location", "natureOfBusiness");
+
+    /**
+     * Returns a copy of this summary keeping only the selected fields.
+     *
+     * @param fields the names of the fields to keep, all of them members of {@link #FIELDS}
+     * @return the summary with every other field set to {@code null}
+     */
+    public SupplierSummary select(Set<String> fields) {
+        return new SupplierSummary(
+                fields.contains("supplierId") ? supplierId : null,
+                fields.contains("companyName") ? companyName : null,
+                fields.contains("website") ? website : null,
+                fields.contains("location") ? location : null,
+                fields.contains("natureOfBusiness") ? natureOfBusiness : null);
+    }
+}
@@ -0,0 +1,22 @@
+package com.makersharks.ManuSearch.projection;
+
+/**
+ * Projection of the text fields of a supplier used to build the in-memory text index.
+ */
+public interface SupplierTextEntry {
+
+    /**
+     * @return the identifier of the supplier
+     */
+    Long getSupplierId();
+
+    /**
+     * @return the name of the company
+     */
+    String getCompanyName();
+
+    /**
+     * @return the location of the supplier
+     */
+    String getLocation();
+}
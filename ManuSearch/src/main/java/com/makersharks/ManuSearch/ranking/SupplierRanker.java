@@ -0,0 +1,85 @@
+package com.makersharks.ManuSearch.ranking;
+
+import com.makersharks.ManuSearch.dto.SupplierSearchCriteria;
+import com.makersharks.ManuSearch.geo.CityGazetteer;
+import com.makersharks.ManuSearch.util.LocationNormalizer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+/**
+ * Prepares the relevance ranking of supplier searches.
+ * <p>
+ * For each dimension of a search, a supplier scores between 0 and 1, multiplied by the weight of the dimension
+ * ({@code manusearch.ranking.weights.*}): the share of the requested manufacturing processes it offers; 1 for a
+ * requested business scale and less for scales further from the requested ones; and 1 for a requested location,
+ * decreasing linearly to 0 for cities {@code manusearch.ranking.near-location-km} away. A dimension left
+ * unfiltered scores 1 for every supplier.
+ */
+@Component
+public class SupplierRanker {
+
+    private final CityGazetteer cityGazetteer;
+
+    private final double processWeight;
+
+    private final double scaleWeight;
+
+    private final double locationWeight;
+
+    private final double nearLocationKm;
+
+    /**
+     * Creates a ranker.
+     *
+     * @param cityGazetteer  the gazetteer used to find the cities near the requested locations
+     * @param processWeight  the weight of the manufacturing process coverage
+     * @param scaleWeight    the weight of the business scale match
+     * @param locationWeight the weight of the location match
+     * @param nearLocationKm the distance up to which other cities count as near a requested location, 0 for none
+     */
+    public SupplierRanker(CityGazetteer cityGazetteer,
+                          @Value("${manusearch.ranking.weights.process:3}") double processWeight,
+                          @Value("${manusearch.ranking.weights.scale:1}") double scaleWeight,
+                          @Value("${manusearch.ranking.weights.location:2}") double locationWeight,
+                          @Value("${manusearch.ranking.near-location-km:50}") double nearLocationKm) {
+        if (processWeight < 0 || scaleWeight < 0 || locationWeight < 0 || nearLocationKm < 0) {
+            throw new IllegalArgumentException("Ranking weights and distances cannot be negative");
+        }
+        this.cityGazetteer = cityGazetteer;
+        this.processWeight = processWeight;
+        this.scaleWeight = scaleWeight;
+        this.locationWeight = locationWeight;
+        this.nearLocationKm = nearLocationKm;
+    }
+
+    /**
+     * Prepares the ranking of a search, looking up the cities near its locations.
+     *
+     * @param criteria the search criteria
+     * @return the {@link SupplierRanking} of the search
+     */
+    public SupplierRanking prepare(SupplierSearchCriteria criteria) {
+        Map<String, Double> locationScores = new HashMap<>();
+        Map<String, String> locations = new HashMap<>(); // Location to search, by normalized location
+        for (String location : criteria.locations()) {
+            if (nearLocationKm > 0) {
+                cityGazetteer.nearbyCities(location, nearLocationKm).forEach((city, distanceKm) -> {
+                    locationScores.merge(LocationNormalizer.normalize(city), 1 - distanceKm / nearLocationKm, Math::max);
+                    locations.putIfAbsent(LocationNormalizer.normalize(city), city);
+                });
+            }
+        }
+        for (String location : criteria.locations()) {
+            locationScores.put(LocationNormalizer.normalize(location), 1.0);
+            locations.put(LocationNormalizer.normalize(location), location);
+        }
+
+        SupplierSearchCriteria candidates = new SupplierSearchCriteria(new HashSet<>(locations.values()), null,
+                criteria.manufacturingProcesses(), criteria.processMatch());
+        return new SupplierRanking(criteria, candidates, locationScores, processWeight, scaleWeight, locationWeight);
+    }
+}
@@ -0,0 +1,141 @@
+package com.makersharks.ManuSearch.ranking;
+
+import com.makersharks.ManuSearch.dto.SupplierSearchCriteria;
+import com.makersharks.ManuSearch.enums.NatureOfBusiness;
+import com.makersharks.ManuSearch.index.SupplierIdPage;
+import com.makersharks.ManuSearch.projection.SupplierRankingEntry;
+import com.makersharks.ManuSearch.util.LocationNormalizer;
+import com.makersharks.ManuSearch.util.ProcessMasks;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.stream.Stream;
+
+/**
+ * The relevance ranking of one supplier search, prepared by the {@link SupplierRanker}.
+ * Only the suppliers of the requested page and of the pages before it are kept, in a heap bounded by their
+ * number, so ranking a page costs one pass over the candidates and never sorts them as a whole.
+ */
+public final class SupplierRanking {
+
+    private static final int NATURES = NatureOfBusiness.values().length;
+
+    /**
+     * Orders ranked suppliers worst first: lowest score, then highest identifier.
+     */
+    private static final Comparator<RankedSupplier> WORST_FIRST = Comparator.comparingDouble(RankedSupplier::score)
+            .thenComparing(RankedSupplier::supplierId, Comparator.reverseOrder());
+
+    private final SupplierSearchCriteria criteria;
+
+    private final SupplierSearchCriteria candidates;
+
+    private final Map<String, Double> locationScores; // Score of each accepted location, by normalized location
+
+    private final int processMask;
+
+    private final double processWeight;
+
+    private final double scaleWeight;
+
+    private final double locationWeight;
+
+    SupplierRanking(SupplierSearchCriteria criteria, SupplierSearchCriteria candidates, Map<String, Double> locationScores,
+                    double processWeight, double scaleWeight, double locationWeight) {
+        this.criteria = criteria;
+        this.candidates = candidates;
+        this.locationScores = locationScores;
+        this.processMask = ProcessMasks.toMask(criteria.manufacturingProcesses());
+        this.processWeight = processWeight;
+        this.scaleWeight = scaleWeight;
+        this.locationWeight = locationWeight;
+    }
+
+    /**
+     * Returns the criteria selecting the suppliers to rank: the requested locations and the cities near them,
+     * any business scale, and the requested manufacturing processes.
+     *
+     * @return the candidate criteria
+     */
+    public SupplierSearchCriteria candidates() {
+        return candidates;
+    }
+
+    /**
+     * Scores a candidate supplier.
+     *
+     * @param entry the candidate
+     * @return the score of the candidate, higher is better
+     */
+    public double score(SupplierRankingEntry entry) {
+        double processScore = 1;
+        if (processMask != 0) {
+            int offered = ProcessMasks.toMask(entry.manufacturingProcesses()) & processMask;
+            processScore = (double) Integer.bitCount(offered) / Integer.bitCount(processMask);
+        }
+
+        double scaleScore = 1;
+        if (!criteria.naturesOfBusiness().isEmpty()) {
+            int distance = NATURES;
+            if (entry.natureOfBusiness() != null) {
+                for (NatureOfBusiness nature : criteria.naturesOfBusiness()) {
+                    distance = Math.min(distance, Math.abs(nature.ordinal() - entry.natureOfBusiness().ordinal()));
+                }
+            }
+            scaleScore = Math.max(0, 1 - (double) distance / Math.max(1, NATURES - 1));
+        }
+
+        double locationScore = 1;
+        if (!criteria.locations().isEmpty()) {
+            locationScore = locationScores.getOrDefault(LocationNormalizer.normalize(entry.location()), 0.0);
+        }
+
+        return processWeight * processScore + scaleWeight * scaleScore + locationWeight * locationScore;
+    }
+
+    /**
+     * Ranks the candidates and returns one page of them, best first and by identifier at equal score.
+     *
+     * @param entries the candidates, each supplier once
+     * @param page    the zero-based page number
+     * @param size    the number of identifiers per page
+     * @return the {@link SupplierIdPage} for the requested page, with the number of candidates as its total
+     */
+    public SupplierIdPage top(Stream<SupplierRankingEntry> entries, int page, int size) {
+        int limit = Math.multiplyExact(page + 1, size);
+        PriorityQueue<RankedSupplier> best = new PriorityQueue<>(Math.min(limit, 1024) + 1, WORST_FIRST);
+        long total = 0;
+        for (Iterator<SupplierRankingEntry> iterator = entries.iterator(); iterator.hasNext(); ) {
+            SupplierRankingEntry entry = iterator.next();
+            RankedSupplier ranked = new RankedSupplier(entry.supplierId(), score(entry));
+            total++;
+            if (best.size() < limit) {
+                best.add(ranked);
+            } else if (limit > 0 && WORST_FIRST.compare(ranked, best.peek()) > 0) {
+                best.poll();
+                best.add(ranked);
+            }
+        }
+
+        Long[] ranked = new Long[best.size()];
+        for (int i = ranked.length - 1; i >= 0; i--) {
+            ranked[i] = best.poll().supplierId();
+        }
+        int offset = page * size;
+        List<Long> ids = new ArrayList<>(size);
+        for (int i = offset; i < ranked.length; i++) {
+            ids.add(ranked[i]);
+        }
+        return new SupplierIdPage(ids, total);
+    }
+
+    /**
+     * A candidate supplier and its score.
+     */
+    private record RankedSupplier(Long supplierId, double score) {
+    }
+}
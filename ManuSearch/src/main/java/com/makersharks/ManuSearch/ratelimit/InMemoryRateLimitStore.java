@@ -0,0 +1,98 @@
+package com.makersharks.ManuSearch.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * In-process store of the rate limiter token buckets.
+ * <p>
+ * Each bucket is a single {@link AtomicLong} holding the time at which it will be full again (the generic cell rate
+ * algorithm, equivalent to a token bucket): taking a token moves that time one refill interval later, unless it
+ * would then lie more than a full bucket ahead. A request therefore costs one map lookup and one compare-and-set,
+ * without locks, and buckets of different clients live in different bins of the map.
+ * Once the store holds more than {@code maxClients} buckets, full buckets are dropped, at most once per second;
+ * a client whose bucket is dropped gets a full bucket again, which is what it had.
+ */
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Map<RateLimitRule, Map<String, AtomicLong>> bucketsByRule = new ConcurrentHashMap<>();
+
+    private final int maxClients;
+
+    private final LongSupplier nanoClock;
+
+    private final AtomicLong lastSweep;
+
+    /**
+     * Creates a store on the system clock.
+     *
+     * @param maxClients the number of buckets above which full buckets are dropped
+     */
+    public InMemoryRateLimitStore(int maxClients) {
+        this(maxClients, System::nanoTime);
+    }
+
+    /**
+     * Creates a store on the given clock.
+     *
+     * @param maxClients the number of buckets above which full buckets are dropped
+     * @param nanoClock  the source of monotonic time, in nanoseconds
+     */
+    public InMemoryRateLimitStore(int maxClients, LongSupplier nanoClock) {
+        this.maxClients = maxClients;
+        this.nanoClock = nanoClock;
+        this.lastSweep = new AtomicLong(nanoClock.getAsLong() - SWEEP_INTERVAL_NANOS);
+    }
+
+    @Override
+    public long tryConsume(RateLimitRule rule, String client) {
+        long now = nanoClock.getAsLong();
+        Map<String, AtomicLong> buckets = bucketsByRule.computeIfAbsent(rule, key -> new ConcurrentHashMap<>());
+        AtomicLong bucket = buckets.get(client);
+        if (bucket == null) {
+            sweepIfFull(now);
+            bucket = buckets.computeIfAbsent(client, key -> new AtomicLong(now));
+        }
+
+        long interval = rule.refillIntervalNanos();
+        long burst = interval * rule.capacity();
+        while (true) {
+            long fullAt = bucket.get();
+            long next = (fullAt - now > 0 ? fullAt : now) + interval;
+            long wait = next - now - burst;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of buckets in the store.
+     *
+     * @return the number of buckets, over all rules
+     */
+    public long size() {
+        return bucketsByRule.values().stream().mapToLong(Map::size).sum();
+    }
+
+    /**
+     * Drops the full buckets if the store holds too many buckets and was not swept within the last second.
+     */
+    private void sweepIfFull(long now) {
+        long last = lastSweep.get();
+        if (now - last < SWEEP_INTERVAL_NANOS || size() < maxClients || !lastSweep.compareAndSet(last, now)) {
+            return;
+        }
+        for (Map<String, AtomicLong> buckets : bucketsByRule.values()) {
+            buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+        }
+    }
+}
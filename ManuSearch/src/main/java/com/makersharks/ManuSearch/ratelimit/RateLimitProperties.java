@@ -0,0 +1,23 @@
+package com.makersharks.ManuSearch.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+/**
+ * Configuration of the request rate limiter, bound from the {@code manusearch.rate-limit} properties.
+ * A list of rules does not fit single {@code @Value} properties, hence the binding.
+ */
+@ConfigurationProperties("manusearch.rate-limit")
+public record RateLimitProperties(
+        /*
+         * The rules, in order; a request is limited by the first rule whose pattern matches its path, if any.
+         */
+        @DefaultValue List<RateLimitRule> rules,
+
+        /*
+         * The number of client buckets above which idle (full) buckets are dropped from the in-memory store.
+         */
+        @DefaultValue("100000") int maxClients) {
+}
@@ -0,0 +1,40 @@
+package com.makersharks.ManuSearch.ratelimit;
+
+/**
+ * A token bucket applied to every client of the endpoints matching a path pattern.
+ * A client may send {@code capacity} requests at once, then one more every {@code 1 / refillPerSecond} seconds.
+ */
+public record RateLimitRule(
+        /*
+         * The servlet path pattern of the limited endpoints, e.g. "/api/supplier/**".
+         */
+        String pattern,
+
+        /*
+         * The number of tokens of a full bucket, i.e. the largest burst of requests.
+         */
+        int capacity,
+
+        /*
+         * The number of tokens added to the bucket per second, i.e. the sustained request rate.
+         */
+        double refillPerSecond) {
+
+    public RateLimitRule {
+        if (pattern == null || pattern.isBlank()) {
+            throw new IllegalArgumentException("A rate limit rule needs a path pattern");
+        }
+        if (capacity < 1 || !(refillPerSecond > 0)) {
+            throw new IllegalArgumentException("Rate limit capacity and refill rate must be positive: " + pattern);
+        }
+    }
+
+    /**
+     * Returns the time it takes to add one token to the bucket.
+     *
+     * @return the refill interval in nanoseconds
+     */
+    public long refillIntervalNanos() {
+        return Math.max(1, (long) (1_000_000_000L / refillPerSecond));
+    }
+}
@@ -0,0 +1,19 @@
+package com.makersharks.ManuSearch.ratelimit;
+
+/**
+ * Storage of the token buckets of the rate limiter.
+ * Implementations may be backed by a store shared between application instances, so that a client is limited
+ * across the cluster, provided they take tokens atomically; {@link InMemoryRateLimitStore} is the in-process
+ * store used when no other implementation is defined.
+ */
+public interface RateLimitStore {
+
+    /**
+     * Takes one token from the bucket of a client, if one is available.
+     *
+     * @param rule   the rule of the bucket
+     * @param client the client owning the bucket
+     * @return 0 if a token was taken, otherwise how long until one is available, in nanoseconds
+     */
+    long tryConsume(RateLimitRule rule, String client);
+}
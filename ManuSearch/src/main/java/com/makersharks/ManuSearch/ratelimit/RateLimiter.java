@@ -0,0 +1,73 @@
+package com.makersharks.ManuSearch.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Applies the configured {@link RateLimitRule}s to requests, taking tokens from a {@link RateLimitStore}.
+ * A request is limited by the first rule whose pattern matches its path; requests matching no rule are not limited.
+ */
+@Slf4j
+public class RateLimiter {
+
+    private final List<Rule> rules = new ArrayList<>();
+
+    private final RateLimitStore store;
+
+    /**
+     * Creates the rate limiter.
+     *
+     * @param properties    the rules of the rate limiter
+     * @param store         the store of the token buckets
+     * @param meterRegistry the registry to publish rejection counts to, or {@code null}
+     */
+    public RateLimiter(RateLimitProperties properties, RateLimitStore store, MeterRegistry meterRegistry) {
+        this.store = store;
+        for (RateLimitRule rule : properties.rules()) {
+            Counter rejected = meterRegistry == null ? null : Counter.builder("manusearch.rate-limit.rejected")
+                    .description("Requests rejected because their client exceeded its rate limit")
+                    .tag("pattern", rule.pattern())
+                    .register(meterRegistry);
+            rules.add(new Rule(rule, PathPatternParser.defaultInstance.parse(rule.pattern()), rejected));
+            log.info("Rate limit on {}: bursts of {}, {} requests per second", rule.pattern(), rule.capacity(),
+                    rule.refillPerSecond());
+        }
+    }
+
+    /**
+     * Takes one token for a request of a client.
+     *
+     * @param path   the servlet path of the request
+     * @param client the client sending the request
+     * @return 0 if the request may proceed, otherwise how long the client should wait, in nanoseconds
+     */
+    public long tryAcquire(String path, String client) {
+        PathContainer pathContainer = null;
+        for (Rule rule : rules) {
+            if (pathContainer == null) {
+                pathContainer = PathContainer.parsePath(path);
+            }
+            if (rule.pattern().matches(pathContainer)) {
+                long wait = store.tryConsume(rule.rule(), client);
+                if (wait > 0 && rule.rejected() != null) {
+                    rule.rejected().increment();
+                }
+                return wait;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * A rule with its parsed pattern and rejection counter.
+     */
+    private record Rule(RateLimitRule rule, PathPattern pattern, Counter rejected) {
+    }
+}
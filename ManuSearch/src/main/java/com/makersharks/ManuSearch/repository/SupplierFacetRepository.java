@@ -0,0 +1,89 @@
+package com.makersharks.ManuSearch.repository;
+
+import com.makersharks.ManuSearch.enums.NatureOfBusiness;
+import com.makersharks.ManuSearch.facet.FacetCell;
+import com.makersharks.ManuSearch.util.ProcessMasks;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Repository computing the supplier count matrix with a single grouped aggregate query,
+ * or reading the cell of every supplier for the incrementally maintained matrix.
+ */
+@Repository
+public class SupplierFacetRepository {
+
+    private static final String COLLECTION_MASKS = "(SELECT p.supplier_supplier_id, SUM(DISTINCT "
+            + ProcessMasks.sqlBitExpression("p.manufacturing_processes") + ") AS process_mask "
+            + "FROM supplier_manufacturing_processes p GROUP BY p.supplier_supplier_id)";
+
+    private static final String COLLECTION_QUERY = "SELECT s.location, s.nature_of_business, "
+            + "COALESCE(m.process_mask, 0) AS process_mask, COUNT(*) AS supplier_count "
+            + "FROM suppliers s LEFT JOIN " + COLLECTION_MASKS + " m "
+            + "ON m.supplier_supplier_id = s.supplier_id "
+            + "GROUP BY s.location, s.nature_of_business, COALESCE(m.process_mask, 0)";
+
+    private static final String MASK_QUERY = "SELECT s.location, s.nature_of_business, "
+            + "COALESCE(s.manufacturing_process_mask, 0) AS process_mask, COUNT(*) AS supplier_count "
+            + "FROM suppliers s GROUP BY s.location, s.nature_of_business, COALESCE(s.manufacturing_process_mask, 0)";
+
+    private static final String COLLECTION_SUPPLIERS_QUERY = "SELECT s.supplier_id, s.location, s.nature_of_business, "
+            + "COALESCE(m.process_mask, 0) AS process_mask "
+            + "FROM suppliers s LEFT JOIN " + COLLECTION_MASKS + " m "
+            + "ON m.supplier_supplier_id = s.supplier_id ORDER BY s.supplier_id";
+
+    private static final String MASK_SUPPLIERS_QUERY = "SELECT s.supplier_id, s.location, s.nature_of_business, "
+            + "COALESCE(s.manufacturing_process_mask, 0) AS process_mask FROM suppliers s ORDER BY s.supplier_id";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${manusearch.supplier.process-mask.enabled:false}")
+    private boolean processMaskEnabled;
+
+    /**
+     * Counts the suppliers in every (location, nature of business, manufacturing processes) cell.
+     * Locations differing only in case or surrounding whitespace are merged into one cell.
+     * The query runs in a read-only transaction, so it is admitted like repository calls when admission control is on.
+     *
+     * @return the supplier count per cell
+     */
+    @Transactional(readOnly = true)
+    public Map<FacetCell, Long> countCells() {
+        Map<FacetCell, Long> cells = new HashMap<>();
+        jdbcTemplate.query(processMaskEnabled ? MASK_QUERY : COLLECTION_QUERY, rs -> {
+            cells.merge(cell(rs), rs.getLong("supplier_count"), Long::sum);
+        });
+        return cells;
+    }
+
+    /**
+     * Reads the cell of every supplier, in supplier identifier order, with a single query.
+     * Unlike {@link #countCells()}, the result tells which state of each supplier was read, so writes committed
+     * while it runs can be reconciled with it.
+     *
+     * @param consumer receives the cell and the identifier of every supplier
+     */
+    @Transactional(readOnly = true)
+    public void forEachSupplierCell(ObjLongConsumer<FacetCell> consumer) {
+        jdbcTemplate.query(processMaskEnabled ? MASK_SUPPLIERS_QUERY : COLLECTION_SUPPLIERS_QUERY, rs -> {
+            consumer.accept(cell(rs), rs.getLong("supplier_id"));
+        });
+    }
+
+    private static FacetCell cell(ResultSet rs) throws SQLException {
+        String natureOfBusiness = rs.getString("nature_of_business");
+        return FacetCell.of(rs.getString("location"),
+                natureOfBusiness == null ? null : NatureOfBusiness.valueOf(natureOfBusiness),
+                rs.getInt("process_mask"));
+    }
+}
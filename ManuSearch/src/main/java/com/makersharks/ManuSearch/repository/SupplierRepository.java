@@ -3,25 +3,212 @@ package com.makersharks.ManuSearch.repository;
 import com.makersharks.ManuSearch.entity.Supplier;
 import com.makersharks.ManuSearch.enums.ManufacturingProcess;
 import com.makersharks.ManuSearch.enums.NatureOfBusiness;
+import com.makersharks.ManuSearch.projection.SupplierGeoEntry;
+import com.makersharks.ManuSearch.projection.SupplierIndexEntry;
+import com.makersharks.ManuSearch.projection.SupplierSummary;
+import com.makersharks.ManuSearch.projection.SupplierTextEntry;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for accessing and manipulating {@link Supplier} entities.
- * Extends {@link JpaRepository} to provide standard CRUD operations and pagination support.
+ * Extends {@link JpaRepository} to provide standard CRUD operations and pagination support,
+ * and {@link SupplierSearchRepository} for multi-value searches.
  */
-public interface SupplierRepository extends JpaRepository<Supplier, Long> {
+public interface SupplierRepository extends JpaRepository<Supplier, Long>, SupplierSearchRepository {
 
     /**
      * Finds suppliers based on location, nature of business, and manufacturing processes.
      *
-     * @param location             the location of the supplier
+     * @param locationKey          the location of the supplier, trimmed and lower-cased
+     * @param natureOfBusiness     the nature of business of the supplier
+     * @param manufacturingProcess the manufacturing process used by the supplier
+     * @param pageable             pagination information for the query
+     * @return a {@link Page} of {@link Supplier} entities matching the criteria
+     */
+    Page<Supplier> findByLocationKeyAndNatureOfBusinessAndManufacturingProcessesContains(
+            String locationKey, NatureOfBusiness natureOfBusiness, ManufacturingProcess manufacturingProcess, Pageable pageable);
+
+    /**
+     * Finds suppliers whose packed process bitmask contains every process of the given set.
+     * Filters on the {@code manufacturing_process_mask} column of {@code suppliers} with a bitwise AND
+     * (rendered as {@code &} on MySQL), so neither the query nor its count joins the process collection table.
+     * The set parameter is converted to a bitmask by the same converter as the column; it is cast inside the
+     * bitwise AND because some databases, such as H2, cannot otherwise infer its type.
+     *
+     * @param locationKey      the location of the supplier, trimmed and lower-cased
+     * @param natureOfBusiness the nature of business of the supplier
+     * @param processes        the manufacturing processes the supplier must all offer
+     * @param pageable         pagination information for the query
+     * @return a {@link Page} of {@link Supplier} entities matching the criteria
+     */
+    @Query("select s from Supplier s where s.locationKey = :locationKey and s.natureOfBusiness = :natureOfBusiness "
+            + "and bitand(s.manufacturingProcessSet, cast(:processes as Integer)) = :processes")
+    Page<Supplier> findByLocationKeyAndNatureOfBusinessAndProcessMask(@Param("locationKey") String locationKey,
+                                                                      @Param("natureOfBusiness") NatureOfBusiness natureOfBusiness,
+                                                                      @Param("processes") Set<ManufacturingProcess> processes,
+                                                                      Pageable pageable);
+
+    /**
+     * Finds the next slice of suppliers after a given supplier identifier (keyset pagination).
+     * Returns a {@link Slice}, so no count query is executed. The pageable should be sorted by supplierId
+     * and request page 0, so the database seeks on the primary key instead of scanning an offset.
+     *
+     * @param locationKey          the location of the supplier, trimmed and lower-cased
+     * @param natureOfBusiness     the nature of business of the supplier
+     * @param manufacturingProcess the manufacturing process used by the supplier
+     * @param supplierId           the last supplier identifier already returned to the client
+     * @param pageable             the slice size and sort order
+     * @return a {@link Slice} of {@link Supplier} entities with identifiers greater than the given one
+     */
+    Slice<Supplier> findByLocationKeyAndNatureOfBusinessAndManufacturingProcessesContainsAndSupplierIdGreaterThan(
+            String locationKey, NatureOfBusiness natureOfBusiness, ManufacturingProcess manufacturingProcess,
+            Long supplierId, Pageable pageable);
+
+    /**
+     * Finds the next slice of suppliers whose packed process bitmask contains every process of the given set,
+     * after a given supplier identifier. The bitmask counterpart of
+     * {@link #findByLocationKeyAndNatureOfBusinessAndManufacturingProcessesContainsAndSupplierIdGreaterThan}.
+     *
+     * @param locationKey      the location of the supplier, trimmed and lower-cased
+     * @param natureOfBusiness the nature of business of the supplier
+     * @param processes        the manufacturing processes the supplier must all offer
+     * @param supplierId       the last supplier identifier already returned to the client
+     * @param pageable         the slice size and sort order
+     * @return a {@link Slice} of {@link Supplier} entities with identifiers greater than the given one
+     */
+    @Query("select s from Supplier s where s.locationKey = :locationKey and s.natureOfBusiness = :natureOfBusiness "
+            + "and bitand(s.manufacturingProcessSet, cast(:processes as Integer)) = :processes "
+            + "and s.supplierId > :supplierId")
+    Slice<Supplier> findByLocationKeyAndNatureOfBusinessAndProcessMaskAndSupplierIdGreaterThan(
+            @Param("locationKey") String locationKey,
+            @Param("natureOfBusiness") NatureOfBusiness natureOfBusiness,
+            @Param("processes") Set<ManufacturingProcess> processes,
+            @Param("supplierId") Long supplierId,
+            Pageable pageable);
+
+    /**
+     * Streams one row per (supplier, manufacturing process) pair for building the in-memory index.
+     * Must be consumed inside a transaction and closed after use.
+     *
+     * @return a {@link Stream} of {@link SupplierIndexEntry} rows
+     */
+    @Query("select s.supplierId as supplierId, s.location as location, s.natureOfBusiness as natureOfBusiness, "
+            + "p as manufacturingProcess from Supplier s join s.manufacturingProcesses p")
+    Stream<SupplierIndexEntry> streamIndexEntries();
+
+    /**
+     * Streams one row per (supplier, manufacturing process) pair with the coordinates of the supplier
+     * for building the in-memory geo index. Must be consumed inside a transaction and closed after use.
+     *
+     * @return a {@link Stream} of {@link SupplierGeoEntry} rows
+     */
+    @Query("select s.supplierId as supplierId, s.location as location, s.latitude as latitude, "
+            + "s.longitude as longitude, s.natureOfBusiness as natureOfBusiness, p as manufacturingProcess "
+            + "from Supplier s join s.manufacturingProcesses p")
+    Stream<SupplierGeoEntry> streamGeoEntries();
+
+    /**
+     * Streams the text fields of every supplier for building the in-memory text index.
+     * Must be consumed inside a transaction and closed after use.
+     *
+     * @return a {@link Stream} of {@link SupplierTextEntry} rows
+     */
+    @Query("select s.supplierId as supplierId, s.companyName as companyName, s.location as location from Supplier s")
+    Stream<SupplierTextEntry> streamTextEntries();
+
+    /**
+     * Finds suppliers based on location, nature of business, and manufacturing process,
+     * restricted to the given identifiers (for example the matches of a text query).
+     *
+     * @param locationKey          the location of the supplier, trimmed and lower-cased
      * @param natureOfBusiness     the nature of business of the supplier
      * @param manufacturingProcess the manufacturing process used by the supplier
+     * @param supplierIds          the identifiers the results are restricted to
      * @param pageable             pagination information for the query
      * @return a {@link Page} of {@link Supplier} entities matching the criteria
      */
-    Page<Supplier> findByLocationAndNatureOfBusinessAndManufacturingProcessesContains(
-            String location, NatureOfBusiness natureOfBusiness, ManufacturingProcess manufacturingProcess, Pageable pageable);
+    Page<Supplier> findByLocationKeyAndNatureOfBusinessAndManufacturingProcessesContainsAndSupplierIdIn(
+            String locationKey, NatureOfBusiness natureOfBusiness, ManufacturingProcess manufacturingProcess,
+            Collection<Long> supplierIds, Pageable pageable);
+
+    /**
+     * Finds suppliers whose packed process bitmask contains every process of the given set, restricted to the
+     * given identifiers. The bitmask counterpart of
+     * {@link #findByLocationKeyAndNatureOfBusinessAndManufacturingProcessesContainsAndSupplierIdIn}.
+     *
+     * @param locationKey      the location of the supplier, trimmed and lower-cased
+     * @param natureOfBusiness the nature of business of the supplier
+     * @param processes        the manufacturing processes the supplier must all offer
+     * @param supplierIds      the identifiers the results are restricted to
+     * @param pageable         pagination information for the query
+     * @return a {@link Page} of {@link Supplier} entities matching the criteria
+     */
+    @Query("select s from Supplier s where s.locationKey = :locationKey and s.natureOfBusiness = :natureOfBusiness "
+            + "and bitand(s.manufacturingProcessSet, cast(:processes as Integer)) = :processes "
+            + "and s.supplierId in :supplierIds")
+    Page<Supplier> findByLocationKeyAndNatureOfBusinessAndProcessMaskAndSupplierIdIn(
+            @Param("locationKey") String locationKey,
+            @Param("natureOfBusiness") NatureOfBusiness natureOfBusiness,
+            @Param("processes") Set<ManufacturingProcess> processes,
+            @Param("supplierIds") Collection<Long> supplierIds,
+            Pageable pageable);
+
+    /**
+     * Finds summaries of suppliers based on location, nature of business, and manufacturing process.
+     * Only the scalar columns are selected, straight into {@link SupplierSummary} records.
+     *
+     * @param locationKey          the location of the supplier, trimmed and lower-cased
+     * @param natureOfBusiness     the nature of business of the supplier
+     * @param manufacturingProcess the manufacturing process used by the supplier
+     * @param pageable             pagination information for the query
+     * @return a {@link Page} of {@link SupplierSummary} records matching the criteria
+     */
+    @Query(value = "select new com.makersharks.ManuSearch.projection.SupplierSummary(s.supplierId, s.companyName, "
+            + "s.website, s.location, s.natureOfBusiness) from Supplier s join s.manufacturingProcesses p "
+            + "where s.locationKey = :locationKey and s.natureOfBusiness = :natureOfBusiness and p = :manufacturingProcess",
+            countQuery = "select count(s) from Supplier s join s.manufacturingProcesses p "
+                    + "where s.locationKey = :locationKey and s.natureOfBusiness = :natureOfBusiness and p = :manufacturingProcess")
+    Page<SupplierSummary> findSummaries(@Param("locationKey") String locationKey,
+                                        @Param("natureOfBusiness") NatureOfBusiness natureOfBusiness,
+                                        @Param("manufacturingProcess") ManufacturingProcess manufacturingProcess,
+                                        Pageable pageable);
+
+    /**
+     * Finds summaries of suppliers whose packed process bitmask contains every process of the given set.
+     * The summary counterpart of {@link #findByLocationKeyAndNatureOfBusinessAndProcessMask}.
+     *
+     * @param locationKey      the location of the supplier, trimmed and lower-cased
+     * @param natureOfBusiness the nature of business of the supplier
+     * @param processes        the manufacturing processes the supplier must all offer
+     * @param pageable         pagination information for the query
+     * @return a {@link Page} of {@link SupplierSummary} records matching the criteria
+     */
+    @Query("select new com.makersharks.ManuSearch.projection.SupplierSummary(s.supplierId, s.companyName, "
+            + "s.website, s.location, s.natureOfBusiness) from Supplier s "
+            + "where s.locationKey = :locationKey and s.natureOfBusiness = :natureOfBusiness "
+            + "and bitand(s.manufacturingProcessSet, cast(:processes as Integer)) = :processes")
+    Page<SupplierSummary> findSummariesByProcessMask(@Param("locationKey") String locationKey,
+                                                     @Param("natureOfBusiness") NatureOfBusiness natureOfBusiness,
+                                                     @Param("processes") Set<ManufacturingProcess> processes,
+                                                     Pageable pageable);
+
+    /**
+     * Finds the summaries of the suppliers with the given identifiers, in no particular order.
+     *
+     * @param supplierIds the identifiers of the suppliers
+     * @return the {@link SupplierSummary} records of the suppliers that exist
+     */
+    @Query("select new com.makersharks.ManuSearch.projection.SupplierSummary(s.supplierId, s.companyName, "
+            + "s.website, s.location, s.natureOfBusiness) from Supplier s where s.supplierId in :supplierIds")
+    List<SupplierSummary> findSummariesByIdIn(@Param("supplierIds") Collection<Long> supplierIds);
 }
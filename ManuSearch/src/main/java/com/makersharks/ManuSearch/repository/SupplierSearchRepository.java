@@ -0,0 +1,34 @@
+package com.makersharks.ManuSearch.repository;
+
+import com.makersharks.ManuSearch.dto.SupplierSearchCriteria;
+import com.makersharks.ManuSearch.entity.Supplier;
+import com.makersharks.ManuSearch.projection.SupplierRankingEntry;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.stream.Stream;
+
+/**
+ * Repository fragment for multi-value supplier searches, implemented by {@link SupplierSearchRepositoryImpl}
+ * and exposed through {@link SupplierRepository}.
+ */
+public interface SupplierSearchRepository {
+
+    /**
+     * Finds suppliers matching multi-value search criteria, ordered by supplier identifier.
+     *
+     * @param criteria the search criteria
+     * @param pageable pagination information for the query; its sort is ignored
+     * @return a {@link Page} of {@link Supplier} entities matching the criteria
+     */
+    Page<Supplier> search(SupplierSearchCriteria criteria, Pageable pageable);
+
+    /**
+     * Streams the ranked columns of every supplier matching multi-value search criteria, in no particular order.
+     * Must be consumed inside a transaction and closed after use.
+     *
+     * @param criteria the search criteria
+     * @return a {@link Stream} of {@link SupplierRankingEntry} rows
+     */
+    Stream<SupplierRankingEntry> streamRankingEntries(SupplierSearchCriteria criteria);
+}
@@ -0,0 +1,189 @@
+package com.makersharks.ManuSearch.repository;
+
+import com.makersharks.ManuSearch.dto.SupplierSearchCriteria;
+import com.makersharks.ManuSearch.entity.Supplier;
+import com.makersharks.ManuSearch.enums.ManufacturingProcess;
+import com.makersharks.ManuSearch.enums.NatureOfBusiness;
+import com.makersharks.ManuSearch.enums.ProcessMatch;
+import com.makersharks.ManuSearch.projection.SupplierRankingEntry;
+import com.makersharks.ManuSearch.util.LocationNormalizer;
+import com.makersharks.ManuSearch.util.ProcessMasks;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * JPQL implementation of {@link SupplierSearchRepository}.
+ * The query text depends only on which dimensions are filtered and on the process match mode, never on the
+ * values: every value is bound as a (collection) parameter. There are therefore at most a few dozen distinct
+ * statements, each parsed once and then served from Hibernate's query plan cache, and with IN-clause parameter
+ * padding the generated SQL stays stable as the number of values varies.
+ * Locations are matched on the generated {@code location_key} column with normalized values, as the in-memory
+ * bitmap index matches them, so both paths return the same suppliers.
+ */
+public class SupplierSearchRepositoryImpl implements SupplierSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${manusearch.supplier.process-mask.enabled:false}")
+    private boolean processMaskEnabled; // Filter on the packed bitmask column instead of the process collection table
+
+    @Override
+    public Page<Supplier> search(SupplierSearchCriteria criteria, Pageable pageable) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        String where = where(criteria, parameters);
+
+        TypedQuery<Supplier> query = entityManager.createQuery(
+                "select s from Supplier s" + where + " order by s.supplierId", Supplier.class);
+        parameters.forEach(query::setParameter);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        List<Supplier> content = query.getResultList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> {
+            TypedQuery<Long> count = entityManager.createQuery("select count(s) from Supplier s" + where, Long.class);
+            parameters.forEach(count::setParameter);
+            return count.getSingleResult();
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * With the packed bitmask the processes are read from the supplier row. Otherwise they are read from the
+     * process collection table, which is also filled for rows written before the bitmask column existed:
+     * one row per supplier and process is selected, ordered by supplier, and folded into one entry per supplier.
+     */
+    @Override
+    public Stream<SupplierRankingEntry> streamRankingEntries(SupplierSearchCriteria criteria) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        String where = where(criteria, parameters);
+
+        if (processMaskEnabled) {
+            TypedQuery<SupplierRankingEntry> query = entityManager.createQuery(
+                    "select new com.makersharks.ManuSearch.projection.SupplierRankingEntry(s.supplierId, s.location, "
+                            + "s.natureOfBusiness, s.manufacturingProcessSet) from Supplier s" + where,
+                    SupplierRankingEntry.class);
+            parameters.forEach(query::setParameter);
+            return query.getResultStream();
+        }
+        TypedQuery<Object[]> query = entityManager.createQuery(
+                "select s.supplierId, s.location, s.natureOfBusiness, mp from Supplier s "
+                        + "left join s.manufacturingProcesses mp" + where + " order by s.supplierId", Object[].class);
+        parameters.forEach(query::setParameter);
+        Stream<Object[]> rows = query.getResultStream();
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(new RankingEntryIterator(rows.iterator()),
+                Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(rows::close);
+    }
+
+    /**
+     * Renders the where clause of a search and collects its parameters.
+     *
+     * @param criteria   the search criteria
+     * @param parameters receives the named parameters referenced by the clause
+     * @return the where clause, or an empty string if no dimension is filtered
+     */
+    private String where(SupplierSearchCriteria criteria, Map<String, Object> parameters) {
+        List<String> predicates = new ArrayList<>(3);
+        if (!criteria.locations().isEmpty()) {
+            predicates.add("s.locationKey in :locations");
+            parameters.put("locations", criteria.locations().stream()
+                    .map(LocationNormalizer::normalize)
+                    .collect(Collectors.toCollection(TreeSet::new)));
+        }
+        if (!criteria.naturesOfBusiness().isEmpty()) {
+            predicates.add("s.natureOfBusiness in :naturesOfBusiness");
+            parameters.put("naturesOfBusiness", criteria.naturesOfBusiness());
+        }
+        if (!criteria.manufacturingProcesses().isEmpty()) {
+            predicates.add(processPredicate(criteria, parameters));
+        }
+        return predicates.isEmpty() ? "" : " where " + String.join(" and ", predicates);
+    }
+
+    /**
+     * Renders the manufacturing process predicate. With the packed bitmask the test is a bitwise AND on the
+     * supplier row; otherwise it is a correlated subquery on the process collection table.
+     *
+     * @param criteria   the search criteria, with at least one manufacturing process
+     * @param parameters receives any extra named parameters referenced by the predicate
+     * @return the predicate
+     */
+    private String processPredicate(SupplierSearchCriteria criteria, Map<String, Object> parameters) {
+        if (processMaskEnabled) {
+            if (criteria.processMatch() == ProcessMatch.ALL) {
+                // Compared with the converted column, so bound as a set through the bitmask converter
+                parameters.put("processes", EnumSet.copyOf(criteria.manufacturingProcesses()));
+                return "bitand(s.manufacturingProcessSet, cast(:processes as Integer)) = :processes";
+            }
+            // Only used inside the cast, which takes a plain integer
+            parameters.put("processMask", ProcessMasks.toMask(criteria.manufacturingProcesses()));
+            return "bitand(s.manufacturingProcessSet, cast(:processMask as Integer)) <> 0";
+        }
+        parameters.put("processes", criteria.manufacturingProcesses());
+        if (criteria.processMatch() == ProcessMatch.ALL) {
+            parameters.put("processCount", (long) criteria.manufacturingProcesses().size());
+            return "(select count(distinct p) from s.manufacturingProcesses p where p in :processes) = :processCount";
+        }
+        return "exists (select p from s.manufacturingProcesses p where p in :processes)";
+    }
+
+    /**
+     * Folds the (supplier, process) rows of one supplier, which are consecutive, into one ranking entry.
+     */
+    private static class RankingEntryIterator implements Iterator<SupplierRankingEntry> {
+
+        private final Iterator<Object[]> rows;
+
+        private Object[] next;
+
+        RankingEntryIterator(Iterator<Object[]> rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && rows.hasNext()) {
+                next = rows.next();
+            }
+            return next != null;
+        }
+
+        @Override
+        public SupplierRankingEntry next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Object[] first = next;
+            EnumSet<ManufacturingProcess> processes = EnumSet.noneOf(ManufacturingProcess.class);
+            do {
+                if (next[3] != null) {
+                    processes.add((ManufacturingProcess) next[3]);
+                }
+                next = rows.hasNext() ? rows.next() : null;
+            } while (next != null && next[0].equals(first[0]));
+            return new SupplierRankingEntry((Long) first[0], (String) first[1], (NatureOfBusiness) first[2], processes);
+        }
+    }
+}
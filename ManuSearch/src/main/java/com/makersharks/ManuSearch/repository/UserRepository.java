@@ -2,6 +2,7 @@ package com.makersharks.ManuSearch.repository;
 
 import com.makersharks.ManuSearch.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -16,9 +17,11 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * This method searches for a user whose email matches the provided value.
      * If a matching user is found, it is returned wrapped in an {@link Optional}.
      * If no match is found, an empty {@link Optional} is returned.
+     * The lookup runs in a read-only transaction, so logins are served by a read replica when replicas are enabled.
      *
      * @param email the email to search for, cannot be {@code null}
      * @return an {@link Optional} containing the matching user if found, or an empty {@link Optional} if no user matches
      */
+    @Transactional(readOnly = true)
     Optional<User> findByEmail(String email);
 }
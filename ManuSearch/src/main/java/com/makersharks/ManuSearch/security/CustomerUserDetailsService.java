@@ -1,15 +1,15 @@
 package com.makersharks.ManuSearch.security;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
+import java.util.Set;
 
-import com.makersharks.ManuSearch.entity.User;
 import com.makersharks.ManuSearch.repository.UserRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -19,19 +19,33 @@ import org.springframework.stereotype.Service;
  * Service implementation for loading user-specific data for Spring Security.
  * This service fetches user details from the database and converts them into
  * Spring Security's UserDetails object for authentication and authorization.
+ * Lookups are served from the {@link UserDetailsCache}, so repeated logins do not query the database.
+ * Roles are not stored with users: the users listed in {@code manusearch.ingestion.admins} are granted
+ * the {@link SecurityConstants#SUPPLIER_ADMIN_ROLE} role, and every other user has no authority.
  */
 @Service
 @Slf4j
 public class CustomerUserDetailsService implements UserDetailsService {
 
+	private static final List<GrantedAuthority> NO_AUTHORITIES = List.of();
+
+	private static final List<GrantedAuthority> SUPPLIER_ADMIN_AUTHORITIES =
+			List.of(new SimpleGrantedAuthority("ROLE_" + SecurityConstants.SUPPLIER_ADMIN_ROLE));
+
 	@Autowired
 	private UserRepository userRepository;
 
+	@Autowired
+	private UserDetailsCache userDetailsCache;
+
+	@Value("${manusearch.ingestion.admins:}")
+	private Set<String> supplierAdmins; // Emails of the users allowed to write suppliers in bulk
+
 	/**
 	 * Loads user-specific data by email.
 	 *
 	 * This method is called by Spring Security during authentication to retrieve
-	 * the user details from the database using the provided email.
+	 * the user details from the cache or, on a miss, the database using the provided email.
 	 * It constructs a UserDetails object that includes user authorities.
 	 *
 	 * @param email the email of the user whose details are to be loaded
@@ -40,30 +54,28 @@ public class CustomerUserDetailsService implements UserDetailsService {
 	 */
 	@Override
 	public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-		log.info("Attempting to load user by email: {}", email);
+		log.debug("Attempting to load user by email: {}", email);
 
-		// Retrieve the user from the database based on the provided email
-		Optional<User> optionalUser = userRepository.findByEmail(email);
+		// Retrieve the user from the cache, falling back to the database on a miss
+		UserDetailsCache.UserCredentials credentials = userDetailsCache.get(email, key ->
+				userRepository.findByEmail(key)
+						.map(user -> new UserDetailsCache.UserCredentials(user.getEmail(), user.getPassword()))
+						.orElse(null));
 
 		// Check if the user exists
-		if (optionalUser.isPresent()) {
-			User user = optionalUser.get();
-			log.info("User found: {}", user.getEmail());
-
-			// Convert user roles to Spring Security authorities
-			List<GrantedAuthority> grantedAuthorities = new ArrayList<>();
-//			grantedAuthorities.add(new SimpleGrantedAuthority("ROLE_" + user.getRole().toUpperCase()));
-
-			// Return a Spring Security UserDetails object with the user's email, password, and authorities
-			return new org.springframework.security.core.userdetails.User(
-					user.getEmail(),
-					user.getPassword(),
-					grantedAuthorities
-			);
-		} else {
+		if (credentials == null) {
 			// Log a warning and throw an exception if the user is not found
 			log.warn("User not found with email: {}", email);
 			throw new BadCredentialsException("User Details not found with this email: " + email);
 		}
+		log.debug("User found: {}", credentials.email());
+
+		// Return a Spring Security UserDetails object with the user's email, password, and authorities.
+		// A new instance is required on every call, because Spring Security erases its password after authentication.
+		return new org.springframework.security.core.userdetails.User(
+				credentials.email(),
+				credentials.passwordHash(),
+				supplierAdmins.contains(credentials.email()) ? SUPPLIER_ADMIN_AUTHORITIES : NO_AUTHORITIES
+		);
 	}
 }
@@ -0,0 +1,147 @@
+package com.makersharks.ManuSearch.security;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Bounded cache from a raw JWT token to the {@link Authentication} built from it.
+ * Clients send the same token on every request, so a validated token is kept until the earlier of
+ * its own expiration and the configured time-to-live, and the signature is not re-verified in between.
+ * Hit and miss counts are published as the "jwt-authentication" cache metrics.
+ */
+@Component
+public class JwtAuthenticationCache implements MeterBinder {
+
+	private final Cache<String, CachedAuthentication> cache;
+
+	private final long maxTtlNanos;
+
+	private final LongSupplier clock;
+
+	/**
+	 * Creates the cache.
+	 *
+	 * @param maximumSize the maximum number of tokens kept in the cache
+	 * @param maxTtl      the maximum time a validated token is trusted without re-verification
+	 */
+	@Autowired
+	public JwtAuthenticationCache(@Value("${manusearch.jwt.cache.maximum-size:10000}") long maximumSize,
+			@Value("${manusearch.jwt.cache.max-ttl:PT10M}") Duration maxTtl) {
+		this(maximumSize, maxTtl, Ticker.systemTicker(), System::currentTimeMillis);
+	}
+
+	/**
+	 * Creates the cache with the given time sources.
+	 *
+	 * @param maximumSize the maximum number of tokens kept in the cache
+	 * @param maxTtl      the maximum time a validated token is trusted without re-verification
+	 * @param ticker      the time source of the cache entries, in nanoseconds
+	 * @param clock       the clock compared with token expirations, in epoch milliseconds
+	 */
+	JwtAuthenticationCache(long maximumSize, Duration maxTtl, Ticker ticker, LongSupplier clock) {
+		this.maxTtlNanos = maxTtl.toNanos();
+		this.clock = clock;
+		this.cache = Caffeine.newBuilder()
+				.maximumSize(maximumSize)
+				.expireAfter(new TokenExpiry())
+				.ticker(ticker)
+				.recordStats()
+				.build();
+	}
+
+	/**
+	 * Returns the cached authentication for a token, if it is present and not expired.
+	 *
+	 * @param token the raw JWT token, without the "Bearer " prefix
+	 * @return the cached authentication, or {@code null} on a cache miss
+	 */
+	public Authentication get(String token) {
+		CachedAuthentication cached = cache.getIfPresent(token);
+		return cached == null ? null : cached.authentication();
+	}
+
+	/**
+	 * Caches the authentication built from a validated token.
+	 *
+	 * @param token          the raw JWT token, without the "Bearer " prefix
+	 * @param authentication the authentication built from the token claims
+	 * @param expiration     the expiration claim of the token, may be {@code null}
+	 */
+	public void put(String token, Authentication authentication, Date expiration) {
+		long expiresAtMillis = expiration == null ? Long.MAX_VALUE : expiration.getTime();
+		cache.put(token, new CachedAuthentication(authentication, expiresAtMillis));
+	}
+
+	/**
+	 * Returns the hit and miss counters of the cache.
+	 *
+	 * @return the current {@link CacheStats}
+	 */
+	public CacheStats stats() {
+		return cache.stats();
+	}
+
+	/**
+	 * Returns the approximate number of tokens in the cache.
+	 *
+	 * @return the estimated cache size
+	 */
+	public long estimatedSize() {
+		return cache.estimatedSize();
+	}
+
+	/**
+	 * Publishes the size, hit, miss and eviction metrics of the cache.
+	 *
+	 * @param registry the registry to publish the metrics to
+	 */
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		CaffeineCacheMetrics.monitor(registry, cache, "jwt-authentication");
+	}
+
+	/**
+	 * A cached authentication together with the expiration time of its token.
+	 */
+	private record CachedAuthentication(Authentication authentication, long expiresAtMillis) {
+	}
+
+	/**
+	 * Expires each entry at the earlier of the token expiration and the configured time-to-live.
+	 */
+	private class TokenExpiry implements Expiry<String, CachedAuthentication> {
+
+		@Override
+		public long expireAfterCreate(String key, CachedAuthentication value, long currentTime) {
+			long remainingMillis = Math.max(0, value.expiresAtMillis() - clock.getAsLong());
+			return Math.min(TimeUnit.MILLISECONDS.toNanos(remainingMillis), maxTtlNanos);
+		}
+
+		@Override
+		public long expireAfterUpdate(String key, CachedAuthentication value, long currentTime, long currentDuration) {
+			return expireAfterCreate(key, value, currentTime);
+		}
+
+		@Override
+		public long expireAfterRead(String key, CachedAuthentication value, long currentTime, long currentDuration) {
+			return currentDuration;
+		}
+	}
+}
@@ -6,15 +6,14 @@ import java.util.Date;
 import java.util.HashSet;
 import java.util.Set;
 
-import javax.crypto.SecretKey;
-
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -25,10 +24,29 @@ import lombok.extern.slf4j.Slf4j;
  * Filter for generating and adding a JWT token to the response header.
  * This filter extends OncePerRequestFilter to ensure that the JWT token is generated
  * and added to the response header only once per request.
+ * Each token generation is recorded as a "manusearch.jwt.generate" observation (timer and span).
  */
 @Slf4j
 public class JwtTokenGeneratorFilter extends OncePerRequestFilter {
 
+	private final ObservationRegistry observationRegistry;
+
+	/**
+	 * Creates the filter without instrumentation.
+	 */
+	public JwtTokenGeneratorFilter() {
+		this(ObservationRegistry.NOOP);
+	}
+
+	/**
+	 * Creates the filter.
+	 *
+	 * @param observationRegistry the registry recording token generations
+	 */
+	public JwtTokenGeneratorFilter(ObservationRegistry observationRegistry) {
+		this.observationRegistry = observationRegistry;
+	}
+
 	/**
 	 * Generates a JWT token if the authentication information is available.
 	 * Adds the generated token to the response header.
@@ -42,36 +60,33 @@ public class JwtTokenGeneratorFilter extends OncePerRequestFilter {
 	@Override
 	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
 			throws ServletException, IOException {
-		log.info("Processing request to generate JWT Token...");
+		log.debug("Processing request to generate JWT Token...");
 
 		// Retrieve authentication information from the security context
 		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
 		if (authentication != null) {
-			log.info("Authentication details found. Generating JWT Token.");
+			log.debug("Authentication details found. Generating JWT Token.");
 
 			// Extract authorities from the authentication object
-			log.info("User authorities: {}", authentication.getAuthorities());
-
-			// Generate a secret key for signing the JWT
-			SecretKey secretKey = Keys.hmacShaKeyFor(SecurityConstants.JWT_KEY.getBytes());
+			log.debug("User authorities: {}", authentication.getAuthorities());
 
 			// Build the JWT token
-			String jwtToken = Jwts.builder()
+			String jwtToken = Observation.createNotStarted("manusearch.jwt.generate", observationRegistry).observe(() -> Jwts.builder()
 					.setIssuer("ADMIN")  // Issuer of the token
 					.setSubject("JWT Token")  // Subject of the token
 					.claim("username", authentication.getName())  // Add username as a claim
 					.claim("authorities", populateAuthorities(authentication.getAuthorities()))  // Add user authorities as a claim
 					.setIssuedAt(new Date())  // Set the token issue date
 					.setExpiration(new Date(new Date().getTime() + 30000000))  // Set the token expiration date
-					.signWith(secretKey)  // Sign the token with the secret key
-					.compact();
+					.signWith(SecurityConstants.JWT_SECRET_KEY)  // Sign the token with the precomputed secret key
+					.compact());
 
 			// Add the JWT token to the response header
 			response.setHeader(SecurityConstants.JWT_HEADER, jwtToken);
-			log.info("JWT Token generated and added to the response header.");
+			log.debug("JWT Token generated and added to the response header.");
 		} else {
-			log.info("No authentication information found. Skipping JWT Token generation.");
+			log.debug("No authentication information found. Skipping JWT Token generation.");
 		}
 
 		// Continue with the next filter in the chain
@@ -103,7 +118,7 @@ public class JwtTokenGeneratorFilter extends OncePerRequestFilter {
 	protected boolean shouldNotFilter(HttpServletRequest request) throws ServletException {
 		// Apply the filter only for the /api/auth/login endpoint
 		boolean shouldNotFilter = !request.getServletPath().equals("/api/auth/login");
-		log.info("Filter should {} be applied to path: {}", shouldNotFilter ? "not" : "be", request.getServletPath());
+		log.debug("Filter should {} be applied to path: {}", shouldNotFilter ? "not" : "be", request.getServletPath());
 		return shouldNotFilter;
 	}
 }
@@ -3,8 +3,6 @@ package com.makersharks.ManuSearch.security;
 import java.io.IOException;
 import java.util.List;
 
-import javax.crypto.SecretKey;
-
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -15,8 +13,10 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -26,10 +26,43 @@ import jakarta.servlet.http.HttpServletResponse;
  * Filter for validating JWT tokens.
  * This filter extends OncePerRequestFilter to ensure that the JWT token is validated
  * once per request, and authentication is set in the security context.
+ * Validated tokens are kept in a {@link JwtAuthenticationCache} so repeated requests skip signature verification.
+ * Each signature verification is recorded as a "manusearch.jwt.validate" observation (timer and span).
  */
 @Slf4j
 public class JwtTokenValidatorFilter extends OncePerRequestFilter {
 
+	/**
+	 * Parser bound to the signing key. It is thread-safe, so one instance is shared by all requests.
+	 */
+	private final JwtParser jwtParser = Jwts.parserBuilder()
+			.setSigningKey(SecurityConstants.JWT_SECRET_KEY)
+			.build();
+
+	private final JwtAuthenticationCache authenticationCache;
+
+	private final ObservationRegistry observationRegistry;
+
+	/**
+	 * Creates the filter without instrumentation.
+	 *
+	 * @param authenticationCache the cache of already validated tokens
+	 */
+	public JwtTokenValidatorFilter(JwtAuthenticationCache authenticationCache) {
+		this(authenticationCache, ObservationRegistry.NOOP);
+	}
+
+	/**
+	 * Creates the filter.
+	 *
+	 * @param authenticationCache the cache of already validated tokens
+	 * @param observationRegistry the registry recording token validations
+	 */
+	public JwtTokenValidatorFilter(JwtAuthenticationCache authenticationCache, ObservationRegistry observationRegistry) {
+		this.authenticationCache = authenticationCache;
+		this.observationRegistry = observationRegistry;
+	}
+
 	/**
 	 * Validates the JWT token from the request header and sets the authentication
 	 * information in the security context if the token is valid.
@@ -47,43 +80,55 @@ public class JwtTokenValidatorFilter extends OncePerRequestFilter {
 		String jwtToken = request.getHeader(SecurityConstants.JWT_HEADER);
 
 		if (jwtToken != null) {
-			try {
-				// Remove the "Bearer " prefix from the token if present
-				jwtToken = jwtToken.startsWith("Bearer ") ? jwtToken.substring(7) : jwtToken;
+			// Remove the "Bearer " prefix from the token if present
+			jwtToken = jwtToken.startsWith("Bearer ") ? jwtToken.substring(7) : jwtToken;
+
+			// Reuse the authentication of a token that was already validated
+			Authentication authentication = authenticationCache.get(jwtToken);
+			if (authentication == null) {
+				String token = jwtToken;
+				authentication = Observation.createNotStarted("manusearch.jwt.validate", observationRegistry)
+						.observe(() -> validate(token));
+			}
 
-				// Generate the secret key for validating the JWT token
-				SecretKey secretKey = Keys.hmacShaKeyFor(SecurityConstants.JWT_KEY.getBytes());
+			// Set the authentication object in the security context
+			SecurityContextHolder.getContext().setAuthentication(authentication);
+		}
 
-				// Parse the JWT token and extract claims
-				Claims claims = Jwts.parserBuilder()
-						.setSigningKey(secretKey)
-						.build()
-						.parseClaimsJws(jwtToken)
-						.getBody();
+		// Continue with the next filter in the chain
+		filterChain.doFilter(request, response);
+	}
 
-				// Extract username and authorities from the claims
-				String username = claims.get("username", String.class);
-				String authorities = claims.get("authorities", String.class);
+	/**
+	 * Verifies the signature of a token, builds the corresponding authentication and caches it.
+	 *
+	 * @param jwtToken the raw JWT token, without the "Bearer " prefix
+	 * @return the authentication built from the token claims
+	 * @throws BadCredentialsException if the token is invalid or expired
+	 */
+	private Authentication validate(String jwtToken) {
+		try {
+			// Parse the JWT token and extract claims
+			Claims claims = jwtParser.parseClaimsJws(jwtToken).getBody();
 
-				// Convert authorities from comma-separated string to list of GrantedAuthority
-				List<GrantedAuthority> authorityList = AuthorityUtils.commaSeparatedStringToAuthorityList(authorities);
+			// Extract username and authorities from the claims
+			String username = claims.get("username", String.class);
+			String authorities = claims.get("authorities", String.class);
 
-				// Create an Authentication object with the extracted username and authorities
-				Authentication authentication = new UsernamePasswordAuthenticationToken(username, null, authorityList);
+			// Convert authorities from comma-separated string to list of GrantedAuthority
+			List<GrantedAuthority> authorityList = AuthorityUtils.commaSeparatedStringToAuthorityList(authorities);
 
-				// Set the authentication object in the security context
-				SecurityContextHolder.getContext().setAuthentication(authentication);
+			// Create an Authentication object with the extracted username and authorities
+			Authentication authentication = new UsernamePasswordAuthenticationToken(username, null, authorityList);
+			authenticationCache.put(jwtToken, authentication, claims.getExpiration());
 
-				log.info("JWT Token validated and authentication set for user: {}", username);
+			log.debug("JWT Token validated and authentication set for user: {}", username);
+			return authentication;
 
-			} catch (Exception e) {
-				log.error("Error validating JWT Token: {}", e.getMessage());
-				throw new BadCredentialsException("Invalid Token received.");
-			}
+		} catch (Exception e) {
+			log.error("Error validating JWT Token: {}", e.getMessage());
+			throw new BadCredentialsException("Invalid Token received.");
 		}
-
-		// Continue with the next filter in the chain
-		filterChain.doFilter(request, response);
 	}
 
 	/**
@@ -97,7 +142,7 @@ public class JwtTokenValidatorFilter extends OncePerRequestFilter {
 	protected boolean shouldNotFilter(HttpServletRequest request) throws ServletException {
 		// Apply the filter to all paths except the /api/auth/login endpoint
 		boolean shouldNotFilter = request.getServletPath().equals("/api/auth/login");
-		log.info("Filter should {} be applied to path: {}", shouldNotFilter ? "not" : "be", request.getServletPath());
+		log.debug("Filter should {} be applied to path: {}", shouldNotFilter ? "not" : "be", request.getServletPath());
 		return shouldNotFilter;
 	}
 }
@@ -0,0 +1,91 @@
+package com.makersharks.ManuSearch.security;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.makersharks.ManuSearch.exception.ErrorDetails;
+import com.makersharks.ManuSearch.ratelimit.RateLimiter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Filter limiting the request rate of each client with the {@link RateLimiter}.
+ * It runs after the {@link JwtTokenValidatorFilter}, so clients presenting a token are limited by their username
+ * and every other client by its IP address. Rejected requests are answered with 429 Too Many Requests and a
+ * Retry-After header, before any controller, service or database work is done.
+ */
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+	private final RateLimiter rateLimiter;
+
+	private final ObjectMapper objectMapper;
+
+	/**
+	 * Creates the filter.
+	 *
+	 * @param rateLimiter the rate limiter
+	 * @param objectMapper the mapper writing the error details of rejected requests
+	 */
+	public RateLimitFilter(RateLimiter rateLimiter, ObjectMapper objectMapper) {
+		this.rateLimiter = rateLimiter;
+		this.objectMapper = objectMapper;
+	}
+
+	/**
+	 * Takes a token for the client of the request, and either continues the chain or rejects the request.
+	 *
+	 * @param request the HTTP request
+	 * @param response the HTTP response
+	 * @param filterChain the filter chain
+	 * @throws ServletException if an error occurs during filtering
+	 * @throws IOException if an I/O error occurs
+	 */
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		long waitNanos = rateLimiter.tryAcquire(request.getServletPath(), client(request));
+		if (waitNanos == 0) {
+			filterChain.doFilter(request, response);
+			return;
+		}
+
+		log.debug("Rate limit exceeded on {} by {}", request.getServletPath(), client(request));
+		long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+		ErrorDetails errorDetails = new ErrorDetails("Too many requests. Please retry later.",
+				"uri=" + request.getRequestURI(), LocalDateTime.now());
+		response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+		response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		objectMapper.writeValue(response.getOutputStream(), errorDetails);
+	}
+
+	/**
+	 * Identifies the client of a request: its username when it is authenticated, otherwise its IP address.
+	 *
+	 * @param request the HTTP request
+	 * @return the client key
+	 */
+	private static String client(HttpServletRequest request) {
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		if (authentication != null && authentication.isAuthenticated()
+				&& !(authentication instanceof AnonymousAuthenticationToken)) {
+			return "user:" + authentication.getName();
+		}
+		return "ip:" + request.getRemoteAddr();
+	}
+}
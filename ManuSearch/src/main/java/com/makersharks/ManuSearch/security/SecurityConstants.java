@@ -1,5 +1,9 @@
 package com.makersharks.ManuSearch.security;
 
+import javax.crypto.SecretKey;
+
+import io.jsonwebtoken.security.Keys;
+
 /**
  * SecurityConstants class holds constant values used for security configuration in the application.
  * This includes JWT key and header constants.
@@ -13,9 +17,21 @@ public interface SecurityConstants {
 	 */
 	public static final String JWT_KEY = "your-secure-generated-key-with-jwt-details";
 
+	/**
+	 * The signing key derived from {@link #JWT_KEY}.
+	 * It is computed once when the class is initialized instead of on every request.
+	 */
+	public static final SecretKey JWT_SECRET_KEY = Keys.hmacShaKeyFor(JWT_KEY.getBytes());
+
 	/**
 	 * The name of the HTTP header used to pass the JWT token in requests.
 	 * This header should be included in requests to protected endpoints.
 	 */
 	public static final String JWT_HEADER = "Authorization";
+
+	/**
+	 * The role required to write suppliers in bulk.
+	 * It is granted to the users listed in {@code manusearch.ingestion.admins}.
+	 */
+	public static final String SUPPLIER_ADMIN_ROLE = "SUPPLIER_ADMIN";
 }
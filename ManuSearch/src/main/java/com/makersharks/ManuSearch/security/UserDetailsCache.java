@@ -0,0 +1,90 @@
+package com.makersharks.ManuSearch.security;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Bounded, time-limited cache of the credentials looked up by {@link CustomerUserDetailsService}.
+ * Only an immutable copy of the email and password hash is cached: Spring Security erases the password of the
+ * {@link org.springframework.security.core.userdetails.UserDetails} it authenticates, so those objects cannot be shared.
+ * Size, hit and miss metrics are published under the cache name "user-details" when a meter registry is available.
+ */
+@Component
+public class UserDetailsCache {
+
+	private final Cache<String, UserCredentials> cache;
+
+	/**
+	 * Creates the cache.
+	 *
+	 * @param maximumSize   the maximum number of users kept in the cache
+	 * @param expireAfter   how long a user is served from the cache before it is read from the database again
+	 * @param meterRegistry the registry to publish cache metrics to, if any
+	 */
+	public UserDetailsCache(@Value("${manusearch.user-details.cache.maximum-size:10000}") long maximumSize,
+			@Value("${manusearch.user-details.cache.expire-after-write:PT5M}") Duration expireAfter,
+			ObjectProvider<MeterRegistry> meterRegistry) {
+		this.cache = Caffeine.newBuilder()
+				.maximumSize(maximumSize)
+				.expireAfterWrite(expireAfter)
+				.recordStats()
+				.build();
+		meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, cache, "user-details"));
+	}
+
+	/**
+	 * Returns the cached credentials of a user, loading them on a miss.
+	 * Concurrent misses for the same email share a single load.
+	 *
+	 * @param email  the email of the user
+	 * @param loader loads the credentials from the database, returning {@code null} if the user does not exist
+	 * @return the credentials, or {@code null} if the user does not exist (which is not cached)
+	 */
+	public UserCredentials get(String email, Function<String, UserCredentials> loader) {
+		return cache.get(email, loader);
+	}
+
+	/**
+	 * Removes a user from the cache, so the next login reads it from the database.
+	 *
+	 * @param email the email of the user
+	 */
+	public void evict(String email) {
+		cache.invalidate(email);
+	}
+
+	/**
+	 * Returns the hit and miss counters of the cache.
+	 *
+	 * @return the current {@link CacheStats}
+	 */
+	public CacheStats stats() {
+		return cache.stats();
+	}
+
+	/**
+	 * Returns the approximate number of users in the cache.
+	 *
+	 * @return the estimated cache size
+	 */
+	public long estimatedSize() {
+		return cache.estimatedSize();
+	}
+
+	/**
+	 * The immutable credentials of a user.
+	 */
+	public record UserCredentials(String email, String passwordHash) {
+	}
+}
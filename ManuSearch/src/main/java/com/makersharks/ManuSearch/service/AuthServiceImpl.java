@@ -3,6 +3,8 @@ package com.makersharks.ManuSearch.service;
 import com.makersharks.ManuSearch.exception.ManuSearchException;
 import com.makersharks.ManuSearch.entity.User;
 import com.makersharks.ManuSearch.repository.UserRepository;
+import com.makersharks.ManuSearch.security.UserDetailsCache;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
@@ -14,11 +16,15 @@ import java.util.Optional;
  * This class handles authentication-related operations and user registration.
  */
 @Service
+@Observed(name = "manusearch.service")
 public class AuthServiceImpl implements AuthService {
 
     @Autowired
     private UserRepository userRepository; // Repository for user data access
 
+    @Autowired
+    private UserDetailsCache userDetailsCache; // Cache of login credentials, evicted when a user is saved
+
     /**
      * Retrieves the authentication details of the currently authenticated user.
      *
@@ -34,6 +40,7 @@ public class AuthServiceImpl implements AuthService {
 
     /**
      * Registers a new user and saves their details to the database.
+     * Any cached credentials for the email are evicted, so the next login sees the saved password.
      *
      * @param user the User object containing the details of the user to register
      * @return a success message indicating the registration status
@@ -43,6 +50,10 @@ public class AuthServiceImpl implements AuthService {
     public String registerUser(User user) {
         return Optional.ofNullable(user)
                 .map(userRepository::save) // Save the user to the database
+                .map(savedUser -> {
+                    userDetailsCache.evict(savedUser.getEmail()); // Drop stale credentials for this email
+                    return savedUser;
+                })
                 .map(savedUser -> "Successfully registered: " + savedUser.getEmail()) // Return success message with user's email
                 .orElseThrow(() -> new ManuSearchException("User registration failed")); // Throw exception if registration fails
     }
@@ -0,0 +1,22 @@
+package com.makersharks.ManuSearch.service;
+
+import com.makersharks.ManuSearch.dto.SupplierBatchQuery;
+import com.makersharks.ManuSearch.entity.Supplier;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+/**
+ * Service interface for running several supplier searches in one request.
+ */
+public interface SupplierBatchService {
+
+    /**
+     * Runs a batch of multi-value supplier searches.
+     *
+     * @param queries the queries of the batch
+     * @return one {@link Page} of {@link Supplier} entities per query, in request order;
+     * queries without matches yield empty pages
+     */
+    List<Page<Supplier>> searchSuppliers(List<SupplierBatchQuery> queries);
+}
@@ -0,0 +1,198 @@
+package com.makersharks.ManuSearch.service;
+
+import com.makersharks.ManuSearch.dto.SupplierBatchQuery;
+import com.makersharks.ManuSearch.dto.SupplierSearchCriteria;
+import com.makersharks.ManuSearch.entity.Supplier;
+import com.makersharks.ManuSearch.exception.ManuSearchException;
+import com.makersharks.ManuSearch.exception.ServiceOverloadedException;
+import com.makersharks.ManuSearch.index.SupplierBitmapIndex;
+import com.makersharks.ManuSearch.index.SupplierIdPage;
+import com.makersharks.ManuSearch.repository.SupplierRepository;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the {@link SupplierBatchService} interface.
+ * Identical queries of a batch are run once. When the {@link SupplierBitmapIndex} is loaded, every query is
+ * resolved in memory and the suppliers of all pages are loaded with a single database query. Otherwise the
+ * queries run in parallel, each in its own read-only transaction, on a bounded executor owned by this service.
+ * The executor is deliberately not a bean, so it does not displace the auto-configured application task executor.
+ */
+@Service
+@Observed(name = "manusearch.service")
+public class SupplierBatchServiceImpl implements SupplierBatchService {
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired(required = false)
+    private SupplierBitmapIndex supplierBitmapIndex; // Present only when manusearch.index.enabled=true
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${manusearch.batch.max-queries:50}")
+    private int maxQueries; // Largest number of queries accepted in one batch
+
+    @Value("${manusearch.batch.max-size:100}")
+    private int maxSize; // Largest number of suppliers per page of a batched query
+
+    @Value("${manusearch.batch.parallelism:4}")
+    private int parallelism; // Number of batched queries run against the database at the same time
+
+    @Value("${manusearch.batch.queue-capacity:500}")
+    private int queueCapacity; // Number of batched queries that may wait for a thread
+
+    private ThreadPoolTaskExecutor supplierBatchExecutor;
+
+    /**
+     * Starts the executor for batched database queries. Its pool size bounds how many connections batches
+     * can hold at once, and its queue bounds how much batch work can wait; further work is rejected.
+     */
+    @PostConstruct
+    public void startExecutor() {
+        supplierBatchExecutor = new ThreadPoolTaskExecutor();
+        supplierBatchExecutor.setCorePoolSize(parallelism);
+        supplierBatchExecutor.setMaxPoolSize(parallelism);
+        supplierBatchExecutor.setQueueCapacity(queueCapacity);
+        supplierBatchExecutor.setThreadNamePrefix("supplier-batch-");
+        supplierBatchExecutor.setWaitForTasksToCompleteOnShutdown(true);
+        supplierBatchExecutor.initialize();
+    }
+
+    /**
+     * Stops the executor, letting queued queries complete.
+     */
+    @PreDestroy
+    public void stopExecutor() {
+        supplierBatchExecutor.shutdown();
+    }
+
+    /**
+     * Runs a batch of multi-value supplier searches.
+     *
+     * @param queries the queries of the batch
+     * @return one {@link Page} of {@link Supplier} entities per query, in request order
+     * @throws ManuSearchException         if the batch is empty, too large or has an invalid page request
+     * @throws ServiceOverloadedException if the batch executor cannot accept the queries
+     */
+    @Override
+    public List<Page<Supplier>> searchSuppliers(List<SupplierBatchQuery> queries) {
+        if (queries == null || queries.isEmpty()) {
+            throw new ManuSearchException("A batch must contain at least one query.", false);
+        }
+        if (queries.size() > maxQueries) {
+            throw new ManuSearchException("A batch may contain at most " + maxQueries + " queries.", false);
+        }
+
+        List<BatchKey> keys = new ArrayList<>(queries.size());
+        for (SupplierBatchQuery query : queries) {
+            if (query == null || query.page() < 0 || query.size() < 1 || query.size() > maxSize) {
+                throw new ManuSearchException("Each query needs a page of at least 0 and a size between 1 and "
+                        + maxSize + ".", false);
+            }
+            keys.add(new BatchKey(query.criteria(), query.page(), query.size()));
+        }
+
+        Set<BatchKey> distinctKeys = new LinkedHashSet<>(keys);
+        Map<BatchKey, Page<Supplier>> results = supplierBitmapIndex != null && supplierBitmapIndex.isReady()
+                ? searchIndex(distinctKeys)
+                : searchDatabase(distinctKeys);
+        return keys.stream().map(results::get).toList();
+    }
+
+    /**
+     * Resolves every query in the bitmap index, then loads the suppliers of all pages in one query.
+     *
+     * @param keys the distinct queries of the batch
+     * @return the page of each query
+     */
+    private Map<BatchKey, Page<Supplier>> searchIndex(Set<BatchKey> keys) {
+        Map<BatchKey, SupplierIdPage> idPages = new LinkedHashMap<>();
+        Set<Long> ids = new LinkedHashSet<>();
+        for (BatchKey key : keys) {
+            SupplierIdPage idPage = supplierBitmapIndex.search(key.criteria(), key.page(), key.size());
+            idPages.put(key, idPage);
+            ids.addAll(idPage.ids());
+        }
+
+        Map<Long, Supplier> byId = ids.isEmpty() ? Map.of() : supplierRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Supplier::getSupplierId, Function.identity()));
+
+        Map<BatchKey, Page<Supplier>> results = new LinkedHashMap<>();
+        idPages.forEach((key, idPage) -> {
+            List<Supplier> content = idPage.ids().stream().map(byId::get).filter(supplier -> supplier != null).toList();
+            results.put(key, new PageImpl<>(content, key.pageable(), idPage.total()));
+        });
+        return results;
+    }
+
+    /**
+     * Runs the queries against the database in parallel on the batch executor.
+     *
+     * @param keys the distinct queries of the batch
+     * @return the page of each query
+     */
+    private Map<BatchKey, Page<Supplier>> searchDatabase(Set<BatchKey> keys) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        Map<BatchKey, CompletableFuture<Page<Supplier>>> futures = new LinkedHashMap<>();
+        try {
+            for (BatchKey key : keys) {
+                futures.put(key, CompletableFuture.supplyAsync(() -> readOnly.execute(
+                        status -> supplierRepository.search(key.criteria(), key.pageable())), supplierBatchExecutor));
+            }
+        } catch (TaskRejectedException e) {
+            futures.values().forEach(future -> future.cancel(false));
+            throw new ServiceOverloadedException("Too many batched queries are in progress. Please retry later.",
+                    Duration.ofSeconds(1));
+        }
+
+        Map<BatchKey, Page<Supplier>> results = new LinkedHashMap<>();
+        try {
+            futures.forEach((key, future) -> results.put(key, future.join()));
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return results;
+    }
+
+    /**
+     * A normalized batch query, used to run identical queries of a batch only once.
+     */
+    private record BatchKey(SupplierSearchCriteria criteria, int page, int size) {
+
+        Pageable pageable() {
+            return PageRequest.of(page, size, Sort.by("supplierId"));
+        }
+    }
+}
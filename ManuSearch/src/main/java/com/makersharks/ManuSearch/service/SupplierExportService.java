@@ -0,0 +1,26 @@
+package com.makersharks.ManuSearch.service;
+
+import com.makersharks.ManuSearch.enums.ManufacturingProcess;
+import com.makersharks.ManuSearch.enums.NatureOfBusiness;
+
+import java.io.OutputStream;
+
+/**
+ * Service interface for exporting full supplier result sets.
+ */
+public interface SupplierExportService {
+
+    /**
+     * Writes every supplier matching the criteria to the output stream as newline-delimited JSON,
+     * one supplier per line, ordered by supplier identifier.
+     * Rows are read with a forward-only cursor, so memory use does not grow with the number of matches.
+     *
+     * @param location             the location of the supplier
+     * @param natureOfBusiness     the nature of business of the supplier
+     * @param manufacturingProcess the manufacturing process used by the supplier
+     * @param output               the stream to write to; it is flushed but not closed
+     * @return the number of suppliers written
+     */
+    long exportSuppliers(String location, NatureOfBusiness natureOfBusiness,
+                         ManufacturingProcess manufacturingProcess, OutputStream output);
+}
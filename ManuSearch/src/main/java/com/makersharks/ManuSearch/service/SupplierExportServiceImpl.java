@@ -0,0 +1,141 @@
+package com.makersharks.ManuSearch.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.makersharks.ManuSearch.entity.Supplier;
+import com.makersharks.ManuSearch.enums.ManufacturingProcess;
+import com.makersharks.ManuSearch.enums.NatureOfBusiness;
+import com.makersharks.ManuSearch.exception.ManuSearchException;
+import com.makersharks.ManuSearch.util.LocationNormalizer;
+import io.micrometer.observation.annotation.Observed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementation of the {@link SupplierExportService} interface.
+ * Streams one row per (supplier, manufacturing process) pair from a JDBC result set ordered by supplier,
+ * folds consecutive rows into a single supplier and writes it straight to the response as a line of JSON.
+ * Only the supplier currently being assembled is held in memory.
+ */
+@Slf4j
+@Service
+@Observed(name = "manusearch.service")
+public class SupplierExportServiceImpl implements SupplierExportService {
+
+    private static final String EXPORT_QUERY = "SELECT s.supplier_id, s.company_name, s.website, s.location, "
+            + "s.latitude, s.longitude, s.nature_of_business, p.manufacturing_processes "
+            + "FROM suppliers s JOIN supplier_manufacturing_processes p ON p.supplier_supplier_id = s.supplier_id "
+            + "WHERE s.location_key = ? AND s.nature_of_business = ? AND EXISTS (SELECT 1 FROM supplier_manufacturing_processes f "
+            + "WHERE f.supplier_supplier_id = s.supplier_id AND f.manufacturing_processes = ?) "
+            + "ORDER BY s.supplier_id";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${manusearch.export.fetch-size:1000}")
+    private int fetchSize;
+
+    /**
+     * Writes every supplier matching the criteria to the output stream as newline-delimited JSON.
+     *
+     * @param location             the location of the supplier
+     * @param natureOfBusiness     the nature of business of the supplier
+     * @param manufacturingProcess the manufacturing process used by the supplier
+     * @param output               the stream to write to; it is flushed but not closed
+     * @return the number of suppliers written
+     * @throws ManuSearchException if writing to the output stream fails
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportSuppliers(String location, NatureOfBusiness natureOfBusiness,
+                                ManufacturingProcess manufacturingProcess, OutputStream output) {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Lines are terminated explicitly, so drop the default space between root values
+            generator.setRootValueSeparator(null);
+            NdjsonRowHandler handler = new NdjsonRowHandler(generator);
+
+            // A dedicated template, so the fetch size only applies to this forward-only cursor
+            JdbcTemplate streamingTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+            streamingTemplate.setFetchSize(fetchSize);
+            streamingTemplate.query(EXPORT_QUERY, handler,
+                    LocationNormalizer.normalize(location), natureOfBusiness.name(), manufacturingProcess.name());
+            handler.finish();
+
+            log.info("Exported {} suppliers for {}/{}/{}", handler.written, location, natureOfBusiness, manufacturingProcess);
+            return handler.written;
+        } catch (IOException | UncheckedIOException e) {
+            throw new ManuSearchException("Supplier export failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Folds consecutive rows of the same supplier and writes each completed supplier as one NDJSON line.
+     */
+    private class NdjsonRowHandler implements RowCallbackHandler {
+
+        private final JsonGenerator generator;
+
+        private final List<ManufacturingProcess> processes = new ArrayList<>(ManufacturingProcess.values().length);
+
+        private Supplier current;
+
+        private long written;
+
+        private NdjsonRowHandler(JsonGenerator generator) {
+            this.generator = generator;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long supplierId = rs.getLong("supplier_id");
+            if (current == null || current.getSupplierId() != supplierId) {
+                finish();
+                current = new Supplier();
+                current.setSupplierId(supplierId);
+                current.setCompanyName(rs.getString("company_name"));
+                current.setWebsite(rs.getString("website"));
+                current.setLocation(rs.getString("location"));
+                current.setLatitude(rs.getObject("latitude", Double.class));
+                current.setLongitude(rs.getObject("longitude", Double.class));
+                current.setNatureOfBusiness(NatureOfBusiness.valueOf(rs.getString("nature_of_business")));
+            }
+            processes.add(ManufacturingProcess.valueOf(rs.getString("manufacturing_processes")));
+        }
+
+        /**
+         * Writes the supplier being assembled, if any.
+         */
+        private void finish() {
+            if (current == null) {
+                return;
+            }
+            current.setManufacturingProcesses(processes);
+            processes.clear();
+            try {
+                objectMapper.writeValue(generator, current);
+                generator.writeRaw('\n');
+                written++;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            current = null;
+        }
+    }
+}
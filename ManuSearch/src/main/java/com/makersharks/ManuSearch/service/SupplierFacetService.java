@@ -0,0 +1,23 @@
+package com.makersharks.ManuSearch.service;
+
+import com.makersharks.ManuSearch.dto.SupplierFacets;
+import com.makersharks.ManuSearch.enums.ManufacturingProcess;
+import com.makersharks.ManuSearch.enums.NatureOfBusiness;
+
+/**
+ * Service interface for computing supplier facet counts.
+ */
+public interface SupplierFacetService {
+
+    /**
+     * Computes the counts of every facet for a partial filter. A {@code null} criterion matches every supplier.
+     *
+     * @param location             the location of the supplier, or {@code null}
+     * @param natureOfBusiness     the nature of business of the supplier, or {@code null}
+     * @param manufacturingProcess the manufacturing process used by the supplier, or {@code null}
+     * @param locationLimit        the maximum number of locations to return
+     * @return the {@link SupplierFacets} for the filter
+     */
+    SupplierFacets getFacets(String location, NatureOfBusiness natureOfBusiness,
+                             ManufacturingProcess manufacturingProcess, int locationLimit);
+}
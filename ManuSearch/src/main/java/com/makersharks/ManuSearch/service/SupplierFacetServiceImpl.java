@@ -0,0 +1,48 @@
+package com.makersharks.ManuSearch.service;
+
+import com.makersharks.ManuSearch.dto.SupplierFacets;
+import com.makersharks.ManuSearch.enums.ManufacturingProcess;
+import com.makersharks.ManuSearch.enums.NatureOfBusiness;
+import com.makersharks.ManuSearch.facet.FacetCell;
+import com.makersharks.ManuSearch.facet.FacetCounter;
+import com.makersharks.ManuSearch.facet.SupplierFacetCube;
+import com.makersharks.ManuSearch.repository.SupplierFacetRepository;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+
+/**
+ * Implementation of the {@link SupplierFacetService} interface.
+ * Facets are folded from the supplier count matrix, taken from the incrementally maintained
+ * {@link SupplierFacetCube} when it is enabled and loaded, or aggregated by the database otherwise.
+ */
+@Service
+@Observed(name = "manusearch.service")
+public class SupplierFacetServiceImpl implements SupplierFacetService {
+
+    @Autowired
+    private SupplierFacetRepository supplierFacetRepository;
+
+    @Autowired(required = false)
+    private SupplierFacetCube supplierFacetCube;
+
+    /**
+     * Computes the counts of every facet for a partial filter.
+     *
+     * @param location             the location of the supplier, or {@code null}
+     * @param natureOfBusiness     the nature of business of the supplier, or {@code null}
+     * @param manufacturingProcess the manufacturing process used by the supplier, or {@code null}
+     * @param locationLimit        the maximum number of locations to return
+     * @return the {@link SupplierFacets} for the filter
+     */
+    @Override
+    public SupplierFacets getFacets(String location, NatureOfBusiness natureOfBusiness,
+                                    ManufacturingProcess manufacturingProcess, int locationLimit) {
+        Map<FacetCell, Long> cells = supplierFacetCube != null && supplierFacetCube.isReady()
+                ? supplierFacetCube.cells()
+                : supplierFacetRepository.countCells();
+        return FacetCounter.count(cells, location, natureOfBusiness, manufacturingProcess, locationLimit);
+    }
+}
@@ -0,0 +1,22 @@
+package com.makersharks.ManuSearch.service;
+
+import com.makersharks.ManuSearch.dto.BulkIngestionReport;
+import com.makersharks.ManuSearch.enums.IngestionFormat;
+
+import java.io.InputStream;
+
+/**
+ * Service interface for bulk loading {@link com.makersharks.ManuSearch.entity.Supplier} entities.
+ */
+public interface SupplierIngestionService {
+
+    /**
+     * Reads suppliers from a stream, validates them and writes the valid ones in batches.
+     * The input is consumed line by line, so its size is not limited by memory.
+     *
+     * @param input  the input stream holding the suppliers
+     * @param format the format of the input
+     * @return a {@link BulkIngestionReport} with throughput and rejected rows
+     */
+    BulkIngestionReport ingest(InputStream input, IngestionFormat format);
+}
@@ -0,0 +1,311 @@
+package com.makersharks.ManuSearch.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.makersharks.ManuSearch.dto.BulkIngestionReport;
+import com.makersharks.ManuSearch.dto.RejectedRow;
+import com.makersharks.ManuSearch.entity.Supplier;
+import com.makersharks.ManuSearch.enums.IngestionFormat;
+import com.makersharks.ManuSearch.enums.ManufacturingProcess;
+import com.makersharks.ManuSearch.enums.NatureOfBusiness;
+import com.makersharks.ManuSearch.event.SupplierChangedEvent;
+import com.makersharks.ManuSearch.event.SupplierSnapshot;
+import com.makersharks.ManuSearch.exception.ManuSearchException;
+import com.makersharks.ManuSearch.geo.CityGazetteer;
+import com.makersharks.ManuSearch.util.CsvLineParser;
+import com.makersharks.ManuSearch.util.ProcessMasks;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the {@link SupplierIngestionService} interface.
+ * Valid suppliers are written with plain JDBC batches: one multi-row insert into {@code suppliers}
+ * returning the generated keys, then one batched insert into the process collection table, per batch.
+ * This keeps the existing IDENTITY keys while avoiding one database round trip per supplier.
+ * A batch that fails is rolled back and its rows are reported as rejected; the following batches are still written.
+ */
+@Slf4j
+@Service
+@Observed(name = "manusearch.service")
+public class SupplierIngestionServiceImpl implements SupplierIngestionService {
+
+    private static final String INSERT_SUPPLIER = "INSERT INTO suppliers "
+            + "(company_name, website, location, latitude, longitude, nature_of_business, manufacturing_process_mask) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_PROCESS = "INSERT INTO supplier_manufacturing_processes "
+            + "(supplier_supplier_id, manufacturing_processes) VALUES (?, ?)";
+
+    private static final List<String> CSV_HEADER =
+            List.of("companyName", "website", "location", "natureOfBusiness", "manufacturingProcesses");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private CityGazetteer cityGazetteer;
+
+    @Value("${manusearch.ingestion.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${manusearch.ingestion.max-reported-rejections:100}")
+    private int maxReportedRejections;
+
+    /**
+     * Reads suppliers from a stream, validates them and writes the valid ones in batches.
+     *
+     * @param input  the input stream holding the suppliers
+     * @param format the format of the input
+     * @return a {@link BulkIngestionReport} with throughput and rejected rows, including those of failed batches
+     * @throws ManuSearchException if the input cannot be read or the CSV header is invalid
+     */
+    @Override
+    public BulkIngestionReport ingest(InputStream input, IngestionFormat format) {
+        long start = System.nanoTime();
+        IngestionRun run = new IngestionRun();
+        ObjectReader jsonReader = objectMapper.readerFor(Supplier.class);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            long lineNumber = 0;
+            if (format == IngestionFormat.CSV) {
+                checkCsvHeader(reader.readLine());
+                lineNumber++;
+            }
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                run.received++;
+
+                Supplier supplier;
+                try {
+                    supplier = format == IngestionFormat.CSV ? parseCsv(line) : jsonReader.readValue(line);
+                } catch (Exception e) {
+                    run.reject(lineNumber, "Parse error: " + e.getMessage());
+                    continue;
+                }
+
+                Set<ConstraintViolation<Supplier>> violations = validator.validate(supplier);
+                if (!violations.isEmpty()) {
+                    run.reject(lineNumber, violations.stream()
+                            .map(ConstraintViolation::getMessage)
+                            .sorted()
+                            .collect(Collectors.joining("; ")));
+                    continue;
+                }
+
+                cityGazetteer.geocode(supplier);
+                run.add(supplier, lineNumber);
+            }
+        } catch (IOException e) {
+            throw new ManuSearchException("Failed to read ingestion input: " + e.getMessage());
+        }
+        run.flush();
+
+        long durationMillis = (System.nanoTime() - start) / 1_000_000;
+        double perSecond = durationMillis == 0 ? run.accepted : run.accepted * 1000.0 / durationMillis;
+        log.info("Bulk ingestion finished: {} received, {} accepted, {} rejected, {} failed batches in {} ms ({} suppliers/s)",
+                run.received, run.accepted, run.rejected, run.failedBatches, durationMillis, Math.round(perSecond));
+        return new BulkIngestionReport(run.received, run.accepted, run.rejected, run.batches, run.failedBatches,
+                durationMillis, perSecond, run.rejections);
+    }
+
+    /**
+     * Verifies that the CSV header lists the expected columns in order.
+     *
+     * @param header the first line of the input
+     * @throws ManuSearchException if the header is missing or does not match
+     */
+    private void checkCsvHeader(String header) {
+        if (header == null || !CsvLineParser.parse(header).equals(CSV_HEADER)) {
+            throw new ManuSearchException("CSV header must be: " + String.join(",", CSV_HEADER));
+        }
+    }
+
+    /**
+     * Parses a CSV data line into a supplier. Manufacturing processes are separated by '|'.
+     *
+     * @param line the CSV line
+     * @return the parsed supplier, not yet validated
+     * @throws IllegalArgumentException if the line has the wrong number of fields or an unknown enum value
+     */
+    private Supplier parseCsv(String line) {
+        List<String> fields = CsvLineParser.parse(line);
+        if (fields.size() != CSV_HEADER.size()) {
+            throw new IllegalArgumentException("expected " + CSV_HEADER.size() + " fields but found " + fields.size());
+        }
+        Supplier supplier = new Supplier();
+        supplier.setCompanyName(fields.get(0));
+        supplier.setWebsite(fields.get(1));
+        supplier.setLocation(fields.get(2));
+        supplier.setNatureOfBusiness(fields.get(3).isEmpty() ? null : NatureOfBusiness.valueOf(fields.get(3)));
+        supplier.setManufacturingProcesses(Arrays.stream(fields.get(4).split("\\|"))
+                .map(String::trim)
+                .filter(process -> !process.isEmpty())
+                .map(ManufacturingProcess::valueOf)
+                .toList());
+        return supplier;
+    }
+
+    /**
+     * Writes one batch of validated suppliers in a single transaction and publishes a change event for them.
+     *
+     * @param batch the suppliers to write; their identifiers are set from the generated keys
+     */
+    private void writeBatch(List<Supplier> batch) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                insertSuppliers(connection, batch);
+                return null;
+            });
+
+            List<Object[]> processRows = new ArrayList<>();
+            for (Supplier supplier : batch) {
+                for (ManufacturingProcess process : supplier.getManufacturingProcesses()) {
+                    processRows.add(new Object[]{supplier.getSupplierId(), process.name()});
+                }
+            }
+            jdbcTemplate.batchUpdate(INSERT_PROCESS, processRows);
+
+            // Delivered to listeners after the transaction commits
+            eventPublisher.publishEvent(SupplierChangedEvent.created(
+                    batch.stream().map(SupplierSnapshot::of).toList()));
+        });
+    }
+
+    /**
+     * Inserts the suppliers as one JDBC batch and assigns the generated identifiers.
+     *
+     * @param connection the transactional connection
+     * @param batch      the suppliers to insert
+     * @throws SQLException if the insert fails or not every generated key is returned
+     */
+    private void insertSuppliers(Connection connection, List<Supplier> batch) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_SUPPLIER, Statement.RETURN_GENERATED_KEYS)) {
+            for (Supplier supplier : batch) {
+                statement.setString(1, supplier.getCompanyName());
+                statement.setString(2, supplier.getWebsite());
+                statement.setString(3, supplier.getLocation());
+                statement.setObject(4, supplier.getLatitude(), Types.DOUBLE);
+                statement.setObject(5, supplier.getLongitude(), Types.DOUBLE);
+                statement.setString(6, supplier.getNatureOfBusiness().name());
+                statement.setInt(7, ProcessMasks.toMask(supplier.getManufacturingProcesses()));
+                statement.addBatch();
+            }
+            statement.executeBatch();
+
+            try (ResultSet keys = statement.getGeneratedKeys()) {
+                int index = 0;
+                while (keys.next() && index < batch.size()) {
+                    batch.get(index++).setSupplierId(keys.getLong(1));
+                }
+                if (index != batch.size()) {
+                    throw new SQLException("Expected " + batch.size() + " generated keys but received " + index);
+                }
+            }
+        }
+    }
+
+    /**
+     * Mutable counters of a single ingestion run.
+     */
+    private class IngestionRun {
+
+        private long received;
+
+        private long accepted;
+
+        private long rejected;
+
+        private long batches;
+
+        private long failedBatches;
+
+        private final List<RejectedRow> rejections = new ArrayList<>();
+
+        private final List<Supplier> batch = new ArrayList<>(batchSize);
+
+        private final List<Long> batchLines = new ArrayList<>(batchSize); // Input line of each supplier in the batch
+
+        private void reject(long line, String reason) {
+            rejected++;
+            if (rejections.size() < maxReportedRejections) {
+                rejections.add(new RejectedRow(line, reason));
+            }
+        }
+
+        private void add(Supplier supplier, long line) {
+            batch.add(supplier);
+            batchLines.add(line);
+            if (batch.size() == batchSize) {
+                flush();
+            }
+        }
+
+        /**
+         * Writes the pending batch, if any. If the write fails, the batch transaction is rolled back,
+         * so every row of the batch is rejected with the cause of the failure.
+         */
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                writeBatch(batch);
+                accepted += batch.size();
+                batches++;
+            } catch (DataAccessException | TransactionException e) {
+                String reason = "Write failed: " + e.getMostSpecificCause().getMessage();
+                log.warn("Bulk ingestion batch of lines {} to {} failed: {}", batchLines.get(0),
+                        batchLines.get(batchLines.size() - 1), reason);
+                batchLines.forEach(line -> reject(line, reason));
+                failedBatches++;
+            }
+            batch.clear();
+            batchLines.clear();
+        }
+    }
+}
@@ -1,9 +1,18 @@
 package com.makersharks.ManuSearch.service;
 
+import com.makersharks.ManuSearch.dto.SupplierSearchCriteria;
+import com.makersharks.ManuSearch.dto.SupplierSuggestions;
 import com.makersharks.ManuSearch.entity.Supplier;
 import com.makersharks.ManuSearch.enums.ManufacturingProcess;
 import com.makersharks.ManuSearch.enums.NatureOfBusiness;
+import com.makersharks.ManuSearch.enums.SupplierSort;
+import com.makersharks.ManuSearch.exception.ManuSearchException;
+import com.makersharks.ManuSearch.geo.GeoArea;
+import com.makersharks.ManuSearch.projection.SupplierSummary;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import java.util.Set;
 
 /**
  * Service interface for handling operations related to {@link Supplier} entities.
@@ -19,8 +28,115 @@ public interface SupplierService {
      * @param manufacturingProcess the manufacturing process used by the supplier
      * @param page                 the page number for pagination
      * @param size                 the number of items per page for pagination
-     * @return a {@link Page} of {@link Supplier} entities matching the criteria
+     * @return a {@link Page} of {@link Supplier} entities matching the criteria, ordered by supplier identifier
      */
     Page<Supplier> querySuppliers(String location, NatureOfBusiness natureOfBusiness,
                                   ManufacturingProcess manufacturingProcess, int page, int size);
+
+    /**
+     * Queries suppliers based on location, nature of business, and manufacturing process,
+     * restricted to those whose company name or location matches a free-text query.
+     *
+     * @param location             the location of the supplier
+     * @param natureOfBusiness     the nature of business of the supplier
+     * @param manufacturingProcess the manufacturing process used by the supplier
+     * @param q                    the free-text query, or {@code null} or blank for no text restriction
+     * @param page                 the page number for pagination
+     * @param size                 the number of items per page for pagination
+     * @return a {@link Page} of {@link Supplier} entities matching the criteria, ordered by supplier identifier
+     */
+    Page<Supplier> querySuppliers(String location, NatureOfBusiness natureOfBusiness,
+                                  ManufacturingProcess manufacturingProcess, String q, int page, int size);
+
+    /**
+     * Returns a stamp identifying the current results of a supplier query, for conditional requests.
+     * The stamp changes whenever a supplier matching the location, nature of business and manufacturing process
+     * is written, and is computed in memory without querying the database.
+     *
+     * @param location             the location of the supplier
+     * @param natureOfBusiness     the nature of business of the supplier
+     * @param manufacturingProcess the manufacturing process used by the supplier
+     * @return the opaque stamp of the current results of every page and text query of the filter
+     */
+    String queryResultsStamp(String location, NatureOfBusiness natureOfBusiness,
+                             ManufacturingProcess manufacturingProcess);
+
+    /**
+     * Suggests locations and suppliers for a partially typed query, matching company names and locations
+     * by prefix, by term and fuzzily.
+     *
+     * @param q     the partially typed query
+     * @param limit the maximum number of locations and of suppliers to return
+     * @return the {@link SupplierSuggestions} for the query
+     */
+    SupplierSuggestions suggestSuppliers(String q, int limit);
+
+    /**
+     * Queries compact supplier summaries based on location, nature of business, and manufacturing process.
+     * Only scalar columns are read, and the manufacturing process collection is not loaded.
+     *
+     * @param location             the location of the supplier
+     * @param natureOfBusiness     the nature of business of the supplier
+     * @param manufacturingProcess the manufacturing process used by the supplier
+     * @param page                 the page number for pagination
+     * @param size                 the number of items per page for pagination
+     * @param fields               the summary fields to include, or {@code null} or empty for all of them
+     * @return a {@link Page} of {@link SupplierSummary} records matching the criteria
+     */
+    Page<SupplierSummary> querySupplierSummaries(String location, NatureOfBusiness natureOfBusiness,
+                                                 ManufacturingProcess manufacturingProcess, int page, int size,
+                                                 Set<String> fields);
+
+    /**
+     * Queries the next slice of suppliers after a given supplier identifier (keyset pagination).
+     * No total count is computed, and the cost of a slice does not grow with its position in the result set.
+     *
+     * @param location             the location of the supplier
+     * @param natureOfBusiness     the nature of business of the supplier
+     * @param manufacturingProcess the manufacturing process used by the supplier
+     * @param afterSupplierId      the last supplier identifier already returned, or {@code null} for the first slice
+     * @param size                 the number of items per slice
+     * @return a {@link Slice} of {@link Supplier} entities ordered by supplier identifier
+     */
+    Slice<Supplier> querySuppliersAfter(String location, NatureOfBusiness natureOfBusiness,
+                                        ManufacturingProcess manufacturingProcess, Long afterSupplierId, int size);
+
+    /**
+     * Searches suppliers with multi-value criteria: any of several locations, any of several natures of business,
+     * and any or all of several manufacturing processes. Dimensions without values are not filtered.
+     *
+     * @param criteria the search criteria
+     * @param page     the page number for pagination
+     * @param size     the number of items per page for pagination
+     * @return a {@link Page} of {@link Supplier} entities matching the criteria, ordered by supplier identifier
+     */
+    Page<Supplier> searchSuppliers(SupplierSearchCriteria criteria, int page, int size);
+
+    /**
+     * Searches suppliers with multi-value criteria, in the requested order. With {@link SupplierSort#RELEVANCE},
+     * suppliers in cities near the requested locations and of other business scales are included, and every
+     * supplier is ranked by how well it matches the criteria.
+     *
+     * @param criteria the search criteria
+     * @param sort     the order of the results
+     * @param page     the page number for pagination
+     * @param size     the number of items per page for pagination
+     * @return a {@link Page} of {@link Supplier} entities in the requested order
+     * @throws ManuSearchException if the requested page lies beyond the ranked results
+     */
+    Page<Supplier> searchSuppliers(SupplierSearchCriteria criteria, SupplierSort sort, int page, int size);
+
+    /**
+     * Queries the suppliers located in a geographic area, nearest to its center first.
+     * Suppliers at the same distance are ordered by supplier identifier.
+     *
+     * @param area                 the circle or box to search
+     * @param natureOfBusiness     the nature of business of the supplier, or {@code null} for any
+     * @param manufacturingProcess the manufacturing process used by the supplier, or {@code null} for any
+     * @param page                 the page number for pagination
+     * @param size                 the number of items per page for pagination
+     * @return a {@link Page} of {@link Supplier} entities in the area, ordered by distance
+     */
+    Page<Supplier> querySuppliersNear(GeoArea area, NatureOfBusiness natureOfBusiness,
+                                      ManufacturingProcess manufacturingProcess, int page, int size);
 }
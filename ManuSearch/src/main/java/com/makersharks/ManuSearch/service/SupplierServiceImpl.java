@@ -1,26 +1,106 @@
 package com.makersharks.ManuSearch.service;
 
+import com.makersharks.ManuSearch.cache.SupplierFilterKey;
+import com.makersharks.ManuSearch.cache.SupplierFilterVersions;
+import com.makersharks.ManuSearch.cache.SupplierQueryCache;
+import com.makersharks.ManuSearch.cache.SupplierQueryKey;
+import com.makersharks.ManuSearch.dto.SupplierSearchCriteria;
+import com.makersharks.ManuSearch.dto.SupplierSuggestions;
 import com.makersharks.ManuSearch.entity.Supplier;
 import com.makersharks.ManuSearch.enums.ManufacturingProcess;
 import com.makersharks.ManuSearch.enums.NatureOfBusiness;
+import com.makersharks.ManuSearch.enums.SupplierSort;
 import com.makersharks.ManuSearch.exception.ManuSearchException;
+import com.makersharks.ManuSearch.geo.GeoArea;
+import com.makersharks.ManuSearch.index.SupplierBitmapIndex;
+import com.makersharks.ManuSearch.index.SupplierGeoIndex;
+import com.makersharks.ManuSearch.index.SupplierIdPage;
+import com.makersharks.ManuSearch.index.SupplierTextIndex;
+import com.makersharks.ManuSearch.projection.SupplierRankingEntry;
+import com.makersharks.ManuSearch.projection.SupplierSummary;
+import com.makersharks.ManuSearch.ranking.SupplierRanker;
+import com.makersharks.ManuSearch.ranking.SupplierRanking;
 import com.makersharks.ManuSearch.repository.SupplierRepository;
+import com.makersharks.ManuSearch.util.LocationNormalizer;
+import com.makersharks.ManuSearch.warmup.FilterHitLog;
+import io.micrometer.observation.annotation.Observed;
+import org.roaringbitmap.RoaringBitmap;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Implementation of the {@link SupplierService} interface.
  * Provides methods to query {@link Supplier} entities from the repository.
+ * When the {@link SupplierBitmapIndex} is enabled and loaded, matches are resolved in memory
+ * and the repository is only used to load the suppliers on the requested page.
+ * When the {@link SupplierQueryCache} is enabled, pages of matching identifiers are cached per query.
+ * Free-text queries are answered by the {@link SupplierTextIndex} and intersected with the other criteria.
+ * Geographic queries are answered by the {@link SupplierGeoIndex} only; there is no database fallback.
+ * Relevance-sorted searches stream their candidates from the database and keep the best ones with the {@link SupplierRanker}.
+ * All queries run in read-only transactions, so Hibernate neither flushes nor keeps dirty-checking snapshots.
+ * Queries without matches return empty pages; exceptions are reserved for invalid or unserviceable requests.
  */
 @Service
+@Observed(name = "manusearch.service")
 public class SupplierServiceImpl implements SupplierService {
 
+    private static final Sort BY_ID = Sort.by("supplierId"); // Matches the order of the bitmap index
+
     @Autowired
     private SupplierRepository supplierRepository;
 
+    @Autowired
+    private SupplierRanker supplierRanker;
+
+    @Autowired
+    private SupplierFilterVersions supplierFilterVersions;
+
+    @Autowired(required = false)
+    private SupplierBitmapIndex supplierBitmapIndex; // Present only when manusearch.index.enabled=true
+
+    @Autowired(required = false)
+    private SupplierQueryCache supplierQueryCache; // Present only when manusearch.query-cache.enabled=true
+
+    @Autowired(required = false)
+    private SupplierTextIndex supplierTextIndex; // Present only when manusearch.text-index.enabled=true
+
+    @Autowired(required = false)
+    private SupplierGeoIndex supplierGeoIndex; // Present only when manusearch.geo.enabled=true
+
+    @Autowired(required = false)
+    private FilterHitLog filterHitLog; // Present only when manusearch.warmup.enabled=true
+
+    @Value("${manusearch.geo.max-radius-km:1000}")
+    private double maxRadiusKm; // Largest circle a geographic query may search
+
+    @Value("${manusearch.ranking.max-results:1000}")
+    private int maxRankedResults; // Deepest position a relevance-sorted search may page to
+
+    @Value("${manusearch.text-index.max-database-matches:10000}")
+    private int maxTextMatchesForDatabase; // Largest text match set filtered by the database when the bitmap index is off
+
+    @Value("${manusearch.supplier.process-mask.enabled:false}")
+    private boolean processMaskEnabled; // Filter on the packed bitmask column instead of joining the collection table
+
     /**
      * Queries suppliers based on location, nature of business, and manufacturing process.
      *
@@ -29,20 +109,395 @@ public class SupplierServiceImpl implements SupplierService {
      * @param manufacturingProcess the manufacturing process used by the supplier
      * @param page                 the page number for pagination
      * @param size                 the number of items per page for pagination
-     * @return a {@link Page} of {@link Supplier} entities matching the criteria
-     * @throws ManuSearchException if no suppliers are found matching the criteria
+     * @return a {@link Page} of {@link Supplier} entities matching the criteria, ordered by supplier identifier
      */
     @Override
+    @Transactional(readOnly = true)
     public Page<Supplier> querySuppliers(String location, NatureOfBusiness natureOfBusiness,
                                          ManufacturingProcess manufacturingProcess, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        Page<Supplier> suppliers = supplierRepository.findByLocationAndNatureOfBusinessAndManufacturingProcessesContains(
-                location, natureOfBusiness, manufacturingProcess, pageable);
+        recordHit(location, natureOfBusiness, manufacturingProcess);
+        return queryThroughCache(location, natureOfBusiness, manufacturingProcess,
+                PageRequest.of(page, size, BY_ID), this::hydrate, Supplier::getSupplierId,
+                pageable -> findSuppliers(location, natureOfBusiness, manufacturingProcess, pageable));
+    }
+
+    /**
+     * Queries suppliers based on location, nature of business, and manufacturing process,
+     * restricted to those whose company name or location matches a free-text query.
+     * The text matches are intersected with the other criteria in the bitmap index when it is loaded,
+     * and otherwise passed to the database as an identifier list, up to a configured size.
+     *
+     * @param location             the location of the supplier
+     * @param natureOfBusiness     the nature of business of the supplier
+     * @param manufacturingProcess the manufacturing process used by the supplier
+     * @param q                    the free-text query, or {@code null} or blank for no text restriction
+     * @param page                 the page number for pagination
+     * @param size                 the number of items per page for pagination
+     * @return a {@link Page} of {@link Supplier} entities matching the criteria, ordered by supplier identifier
+     * @throws ManuSearchException if text search is unavailable or the text query matches too many suppliers
+     *                             to be filtered by the database
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Supplier> querySuppliers(String location, NatureOfBusiness natureOfBusiness,
+                                         ManufacturingProcess manufacturingProcess, String q, int page, int size) {
+        if (q == null || q.isBlank()) {
+            return querySuppliers(location, natureOfBusiness, manufacturingProcess, page, size);
+        }
+        recordHit(location, natureOfBusiness, manufacturingProcess);
+
+        RoaringBitmap textMatches = requireTextIndex().match(q);
+        Pageable pageable = PageRequest.of(page, size, BY_ID);
+        Page<Supplier> suppliers;
+        if (textMatches.isEmpty()) {
+            suppliers = Page.empty(pageable);
+        } else if (supplierBitmapIndex != null && supplierBitmapIndex.isReady()) {
+            SupplierIdPage idPage = supplierBitmapIndex.query(location, natureOfBusiness, manufacturingProcess,
+                    textMatches, page, size);
+            suppliers = new PageImpl<>(hydrate(idPage.ids()), pageable, idPage.total());
+        } else if (textMatches.getLongCardinality() <= maxTextMatchesForDatabase) {
+            List<Long> ids = new ArrayList<>(textMatches.getCardinality());
+            textMatches.forEach((int id) -> ids.add(Integer.toUnsignedLong(id)));
+            suppliers = processMaskEnabled
+                    ? supplierRepository.findByLocationKeyAndNatureOfBusinessAndProcessMaskAndSupplierIdIn(
+                            LocationNormalizer.normalize(location), natureOfBusiness, EnumSet.of(manufacturingProcess), ids, pageable)
+                    : supplierRepository.findByLocationKeyAndNatureOfBusinessAndManufacturingProcessesContainsAndSupplierIdIn(
+                            LocationNormalizer.normalize(location), natureOfBusiness, manufacturingProcess, ids, pageable);
+        } else {
+            throw new ManuSearchException("The text query matches too many suppliers. Please refine it.", false);
+        }
+
+        return suppliers;
+    }
+
+    /**
+     * Returns a stamp identifying the current results of a supplier query, from the per-filter version stamps.
+     * Deliberately not transactional, so that conditional requests never borrow a database connection.
+     *
+     * @param location             the location of the supplier
+     * @param natureOfBusiness     the nature of business of the supplier
+     * @param manufacturingProcess the manufacturing process used by the supplier
+     * @return the opaque stamp of the current results of every page and text query of the filter
+     */
+    @Override
+    public String queryResultsStamp(String location, NatureOfBusiness natureOfBusiness,
+                                    ManufacturingProcess manufacturingProcess) {
+        return supplierFilterVersions.stamp(SupplierFilterKey.of(location, natureOfBusiness, manufacturingProcess));
+    }
+
+    /**
+     * Suggests locations and suppliers for a partially typed query.
+     *
+     * @param q     the partially typed query
+     * @param limit the maximum number of locations and of suppliers to return
+     * @return the {@link SupplierSuggestions} for the query
+     * @throws ManuSearchException if text search is unavailable
+     */
+    @Override
+    public SupplierSuggestions suggestSuppliers(String q, int limit) {
+        return requireTextIndex().suggest(q, limit);
+    }
+
+    /**
+     * Returns the text index if it is enabled and loaded.
+     *
+     * @return the {@link SupplierTextIndex}
+     * @throws ManuSearchException if text search is disabled or the index is still loading
+     */
+    private SupplierTextIndex requireTextIndex() {
+        if (supplierTextIndex == null || !supplierTextIndex.isReady()) {
+            throw new ManuSearchException("Text search is not available.", false);
+        }
+        return supplierTextIndex;
+    }
+
+    /**
+     * Counts a request of a filter in the hit log replayed by the startup warm-up, if it is enabled.
+     */
+    private void recordHit(String location, NatureOfBusiness natureOfBusiness, ManufacturingProcess manufacturingProcess) {
+        if (filterHitLog != null) {
+            filterHitLog.record(location, natureOfBusiness, manufacturingProcess);
+        }
+    }
+
+    /**
+     * Queries compact supplier summaries based on location, nature of business, and manufacturing process.
+     *
+     * @param location             the location of the supplier
+     * @param natureOfBusiness     the nature of business of the supplier
+     * @param manufacturingProcess the manufacturing process used by the supplier
+     * @param page                 the page number for pagination
+     * @param size                 the number of items per page for pagination
+     * @param fields               the summary fields to include, or {@code null} or empty for all of them
+     * @return a {@link Page} of {@link SupplierSummary} records matching the criteria
+     * @throws ManuSearchException if a field is unknown
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<SupplierSummary> querySupplierSummaries(String location, NatureOfBusiness natureOfBusiness,
+                                                        ManufacturingProcess manufacturingProcess, int page, int size,
+                                                        Set<String> fields) {
+        if (fields != null && !SupplierSummary.FIELDS.containsAll(fields)) {
+            throw new ManuSearchException("Unknown field(s) requested. Valid fields are: "
+                    + String.join(",", new TreeSet<>(SupplierSummary.FIELDS)), false);
+        }
+
+        Page<SupplierSummary> summaries = queryThroughCache(location, natureOfBusiness, manufacturingProcess,
+                PageRequest.of(page, size, BY_ID), this::hydrateSummaries, SupplierSummary::supplierId,
+                pageable -> findSummaries(location, natureOfBusiness, manufacturingProcess, pageable));
+
+        return fields == null || fields.isEmpty() ? summaries : summaries.map(summary -> summary.select(fields));
+    }
+
+    /**
+     * Runs a page query through the {@link SupplierQueryCache} when it is enabled.
+     * The cache only holds supplier identifiers, so entity and summary queries share the same entries.
+     *
+     * @param location             the location of the supplier
+     * @param natureOfBusiness     the nature of business of the supplier
+     * @param manufacturingProcess the manufacturing process used by the supplier
+     * @param pageable             pagination information for the query
+     * @param hydrator             loads the results for cached identifiers, preserving their order
+     * @param idOf                 extracts the supplier identifier of a result
+     * @param finder               runs the query on a cache miss
+     * @param <T>                  the type of the results
+     * @return a {@link Page} of results matching the criteria
+     */
+    private <T> Page<T> queryThroughCache(String location, NatureOfBusiness natureOfBusiness,
+                                          ManufacturingProcess manufacturingProcess, Pageable pageable,
+                                          Function<List<Long>, List<T>> hydrator, Function<T, Long> idOf,
+                                          Function<Pageable, Page<T>> finder) {
+        if (supplierQueryCache == null) {
+            return finder.apply(pageable);
+        }
+        SupplierQueryKey key = new SupplierQueryKey(SupplierFilterKey.of(location, natureOfBusiness, manufacturingProcess),
+                pageable.getPageNumber(), pageable.getPageSize());
+        SupplierIdPage cached = supplierQueryCache.get(key);
+        if (cached != null) {
+            return new PageImpl<>(hydrator.apply(cached.ids()), pageable, cached.total());
+        }
+        long version = supplierQueryCache.version(key);
+        Page<T> results = finder.apply(pageable);
+        List<Long> ids = results.getContent().stream().map(idOf).toList();
+        supplierQueryCache.put(key, version, new SupplierIdPage(ids, results.getTotalElements()));
+        return results;
+    }
+
+    /**
+     * Finds a page of suppliers using the fastest available strategy: the bitmap index when it is loaded,
+     * the packed process bitmask when enabled, and otherwise the join on the process collection table.
+     *
+     * @param location             the location of the supplier
+     * @param natureOfBusiness     the nature of business of the supplier
+     * @param manufacturingProcess the manufacturing process used by the supplier
+     * @param pageable             pagination information for the query
+     * @return a {@link Page} of {@link Supplier} entities matching the criteria
+     */
+    private Page<Supplier> findSuppliers(String location, NatureOfBusiness natureOfBusiness,
+                                         ManufacturingProcess manufacturingProcess, Pageable pageable) {
+        if (supplierBitmapIndex != null && supplierBitmapIndex.isReady()) {
+            SupplierIdPage idPage = supplierBitmapIndex.query(location, natureOfBusiness, manufacturingProcess,
+                    pageable.getPageNumber(), pageable.getPageSize());
+            return new PageImpl<>(hydrate(idPage.ids()), pageable, idPage.total());
+        }
+        if (processMaskEnabled) {
+            return supplierRepository.findByLocationKeyAndNatureOfBusinessAndProcessMask(
+                    LocationNormalizer.normalize(location), natureOfBusiness, EnumSet.of(manufacturingProcess), pageable);
+        }
+        return supplierRepository.findByLocationKeyAndNatureOfBusinessAndManufacturingProcessesContains(
+                LocationNormalizer.normalize(location), natureOfBusiness, manufacturingProcess, pageable);
+    }
+
+    /**
+     * Finds a page of supplier summaries using the same strategies as {@link #findSuppliers}.
+     *
+     * @param location             the location of the supplier
+     * @param natureOfBusiness     the nature of business of the supplier
+     * @param manufacturingProcess the manufacturing process used by the supplier
+     * @param pageable             pagination information for the query
+     * @return a {@link Page} of {@link SupplierSummary} records matching the criteria
+     */
+    private Page<SupplierSummary> findSummaries(String location, NatureOfBusiness natureOfBusiness,
+                                                ManufacturingProcess manufacturingProcess, Pageable pageable) {
+        if (supplierBitmapIndex != null && supplierBitmapIndex.isReady()) {
+            SupplierIdPage idPage = supplierBitmapIndex.query(location, natureOfBusiness, manufacturingProcess,
+                    pageable.getPageNumber(), pageable.getPageSize());
+            return new PageImpl<>(hydrateSummaries(idPage.ids()), pageable, idPage.total());
+        }
+        if (processMaskEnabled) {
+            return supplierRepository.findSummariesByProcessMask(
+                    LocationNormalizer.normalize(location), natureOfBusiness, EnumSet.of(manufacturingProcess), pageable);
+        }
+        return supplierRepository.findSummaries(LocationNormalizer.normalize(location), natureOfBusiness,
+                manufacturingProcess, pageable);
+    }
+
+    /**
+     * Queries the next slice of suppliers after a given supplier identifier (keyset pagination).
+     *
+     * @param location             the location of the supplier
+     * @param natureOfBusiness     the nature of business of the supplier
+     * @param manufacturingProcess the manufacturing process used by the supplier
+     * @param afterSupplierId      the last supplier identifier already returned, or {@code null} for the first slice
+     * @param size                 the number of items per slice
+     * @return a {@link Slice} of {@link Supplier} entities ordered by supplier identifier
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<Supplier> querySuppliersAfter(String location, NatureOfBusiness natureOfBusiness,
+                                               ManufacturingProcess manufacturingProcess, Long afterSupplierId, int size) {
+        Pageable pageable = PageRequest.of(0, size, BY_ID);
+        Slice<Supplier> suppliers;
+        if (supplierBitmapIndex != null && supplierBitmapIndex.isReady()) {
+            // Fetch one extra identifier to find out whether another slice follows
+            List<Long> ids = supplierBitmapIndex.seek(location, natureOfBusiness, manufacturingProcess,
+                    afterSupplierId, (int) Math.min((long) size + 1, Integer.MAX_VALUE));
+            boolean hasNext = ids.size() > size;
+            suppliers = new SliceImpl<>(hydrate(hasNext ? ids.subList(0, size) : ids), pageable, hasNext);
+        } else if (processMaskEnabled) {
+            suppliers = supplierRepository.findByLocationKeyAndNatureOfBusinessAndProcessMaskAndSupplierIdGreaterThan(
+                    LocationNormalizer.normalize(location), natureOfBusiness, EnumSet.of(manufacturingProcess),
+                    afterSupplierId == null ? 0L : afterSupplierId, pageable);
+        } else {
+            suppliers = supplierRepository.findByLocationKeyAndNatureOfBusinessAndManufacturingProcessesContainsAndSupplierIdGreaterThan(
+                    LocationNormalizer.normalize(location), natureOfBusiness, manufacturingProcess,
+                    afterSupplierId == null ? 0L : afterSupplierId, pageable);
+        }
+
+        return suppliers;
+    }
 
-        if (suppliers.isEmpty()) {
-            throw new ManuSearchException("No suppliers found matching the provided criteria.");
+    /**
+     * Searches suppliers with multi-value criteria. The bitmap index answers the search when it is loaded;
+     * otherwise a single database query is issued, whose text depends only on which dimensions are filtered.
+     *
+     * @param criteria the search criteria
+     * @param page     the page number for pagination
+     * @param size     the number of items per page for pagination
+     * @return a {@link Page} of {@link Supplier} entities matching the criteria, ordered by supplier identifier
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Supplier> searchSuppliers(SupplierSearchCriteria criteria, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size, BY_ID);
+        Page<Supplier> suppliers;
+        if (supplierBitmapIndex != null && supplierBitmapIndex.isReady()) {
+            SupplierIdPage idPage = supplierBitmapIndex.search(criteria, page, size);
+            suppliers = new PageImpl<>(hydrate(idPage.ids()), pageable, idPage.total());
+        } else {
+            suppliers = supplierRepository.search(criteria, pageable);
         }
 
         return suppliers;
     }
+
+    /**
+     * Searches suppliers with multi-value criteria, in the requested order.
+     * Relevance-sorted searches read the ranked columns of every candidate in one pass and keep only the suppliers
+     * up to the requested page, so they are limited to the first {@code manusearch.ranking.max-results} results.
+     *
+     * @param criteria the search criteria
+     * @param sort     the order of the results
+     * @param page     the page number for pagination
+     * @param size     the number of items per page for pagination
+     * @return a {@link Page} of {@link Supplier} entities in the requested order
+     * @throws ManuSearchException if the requested page lies beyond the ranked results
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Supplier> searchSuppliers(SupplierSearchCriteria criteria, SupplierSort sort, int page, int size) {
+        if (sort != SupplierSort.RELEVANCE) {
+            return searchSuppliers(criteria, page, size);
+        }
+        if ((long) (page + 1) * size > maxRankedResults) {
+            throw new ManuSearchException("Ranked results are limited to the first " + maxRankedResults
+                    + " suppliers. Please refine the search.", false);
+        }
+
+        SupplierRanking ranking = supplierRanker.prepare(criteria);
+        SupplierIdPage idPage;
+        try (Stream<SupplierRankingEntry> entries = supplierRepository.streamRankingEntries(ranking.candidates())) {
+            idPage = ranking.top(entries, page, size);
+        }
+        return new PageImpl<>(hydrate(idPage.ids()), PageRequest.of(page, size), idPage.total());
+    }
+
+    /**
+     * Queries the suppliers located in a geographic area, nearest to its center first.
+     *
+     * @param area                 the circle or box to search
+     * @param natureOfBusiness     the nature of business of the supplier, or {@code null} for any
+     * @param manufacturingProcess the manufacturing process used by the supplier, or {@code null} for any
+     * @param page                 the page number for pagination
+     * @param size                 the number of items per page for pagination
+     * @return a {@link Page} of {@link Supplier} entities in the area, ordered by distance
+     * @throws ManuSearchException if geo search is unavailable or the radius exceeds the configured maximum
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Supplier> querySuppliersNear(GeoArea area, NatureOfBusiness natureOfBusiness,
+                                             ManufacturingProcess manufacturingProcess, int page, int size) {
+        if (area.isCircle() && area.radiusKm() > maxRadiusKm) {
+            throw new ManuSearchException("The radius cannot exceed " + maxRadiusKm + " km.", false);
+        }
+        SupplierIdPage idPage = requireGeoIndex().near(area, natureOfBusiness, manufacturingProcess, page, size);
+        return new PageImpl<>(hydrate(idPage.ids()), PageRequest.of(page, size), idPage.total());
+    }
+
+    /**
+     * Returns the geo index if it is enabled and loaded.
+     *
+     * @return the {@link SupplierGeoIndex}
+     * @throws ManuSearchException if geo search is disabled or the index is still loading
+     */
+    private SupplierGeoIndex requireGeoIndex() {
+        if (supplierGeoIndex == null || !supplierGeoIndex.isReady()) {
+            throw new ManuSearchException("Geo search is not available.", false);
+        }
+        return supplierGeoIndex;
+    }
+
+    /**
+     * Loads the suppliers for the given identifiers, preserving the order of the identifiers.
+     *
+     * @param ids the supplier identifiers to load
+     * @return the suppliers in the same order as the identifiers
+     */
+    private List<Supplier> hydrate(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Supplier> byId = supplierRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Supplier::getSupplierId, Function.identity()));
+        List<Supplier> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Supplier supplier = byId.get(id);
+            if (supplier != null) { // Skip suppliers deleted since they were indexed
+                ordered.add(supplier);
+            }
+        }
+        return ordered;
+    }
+
+    /**
+     * Loads the summaries for the given identifiers, preserving the order of the identifiers.
+     *
+     * @param ids the supplier identifiers to load
+     * @return the summaries in the same order as the identifiers
+     */
+    private List<SupplierSummary> hydrateSummaries(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, SupplierSummary> byId = supplierRepository.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(SupplierSummary::supplierId, Function.identity()));
+        List<SupplierSummary> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            SupplierSummary summary = byId.get(id);
+            if (summary != null) { // Skip suppliers deleted since they were indexed
+                ordered.add(summary);
+            }
+        }
+        return ordered;
+    }
 }
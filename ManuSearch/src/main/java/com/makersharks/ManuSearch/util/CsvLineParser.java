@@ -0,0 +1,52 @@
+package com.makersharks.ManuSearch.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal parser for a single line of RFC 4180 style CSV.
+ * Supports quoted fields containing commas and doubled quotes, but not line breaks inside quotes.
+ */
+public final class CsvLineParser {
+
+    private CsvLineParser() {
+    }
+
+    /**
+     * Splits a CSV line into its fields.
+     *
+     * @param line the CSV line
+     * @return the fields of the line, unquoted and trimmed
+     * @throws IllegalArgumentException if a quoted field is not closed
+     */
+    public static List<String> parse(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+}
@@ -0,0 +1,23 @@
+package com.makersharks.ManuSearch.util;
+
+import java.util.Locale;
+
+/**
+ * Utility class for normalizing supplier locations.
+ * Locations are free-text city names, so they are trimmed and lower-cased before being used as lookup keys.
+ */
+public final class LocationNormalizer {
+
+    private LocationNormalizer() {
+    }
+
+    /**
+     * Normalizes a location so that "Pune", " pune " and "PUNE" map to the same key.
+     *
+     * @param location the location to normalize, may be {@code null}
+     * @return the normalized location, or an empty string if the location is {@code null}
+     */
+    public static String normalize(String location) {
+        return location == null ? "" : location.trim().toLowerCase(Locale.ROOT);
+    }
+}
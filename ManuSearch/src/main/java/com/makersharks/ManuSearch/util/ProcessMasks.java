@@ -0,0 +1,75 @@
+package com.makersharks.ManuSearch.util;
+
+import com.makersharks.ManuSearch.enums.ManufacturingProcess;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Utility class for packing sets of {@link ManufacturingProcess} values into an integer bitmask.
+ * Each process occupies the bit at its ordinal, so the enum constants must only ever be appended to.
+ */
+public final class ProcessMasks {
+
+    private static final ManufacturingProcess[] PROCESSES = ManufacturingProcess.values();
+
+    private ProcessMasks() {
+    }
+
+    /**
+     * Returns the bit representing a single manufacturing process.
+     *
+     * @param process the manufacturing process
+     * @return the bit for the process
+     */
+    public static int bit(ManufacturingProcess process) {
+        return 1 << process.ordinal();
+    }
+
+    /**
+     * Packs a collection of manufacturing processes into a bitmask.
+     *
+     * @param processes the manufacturing processes, may be {@code null}
+     * @return the bitmask, 0 if the collection is {@code null} or empty
+     */
+    public static int toMask(Collection<ManufacturingProcess> processes) {
+        int mask = 0;
+        if (processes != null) {
+            for (ManufacturingProcess process : processes) {
+                mask |= bit(process);
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Unpacks a bitmask into a set of manufacturing processes.
+     *
+     * @param mask the bitmask
+     * @return a new {@link EnumSet} of the processes whose bits are set
+     */
+    public static Set<ManufacturingProcess> fromMask(int mask) {
+        EnumSet<ManufacturingProcess> processes = EnumSet.noneOf(ManufacturingProcess.class);
+        for (ManufacturingProcess process : PROCESSES) {
+            if ((mask & bit(process)) != 0) {
+                processes.add(process);
+            }
+        }
+        return processes;
+    }
+
+    /**
+     * Builds a SQL CASE expression mapping a column holding process names to their bits.
+     *
+     * @param column the column holding {@link ManufacturingProcess} names
+     * @return the SQL CASE expression
+     */
+    public static String sqlBitExpression(String column) {
+        StringBuilder sql = new StringBuilder("CASE ").append(column);
+        for (ManufacturingProcess process : PROCESSES) {
+            sql.append(" WHEN '").append(process.name()).append("' THEN ").append(bit(process));
+        }
+        return sql.append(" ELSE 0 END").toString();
+    }
+}
@@ -0,0 +1,52 @@
+package com.makersharks.ManuSearch.util;
+
+import com.makersharks.ManuSearch.exception.ManuSearchException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Utility class for encoding and decoding the opaque cursor tokens used by keyset pagination.
+ * A cursor encodes the identifier of the last supplier returned to the client.
+ */
+public final class SupplierCursor {
+
+    private static final String PREFIX = "s:";
+
+    private SupplierCursor() {
+    }
+
+    /**
+     * Encodes the last returned supplier identifier as an opaque, URL-safe token.
+     *
+     * @param supplierId the identifier of the last supplier returned
+     * @return the cursor token
+     */
+    public static String encode(Long supplierId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + supplierId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor token back into a supplier identifier.
+     * A blank token denotes the first slice.
+     *
+     * @param token the cursor token received from the client
+     * @return the supplier identifier, or {@code null} for the first slice
+     * @throws ManuSearchException if the token is malformed
+     */
+    public static Long decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (!value.startsWith(PREFIX)) {
+                throw new ManuSearchException("Invalid cursor: " + token, false);
+            }
+            return Long.parseLong(value.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new ManuSearchException("Invalid cursor: " + token, false);
+        }
+    }
+}
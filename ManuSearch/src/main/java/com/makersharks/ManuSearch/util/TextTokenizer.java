@@ -0,0 +1,51 @@
+package com.makersharks.ManuSearch.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Utility class splitting free text, such as company names and cities, into search terms.
+ * Terms are lower-cased and stripped of accents, so "Société Générale" and "societe generale" produce the same terms.
+ */
+public final class TextTokenizer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private TextTokenizer() {
+    }
+
+    /**
+     * Normalizes text for matching without splitting it.
+     *
+     * @param text the text to normalize, may be {@code null}
+     * @return the lower-cased text without accents, or an empty string if the text is {@code null}
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT).trim();
+    }
+
+    /**
+     * Splits text into normalized terms on anything that is not a letter or a digit.
+     *
+     * @param text the text to split, may be {@code null}
+     * @return the terms in order of appearance, possibly with duplicates
+     */
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        for (String term : SEPARATORS.split(normalize(text))) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+}
@@ -0,0 +1,167 @@
+package com.makersharks.ManuSearch.warmup;
+
+import com.makersharks.ManuSearch.cache.SupplierFilterKey;
+import com.makersharks.ManuSearch.enums.ManufacturingProcess;
+import com.makersharks.ManuSearch.enums.NatureOfBusiness;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Counts the requests of each supplier query filter and periodically adds the counts to the
+ * {@code supplier_filter_hits} table, so the most frequent filters outlive restarts and deploys and can be
+ * replayed by the {@link StartupWarmer}. Counts of several instances add up in the table.
+ * Recording a request only increments an in-memory counter; the database is written off the request path.
+ */
+@Slf4j
+public class FilterHitLog {
+
+    static final String ADD_HITS = "INSERT INTO supplier_filter_hits "
+            + "(location, nature_of_business, manufacturing_process, hits, last_hit_at) VALUES (?, ?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE hits = hits + VALUES(hits), last_hit_at = GREATEST(last_hit_at, VALUES(last_hit_at))";
+
+    static final String TOP_FILTERS = "SELECT location, nature_of_business, manufacturing_process "
+            + "FROM supplier_filter_hits WHERE last_hit_at >= ? ORDER BY hits DESC, location LIMIT ?";
+
+    /**
+     * Maximum number of distinct filters counted between two flushes; further filters are not counted.
+     * Locations are free text, so this bounds the memory taken by clients sending many different ones.
+     */
+    private static final int MAX_PENDING_FILTERS = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final LongSupplier clock;
+
+    private final ConcurrentMap<SupplierFilterKey, LongAdder> pending = new ConcurrentHashMap<>();
+
+    private volatile boolean recording = true;
+
+    private ScheduledExecutorService flusher;
+
+    /**
+     * Creates the hit log.
+     *
+     * @param jdbcTemplate the template writing to the primary database
+     * @param clock        the clock of the last hit times, in epoch milliseconds
+     */
+    public FilterHitLog(JdbcTemplate jdbcTemplate, LongSupplier clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.clock = clock;
+    }
+
+    /**
+     * Counts one request of a filter, unless recording is paused.
+     *
+     * @param location             the location of the filter
+     * @param natureOfBusiness     the nature of business of the filter
+     * @param manufacturingProcess the manufacturing process of the filter
+     */
+    public void record(String location, NatureOfBusiness natureOfBusiness, ManufacturingProcess manufacturingProcess) {
+        if (!recording || location == null || natureOfBusiness == null || manufacturingProcess == null) {
+            return;
+        }
+        SupplierFilterKey filter = SupplierFilterKey.of(location, natureOfBusiness, manufacturingProcess);
+        LongAdder hits = pending.get(filter);
+        if (hits == null) {
+            if (pending.size() >= MAX_PENDING_FILTERS) {
+                return;
+            }
+            hits = pending.computeIfAbsent(filter, key -> new LongAdder());
+        }
+        hits.increment();
+    }
+
+    /**
+     * Pauses or resumes recording, so that synthetic requests, such as those of the warm-up, are not counted.
+     *
+     * @param recording whether requests are counted
+     */
+    public void setRecording(boolean recording) {
+        this.recording = recording;
+    }
+
+    /**
+     * Adds the counts recorded since the previous flush to the database, in one batch.
+     * Counts are approximate under concurrent requests, which is enough to rank filters.
+     *
+     * @return the number of filters written
+     */
+    public synchronized int flush() {
+        long now = clock.getAsLong();
+        List<Object[]> rows = new ArrayList<>();
+        for (Map.Entry<SupplierFilterKey, LongAdder> entry : pending.entrySet()) {
+            pending.remove(entry.getKey());
+            SupplierFilterKey filter = entry.getKey();
+            rows.add(new Object[] {filter.location(), filter.natureOfBusiness().name(),
+                    filter.manufacturingProcess().name(), entry.getValue().sum(), now});
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(ADD_HITS, rows);
+        }
+        return rows.size();
+    }
+
+    /**
+     * Returns the most frequently requested filters, among those requested recently.
+     *
+     * @param limit  the maximum number of filters
+     * @param maxAge the age beyond which a filter that has not been requested again is left out
+     * @return the filters, most frequent first
+     */
+    public List<SupplierFilterKey> topFilters(int limit, Duration maxAge) {
+        return jdbcTemplate.query(TOP_FILTERS, (resultSet, rowNum) -> new SupplierFilterKey(
+                        resultSet.getString("location"),
+                        NatureOfBusiness.valueOf(resultSet.getString("nature_of_business")),
+                        ManufacturingProcess.valueOf(resultSet.getString("manufacturing_process"))),
+                clock.getAsLong() - maxAge.toMillis(), limit);
+    }
+
+    /**
+     * Starts flushing the counts at a fixed interval, on a background thread.
+     *
+     * @param interval the interval between two flushes
+     */
+    public synchronized void start(Duration interval) {
+        if (flusher != null) {
+            return;
+        }
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "filter-hit-log");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the periodic flushes and writes the counts recorded since the last one.
+     */
+    public synchronized void stop() {
+        if (flusher != null) {
+            flusher.shutdownNow();
+            flusher = null;
+        }
+        flushQuietly();
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // The counts are dropped: they only rank the filters replayed by the next warm-up
+            log.warn("Filter hit counts could not be written: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.makersharks.ManuSearch.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.makersharks.ManuSearch.cache.SupplierFilterKey;
+import com.makersharks.ManuSearch.configuration.StartupOrder;
+import com.makersharks.ManuSearch.entity.Supplier;
+import com.makersharks.ManuSearch.enums.ManufacturingProcess;
+import com.makersharks.ManuSearch.enums.NatureOfBusiness;
+import com.makersharks.ManuSearch.security.SecurityConstants;
+import com.makersharks.ManuSearch.service.SupplierService;
+import io.jsonwebtoken.Jwts;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Warms the application up before it reports itself ready to accept traffic.
+ * The most frequently requested filters of the {@link FilterHitLog} are queried through the {@link SupplierService}
+ * and their pages serialized, on several threads at once so the connection pool opens its connections. Then
+ * authenticated requests are sent to the application itself, each with a new JWT token, so the security filters,
+ * the token parser, content negotiation and compression run too.
+ * <p>
+ * The warm-up runs once the application is ready, before Spring Boot switches the readiness state
+ * ({@code /actuator/health/readiness}) to accepting traffic. It is bounded in time, and its failures are only logged.
+ */
+@Slf4j
+public class StartupWarmer {
+
+    private static final int PAGE_SIZE = 10;
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(5);
+
+    /**
+     * Filter queried when no filter has been recorded yet. It matches no supplier, but still runs the query path.
+     */
+    private static final SupplierFilterKey DEFAULT_FILTER =
+            SupplierFilterKey.of("warm-up", NatureOfBusiness.SMALL_SCALE, ManufacturingProcess.CASTING);
+
+    private final FilterHitLog hitLog;
+
+    private final SupplierService supplierService;
+
+    private final ObjectMapper objectMapper;
+
+    private final WarmupProperties properties;
+
+    /**
+     * Creates the warmer.
+     *
+     * @param hitLog          the log of the most frequently requested filters
+     * @param supplierService the service queried for each filter
+     * @param objectMapper    the mapper serializing the responses
+     * @param properties      the warm-up configuration
+     */
+    public StartupWarmer(FilterHitLog hitLog, SupplierService supplierService, ObjectMapper objectMapper,
+                         WarmupProperties properties) {
+        this.hitLog = hitLog;
+        this.supplierService = supplierService;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+    }
+
+    /**
+     * Runs the warm-up. Filter hits are not recorded meanwhile, so the warm-up does not reinforce its own filters.
+     *
+     * @param event the event published once the application is ready; the in-memory indexes are loaded by its
+     *              listeners ordered before {@link StartupOrder#WARM_UP}
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(StartupOrder.WARM_UP)
+    public void warmUp(ApplicationReadyEvent event) {
+        long start = System.nanoTime();
+        long deadline = start + properties.maxDuration().toNanos();
+        hitLog.setRecording(false);
+        try {
+            List<SupplierFilterKey> filters = topFilters();
+            int queries = queryFilters(filters, deadline);
+            int requests = sendRequests(event.getApplicationContext(), filters, deadline);
+            log.info("Warm-up ran {} queries and {} requests for {} filters in {} ms", queries, requests, filters.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } finally {
+            hitLog.setRecording(true);
+        }
+    }
+
+    private List<SupplierFilterKey> topFilters() {
+        try {
+            List<SupplierFilterKey> filters = hitLog.topFilters(properties.filters(), properties.maxAge());
+            return filters.isEmpty() ? List.of(DEFAULT_FILTER) : filters;
+        } catch (RuntimeException e) {
+            log.warn("Filter hits could not be read, warming up with a default filter: {}", e.getMessage());
+            return List.of(DEFAULT_FILTER);
+        }
+    }
+
+    /**
+     * Queries every filter the configured number of times, and serializes the pages as the controller would.
+     *
+     * @return the number of queries that completed
+     */
+    private int queryFilters(List<SupplierFilterKey> filters, long deadline) {
+        ExecutorService executor = Executors.newFixedThreadPool(properties.parallelism(), runnable -> {
+            Thread thread = new Thread(runnable, "warm-up");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // The first query runs alone, so the threads do not all race through one-time initializations
+        query(filters.get(0));
+        AtomicInteger completed = new AtomicInteger(1);
+        try {
+            for (int i = 0; i < properties.iterations(); i++) {
+                for (SupplierFilterKey filter : i == 0 ? filters.subList(1, filters.size()) : filters) {
+                    executor.execute(() -> {
+                        if (System.nanoTime() - deadline < 0) {
+                            query(filter);
+                            completed.incrementAndGet();
+                        }
+                    });
+                }
+            }
+            executor.shutdown();
+            if (!executor.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                log.warn("Warm-up queries did not complete within {}", properties.maxDuration());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+        return completed.get();
+    }
+
+    private void query(SupplierFilterKey filter) {
+        try {
+            Page<Supplier> page = supplierService.querySuppliers(filter.location(), filter.natureOfBusiness(),
+                    filter.manufacturingProcess(), 0, PAGE_SIZE);
+            objectMapper.writeValueAsBytes(page);
+        } catch (Exception e) {
+            log.debug("Warm-up query for {} failed: {}", filter, e.getMessage());
+        }
+    }
+
+    /**
+     * Sends the configured number of requests for the filters, in turn, to the query endpoint of the application.
+     *
+     * @return the number of requests that were answered successfully
+     */
+    private int sendRequests(ApplicationContext context, List<SupplierFilterKey> filters, long deadline) {
+        if (!(context instanceof WebServerApplicationContext webContext) || webContext.getWebServer() == null) {
+            return 0;
+        }
+        String baseUrl = "http://localhost:" + webContext.getWebServer().getPort()
+                + context.getEnvironment().getProperty("server.servlet.context-path", "");
+        HttpClient client = HttpClient.newBuilder().connectTimeout(REQUEST_TIMEOUT).build();
+        int succeeded = 0;
+        for (int i = 0; i < properties.requests() && System.nanoTime() - deadline < 0; i++) {
+            SupplierFilterKey filter = filters.get(i % filters.size());
+            URI uri = UriComponentsBuilder.fromHttpUrl(baseUrl + "/api/supplier/query")
+                    .queryParam("location", filter.location())
+                    .queryParam("natureOfBusiness", filter.natureOfBusiness())
+                    .queryParam("manufacturingProcess", filter.manufacturingProcess())
+                    .queryParam("size", PAGE_SIZE)
+                    .encode().build().toUri();
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                    .timeout(REQUEST_TIMEOUT)
+                    .header(SecurityConstants.JWT_HEADER, token())
+                    .header("Accept-Encoding", "gzip")
+                    .GET()
+                    .build();
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == 200) {
+                    succeeded++;
+                } else {
+                    log.debug("Warm-up request {} answered with status {}", uri, response.statusCode());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.warn("Warm-up requests stopped, the application could not be reached at {}: {}", baseUrl,
+                        e.getMessage());
+                break;
+            }
+        }
+        return succeeded;
+    }
+
+    /**
+     * Creates a short-lived token for a synthetic user without authorities. Every token is distinct,
+     * so each request verifies a signature instead of hitting the cache of validated tokens.
+     */
+    private static String token() {
+        return Jwts.builder()
+                .setIssuer("ADMIN")
+                .setSubject("JWT Token")
+                .setId(UUID.randomUUID().toString())
+                .claim("username", "warm-up")
+                .claim("authorities", "")
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + REQUEST_TIMEOUT.toMillis()))
+                .signWith(SecurityConstants.JWT_SECRET_KEY)
+                .compact();
+    }
+}
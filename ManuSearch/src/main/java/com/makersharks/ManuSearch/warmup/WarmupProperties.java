@@ -0,0 +1,48 @@
+package com.makersharks.ManuSearch.warmup;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the startup warm-up and of the filter hit log it replays, bound from the
+ * {@code manusearch.warmup} properties.
+ */
+@ConfigurationProperties("manusearch.warmup")
+public record WarmupProperties(
+        /*
+         * The number of most frequently requested filters replayed at startup.
+         */
+        @DefaultValue("20") int filters,
+
+        /*
+         * The number of times each filter is queried through the supplier service.
+         */
+        @DefaultValue("20") int iterations,
+
+        /*
+         * The number of queries run at the same time, which is also the number of pooled connections opened.
+         */
+        @DefaultValue("10") int parallelism,
+
+        /*
+         * The number of authenticated requests sent to the application itself, through the security filters.
+         */
+        @DefaultValue("20") int requests,
+
+        /*
+         * The time after which the warm-up stops and the application reports itself ready anyway.
+         */
+        @DefaultValue("PT60S") Duration maxDuration,
+
+        /*
+         * The interval at which filter hit counts are added to the database.
+         */
+        @DefaultValue("PT1M") Duration flushInterval,
+
+        /*
+         * The age beyond which a filter that has not been requested again is no longer replayed.
+         */
+        @DefaultValue("P7D") Duration maxAge) {
+}
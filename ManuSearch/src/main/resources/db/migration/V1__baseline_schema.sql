@@ -0,0 +1,26 @@
+-- Baseline schema, as previously generated by Hibernate from the entity classes.
+-- Databases created before migrations were introduced already have these tables; Flyway baselines them
+-- at version 1 (spring.flyway.baseline-on-migrate) and does not run this script against them.
+
+CREATE TABLE suppliers (
+    supplier_id BIGINT NOT NULL AUTO_INCREMENT,
+    company_name VARCHAR(255) NOT NULL,
+    website VARCHAR(255) NOT NULL,
+    location VARCHAR(255) NOT NULL,
+    nature_of_business ENUM ('LARGE_SCALE', 'MEDIUM_SCALE', 'SMALL_SCALE') NOT NULL,
+    PRIMARY KEY (supplier_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE supplier_manufacturing_processes (
+    supplier_supplier_id BIGINT NOT NULL,
+    manufacturing_processes ENUM ('CASTING', 'COATING', 'MOULDING', '_3D_PRINTING'),
+    CONSTRAINT fk_smp_supplier FOREIGN KEY (supplier_supplier_id) REFERENCES suppliers (supplier_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE users (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    email VARCHAR(50) NOT NULL,
+    password VARCHAR(100) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+) ENGINE = InnoDB;
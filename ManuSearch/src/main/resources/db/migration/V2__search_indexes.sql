@@ -0,0 +1,12 @@
+-- Composite indexes matching the supplier search queries.
+
+-- Equality on location and nature of business, ordered and keyset-paged by supplier_id.
+-- supplier_id is part of every secondary InnoDB index, but listing it makes the ordering explicit.
+CREATE INDEX idx_suppliers_location_nob ON suppliers (location, nature_of_business, supplier_id);
+
+-- Process lookups: the suppliers offering a process, read from the index alone.
+CREATE INDEX idx_smp_process_supplier ON supplier_manufacturing_processes (manufacturing_processes, supplier_supplier_id);
+
+-- The join from a supplier to its processes (and the correlated EXISTS / COUNT subqueries of /search).
+-- It also serves the foreign key, so MySQL does not keep a separate single-column index for it.
+CREATE INDEX idx_smp_supplier_process ON supplier_manufacturing_processes (supplier_supplier_id, manufacturing_processes);
@@ -0,0 +1,9 @@
+-- Heartbeat row used to measure replication lag when read replicas are enabled (manusearch.replica.enabled).
+-- The application writes its clock, in epoch milliseconds, to the primary and reads it back from each replica.
+CREATE TABLE replica_heartbeat (
+    id INTEGER NOT NULL,
+    beat_at BIGINT NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+INSERT INTO replica_heartbeat (id, beat_at) VALUES (1, 0);
@@ -0,0 +1,4 @@
+-- Supplier coordinates for geographic queries, geocoded by the application from the location.
+-- Existing rows keep empty coordinates until they are written again; the geo index geocodes them when it loads.
+ALTER TABLE suppliers ADD COLUMN latitude DOUBLE;
+ALTER TABLE suppliers ADD COLUMN longitude DOUBLE;
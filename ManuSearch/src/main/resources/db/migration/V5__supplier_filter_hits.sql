@@ -0,0 +1,11 @@
+-- Request counts per supplier query filter, written by the warm-up hit log (manusearch.warmup.enabled).
+-- The most frequently requested filters are replayed at startup, before the application reports itself ready.
+-- Locations are stored normalized (trimmed, lower case); last_hit_at is in epoch milliseconds.
+CREATE TABLE supplier_filter_hits (
+    location VARCHAR(255) NOT NULL,
+    nature_of_business VARCHAR(32) NOT NULL,
+    manufacturing_process VARCHAR(32) NOT NULL,
+    hits BIGINT NOT NULL,
+    last_hit_at BIGINT NOT NULL,
+    PRIMARY KEY (location, nature_of_business, manufacturing_process)
+) ENGINE = InnoDB;
@@ -0,0 +1,18 @@
+-- Manufacturing processes of each supplier packed into one bitmask, filtered with a bitwise AND when
+-- manusearch.supplier.process-mask.enabled is true, and read by relevance ranking and facets.
+-- Each process occupies the bit at its ordinal in the ManufacturingProcess enum:
+-- MOULDING = 1, _3D_PRINTING = 2, CASTING = 4, COATING = 8.
+ALTER TABLE suppliers ADD COLUMN manufacturing_process_mask INT;
+
+-- Backfill existing suppliers from the process collection table; suppliers without processes get 0.
+-- The column stays nullable: rows inserted by earlier versions of the application while this one is rolled out
+-- have no mask, and are filled by manusearch.supplier.process-mask.migrate.
+UPDATE suppliers SET manufacturing_process_mask = (
+    SELECT COALESCE(SUM(DISTINCT CASE p.manufacturing_processes
+        WHEN 'MOULDING' THEN 1
+        WHEN '_3D_PRINTING' THEN 2
+        WHEN 'CASTING' THEN 4
+        WHEN 'COATING' THEN 8
+        ELSE 0 END), 0)
+    FROM supplier_manufacturing_processes p
+    WHERE p.supplier_supplier_id = suppliers.supplier_id);
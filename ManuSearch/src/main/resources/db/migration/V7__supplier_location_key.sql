@@ -0,0 +1,7 @@
+-- Location of each supplier as a lookup key, trimmed and lower-cased like LocationNormalizer does for the
+-- in-memory indexes, so the multi-value search matches " Pune " and "PUNE" on the database path too.
+-- The column is generated by the database, so existing rows and every writer get it without a backfill.
+ALTER TABLE suppliers ADD COLUMN location_key VARCHAR(255) GENERATED ALWAYS AS (LOWER(TRIM(location)));
+
+-- Equality on the location key and nature of business, ordered by supplier_id, as idx_suppliers_location_nob.
+CREATE INDEX idx_suppliers_location_key_nob ON suppliers (location_key, nature_of_business, supplier_id);
@@ -14,6 +14,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 
 import java.util.Collections;
 
@@ -60,8 +61,9 @@ class ManuSearchApplicationTests {
 		Page<Supplier> page = new PageImpl<>(Collections.singletonList(supplier), PageRequest.of(0, 10), 1);
 
 		// Mock the repository method to return the page of suppliers when called with specific parameters
-		when(supplierRepository.findByLocationAndNatureOfBusinessAndManufacturingProcessesContains(
-				"Test Location", NatureOfBusiness.SMALL_SCALE, ManufacturingProcess.MOULDING, PageRequest.of(0, 10)))
+		when(supplierRepository.findByLocationKeyAndNatureOfBusinessAndManufacturingProcessesContains(
+				"test location", NatureOfBusiness.SMALL_SCALE, ManufacturingProcess.MOULDING,
+				PageRequest.of(0, 10, Sort.by("supplierId"))))
 				.thenReturn(page);
 
 		// Act
@@ -0,0 +1,48 @@
+package com.makersharks.ManuSearch.cache;
+
+import com.makersharks.ManuSearch.enums.ManufacturingProcess;
+import com.makersharks.ManuSearch.enums.NatureOfBusiness;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Test class for the {@link SupplierFilterVersions}.
+ * It verifies the stamps handed out for conditional requests.
+ */
+class SupplierFilterVersionsTests {
+
+	private final SupplierFilterKey puneCasting =
+			SupplierFilterKey.of("Pune", NatureOfBusiness.SMALL_SCALE, ManufacturingProcess.CASTING);
+
+	private final SupplierFilterKey mumbaiCasting =
+			SupplierFilterKey.of("Mumbai", NatureOfBusiness.SMALL_SCALE, ManufacturingProcess.CASTING);
+
+	/**
+	 * Tests that a stamp changes when its filter is bumped, and only then.
+	 */
+	@Test
+	public void testStampFollowsVersion() {
+		SupplierFilterVersions versions = new SupplierFilterVersions();
+		String pune = versions.stamp(puneCasting);
+		String mumbai = versions.stamp(mumbaiCasting);
+
+		versions.bump(puneCasting);
+
+		assertNotEquals(pune, versions.stamp(puneCasting), "A bumped filter should get a new stamp");
+		assertEquals(mumbai, versions.stamp(mumbaiCasting), "Other filters should keep their stamp");
+		assertEquals(versions.stamp(puneCasting), versions.stamp(
+				SupplierFilterKey.of(" pune ", NatureOfBusiness.SMALL_SCALE, ManufacturingProcess.CASTING)),
+				"Equivalent locations should share a stamp");
+	}
+
+	/**
+	 * Tests that stamps are not reused by another instance, such as the application after a restart,
+	 * whose versions start again from 0.
+	 */
+	@Test
+	public void testStampsDifferAcrossInstances() {
+		assertNotEquals(new SupplierFilterVersions().stamp(puneCasting), new SupplierFilterVersions().stamp(puneCasting));
+	}
+}
@@ -0,0 +1,128 @@
+package com.makersharks.ManuSearch.cache;
+
+import com.makersharks.ManuSearch.enums.ManufacturingProcess;
+import com.makersharks.ManuSearch.enums.NatureOfBusiness;
+import com.makersharks.ManuSearch.event.SupplierChangedEvent;
+import com.makersharks.ManuSearch.event.SupplierSnapshot;
+import com.makersharks.ManuSearch.index.SupplierIdPage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for the {@link SupplierQueryCache}.
+ * It verifies tiered lookups and that supplier writes invalidate only the affected filters.
+ */
+class SupplierQueryCacheTests {
+
+	private SupplierFilterVersions filterVersions;
+
+	private InMemorySharedQueryCache sharedCache;
+
+	private SupplierQueryCache queryCache;
+
+	private final SupplierQueryKey puneCasting = new SupplierQueryKey(
+			SupplierFilterKey.of("Pune", NatureOfBusiness.SMALL_SCALE, ManufacturingProcess.CASTING), 0, 10);
+
+	private final SupplierQueryKey mumbaiCasting = new SupplierQueryKey(
+			SupplierFilterKey.of("Mumbai", NatureOfBusiness.SMALL_SCALE, ManufacturingProcess.CASTING), 0, 10);
+
+	/**
+	 * Creates a cache backed by the in-memory shared tier.
+	 */
+	@BeforeEach
+	public void setUp() {
+		filterVersions = new SupplierFilterVersions();
+		sharedCache = new InMemorySharedQueryCache(1000, Duration.ofMinutes(1));
+		queryCache = new SupplierQueryCache(filterVersions, sharedCache, 1000, Duration.ofMinutes(1));
+	}
+
+	/**
+	 * Tests that a stored page is returned from the cache and that shared hits are promoted.
+	 */
+	@Test
+	public void testPutAndGet() {
+		SupplierIdPage page = new SupplierIdPage(List.of(1L, 2L), 2);
+		sharedCache.put(mumbaiCasting, queryCache.version(mumbaiCasting), page);
+
+		queryCache.put(puneCasting, queryCache.version(puneCasting), page);
+
+		assertEquals(page, queryCache.get(puneCasting), "A stored page should be returned");
+		assertEquals(page, queryCache.get(mumbaiCasting), "A page only in the shared tier should be returned");
+		assertEquals(1, queryCache.localStats().hitCount(), "The local tier should have served the first lookup");
+	}
+
+	/**
+	 * Tests that a supplier write invalidates the filters it matches and leaves other filters cached.
+	 */
+	@Test
+	public void testWriteInvalidatesMatchingFilters() {
+		SupplierIdPage page = new SupplierIdPage(List.of(1L), 1);
+		queryCache.put(puneCasting, queryCache.version(puneCasting), page);
+		queryCache.put(mumbaiCasting, queryCache.version(mumbaiCasting), page);
+
+		SupplierSnapshot created = new SupplierSnapshot(3L, "New Supplier", "pune", null, null, NatureOfBusiness.SMALL_SCALE,
+				EnumSet.of(ManufacturingProcess.CASTING));
+		SupplierChangedEvent event = SupplierChangedEvent.created(List.of(created));
+		queryCache.onSupplierChanged(event);
+		filterVersions.onSupplierChanged(event);
+
+		assertNull(queryCache.get(puneCasting), "The filter matched by the new supplier should be invalidated");
+		assertNotNull(queryCache.get(mumbaiCasting), "Other filters should stay cached");
+	}
+
+	/**
+	 * Tests that a page loaded before a concurrent write is not cached.
+	 */
+	@Test
+	public void testStalePutIsIgnored() {
+		long version = queryCache.version(puneCasting);
+		filterVersions.bump(puneCasting.filter());
+
+		queryCache.put(puneCasting, version, new SupplierIdPage(List.of(1L), 1));
+
+		assertNull(queryCache.get(puneCasting), "A page loaded under an old version should not be cached");
+	}
+
+	/**
+	 * Tests that a page read before a write and stored after the write evicted the shared tier,
+	 * but before the version was bumped, is not returned once the write has been applied.
+	 */
+	@Test
+	public void testReadInterleavedWithWriteIsNotServedStale() {
+		SupplierSnapshot created = new SupplierSnapshot(3L, "New Supplier", "pune", null, null, NatureOfBusiness.SMALL_SCALE,
+				EnumSet.of(ManufacturingProcess.CASTING));
+		SupplierChangedEvent event = SupplierChangedEvent.created(List.of(created));
+		// The read loads its page before the write commits
+		long version = queryCache.version(puneCasting);
+		SupplierIdPage stale = new SupplierIdPage(List.of(1L), 1);
+
+		queryCache.onSupplierChanged(event);
+		queryCache.put(puneCasting, version, stale);
+		filterVersions.onSupplierChanged(event);
+
+		assertNull(queryCache.get(puneCasting), "The page read before the write should not be returned");
+		assertNull(new SupplierQueryCache(filterVersions, sharedCache, 1000, Duration.ofMinutes(1)).get(puneCasting),
+				"The page read before the write should not be returned from the shared tier");
+	}
+
+	/**
+	 * Tests that the in-memory shared tier holds at most its maximum weight of supplier identifiers.
+	 */
+	@Test
+	public void testSharedTierIsBounded() {
+		for (int page = 0; page < 1000; page++) {
+			sharedCache.put(new SupplierQueryKey(puneCasting.filter(), page, 10), 0, new SupplierIdPage(List.of(1L, 2L, 3L, 4L), 4));
+		}
+
+		assertTrue(sharedCache.estimatedSize() <= 200, "Pages beyond the maximum weight should be evicted");
+	}
+}
@@ -0,0 +1,43 @@
+package com.makersharks.ManuSearch.concurrency;
+
+import com.makersharks.ManuSearch.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test class for the {@link ConnectionAdmissionController}.
+ * It verifies that callers beyond the limit are shed and that released permits are reused.
+ */
+class ConnectionAdmissionControllerTests {
+
+	private final ConnectionAdmissionController admissionController = new ConnectionAdmissionController(
+			1, 10, Duration.ofMillis(50), new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+
+	/**
+	 * Tests that a caller is shed when no permit becomes available in time.
+	 */
+	@Test
+	public void testAcquireShedsWhenSaturated() {
+		admissionController.acquire();
+
+		assertThrows(ServiceOverloadedException.class, admissionController::acquire,
+				"A caller should be shed while the only permit is held");
+	}
+
+	/**
+	 * Tests that a released permit admits the next caller.
+	 */
+	@Test
+	public void testReleaseAdmitsNextCaller() {
+		admissionController.acquire();
+		admissionController.release();
+
+		assertDoesNotThrow(admissionController::acquire, "A released permit should be reused");
+	}
+}
@@ -0,0 +1,58 @@
+package com.makersharks.ManuSearch.configuration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.makersharks.ManuSearch.dto.SupplierFacets;
+import com.makersharks.ManuSearch.entity.Supplier;
+import com.makersharks.ManuSearch.enums.ManufacturingProcess;
+import com.makersharks.ManuSearch.enums.NatureOfBusiness;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test class for the {@link BinaryFormatConfig}.
+ * It verifies that the binary formats write enums as ordinals and read them back.
+ */
+class BinaryFormatConfigTests {
+
+	private final BinaryFormatConfig config = new BinaryFormatConfig();
+
+	/**
+	 * Tests that a supplier is written to CBOR with ordinal enums and read back unchanged.
+	 */
+	@Test
+	public void testCborWritesEnumOrdinals() throws Exception {
+		ObjectMapper cbor = config.cborHttpMessageConverter(new Jackson2ObjectMapperBuilder()).getObjectMapper();
+		Supplier supplier = new Supplier();
+		supplier.setCompanyName("Acme");
+		supplier.setNatureOfBusiness(NatureOfBusiness.MEDIUM_SCALE);
+		supplier.setManufacturingProcesses(List.of(ManufacturingProcess.COATING));
+
+		byte[] bytes = cbor.writeValueAsBytes(supplier);
+		JsonNode tree = cbor.readTree(bytes);
+		Supplier read = cbor.readValue(bytes, Supplier.class);
+
+		assertEquals(NatureOfBusiness.MEDIUM_SCALE.ordinal(), tree.get("natureOfBusiness").intValue());
+		assertEquals(ManufacturingProcess.COATING.ordinal(), tree.get("manufacturingProcesses").get(0).intValue());
+		assertEquals(NatureOfBusiness.MEDIUM_SCALE, read.getNatureOfBusiness());
+		assertEquals(List.of(ManufacturingProcess.COATING), read.getManufacturingProcesses());
+	}
+
+	/**
+	 * Tests that enum map keys, such as facet counts, are written to Smile as ordinals too.
+	 */
+	@Test
+	public void testSmileWritesEnumKeyOrdinals() throws Exception {
+		ObjectMapper smile = config.smileHttpMessageConverter(new Jackson2ObjectMapperBuilder()).getObjectMapper();
+		SupplierFacets facets = new SupplierFacets(3, Map.of(NatureOfBusiness.LARGE_SCALE, 3L), Map.of(), List.of());
+
+		JsonNode tree = smile.readTree(smile.writeValueAsBytes(facets));
+
+		assertEquals(3L, tree.get("natureOfBusiness").get(String.valueOf(NatureOfBusiness.LARGE_SCALE.ordinal())).longValue());
+	}
+}
@@ -0,0 +1,46 @@
+package com.makersharks.ManuSearch.configuration;
+
+import com.makersharks.ManuSearch.exception.ManuSearchException;
+import com.makersharks.ManuSearch.service.SupplierService;
+import com.makersharks.ManuSearch.service.SupplierServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test class for the {@link ObservabilityConfig}.
+ * It verifies that the methods of the observed service implementations are timed, failures included.
+ */
+class ObservabilityConfigTests {
+
+	/**
+	 * Tests that a failing service call is timed under the service observation, tagged with its class, method and error.
+	 */
+	@Test
+	public void testServiceMethodsAreObserved() {
+		MeterRegistry registry = new SimpleMeterRegistry();
+		ObservationRegistry observationRegistry = ObservationRegistry.create();
+		observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(registry));
+		AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new SupplierServiceImpl());
+		proxyFactory.setProxyTargetClass(true); // As Spring Boot proxies the services
+		proxyFactory.addAspect(new ObservabilityConfig().observedAspect(observationRegistry));
+		SupplierService supplierService = proxyFactory.getProxy();
+
+		// Text search is disabled, so the call fails without touching the database
+		assertThrows(ManuSearchException.class, () -> supplierService.suggestSuppliers("prec", 5));
+
+		Timer timer = registry.get("manusearch.service")
+				.tag("class", SupplierServiceImpl.class.getName())
+				.tag("method", "suggestSuppliers")
+				.tag("error", "ManuSearchException")
+				.timer();
+		assertEquals(1, timer.count());
+	}
+}
@@ -0,0 +1,221 @@
+package com.makersharks.ManuSearch.controller;
+
+import com.makersharks.ManuSearch.enums.ManufacturingProcess;
+import com.makersharks.ManuSearch.enums.NatureOfBusiness;
+import com.makersharks.ManuSearch.exception.GlobalExceptionHandler;
+import com.makersharks.ManuSearch.exception.ServiceOverloadedException;
+import com.makersharks.ManuSearch.service.SupplierBatchService;
+import com.makersharks.ManuSearch.service.SupplierService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Test class for the {@link SupplierController}.
+ * It runs the controller in a standalone MockMvc with the {@link GlobalExceptionHandler} and mocked services,
+ * and verifies how request parameters are validated and errors mapped to statuses.
+ */
+class SupplierControllerTests {
+
+	@InjectMocks
+	private SupplierController controller;
+
+	@Mock
+	private SupplierService supplierService;
+
+	@Mock
+	private SupplierBatchService supplierBatchService;
+
+	private MockMvc mockMvc;
+
+	/**
+	 * Initializes the mocks and the MockMvc.
+	 */
+	@BeforeEach
+	public void setUp() {
+		MockitoAnnotations.openMocks(this);
+		ReflectionTestUtils.setField(controller, "maxPageSize", 100);
+		mockMvc = MockMvcBuilders.standaloneSetup(controller)
+				.setControllerAdvice(new GlobalExceptionHandler(20, Duration.ofSeconds(10)))
+				.build();
+	}
+
+	/**
+	 * Tests that a tampered keyset cursor is answered with 400 without querying suppliers.
+	 */
+	@Test
+	public void testInvalidCursorIsBadRequest() throws Exception {
+		mockMvc.perform(post("/api/supplier/query")
+						.param("location", "Pune")
+						.param("natureOfBusiness", "SMALL_SCALE")
+						.param("manufacturingProcess", "CASTING")
+						.param("after", "eDo0Mg"))
+				.andExpect(status().isBadRequest());
+
+		verify(supplierService, never()).querySuppliersAfter(any(), any(), any(), any(), any(Integer.class));
+	}
+
+	/**
+	 * Tests that page sizes over the maximum, and negative pages, are answered with 400 without querying suppliers.
+	 */
+	@Test
+	public void testHugeSizeIsBadRequest() throws Exception {
+		mockMvc.perform(post("/api/supplier/query")
+						.param("location", "Pune")
+						.param("natureOfBusiness", "SMALL_SCALE")
+						.param("manufacturingProcess", "CASTING")
+						.param("size", String.valueOf(Integer.MAX_VALUE)))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.message").value("The page must be at least 0 and the size between 1 and 100."));
+		mockMvc.perform(post("/api/supplier/query")
+						.param("location", "Pune")
+						.param("natureOfBusiness", "SMALL_SCALE")
+						.param("manufacturingProcess", "CASTING")
+						.param("after", "")
+						.param("size", String.valueOf(Integer.MAX_VALUE)))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(post("/api/supplier/search")
+						.param("page", "-1"))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(post("/api/supplier/query")
+						.param("lat", "18.52")
+						.param("lon", "73.86")
+						.param("radiusKm", "50")
+						.param("size", String.valueOf(Integer.MAX_VALUE)))
+				.andExpect(status().isBadRequest());
+
+		verifyNoInteractions(supplierService);
+	}
+
+	/**
+	 * Tests that cached query results carry a strong ETag per media type, and that a request still matching it
+	 * is answered with 304 without querying suppliers.
+	 */
+	@Test
+	public void testQueryResultsCarryStrongEtag() throws Exception {
+		ReflectionTestUtils.setField(controller, "httpCacheEnabled", true);
+		ReflectionTestUtils.setField(controller, "httpCacheMaxAge", Duration.ZERO);
+		when(supplierService.queryResultsStamp("Pune", NatureOfBusiness.SMALL_SCALE, ManufacturingProcess.CASTING))
+				.thenReturn("3");
+		when(supplierService.querySuppliers("Pune", NatureOfBusiness.SMALL_SCALE, ManufacturingProcess.CASTING, null, 0, 10))
+				.thenReturn(Page.empty(PageRequest.of(0, 10)));
+
+		String etag = mockMvc.perform(get("/api/supplier/query")
+						.param("location", "Pune")
+						.param("natureOfBusiness", "SMALL_SCALE")
+						.param("manufacturingProcess", "CASTING")
+						.accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, startsWith("\"3-")))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		mockMvc.perform(get("/api/supplier/query")
+						.param("location", "Pune")
+						.param("natureOfBusiness", "SMALL_SCALE")
+						.param("manufacturingProcess", "CASTING")
+						.accept(MediaType.APPLICATION_JSON)
+						.header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified());
+		mockMvc.perform(get("/api/supplier/query")
+						.param("location", "Pune")
+						.param("natureOfBusiness", "SMALL_SCALE")
+						.param("manufacturingProcess", "CASTING")
+						.accept(MediaType.ALL)
+						.header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+
+		verify(supplierService, times(2)).querySuppliers("Pune", NatureOfBusiness.SMALL_SCALE, ManufacturingProcess.CASTING,
+				null, 0, 10);
+	}
+
+	/**
+	 * Tests that an unknown enum value is answered with 400 and the valid values, without querying suppliers.
+	 */
+	@Test
+	public void testInvalidEnumIsBadRequest() throws Exception {
+		mockMvc.perform(post("/api/supplier/query")
+						.param("location", "Pune")
+						.param("natureOfBusiness", "HUGE_SCALE")
+						.param("manufacturingProcess", "CASTING"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.message").value("Invalid value 'HUGE_SCALE' for parameter 'natureOfBusiness'. "
+						+ "Valid values are: " + Arrays.stream(NatureOfBusiness.values()).map(Enum::name)
+						.collect(Collectors.joining(","))));
+
+		verifyNoInteractions(supplierService);
+	}
+
+	/**
+	 * Tests that a missing required parameter is answered with 400 without querying suppliers.
+	 */
+	@Test
+	public void testMissingParameterIsBadRequest() throws Exception {
+		mockMvc.perform(post("/api/supplier/query")
+						.param("location", "Pune")
+						.param("natureOfBusiness", "SMALL_SCALE"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.message").value(containsString("'manufacturingProcess'")));
+
+		verifyNoInteractions(supplierService);
+	}
+
+	/**
+	 * Tests that a batch shed by the batch service is answered with 503 and Retry-After.
+	 */
+	@Test
+	public void testOverloadedBatchIsServiceUnavailable() throws Exception {
+		when(supplierBatchService.searchSuppliers(any()))
+				.thenThrow(new ServiceOverloadedException("Too many batched queries", Duration.ofSeconds(1)));
+
+		mockMvc.perform(post("/api/supplier/search/batch")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("[{\"location\":[\"Pune\"]}]"))
+				.andExpect(status().isServiceUnavailable())
+				.andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+	}
+
+	/**
+	 * Tests that a query without matches is answered with 200 and an empty page.
+	 */
+	@Test
+	public void testEmptyResultIsEmptyPage() throws Exception {
+		when(supplierService.querySuppliers("Nowhere", NatureOfBusiness.SMALL_SCALE, ManufacturingProcess.CASTING, null, 0, 10))
+				.thenReturn(Page.empty(PageRequest.of(0, 10)));
+
+		mockMvc.perform(post("/api/supplier/query")
+						.param("location", "Nowhere")
+						.param("natureOfBusiness", "SMALL_SCALE")
+						.param("manufacturingProcess", "CASTING"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.content").isEmpty())
+				.andExpect(jsonPath("$.totalElements").value(0));
+	}
+}
@@ -0,0 +1,189 @@
+package com.makersharks.ManuSearch.datasource;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for the {@link ReplicaPool}.
+ * It runs a primary and a replica as two embedded H2 databases, each holding its own name, and checks which one
+ * answers read-only and read-write transactions as the replica's heartbeat falls behind.
+ */
+class ReplicaPoolTests {
+
+	private static final Duration MAX_LAG = Duration.ofSeconds(5);
+
+	private final AtomicLong now = new AtomicLong(1_000_000);
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private JdbcTemplate replica;
+
+	private ReplicaPool replicaPool;
+
+	private JdbcTemplate jdbcTemplate;
+
+	private TransactionTemplate readOnly;
+
+	private TransactionTemplate readWrite;
+
+	/**
+	 * Creates both databases and the pool routing between them.
+	 */
+	@BeforeEach
+	public void setUp() {
+		DataSource primaryDataSource = database("primary");
+		DataSource replicaDataSource = database("replica");
+		replica = new JdbcTemplate(replicaDataSource);
+		replicaPool = new ReplicaPool(primaryDataSource, Map.of("replica-1", replicaDataSource), MAX_LAG, now::get,
+				meterRegistry);
+		DataSource routing = replicaPool.routingDataSource();
+		jdbcTemplate = new JdbcTemplate(routing);
+		readWrite = new TransactionTemplate(new DataSourceTransactionManager(routing));
+		readOnly = new TransactionTemplate(new DataSourceTransactionManager(routing));
+		readOnly.setReadOnly(true);
+	}
+
+	/**
+	 * Drops both databases.
+	 */
+	@AfterEach
+	public void tearDown() throws IOException {
+		replica.execute("DROP ALL OBJECTS");
+		jdbcTemplate.execute("DROP ALL OBJECTS");
+		replicaPool.close();
+	}
+
+	/**
+	 * Tests that read-only transactions run on the replica once it has replicated a recent heartbeat,
+	 * while read-write transactions always run on the primary.
+	 */
+	@Test
+	public void testRoutesReadOnlyTransactionsToReplica() {
+		replicaPool.checkReplicas();
+		replicate();
+		replicaPool.checkReplicas();
+
+		assertTrue(replicaPool.getStatus().get("replica-1").available());
+		assertEquals("replica", readOnly.execute(status -> databaseName()));
+		assertEquals("primary", readWrite.execute(status -> databaseName()));
+		assertEquals(1, meterRegistry.get("manusearch.datasource.connections").tag("pool", "replica-1").counter().count());
+	}
+
+	/**
+	 * Tests that read-only transactions fall back to the primary before the first check and whenever
+	 * the replica lags by more than the maximum.
+	 */
+	@Test
+	public void testFallsBackToPrimaryWhenReplicaLags() {
+		assertEquals("primary", readOnly.execute(status -> databaseName()),
+				"No replica should be used before it has been checked");
+
+		replicaPool.checkReplicas();
+		replicate();
+		replicaPool.checkReplicas();
+		now.addAndGet(MAX_LAG.toMillis() + 1);
+		replicaPool.checkReplicas();
+
+		assertFalse(replicaPool.getStatus().get("replica-1").available());
+		assertEquals(MAX_LAG.toMillis() + 1, replicaPool.getStatus().get("replica-1").lagMillis());
+		assertEquals("primary", readOnly.execute(status -> databaseName()));
+
+		replicate();
+		replicaPool.checkReplicas();
+		assertEquals("replica", readOnly.execute(status -> databaseName()), "A caught up replica should serve reads again");
+	}
+
+	/**
+	 * Tests that a replica that cannot be queried is marked down and reads fall back to the primary.
+	 */
+	@Test
+	public void testFallsBackToPrimaryWhenReplicaIsDown() {
+		replicaPool.checkReplicas();
+		replicate();
+		replica.execute("DROP TABLE replica_heartbeat");
+		replicaPool.checkReplicas();
+
+		assertFalse(replicaPool.getStatus().get("replica-1").available());
+		assertEquals("primary", readOnly.execute(status -> databaseName()));
+	}
+
+	/**
+	 * Tests that connections requested with explicit credentials are routed like the others,
+	 * opening them with those credentials on the primary and on the replica.
+	 */
+	@Test
+	public void testRoutesConnectionsWithCredentials() throws SQLException {
+		replicaPool.checkReplicas();
+		replicate();
+		replicaPool.checkReplicas();
+		DataSource routing = replicaPool.routingDataSource();
+
+		try (Connection connection = routing.getConnection("sa", "")) {
+			assertEquals("primary", databaseName(connection));
+		}
+		try (Connection connection = routing.getConnection("sa", "")) {
+			connection.setReadOnly(true);
+			assertEquals("replica", databaseName(connection));
+		}
+		assertThrows(SQLException.class, () -> {
+			try (Connection connection = routing.getConnection("nobody", "")) {
+				databaseName(connection);
+			}
+		}, "The given credentials should be used");
+	}
+
+	/**
+	 * Copies the primary's heartbeat to the replica, as replication would.
+	 */
+	private void replicate() {
+		Long beatAt = readWrite.execute(status ->
+				jdbcTemplate.queryForObject("SELECT beat_at FROM replica_heartbeat WHERE id = 1", Long.class));
+		replica.update("UPDATE replica_heartbeat SET beat_at = ? WHERE id = 1", beatAt);
+	}
+
+	private String databaseName() {
+		return jdbcTemplate.queryForObject("SELECT name FROM database_name", String.class);
+	}
+
+	private static String databaseName(Connection connection) throws SQLException {
+		try (Statement statement = connection.createStatement();
+				ResultSet resultSet = statement.executeQuery("SELECT name FROM database_name")) {
+			resultSet.next();
+			return resultSet.getString(1);
+		}
+	}
+
+	private static DataSource database(String name) {
+		DataSource dataSource = new DriverManagerDataSource(
+				"jdbc:h2:mem:replica-pool-" + name + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+		JdbcTemplate template = new JdbcTemplate(dataSource);
+		template.execute("CREATE TABLE replica_heartbeat (id INTEGER NOT NULL PRIMARY KEY, beat_at BIGINT NOT NULL)");
+		template.execute("INSERT INTO replica_heartbeat (id, beat_at) VALUES (1, 0)");
+		template.execute("CREATE TABLE database_name (name VARCHAR(20))");
+		template.update("INSERT INTO database_name (name) VALUES (?)", name);
+		return dataSource;
+	}
+}
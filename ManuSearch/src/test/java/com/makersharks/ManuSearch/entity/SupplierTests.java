@@ -0,0 +1,44 @@
+package com.makersharks.ManuSearch.entity;
+
+import com.makersharks.ManuSearch.enums.ManufacturingProcess;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test class for the {@link Supplier} entity.
+ * It verifies that the packed process bitmask cannot get out of sync with the manufacturing process list.
+ */
+class SupplierTests {
+
+	/**
+	 * Tests that setting the processes updates the bitmask, and that later changes to the given list are not seen.
+	 */
+	@Test
+	public void testSetManufacturingProcesses() {
+		List<ManufacturingProcess> processes = new ArrayList<>(List.of(ManufacturingProcess.COATING, ManufacturingProcess.CASTING));
+		Supplier supplier = new Supplier();
+		supplier.setManufacturingProcesses(processes);
+		processes.add(ManufacturingProcess.MOULDING);
+
+		assertEquals(EnumSet.of(ManufacturingProcess.CASTING, ManufacturingProcess.COATING), supplier.getManufacturingProcessSet());
+		assertEquals(List.of(ManufacturingProcess.CASTING, ManufacturingProcess.COATING), supplier.getManufacturingProcesses());
+	}
+
+	/**
+	 * Tests that the processes cannot be changed in place, which would leave the bitmask stale.
+	 */
+	@Test
+	public void testManufacturingProcessesAreUnmodifiable() {
+		Supplier supplier = new Supplier();
+		supplier.setManufacturingProcesses(List.of(ManufacturingProcess.CASTING));
+
+		assertThrows(UnsupportedOperationException.class,
+				() -> supplier.getManufacturingProcesses().add(ManufacturingProcess.MOULDING));
+	}
+}
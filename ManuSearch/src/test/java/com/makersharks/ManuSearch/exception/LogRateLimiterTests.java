@@ -0,0 +1,34 @@
+package com.makersharks.ManuSearch.exception;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test class for the {@link LogRateLimiter}.
+ * It verifies that messages over the limit are dropped and reported once the next window opens.
+ */
+class LogRateLimiterTests {
+
+	/**
+	 * Tests that at most the configured number of messages is permitted per window,
+	 * and that the first permit of the next window reports the dropped messages.
+	 */
+	@Test
+	public void testLimitsPerWindow() {
+		AtomicLong now = new AtomicLong();
+		LogRateLimiter limiter = new LogRateLimiter(2, Duration.ofSeconds(1), now::get);
+
+		assertEquals(0, limiter.tryAcquire());
+		assertEquals(0, limiter.tryAcquire());
+		assertEquals(-1, limiter.tryAcquire(), "The third message of the window should be dropped");
+		assertEquals(-1, limiter.tryAcquire());
+
+		now.addAndGet(Duration.ofSeconds(1).toNanos());
+		assertEquals(2, limiter.tryAcquire(), "The next window should report the dropped messages");
+		assertEquals(0, limiter.tryAcquire());
+	}
+}
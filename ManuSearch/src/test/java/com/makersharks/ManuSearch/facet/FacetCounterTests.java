@@ -0,0 +1,56 @@
+package com.makersharks.ManuSearch.facet;
+
+import com.makersharks.ManuSearch.dto.FacetCount;
+import com.makersharks.ManuSearch.dto.SupplierFacets;
+import com.makersharks.ManuSearch.enums.ManufacturingProcess;
+import com.makersharks.ManuSearch.enums.NatureOfBusiness;
+import com.makersharks.ManuSearch.util.ProcessMasks;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test class for the {@link FacetCounter}.
+ * It verifies that each facet is counted with the filters on the other dimensions only.
+ */
+class FacetCounterTests {
+
+	private final Map<FacetCell, Long> cells = Map.of(
+			FacetCell.of("Pune", NatureOfBusiness.SMALL_SCALE,
+					ProcessMasks.toMask(List.of(ManufacturingProcess.CASTING, ManufacturingProcess.MOULDING))), 3L,
+			FacetCell.of("Pune", NatureOfBusiness.MEDIUM_SCALE, ProcessMasks.toMask(List.of(ManufacturingProcess.CASTING))), 2L,
+			FacetCell.of("Mumbai", NatureOfBusiness.SMALL_SCALE, ProcessMasks.toMask(List.of(ManufacturingProcess.COATING))), 4L);
+
+	/**
+	 * Tests the counts of an empty filter.
+	 */
+	@Test
+	public void testCountWithoutFilter() {
+		SupplierFacets facets = FacetCounter.count(cells, null, null, null, 10);
+
+		assertEquals(9, facets.total(), "Every supplier should match an empty filter");
+		assertEquals(7, facets.natureOfBusiness().get(NatureOfBusiness.SMALL_SCALE));
+		assertEquals(0, facets.natureOfBusiness().get(NatureOfBusiness.LARGE_SCALE), "Values without suppliers should be zero");
+		assertEquals(5, facets.manufacturingProcess().get(ManufacturingProcess.CASTING));
+		assertEquals(List.of(new FacetCount("pune", 5), new FacetCount("mumbai", 4)), facets.location());
+	}
+
+	/**
+	 * Tests that a facet ignores its own criterion but applies the others.
+	 */
+	@Test
+	public void testCountWithPartialFilter() {
+		SupplierFacets facets = FacetCounter.count(cells, " PUNE ", NatureOfBusiness.SMALL_SCALE, null, 1);
+
+		assertEquals(3, facets.total());
+		assertEquals(2, facets.natureOfBusiness().get(NatureOfBusiness.MEDIUM_SCALE),
+				"The nature of business facet should only apply the location filter");
+		assertEquals(3, facets.manufacturingProcess().get(ManufacturingProcess.MOULDING));
+		assertEquals(0, facets.manufacturingProcess().get(ManufacturingProcess.COATING));
+		assertEquals(List.of(new FacetCount("mumbai", 4)), facets.location(),
+				"The location facet should only apply the nature of business filter and the limit");
+	}
+}
@@ -0,0 +1,92 @@
+package com.makersharks.ManuSearch.facet;
+
+import com.makersharks.ManuSearch.enums.ManufacturingProcess;
+import com.makersharks.ManuSearch.enums.NatureOfBusiness;
+import com.makersharks.ManuSearch.event.SupplierChangedEvent;
+import com.makersharks.ManuSearch.event.SupplierSnapshot;
+import com.makersharks.ManuSearch.repository.SupplierFacetRepository;
+import com.makersharks.ManuSearch.util.ProcessMasks;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ObjLongConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Test class for the {@link SupplierFacetCube}.
+ * It verifies that supplier writes committed while the matrix loads are counted exactly once,
+ * whether or not the load has read them.
+ */
+class SupplierFacetCubeTests {
+
+	private static final int CASTING = ProcessMasks.toMask(List.of(ManufacturingProcess.CASTING));
+
+	@InjectMocks
+	private SupplierFacetCube cube;
+
+	@Mock
+	private SupplierFacetRepository supplierFacetRepository;
+
+	/**
+	 * Initializes the mocks.
+	 */
+	@BeforeEach
+	public void setUp() {
+		MockitoAnnotations.openMocks(this);
+	}
+
+	/**
+	 * Tests that writes committed during the load are reconciled with the rows it read: a write the load has seen
+	 * is not applied again, and writes it has not seen are applied once it is done.
+	 */
+	@Test
+	public void testWritesDuringLoadAreCountedOnce() {
+		doAnswer(invocation -> {
+			ObjLongConsumer<FacetCell> consumer = invocation.getArgument(0);
+			// Supplier 2 was created before its row was read, but its event is only delivered during the load
+			cube.onSupplierChanged(SupplierChangedEvent.created(List.of(snapshot(2L, "Pune"))));
+			consumer.accept(FacetCell.of("Pune", NatureOfBusiness.SMALL_SCALE, CASTING), 1L);
+			consumer.accept(FacetCell.of("Pune", NatureOfBusiness.SMALL_SCALE, CASTING), 2L);
+			consumer.accept(FacetCell.of("Pune", NatureOfBusiness.SMALL_SCALE, CASTING), 3L);
+			// Supplier 1 moves and supplier 3 is deleted after their rows were read, and supplier 4 is created
+			cube.onSupplierChanged(SupplierChangedEvent.updated(snapshot(1L, "Pune"), snapshot(1L, "Mumbai")));
+			cube.onSupplierChanged(SupplierChangedEvent.deleted(snapshot(3L, "Pune")));
+			cube.onSupplierChanged(SupplierChangedEvent.created(List.of(snapshot(4L, " MUMBAI"))));
+			return null;
+		}).when(supplierFacetRepository).forEachSupplierCell(any());
+
+		cube.load();
+
+		assertTrue(cube.isReady(), "The matrix should be ready once loaded");
+		assertEquals(Map.of(FacetCell.of("Pune", NatureOfBusiness.SMALL_SCALE, CASTING), 1L,
+				FacetCell.of("Mumbai", NatureOfBusiness.SMALL_SCALE, CASTING), 2L), cube.cells());
+	}
+
+	/**
+	 * Tests that writes committed once the matrix is loaded are applied immediately.
+	 */
+	@Test
+	public void testWriteAfterLoadIsApplied() {
+		cube.load();
+
+		cube.onSupplierChanged(SupplierChangedEvent.created(List.of(snapshot(1L, "Pune"))));
+		cube.onSupplierChanged(SupplierChangedEvent.updated(snapshot(1L, "Pune"), snapshot(1L, "Mumbai")));
+
+		assertEquals(Map.of(FacetCell.of("Mumbai", NatureOfBusiness.SMALL_SCALE, CASTING), 1L), cube.cells());
+	}
+
+	private static SupplierSnapshot snapshot(Long supplierId, String location) {
+		return new SupplierSnapshot(supplierId, "Supplier " + supplierId, location, null, null, NatureOfBusiness.SMALL_SCALE,
+				EnumSet.of(ManufacturingProcess.CASTING));
+	}
+}
@@ -0,0 +1,102 @@
+package com.makersharks.ManuSearch.index;
+
+import com.makersharks.ManuSearch.dto.SupplierSearchCriteria;
+import com.makersharks.ManuSearch.enums.ManufacturingProcess;
+import com.makersharks.ManuSearch.enums.NatureOfBusiness;
+import com.makersharks.ManuSearch.enums.ProcessMatch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for the {@link SupplierBitmapIndex}.
+ * It verifies that bitmap intersections and paging return the same suppliers as the database query would.
+ */
+class SupplierBitmapIndexTests {
+
+	private SupplierBitmapIndex index;
+
+	/**
+	 * Builds a small index with suppliers spread across locations, scales and processes.
+	 */
+	@BeforeEach
+	public void setUp() {
+		index = new SupplierBitmapIndex();
+		index.add(1L, "Pune", NatureOfBusiness.SMALL_SCALE, List.of(ManufacturingProcess.CASTING, ManufacturingProcess.MOULDING));
+		index.add(2L, "pune ", NatureOfBusiness.SMALL_SCALE, List.of(ManufacturingProcess.CASTING));
+		index.add(3L, "Pune", NatureOfBusiness.LARGE_SCALE, List.of(ManufacturingProcess.CASTING));
+		index.add(4L, "Mumbai", NatureOfBusiness.SMALL_SCALE, List.of(ManufacturingProcess.CASTING));
+		index.add(5L, "PUNE", NatureOfBusiness.SMALL_SCALE, List.of(ManufacturingProcess.CASTING));
+		index.markReady();
+	}
+
+	/**
+	 * Tests that a query intersects all three dimensions and normalizes the location.
+	 */
+	@Test
+	public void testQueryIntersectsDimensions() {
+		SupplierIdPage result = index.query("pune", NatureOfBusiness.SMALL_SCALE, ManufacturingProcess.CASTING, 0, 10);
+
+		assertEquals(List.of(1L, 2L, 5L), result.ids(), "Only small-scale casting suppliers in Pune should match");
+		assertEquals(3, result.total(), "The total should count every match");
+	}
+
+	/**
+	 * Tests that the largest page and slice sizes return the matches, without allocating for the requested size.
+	 */
+	@Test
+	public void testHugeSize() {
+		SupplierIdPage page = index.query("Pune", NatureOfBusiness.SMALL_SCALE, ManufacturingProcess.CASTING, 0, Integer.MAX_VALUE);
+		List<Long> slice = index.seek("Pune", NatureOfBusiness.SMALL_SCALE, ManufacturingProcess.CASTING, 1L, Integer.MAX_VALUE);
+
+		assertEquals(List.of(1L, 2L, 5L), page.ids());
+		assertEquals(List.of(2L, 5L), slice);
+	}
+
+	/**
+	 * Tests that pages are sliced by rank and that pages past the end are empty.
+	 */
+	@Test
+	public void testQueryPaging() {
+		SupplierIdPage second = index.query("Pune", NatureOfBusiness.SMALL_SCALE, ManufacturingProcess.CASTING, 1, 2);
+		SupplierIdPage beyond = index.query("Pune", NatureOfBusiness.SMALL_SCALE, ManufacturingProcess.CASTING, 5, 2);
+
+		assertEquals(List.of(5L), second.ids(), "The second page should contain the last match");
+		assertTrue(beyond.ids().isEmpty(), "A page beyond the last match should be empty");
+		assertEquals(3, beyond.total(), "The total should not depend on the page");
+	}
+
+	/**
+	 * Tests that removed suppliers no longer match any query.
+	 */
+	@Test
+	public void testRemove() {
+		index.remove(1L);
+
+		SupplierIdPage result = index.query("Pune", NatureOfBusiness.SMALL_SCALE, ManufacturingProcess.MOULDING, 0, 10);
+
+		assertTrue(result.ids().isEmpty(), "A removed supplier should not be returned");
+	}
+
+	/**
+	 * Tests that multi-value searches unite the values of a dimension and honour the process match mode.
+	 */
+	@Test
+	public void testSearch() {
+		SupplierSearchCriteria anyProcess = new SupplierSearchCriteria(Set.of("Pune", "mumbai"), null,
+				Set.of(ManufacturingProcess.MOULDING, ManufacturingProcess.CASTING), ProcessMatch.ANY);
+		SupplierSearchCriteria allProcesses = new SupplierSearchCriteria(null, Set.of(NatureOfBusiness.SMALL_SCALE),
+				Set.of(ManufacturingProcess.MOULDING, ManufacturingProcess.CASTING), ProcessMatch.ALL);
+		SupplierSearchCriteria unfiltered = new SupplierSearchCriteria(null, null, null, null);
+
+		assertEquals(List.of(1L, 2L, 3L, 4L, 5L), index.search(anyProcess, 0, 10).ids());
+		assertEquals(List.of(1L), index.search(allProcesses, 0, 10).ids(), "Only supplier 1 offers both processes");
+		assertEquals(5, index.search(unfiltered, 0, 2).total(), "An empty search should match every supplier");
+		assertTrue(index.search(new SupplierSearchCriteria(Set.of("Delhi"), null, null, null), 0, 10).ids().isEmpty());
+	}
+}
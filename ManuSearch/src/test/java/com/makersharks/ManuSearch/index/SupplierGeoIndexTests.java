@@ -0,0 +1,160 @@
+package com.makersharks.ManuSearch.index;
+
+import com.makersharks.ManuSearch.enums.ManufacturingProcess;
+import com.makersharks.ManuSearch.enums.NatureOfBusiness;
+import com.makersharks.ManuSearch.geo.GeoArea;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for the {@link SupplierGeoIndex}.
+ * It checks radius and box queries against suppliers in a handful of Indian cities, whose distances are well known.
+ */
+class SupplierGeoIndexTests {
+
+	private static final double PUNE_LAT = 18.5204;
+
+	private static final double PUNE_LON = 73.8567;
+
+	private SupplierGeoIndex index;
+
+	/**
+	 * Builds a small index: two suppliers in Pune, one in Mumbai (about 120 km away) and one in Delhi.
+	 */
+	@BeforeEach
+	public void setUp() {
+		index = new SupplierGeoIndex(0.5);
+		index.add(1L, 19.0760, 72.8777, NatureOfBusiness.SMALL_SCALE, List.of(ManufacturingProcess.CASTING));
+		index.add(2L, PUNE_LAT, PUNE_LON, NatureOfBusiness.LARGE_SCALE, List.of(ManufacturingProcess.CASTING));
+		index.add(3L, PUNE_LAT, PUNE_LON, NatureOfBusiness.SMALL_SCALE,
+				List.of(ManufacturingProcess.CASTING, ManufacturingProcess.MOULDING));
+		index.add(4L, 28.6139, 77.2090, NatureOfBusiness.SMALL_SCALE, List.of(ManufacturingProcess.CASTING));
+		index.markReady();
+	}
+
+	/**
+	 * Tests that a radius query returns the suppliers inside the circle, nearest first and by id at equal distance.
+	 */
+	@Test
+	public void testRadiusOrdersByDistance() {
+		SupplierIdPage result = index.near(GeoArea.circle(PUNE_LAT, PUNE_LON, 200), null, null, 0, 10);
+
+		assertEquals(List.of(2L, 3L, 1L), result.ids(), "Pune suppliers should come before Mumbai, Delhi is too far");
+		assertEquals(3, result.total());
+	}
+
+	/**
+	 * Tests that the largest page size returns the matches, without allocating for the requested size,
+	 * and that pages past the end are empty.
+	 */
+	@Test
+	public void testHugeSize() {
+		GeoArea area = GeoArea.circle(PUNE_LAT, PUNE_LON, 200);
+
+		assertEquals(List.of(2L, 3L, 1L), index.near(area, null, null, 0, Integer.MAX_VALUE).ids());
+		assertTrue(index.near(area, null, null, 1, Integer.MAX_VALUE).ids().isEmpty());
+	}
+
+	/**
+	 * Tests that pages are sliced in distance order, including a page starting inside a shared point.
+	 */
+	@Test
+	public void testRadiusPaging() {
+		GeoArea area = GeoArea.circle(PUNE_LAT, PUNE_LON, 200);
+
+		assertEquals(List.of(1L), index.near(area, null, null, 1, 2).ids(), "The second page should hold Mumbai");
+		assertEquals(List.of(3L), index.near(area, null, null, 1, 1).ids(), "The second page should start inside Pune");
+		assertTrue(index.near(area, null, null, 3, 1).ids().isEmpty(), "A page beyond the last match should be empty");
+	}
+
+	/**
+	 * Tests that the nature of business and process filters are intersected with the suppliers of each point.
+	 */
+	@Test
+	public void testFilters() {
+		GeoArea area = GeoArea.circle(PUNE_LAT, PUNE_LON, 200);
+
+		assertEquals(List.of(3L, 1L), index.near(area, NatureOfBusiness.SMALL_SCALE, null, 0, 10).ids());
+		assertEquals(List.of(3L), index.near(area, NatureOfBusiness.SMALL_SCALE, ManufacturingProcess.MOULDING, 0, 10).ids());
+		assertEquals(0, index.near(area, NatureOfBusiness.MEDIUM_SCALE, null, 0, 10).total());
+	}
+
+	/**
+	 * Tests that a box query returns the suppliers inside the box, nearest to its center first.
+	 */
+	@Test
+	public void testBox() {
+		SupplierIdPage result = index.near(GeoArea.box(18, 72, 29, 78), null, null, 0, 10);
+
+		assertEquals(4, result.total(), "Every supplier lies in the box");
+		assertEquals(4L, result.ids().get(3), "Delhi is the furthest from the center of the box");
+	}
+
+	/**
+	 * Tests that removed suppliers disappear and moved suppliers are found at their new coordinates only.
+	 */
+	@Test
+	public void testRemoveAndMove() {
+		index.remove(2L);
+		index.add(1L, 28.6139, 77.2090, NatureOfBusiness.SMALL_SCALE, List.of(ManufacturingProcess.CASTING));
+
+		assertEquals(List.of(3L), index.near(GeoArea.circle(PUNE_LAT, PUNE_LON, 200), null, null, 0, 10).ids());
+		assertEquals(List.of(1L, 4L), index.near(GeoArea.circle(28.6139, 77.2090, 10), null, null, 0, 10).ids());
+	}
+
+	/**
+	 * Tests that circles and boxes crossing the antimeridian find suppliers on both sides of it.
+	 */
+	@Test
+	public void testAntimeridian() {
+		index.add(10L, -17.7134, 178.0650, NatureOfBusiness.SMALL_SCALE, List.of(ManufacturingProcess.CASTING)); // Fiji
+		index.add(11L, -13.8333, -171.7500, NatureOfBusiness.SMALL_SCALE, List.of(ManufacturingProcess.CASTING)); // Samoa
+
+		assertEquals(List.of(10L, 11L), index.near(GeoArea.circle(-17, 179.5, 1500), null, null, 0, 10).ids());
+		assertEquals(2, index.near(GeoArea.box(-20, 175, -10, -170), null, null, 0, 10).total());
+	}
+
+	/**
+	 * Tests that radius queries over randomly placed suppliers return the same pages as an exhaustive scan,
+	 * whatever the share of cells lying entirely in the circle.
+	 */
+	@Test
+	public void testMatchesExhaustiveScan() {
+		Random random = new Random(42);
+		SupplierGeoIndex randomIndex = new SupplierGeoIndex(0.1);
+		double[][] coordinates = new double[2000][];
+		for (int i = 0; i < coordinates.length; i++) {
+			coordinates[i] = new double[] {PUNE_LAT + random.nextGaussian(), PUNE_LON + random.nextGaussian()};
+			randomIndex.add((long) i, coordinates[i][0], coordinates[i][1],
+					NatureOfBusiness.values()[i % 3], List.of(ManufacturingProcess.CASTING));
+		}
+		randomIndex.markReady();
+
+		for (double radiusKm : new double[] {5, 30, 150}) {
+			GeoArea area = GeoArea.circle(PUNE_LAT, PUNE_LON, radiusKm);
+			List<Long> expected = new ArrayList<>();
+			for (int i = 0; i < coordinates.length; i++) {
+				if (i % 3 == 0 && area.distanceIfContains((float) coordinates[i][0], (float) coordinates[i][1]) >= 0) {
+					expected.add((long) i);
+				}
+			}
+			expected.sort(Comparator.comparingDouble((Long id) -> area.distanceIfContains(
+					(float) coordinates[id.intValue()][0], (float) coordinates[id.intValue()][1])));
+
+			SupplierIdPage first = randomIndex.near(area, NatureOfBusiness.SMALL_SCALE, null, 0, 20);
+			SupplierIdPage second = randomIndex.near(area, NatureOfBusiness.SMALL_SCALE, null, 1, 20);
+			assertEquals(expected.size(), first.total(), "Total within " + radiusKm + " km");
+			assertEquals(expected.subList(0, Math.min(20, expected.size())), first.ids(), "First page within " + radiusKm + " km");
+			assertEquals(expected.subList(Math.min(20, expected.size()), Math.min(40, expected.size())), second.ids(),
+					"Second page within " + radiusKm + " km");
+		}
+	}
+}
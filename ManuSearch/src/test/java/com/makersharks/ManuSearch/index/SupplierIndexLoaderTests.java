@@ -0,0 +1,87 @@
+package com.makersharks.ManuSearch.index;
+
+import com.makersharks.ManuSearch.enums.ManufacturingProcess;
+import com.makersharks.ManuSearch.enums.NatureOfBusiness;
+import com.makersharks.ManuSearch.event.SupplierChangedEvent;
+import com.makersharks.ManuSearch.event.SupplierSnapshot;
+import com.makersharks.ManuSearch.projection.SupplierIndexEntry;
+import com.makersharks.ManuSearch.repository.SupplierRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for the {@link SupplierIndexLoader}.
+ * It verifies that supplier writes committed while the index loads are not overwritten by the rows being loaded.
+ */
+class SupplierIndexLoaderTests {
+
+	@InjectMocks
+	private SupplierIndexLoader loader;
+
+	@Mock
+	private SupplierRepository supplierRepository;
+
+	@Spy
+	private SupplierBitmapIndex index = new SupplierBitmapIndex();
+
+	/**
+	 * Initializes the mocks.
+	 */
+	@BeforeEach
+	public void setUp() {
+		MockitoAnnotations.openMocks(this);
+	}
+
+	/**
+	 * Tests that a supplier moved to another location while its old row is being loaded ends up at its new location only.
+	 */
+	@Test
+	public void testWriteDuringLoadIsAppliedAfterLoadedRows() {
+		SupplierSnapshot before = new SupplierSnapshot(1L, "Supplier", "Pune", null, null, NatureOfBusiness.SMALL_SCALE,
+				EnumSet.of(ManufacturingProcess.CASTING));
+		SupplierSnapshot after = new SupplierSnapshot(1L, "Supplier", "Mumbai", null, null, NatureOfBusiness.SMALL_SCALE,
+				EnumSet.of(ManufacturingProcess.CASTING));
+		when(supplierRepository.streamIndexEntries()).thenReturn(
+				Stream.<SupplierIndexEntry>of(new Entry(1L, "Pune", NatureOfBusiness.SMALL_SCALE, ManufacturingProcess.CASTING))
+						// The update commits after the load read the row, and before the row reaches the index
+						.peek(entry -> loader.onSupplierChanged(SupplierChangedEvent.updated(before, after))));
+
+		loader.load();
+
+		assertTrue(index.isReady(), "The index should be ready once loaded");
+		assertTrue(index.query("Pune", NatureOfBusiness.SMALL_SCALE, ManufacturingProcess.CASTING, 0, 10).ids().isEmpty(),
+				"The row read before the update should not be left in the index");
+		assertEquals(List.of(1L), index.query("Mumbai", NatureOfBusiness.SMALL_SCALE, ManufacturingProcess.CASTING, 0, 10).ids(),
+				"The update should be applied after the load");
+	}
+
+	/**
+	 * Tests that writes committed once the index is loaded are applied immediately.
+	 */
+	@Test
+	public void testWriteAfterLoadIsApplied() {
+		when(supplierRepository.streamIndexEntries()).thenReturn(Stream.empty());
+		loader.load();
+
+		loader.onSupplierChanged(SupplierChangedEvent.created(List.of(new SupplierSnapshot(2L, "Supplier", "Pune", null, null,
+				NatureOfBusiness.SMALL_SCALE, EnumSet.of(ManufacturingProcess.CASTING)))));
+
+		assertEquals(List.of(2L), index.query("Pune", NatureOfBusiness.SMALL_SCALE, ManufacturingProcess.CASTING, 0, 10).ids());
+	}
+
+	private record Entry(Long getSupplierId, String getLocation, NatureOfBusiness getNatureOfBusiness,
+			ManufacturingProcess getManufacturingProcess) implements SupplierIndexEntry {
+	}
+}
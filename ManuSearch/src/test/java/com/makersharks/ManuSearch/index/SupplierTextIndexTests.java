@@ -0,0 +1,94 @@
+package com.makersharks.ManuSearch.index;
+
+import com.makersharks.ManuSearch.dto.FacetCount;
+import com.makersharks.ManuSearch.dto.SupplierSuggestion;
+import com.makersharks.ManuSearch.dto.SupplierSuggestions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for the {@link SupplierTextIndex}.
+ * It verifies prefix, multi-term and fuzzy matching, suggestion ranking and index maintenance.
+ */
+class SupplierTextIndexTests {
+
+	private SupplierTextIndex index;
+
+	/**
+	 * Loads a small set of suppliers into a fresh index.
+	 */
+	@BeforeEach
+	public void setUp() {
+		index = new SupplierTextIndex();
+		index.clear();
+		index.add(1L, "Precision Castings", "Pune");
+		index.add(2L, "Pune Precision Moulding", "Mumbai");
+		index.add(3L, "Coating Works", "Pune");
+		index.add(4L, "Zürich Tools", "Zürich");
+		index.markReady();
+	}
+
+	/**
+	 * Tests that query terms match indexed terms by prefix, across company name and location.
+	 */
+	@Test
+	public void testPrefixMatch() {
+		assertEquals(RoaringBitmap.bitmapOf(1, 2), index.match("prec"));
+		assertEquals(RoaringBitmap.bitmapOf(1, 2, 3), index.match("PUN"), "Location terms should be searchable");
+		assertEquals(RoaringBitmap.bitmapOf(4), index.match("zurich"), "Diacritics should be ignored");
+	}
+
+	/**
+	 * Tests that every query term must match.
+	 */
+	@Test
+	public void testMultiTermMatch() {
+		assertEquals(RoaringBitmap.bitmapOf(1), index.match("precision pune cast"));
+		assertTrue(index.match("coating mumbai").isEmpty());
+	}
+
+	/**
+	 * Tests that misspelled terms are matched within the allowed edit distance.
+	 */
+	@Test
+	public void testFuzzyMatch() {
+		assertEquals(RoaringBitmap.bitmapOf(3), index.match("coatnig"));
+		assertEquals(RoaringBitmap.bitmapOf(1, 2), index.match("presicion"));
+		assertTrue(index.match("xyz").isEmpty());
+	}
+
+	/**
+	 * Tests that removing or replacing a supplier updates its terms.
+	 */
+	@Test
+	public void testRemoveAndReplace() {
+		index.match("coating").add(1);
+		assertEquals(RoaringBitmap.bitmapOf(3), index.match("coating"), "Returned bitmaps should be copies");
+
+		index.remove(3L);
+		assertTrue(index.match("works").isEmpty());
+
+		index.add(1L, "Precision Forge", "Nagpur");
+		assertTrue(index.match("castings").isEmpty(), "Replaced terms should no longer match");
+		assertEquals(RoaringBitmap.bitmapOf(1), index.match("forge nagpur"));
+	}
+
+	/**
+	 * Tests that suggestions rank company name prefixes first and count suppliers per location.
+	 */
+	@Test
+	public void testSuggest() {
+		SupplierSuggestions suggestions = index.suggest("pune", 5);
+
+		assertEquals(List.of(new FacetCount("Pune", 2)), suggestions.locations());
+		assertEquals(new SupplierSuggestion(2L, "Pune Precision Moulding", "Mumbai"), suggestions.suppliers().get(0),
+				"A company name starting with the query should rank first");
+		assertEquals(3, suggestions.suppliers().size());
+	}
+}
@@ -0,0 +1,81 @@
+package com.makersharks.ManuSearch.migration;
+
+import java.util.List;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.makersharks.ManuSearch.enums.ManufacturingProcess;
+import com.makersharks.ManuSearch.util.ProcessMasks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test class for the {@link ManufacturingProcessMaskMigration}.
+ * It runs the migration against an embedded H2 database with the schema of the Flyway migrations.
+ */
+class ManufacturingProcessMaskMigrationTests {
+
+	private JdbcTemplate jdbcTemplate;
+
+	private ManufacturingProcessMaskMigration migration;
+
+	/**
+	 * Creates the database and the migration.
+	 */
+	@BeforeEach
+	public void setUp() {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+				"jdbc:h2:mem:mask;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+		Flyway.configure().dataSource(dataSource).load().migrate();
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		migration = new ManufacturingProcessMaskMigration();
+		ReflectionTestUtils.setField(migration, "jdbcTemplate", jdbcTemplate);
+	}
+
+	/**
+	 * Drops the database.
+	 */
+	@AfterEach
+	public void tearDown() {
+		jdbcTemplate.execute("DROP ALL OBJECTS");
+	}
+
+	/**
+	 * Tests that rows without a mask get the mask of their processes, and that rows with a mask are left alone.
+	 */
+	@Test
+	public void testFillsMissingMasksOnly() {
+		insertSupplier(1, null, List.of(ManufacturingProcess.MOULDING, ManufacturingProcess._3D_PRINTING));
+		insertSupplier(2, null, List.of());
+		insertSupplier(3, 4, List.of(ManufacturingProcess.CASTING));
+		insertSupplier(4, 1, List.of(ManufacturingProcess.COATING)); // Deliberately inconsistent
+
+		migration.run(null);
+
+		assertEquals(ProcessMasks.toMask(List.of(ManufacturingProcess.MOULDING, ManufacturingProcess._3D_PRINTING)), mask(1));
+		assertEquals(0, mask(2));
+		assertEquals(4, mask(3));
+		assertEquals(1, mask(4), "Rows that already have a mask should not be updated");
+	}
+
+	private void insertSupplier(long supplierId, Integer mask, List<ManufacturingProcess> processes) {
+		jdbcTemplate.update("INSERT INTO suppliers (supplier_id, company_name, website, location, nature_of_business, "
+				+ "manufacturing_process_mask) VALUES (?, 'Supplier', 'https://example.com', 'Pune', 'SMALL_SCALE', ?)",
+				supplierId, mask);
+		for (ManufacturingProcess process : processes) {
+			jdbcTemplate.update("INSERT INTO supplier_manufacturing_processes (supplier_supplier_id, manufacturing_processes) "
+					+ "VALUES (?, ?)", supplierId, process.name());
+		}
+	}
+
+	private int mask(long supplierId) {
+		return jdbcTemplate.queryForObject("SELECT manufacturing_process_mask FROM suppliers WHERE supplier_id = ?",
+				Integer.class, supplierId);
+	}
+}
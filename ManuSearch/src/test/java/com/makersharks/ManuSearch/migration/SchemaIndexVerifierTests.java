@@ -0,0 +1,39 @@
+package com.makersharks.ManuSearch.migration;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.makersharks.ManuSearch.migration.SchemaIndexVerifier.ExpectedIndex;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for the {@link SchemaIndexVerifier}.
+ * It verifies how the existing indexes of a table are matched against an expected index.
+ */
+class SchemaIndexVerifierTests {
+
+	/**
+	 * Tests that an expected index is covered by any index starting with its columns, in the same order,
+	 * whatever the case of the column names reported by the database.
+	 */
+	@Test
+	public void testIsCovered() {
+		ExpectedIndex expected = new ExpectedIndex("suppliers", List.of("location", "nature_of_business", "supplier_id"));
+
+		assertTrue(SchemaIndexVerifier.isCovered(expected,
+				List.of(List.of("supplier_id"), List.of("LOCATION", "NATURE_OF_BUSINESS", "SUPPLIER_ID"))));
+		assertTrue(SchemaIndexVerifier.isCovered(expected,
+				List.of(List.of("location", "nature_of_business", "supplier_id", "company_name"))),
+				"A wider index with the same leading columns should cover the expected index");
+
+		assertFalse(SchemaIndexVerifier.isCovered(expected, List.of(List.of("location", "nature_of_business"))),
+				"A prefix of the expected columns should not cover it");
+		assertFalse(SchemaIndexVerifier.isCovered(expected,
+				List.of(List.of("nature_of_business", "location", "supplier_id"))),
+				"Columns in another order should not cover the expected index");
+		assertFalse(SchemaIndexVerifier.isCovered(expected, List.of()));
+	}
+}
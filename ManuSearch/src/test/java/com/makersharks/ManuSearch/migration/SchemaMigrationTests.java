@@ -0,0 +1,81 @@
+package com.makersharks.ManuSearch.migration;
+
+import java.util.List;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import com.makersharks.ManuSearch.enums.ManufacturingProcess;
+import com.makersharks.ManuSearch.util.ProcessMasks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test class for the Flyway migrations in {@code db/migration}.
+ * It upgrades an embedded H2 database holding suppliers from an earlier schema version.
+ */
+class SchemaMigrationTests {
+
+	private DriverManagerDataSource dataSource;
+
+	private JdbcTemplate jdbcTemplate;
+
+	/**
+	 * Creates the database.
+	 */
+	@BeforeEach
+	public void setUp() {
+		dataSource = new DriverManagerDataSource(
+				"jdbc:h2:mem:migrations;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+		jdbcTemplate = new JdbcTemplate(dataSource);
+	}
+
+	/**
+	 * Drops the database.
+	 */
+	@AfterEach
+	public void tearDown() {
+		jdbcTemplate.execute("DROP ALL OBJECTS");
+	}
+
+	/**
+	 * Tests that upgrading a database without the process mask column adds it and backfills every supplier
+	 * with the same mask as the application computes.
+	 */
+	@Test
+	public void testProcessMaskIsBackfilled() {
+		migrate("5");
+		insertSupplier(1, List.of(ManufacturingProcess.CASTING, ManufacturingProcess.COATING, ManufacturingProcess.CASTING));
+		insertSupplier(2, List.of(ManufacturingProcess.values()));
+		insertSupplier(3, List.of());
+
+		migrate("latest");
+
+		assertEquals(ProcessMasks.toMask(List.of(ManufacturingProcess.CASTING, ManufacturingProcess.COATING)), mask(1));
+		assertEquals(ProcessMasks.toMask(List.of(ManufacturingProcess.values())), mask(2),
+				"The migration should map every process to the bit of its ordinal");
+		assertEquals(0, mask(3), "A supplier without processes should get an empty mask");
+	}
+
+	private void migrate(String target) {
+		Flyway.configure().dataSource(dataSource).target(target).load().migrate();
+	}
+
+	private void insertSupplier(long supplierId, List<ManufacturingProcess> processes) {
+		jdbcTemplate.update("INSERT INTO suppliers (supplier_id, company_name, website, location, nature_of_business) "
+				+ "VALUES (?, 'Supplier', 'https://example.com', 'Pune', 'SMALL_SCALE')", supplierId);
+		for (ManufacturingProcess process : processes) {
+			jdbcTemplate.update("INSERT INTO supplier_manufacturing_processes (supplier_supplier_id, manufacturing_processes) "
+					+ "VALUES (?, ?)", supplierId, process.name());
+		}
+	}
+
+	private int mask(long supplierId) {
+		return jdbcTemplate.queryForObject("SELECT manufacturing_process_mask FROM suppliers WHERE supplier_id = ?",
+				Integer.class, supplierId);
+	}
+}
@@ -0,0 +1,95 @@
+package com.makersharks.ManuSearch.ranking;
+
+import com.makersharks.ManuSearch.dto.SupplierSearchCriteria;
+import com.makersharks.ManuSearch.enums.ManufacturingProcess;
+import com.makersharks.ManuSearch.enums.NatureOfBusiness;
+import com.makersharks.ManuSearch.enums.ProcessMatch;
+import com.makersharks.ManuSearch.geo.CityGazetteer;
+import com.makersharks.ManuSearch.index.SupplierIdPage;
+import com.makersharks.ManuSearch.projection.SupplierRankingEntry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test class for the {@link SupplierRanker} and {@link SupplierRanking}.
+ * It checks the scores of each dimension and that the bounded heap returns the same pages as a full sort.
+ */
+class SupplierRankerTests {
+
+	private final SupplierRanker ranker = new SupplierRanker(new CityGazetteer(new ClassPathResource("geo/cities.csv")),
+			3, 1, 2, 50);
+
+	private final SupplierSearchCriteria criteria = new SupplierSearchCriteria(Set.of("Pune"),
+			Set.of(NatureOfBusiness.SMALL_SCALE), Set.of(ManufacturingProcess.CASTING, ManufacturingProcess.MOULDING),
+			ProcessMatch.ANY);
+
+	/**
+	 * Tests that the candidates include the cities near the requested locations and every business scale.
+	 */
+	@Test
+	public void testCandidates() {
+		SupplierSearchCriteria candidates = ranker.prepare(criteria).candidates();
+
+		assertEquals(Set.of("Pune", "Pimpri-Chinchwad"), candidates.locations());
+		assertEquals(Set.of(), candidates.naturesOfBusiness());
+		assertEquals(criteria.manufacturingProcesses(), candidates.manufacturingProcesses());
+	}
+
+	/**
+	 * Tests that process coverage, business scale and location each lower the score of a weaker match.
+	 */
+	@Test
+	public void testScore() {
+		SupplierRanking ranking = ranker.prepare(criteria);
+
+		assertEquals(6, ranking.score(entry(1, "pune", NatureOfBusiness.SMALL_SCALE,
+				ManufacturingProcess.CASTING, ManufacturingProcess.MOULDING)), 1e-9, "A perfect match scores every weight");
+		assertEquals(4.5, ranking.score(entry(2, "Pune", NatureOfBusiness.SMALL_SCALE, ManufacturingProcess.CASTING)), 1e-9,
+				"Half of the processes should score half of the process weight");
+		assertEquals(5, ranking.score(entry(3, "Pune", NatureOfBusiness.LARGE_SCALE,
+				ManufacturingProcess.CASTING, ManufacturingProcess.MOULDING)), 1e-9, "The furthest scale should score nothing");
+		double near = ranking.score(entry(4, "Pimpri-Chinchwad", NatureOfBusiness.SMALL_SCALE,
+				ManufacturingProcess.CASTING, ManufacturingProcess.MOULDING));
+		assertEquals(4 + 2 * (1 - 14.5 / 50), near, 0.1, "A city 14.5 km away should score most of the location weight");
+	}
+
+	/**
+	 * Tests that pages of randomly scored candidates match a full sort by score, then identifier.
+	 */
+	@Test
+	public void testTopMatchesFullSort() {
+		Random random = new Random(42);
+		SupplierRanking ranking = ranker.prepare(criteria);
+		NatureOfBusiness[] natures = NatureOfBusiness.values();
+		ManufacturingProcess[] processes = ManufacturingProcess.values();
+		List<SupplierRankingEntry> entries = new ArrayList<>();
+		for (long id = 1; id <= 500; id++) {
+			entries.add(entry(id, random.nextBoolean() ? "Pune" : "Pimpri-Chinchwad", natures[random.nextInt(natures.length)],
+					processes[random.nextInt(processes.length)], processes[random.nextInt(processes.length)]));
+		}
+		List<Long> expected = entries.stream()
+				.sorted(Comparator.comparingDouble(ranking::score).reversed().thenComparing(SupplierRankingEntry::supplierId))
+				.map(SupplierRankingEntry::supplierId).toList();
+
+		for (int page = 0; page < 3; page++) {
+			SupplierIdPage result = ranking.top(entries.stream(), page, 20);
+			assertEquals(500, result.total());
+			assertEquals(expected.subList(page * 20, page * 20 + 20), result.ids(), "Page " + page);
+		}
+		assertEquals(List.of(), ranking.top(entries.stream(), 25, 20).ids(), "A page beyond the candidates should be empty");
+	}
+
+	private static SupplierRankingEntry entry(long id, String location, NatureOfBusiness natureOfBusiness,
+											  ManufacturingProcess... processes) {
+		return new SupplierRankingEntry(id, location, natureOfBusiness, EnumSet.copyOf(List.of(processes)));
+	}
+}
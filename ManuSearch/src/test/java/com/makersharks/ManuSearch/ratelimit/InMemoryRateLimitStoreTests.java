@@ -0,0 +1,101 @@
+package com.makersharks.ManuSearch.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for the {@link InMemoryRateLimitStore}.
+ * It drives the buckets with a manual clock to check bursts, refills and waits exactly.
+ */
+class InMemoryRateLimitStoreTests {
+
+	private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+	private final RateLimitRule rule = new RateLimitRule("/api/**", 3, 2);
+
+	private final AtomicLong clock = new AtomicLong(42 * SECOND);
+
+	private final InMemoryRateLimitStore store = new InMemoryRateLimitStore(100, clock::get);
+
+	/**
+	 * Tests that a client can send a full burst, then has to wait for the next token.
+	 */
+	@Test
+	public void testBurstThenWait() {
+		for (int i = 0; i < 3; i++) {
+			assertEquals(0, store.tryConsume(rule, "alice"), "Request " + i + " of the burst should pass");
+		}
+		assertEquals(SECOND / 2, store.tryConsume(rule, "alice"), "A token is added every half second");
+		assertEquals(0, store.tryConsume(rule, "bob"), "Other clients have buckets of their own");
+
+		clock.addAndGet(SECOND / 4);
+		assertEquals(SECOND / 4, store.tryConsume(rule, "alice"), "Rejected requests should not take tokens");
+		clock.addAndGet(SECOND / 4);
+		assertEquals(0, store.tryConsume(rule, "alice"));
+		assertTrue(store.tryConsume(rule, "alice") > 0);
+	}
+
+	/**
+	 * Tests that an idle bucket refills up to its capacity only.
+	 */
+	@Test
+	public void testRefillIsCapped() {
+		store.tryConsume(rule, "alice");
+		clock.addAndGet(60 * SECOND);
+
+		int passed = 0;
+		while (store.tryConsume(rule, "alice") == 0) {
+			passed++;
+		}
+		assertEquals(3, passed, "An idle bucket should hold no more than its capacity");
+	}
+
+	/**
+	 * Tests that concurrent requests of one client never take more tokens than the bucket holds.
+	 */
+	@Test
+	public void testConcurrentClientsTakeCapacityOnly() throws InterruptedException {
+		RateLimitRule wide = new RateLimitRule("/api/**", 1000, 1);
+		AtomicInteger passed = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		for (int thread = 0; thread < 8; thread++) {
+			executor.execute(() -> {
+				for (int i = 0; i < 500; i++) {
+					if (store.tryConsume(wide, "alice") == 0) {
+						passed.incrementAndGet();
+					}
+				}
+			});
+		}
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+		assertEquals(1000, passed.get(), "Exactly one bucket of requests should pass while the clock stands still");
+	}
+
+	/**
+	 * Tests that full buckets are dropped once the store holds too many clients, and busy buckets are kept.
+	 */
+	@Test
+	public void testSweepDropsFullBuckets() {
+		InMemoryRateLimitStore small = new InMemoryRateLimitStore(2, clock::get);
+		small.tryConsume(rule, "alice");
+		for (int i = 0; i < 3; i++) {
+			small.tryConsume(rule, "bob");
+		}
+		clock.addAndGet(SECOND);
+		small.tryConsume(rule, "carol");
+
+		assertEquals(2, small.size(), "Alice's bucket was full again and should have been dropped");
+		assertTrue(small.tryConsume(rule, "bob") == 0 && small.tryConsume(rule, "bob") == 0
+				&& small.tryConsume(rule, "bob") > 0, "Bob's bucket should have kept its state");
+	}
+}
@@ -0,0 +1,329 @@
+package com.makersharks.ManuSearch.repository;
+
+import com.makersharks.ManuSearch.dto.SupplierSearchCriteria;
+import com.makersharks.ManuSearch.entity.Supplier;
+import com.makersharks.ManuSearch.enums.ManufacturingProcess;
+import com.makersharks.ManuSearch.enums.NatureOfBusiness;
+import com.makersharks.ManuSearch.enums.ProcessMatch;
+import com.makersharks.ManuSearch.geo.CityGazetteer;
+import com.makersharks.ManuSearch.index.SupplierBitmapIndex;
+import com.makersharks.ManuSearch.projection.SupplierRankingEntry;
+import com.makersharks.ManuSearch.projection.SupplierSummary;
+import com.makersharks.ManuSearch.util.LocationNormalizer;
+import jakarta.persistence.Persistence;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for the derived queries of the {@link SupplierRepository}.
+ * It runs against the embedded H2 database of the test configuration, with the schema of the Flyway migrations.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(CityGazetteer.class)
+class SupplierRepositoryTests {
+
+	private static final Pageable FIRST_PAGE = PageRequest.of(0, 10, Sort.by("supplierId"));
+
+	@Autowired
+	private SupplierRepository supplierRepository;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private SupplierSearchRepositoryImpl searchRepository;
+
+	/**
+	 * Tests that keyset slices neither skip nor repeat a supplier when suppliers are created and deleted between slices.
+	 */
+	@Test
+	public void testKeysetSlicesAreStableUnderWrites() {
+		List<Supplier> initial = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			initial.add(save("Supplier " + i, ManufacturingProcess.CASTING));
+		}
+
+		Slice<Supplier> first = after(0L);
+		assertEquals(ids(initial.subList(0, 2)), ids(first.getContent()));
+		assertTrue(first.hasNext());
+
+		// A supplier of the first slice is deleted and another one is created: an offset would now skip a supplier
+		supplierRepository.delete(initial.get(0));
+		Supplier created = save("Supplier 5", ManufacturingProcess.CASTING);
+		supplierRepository.flush();
+
+		Slice<Supplier> second = after(last(first));
+		Slice<Supplier> third = after(last(second));
+		assertEquals(ids(initial.subList(2, 4)), ids(second.getContent()), "The slice should start after the cursor");
+		assertEquals(List.of(initial.get(4).getSupplierId(), created.getSupplierId()), ids(third.getContent()),
+				"Suppliers created meanwhile should be returned once, at the end");
+		assertFalse(third.hasNext());
+	}
+
+	/**
+	 * Tests that the bitmask queries return the suppliers offering every requested process,
+	 * and the same suppliers as the join on the process collection table for a single process.
+	 */
+	@Test
+	public void testProcessMaskQueries() {
+		Supplier casting = save("Casting", ManufacturingProcess.CASTING);
+		Supplier castingCoating = save("Casting and coating", ManufacturingProcess.COATING, ManufacturingProcess.CASTING);
+		save("Moulding", ManufacturingProcess.MOULDING);
+
+		Page<Supplier> castingSuppliers = supplierRepository.findByLocationKeyAndNatureOfBusinessAndProcessMask(
+				"pune", NatureOfBusiness.SMALL_SCALE, EnumSet.of(ManufacturingProcess.CASTING), FIRST_PAGE);
+		Page<Supplier> both = supplierRepository.findByLocationKeyAndNatureOfBusinessAndProcessMask(
+				"pune", NatureOfBusiness.SMALL_SCALE, EnumSet.of(ManufacturingProcess.CASTING, ManufacturingProcess.COATING),
+				FIRST_PAGE);
+		Page<SupplierSummary> summaries = supplierRepository.findSummariesByProcessMask(
+				"pune", NatureOfBusiness.SMALL_SCALE, EnumSet.of(ManufacturingProcess.CASTING), FIRST_PAGE);
+
+		assertEquals(List.of(casting.getSupplierId(), castingCoating.getSupplierId()), ids(castingSuppliers.getContent()));
+		assertEquals(2, castingSuppliers.getTotalElements());
+		assertEquals(ids(supplierRepository.findByLocationKeyAndNatureOfBusinessAndManufacturingProcessesContains(
+						"pune", NatureOfBusiness.SMALL_SCALE, ManufacturingProcess.CASTING, FIRST_PAGE).getContent()),
+				ids(castingSuppliers.getContent()), "The bitmask and the join should match the same suppliers");
+		assertEquals(List.of(castingSuppliers.getContent().get(0).getCompanyName(), "Casting and coating"),
+				summaries.getContent().stream().map(SupplierSummary::companyName).toList());
+		assertEquals(List.of(castingCoating.getSupplierId()), ids(both.getContent()),
+				"Every requested process should be required");
+	}
+
+	/**
+	 * Tests that the bitmask keyset and identifier list queries return the same suppliers as their counterparts
+	 * joining the process collection table.
+	 */
+	@Test
+	public void testProcessMaskKeysetAndIdQueries() {
+		Supplier first = save("First", ManufacturingProcess.CASTING);
+		save("Moulding", ManufacturingProcess.MOULDING);
+		Supplier second = save("Second", ManufacturingProcess.COATING, ManufacturingProcess.CASTING);
+		Supplier third = save("Third", ManufacturingProcess.CASTING);
+		Pageable slice = PageRequest.of(0, 1, Sort.by("supplierId"));
+		List<Long> textMatches = List.of(first.getSupplierId(), third.getSupplierId());
+
+		Slice<Supplier> afterFirst = supplierRepository.findByLocationKeyAndNatureOfBusinessAndProcessMaskAndSupplierIdGreaterThan(
+				"pune", NatureOfBusiness.SMALL_SCALE, EnumSet.of(ManufacturingProcess.CASTING), first.getSupplierId(), slice);
+		Page<Supplier> matches = supplierRepository.findByLocationKeyAndNatureOfBusinessAndProcessMaskAndSupplierIdIn(
+				"pune", NatureOfBusiness.SMALL_SCALE, EnumSet.of(ManufacturingProcess.CASTING), textMatches, FIRST_PAGE);
+
+		assertEquals(List.of(second.getSupplierId()), ids(afterFirst.getContent()));
+		assertTrue(afterFirst.hasNext());
+		assertEquals(ids(supplierRepository.findByLocationKeyAndNatureOfBusinessAndManufacturingProcessesContainsAndSupplierIdGreaterThan(
+						"pune", NatureOfBusiness.SMALL_SCALE, ManufacturingProcess.CASTING, first.getSupplierId(), slice).getContent()),
+				ids(afterFirst.getContent()), "The bitmask and the join should match the same suppliers");
+		assertEquals(textMatches, ids(matches.getContent()));
+		assertEquals(ids(supplierRepository.findByLocationKeyAndNatureOfBusinessAndManufacturingProcessesContainsAndSupplierIdIn(
+						"pune", NatureOfBusiness.SMALL_SCALE, ManufacturingProcess.CASTING, textMatches, FIRST_PAGE).getContent()),
+				ids(matches.getContent()), "The bitmask and the join should match the same suppliers");
+	}
+
+	/**
+	 * Tests that two spellings of a location return the same page, including suppliers stored with another spelling,
+	 * once normalized to the location key as the service does.
+	 */
+	@Test
+	public void testLocationSpellingsReturnSamePage() {
+		Supplier pune = save("Pune", ManufacturingProcess.CASTING);
+		Supplier spaced = save("Spaced", ManufacturingProcess.CASTING);
+		spaced.setLocation(" PUNE ");
+		entityManager.flush();
+		entityManager.clear();
+		List<Long> expected = List.of(pune.getSupplierId(), spaced.getSupplierId());
+
+		for (String location : List.of("Pune", " pune")) {
+			String locationKey = LocationNormalizer.normalize(location);
+			assertEquals(expected, ids(supplierRepository.findByLocationKeyAndNatureOfBusinessAndManufacturingProcessesContains(
+					locationKey, NatureOfBusiness.SMALL_SCALE, ManufacturingProcess.CASTING, FIRST_PAGE).getContent()), location);
+			assertEquals(expected, ids(supplierRepository.findByLocationKeyAndNatureOfBusinessAndProcessMask(
+					locationKey, NatureOfBusiness.SMALL_SCALE, EnumSet.of(ManufacturingProcess.CASTING), FIRST_PAGE).getContent()),
+					location);
+			assertEquals(expected, supplierRepository.findSummaries(locationKey, NatureOfBusiness.SMALL_SCALE,
+					ManufacturingProcess.CASTING, FIRST_PAGE).map(SupplierSummary::supplierId).getContent(), location);
+		}
+	}
+
+	/**
+	 * Tests that the summary queries return the scalar columns of the matching suppliers without managing any entity.
+	 */
+	@Test
+	public void testSummaryQueries() {
+		Supplier casting = save("Casting", ManufacturingProcess.CASTING);
+		save("Moulding", ManufacturingProcess.MOULDING);
+		Supplier castingCoating = save("Casting and coating", ManufacturingProcess.COATING, ManufacturingProcess.CASTING);
+		entityManager.flush();
+		entityManager.clear();
+
+		Page<SupplierSummary> summaries = supplierRepository.findSummaries(
+				"pune", NatureOfBusiness.SMALL_SCALE, ManufacturingProcess.CASTING, FIRST_PAGE);
+		List<SupplierSummary> byId = supplierRepository.findSummariesByIdIn(List.of(castingCoating.getSupplierId()));
+
+		assertEquals(List.of(summary(casting), summary(castingCoating)), summaries.getContent());
+		assertEquals(2, summaries.getTotalElements());
+		assertEquals(List.of(summary(castingCoating)), byId);
+		assertEquals(0, entityManager.getEntityManager().unwrap(SessionImplementor.class).getPersistenceContextInternal()
+				.getNumberOfManagedEntities(), "Summaries should not load entities");
+	}
+
+	/**
+	 * Tests that loading a supplier reads its processes from the bitmask, without querying the collection table,
+	 * and falls back to the collection table for rows without a bitmask.
+	 */
+	@Test
+	public void testProcessesAreReadFromMask() {
+		Long supplierId = save("Supplier", ManufacturingProcess.COATING, ManufacturingProcess.CASTING).getSupplierId();
+		Long unmigratedId = save("Unmigrated", ManufacturingProcess.MOULDING).getSupplierId();
+		entityManager.flush();
+		entityManager.getEntityManager().createNativeQuery(
+				"UPDATE suppliers SET manufacturing_process_mask = NULL WHERE supplier_id = " + unmigratedId).executeUpdate();
+		entityManager.clear();
+
+		Supplier supplier = supplierRepository.findById(supplierId).orElseThrow();
+		Supplier unmigrated = supplierRepository.findById(unmigratedId).orElseThrow();
+
+		assertEquals(List.of(ManufacturingProcess.CASTING, ManufacturingProcess.COATING), supplier.getManufacturingProcesses());
+		assertFalse(Persistence.getPersistenceUtil().isLoaded(supplier, "manufacturingProcesses"),
+				"The process collection should not be loaded");
+		assertEquals(List.of(ManufacturingProcess.MOULDING), unmigrated.getManufacturingProcesses());
+	}
+
+	/**
+	 * Tests that the ranking entries read the processes from the process collection table with the bitmask disabled,
+	 * including for rows without a bitmask and suppliers without processes.
+	 */
+	@Test
+	public void testRankingEntriesOfRowsWithoutMask() {
+		Long castingId = save("Casting", ManufacturingProcess.COATING, ManufacturingProcess.CASTING).getSupplierId();
+		Long unmigratedId = save("Unmigrated", ManufacturingProcess.MOULDING).getSupplierId();
+		Long noProcessId = save("No process", ManufacturingProcess.CASTING).getSupplierId();
+		entityManager.flush();
+		entityManager.getEntityManager().createNativeQuery(
+				"UPDATE suppliers SET manufacturing_process_mask = NULL WHERE supplier_id = " + unmigratedId).executeUpdate();
+		entityManager.getEntityManager().createNativeQuery(
+				"DELETE FROM supplier_manufacturing_processes WHERE supplier_supplier_id = " + noProcessId).executeUpdate();
+		entityManager.clear();
+
+		Map<Long, Set<ManufacturingProcess>> processes = rankingProcesses(new SupplierSearchCriteria(Set.of("Pune"),
+				Set.of(), Set.of(), ProcessMatch.ANY));
+		Map<Long, Set<ManufacturingProcess>> moulding = rankingProcesses(new SupplierSearchCriteria(Set.of("Pune"),
+				Set.of(), Set.of(ManufacturingProcess.MOULDING), ProcessMatch.ANY));
+
+		assertEquals(Map.of(castingId, EnumSet.of(ManufacturingProcess.CASTING, ManufacturingProcess.COATING),
+				unmigratedId, EnumSet.of(ManufacturingProcess.MOULDING),
+				noProcessId, EnumSet.noneOf(ManufacturingProcess.class)), processes, "Each supplier should appear once");
+		assertEquals(Map.of(unmigratedId, EnumSet.of(ManufacturingProcess.MOULDING)), moulding,
+				"A row without a bitmask should be ranked on its processes");
+	}
+
+	/**
+	 * Tests the ALL and ANY process matches and normalized location matching of the multi-value search,
+	 * with the process collection table and with the bitmask, against the results of the in-memory bitmap index.
+	 */
+	@Test
+	public void testSearchMatchesIndex() {
+		List<Supplier> suppliers = List.of(save("Casting", ManufacturingProcess.CASTING),
+				save("Casting and coating", ManufacturingProcess.COATING, ManufacturingProcess.CASTING),
+				save("Moulding", ManufacturingProcess.MOULDING),
+				save("Mumbai", ManufacturingProcess.MOULDING, ManufacturingProcess.CASTING));
+		suppliers.get(3).setLocation(" MUMBAI ");
+		entityManager.flush();
+		entityManager.clear();
+		SupplierBitmapIndex index = new SupplierBitmapIndex();
+		suppliers.forEach(supplier -> index.add(supplier.getSupplierId(), supplier.getLocation(),
+				supplier.getNatureOfBusiness(), supplier.getManufacturingProcesses()));
+		index.markReady();
+
+		List<SupplierSearchCriteria> searches = List.of(
+				criteria(Set.of("Pune"), ProcessMatch.ALL, ManufacturingProcess.CASTING, ManufacturingProcess.COATING),
+				criteria(Set.of("pune"), ProcessMatch.ANY, ManufacturingProcess.CASTING, ManufacturingProcess.COATING),
+				criteria(Set.of(), ProcessMatch.ALL, ManufacturingProcess.CASTING),
+				criteria(Set.of("Mumbai", " PUNE"), ProcessMatch.ANY, ManufacturingProcess.MOULDING),
+				criteria(Set.of("mumbai"), ProcessMatch.ANY));
+		List<List<Long>> expected = List.of(
+				List.of(suppliers.get(1).getSupplierId()),
+				ids(suppliers.subList(0, 2)),
+				List.of(suppliers.get(0).getSupplierId(), suppliers.get(1).getSupplierId(), suppliers.get(3).getSupplierId()),
+				ids(suppliers.subList(2, 4)),
+				List.of(suppliers.get(3).getSupplierId()));
+
+		for (boolean processMaskEnabled : new boolean[] {false, true}) {
+			ReflectionTestUtils.setField(searchRepository, "processMaskEnabled", processMaskEnabled);
+			try {
+				for (int i = 0; i < searches.size(); i++) {
+					Page<Supplier> page = supplierRepository.search(searches.get(i), FIRST_PAGE);
+					assertEquals(expected.get(i), ids(page.getContent()), searches.get(i) + " with the bitmask " + processMaskEnabled);
+					assertEquals(expected.get(i).size(), page.getTotalElements());
+					assertEquals(index.search(searches.get(i), 0, 10).ids(), ids(page.getContent()),
+							"The database and the index should match the same suppliers for " + searches.get(i));
+				}
+			} finally {
+				ReflectionTestUtils.setField(searchRepository, "processMaskEnabled", false);
+			}
+		}
+	}
+
+	private static SupplierSearchCriteria criteria(Set<String> locations, ProcessMatch processMatch,
+			ManufacturingProcess... processes) {
+		return new SupplierSearchCriteria(locations, Set.of(), Set.of(processes), processMatch);
+	}
+
+	private Map<Long, Set<ManufacturingProcess>> rankingProcesses(SupplierSearchCriteria criteria) {
+		try (Stream<SupplierRankingEntry> entries = supplierRepository.streamRankingEntries(criteria)) {
+			return entries.collect(Collectors.toMap(SupplierRankingEntry::supplierId,
+					SupplierRankingEntry::manufacturingProcesses));
+		}
+	}
+
+	private Slice<Supplier> after(Long supplierId) {
+		return supplierRepository.findByLocationKeyAndNatureOfBusinessAndManufacturingProcessesContainsAndSupplierIdGreaterThan(
+				"pune", NatureOfBusiness.SMALL_SCALE, ManufacturingProcess.CASTING, supplierId,
+				PageRequest.of(0, 2, Sort.by("supplierId")));
+	}
+
+	private Supplier save(String companyName, ManufacturingProcess... processes) {
+		Supplier supplier = new Supplier();
+		supplier.setCompanyName(companyName);
+		supplier.setWebsite("https://example.com");
+		supplier.setLocation("Pune");
+		supplier.setNatureOfBusiness(NatureOfBusiness.SMALL_SCALE);
+		supplier.setManufacturingProcesses(List.of(processes));
+		return supplierRepository.save(supplier);
+	}
+
+	private static SupplierSummary summary(Supplier supplier) {
+		return new SupplierSummary(supplier.getSupplierId(), supplier.getCompanyName(), supplier.getWebsite(),
+				supplier.getLocation(), supplier.getNatureOfBusiness());
+	}
+
+	private static Long last(Slice<Supplier> slice) {
+		return slice.getContent().get(slice.getNumberOfElements() - 1).getSupplierId();
+	}
+
+	private static List<Long> ids(List<Supplier> suppliers) {
+		return suppliers.stream().map(Supplier::getSupplierId).toList();
+	}
+}
@@ -0,0 +1,64 @@
+package com.makersharks.ManuSearch.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.makersharks.ManuSearch.entity.User;
+import com.makersharks.ManuSearch.repository.UserRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Test class for the {@link CustomerUserDetailsService}.
+ * It verifies that only the configured supplier admins are granted the role required for bulk ingestion.
+ */
+class CustomerUserDetailsServiceTests {
+
+	@InjectMocks
+	private CustomerUserDetailsService userDetailsService;
+
+	@Mock
+	private UserRepository userRepository;
+
+	/**
+	 * Creates the service with one configured supplier admin.
+	 */
+	@BeforeEach
+	public void setUp() {
+		MockitoAnnotations.openMocks(this);
+		ReflectionTestUtils.setField(userDetailsService, "userDetailsCache", new UserDetailsCache(100, Duration.ofMinutes(1),
+				new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class)));
+		ReflectionTestUtils.setField(userDetailsService, "supplierAdmins", Set.of("admin@example.com"));
+		when(userRepository.findByEmail("admin@example.com")).thenReturn(Optional.of(new User(1L, "admin@example.com", "hash")));
+		when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(new User(2L, "user@example.com", "hash")));
+	}
+
+	/**
+	 * Tests that a configured supplier admin is granted the supplier admin role, and that other users have no role.
+	 */
+	@Test
+	public void testSupplierAdminRole() {
+		assertEquals(List.of("ROLE_" + SecurityConstants.SUPPLIER_ADMIN_ROLE),
+				authorities(userDetailsService.loadUserByUsername("admin@example.com")));
+		assertEquals(List.of(), authorities(userDetailsService.loadUserByUsername("user@example.com")));
+	}
+
+	private static List<String> authorities(UserDetails user) {
+		return user.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList();
+	}
+}
@@ -0,0 +1,192 @@
+package com.makersharks.ManuSearch.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+
+/**
+ * Test class for the {@link JwtAuthenticationCache} and its use by the {@link JwtTokenValidatorFilter}.
+ * Time is simulated, so expirations are tested without waiting.
+ */
+class JwtAuthenticationCacheTests {
+
+	private static final long START_MILLIS = 1_000_000_000_000L;
+
+	private static final Duration MAX_TTL = Duration.ofMinutes(10);
+
+	private final AtomicLong elapsedNanos = new AtomicLong();
+
+	private JwtAuthenticationCache cache;
+
+	private JwtTokenValidatorFilter filter;
+
+	/**
+	 * Creates a cache on the simulated time, and a validator filter using it.
+	 */
+	@BeforeEach
+	public void setUp() {
+		cache = new JwtAuthenticationCache(100, MAX_TTL, elapsedNanos::get,
+				() -> START_MILLIS + TimeUnit.NANOSECONDS.toMillis(elapsedNanos.get()));
+		filter = new JwtTokenValidatorFilter(cache);
+	}
+
+	/**
+	 * Clears the authentication set by the filter.
+	 */
+	@AfterEach
+	public void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+
+	/**
+	 * Tests that a cached token is authenticated from the cache, without verifying its signature.
+	 */
+	@Test
+	public void testCacheHitSkipsSignatureVerification() throws Exception {
+		Authentication cached = new UsernamePasswordAuthenticationToken("user@example.com", null, List.of());
+		cache.put("not-a-signed-token", cached, null);
+
+		assertSame(cached, authenticate("not-a-signed-token"), "A cached token should not be parsed");
+	}
+
+	/**
+	 * Tests that a validated token is cached and served from the cache on the next request.
+	 */
+	@Test
+	public void testValidatedTokenIsCached() throws Exception {
+		String token = token(new Date(System.currentTimeMillis() + 60_000));
+
+		Authentication first = authenticate(token);
+		Authentication second = authenticate(token);
+
+		assertEquals("user@example.com", first.getName());
+		assertSame(first, second, "The second request should reuse the cached authentication");
+		assertEquals(1, cache.stats().hitCount());
+	}
+
+	/**
+	 * Tests that an entry expires with its token when the token expires before the maximum time-to-live.
+	 */
+	@Test
+	public void testEntryExpiresWithToken() {
+		cache.put("token", authentication(), new Date(START_MILLIS + 60_000));
+
+		advance(Duration.ofSeconds(59));
+		assertNotNull(cache.get("token"));
+		advance(Duration.ofSeconds(2));
+		assertNull(cache.get("token"), "The entry should expire when the token does");
+	}
+
+	/**
+	 * Tests that an entry expires after the maximum time-to-live when the token lives longer.
+	 */
+	@Test
+	public void testEntryExpiresAfterMaxTtl() {
+		cache.put("token", authentication(), new Date(START_MILLIS + Duration.ofHours(1).toMillis()));
+
+		advance(MAX_TTL.minusSeconds(1));
+		assertNotNull(cache.get("token"));
+		advance(Duration.ofSeconds(2));
+		assertNull(cache.get("token"), "The entry should expire after the maximum time-to-live");
+	}
+
+	/**
+	 * Tests that invalid and expired tokens are rejected and never cached.
+	 */
+	@Test
+	public void testRejectedTokensAreNotCached() {
+		String expired = token(new Date(System.currentTimeMillis() - 60_000));
+		String tampered = token(new Date(System.currentTimeMillis() + 60_000)) + "x";
+
+		assertThrows(BadCredentialsException.class, () -> authenticate(expired));
+		assertThrows(BadCredentialsException.class, () -> authenticate(tampered));
+		assertThrows(BadCredentialsException.class, () -> authenticate("garbage"));
+		assertEquals(0, cache.estimatedSize(), "Rejected tokens should not be cached");
+	}
+
+	/**
+	 * Tests that the cache publishes its hit and miss counts.
+	 */
+	@Test
+	public void testBindTo() {
+		MeterRegistry registry = new SimpleMeterRegistry();
+		cache.bindTo(registry);
+		cache.put("token", authentication(), null);
+
+		cache.get("token");
+		cache.get("other");
+
+		assertEquals(1, registry.get("cache.gets").tag("cache", "jwt-authentication").tag("result", "hit")
+				.functionCounter().count());
+		assertEquals(1, registry.get("cache.gets").tag("cache", "jwt-authentication").tag("result", "miss")
+				.functionCounter().count());
+	}
+
+	/**
+	 * Tests that signature verifications are timed, and that tokens served from the cache are not.
+	 */
+	@Test
+	public void testSignatureVerificationIsObserved() throws Exception {
+		MeterRegistry registry = new SimpleMeterRegistry();
+		ObservationRegistry observationRegistry = ObservationRegistry.create();
+		observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(registry));
+		filter = new JwtTokenValidatorFilter(cache, observationRegistry);
+		String token = token(new Date(System.currentTimeMillis() + 60_000));
+
+		authenticate(token);
+		authenticate(token);
+
+		assertEquals(1, registry.get("manusearch.jwt.validate").timer().count(),
+				"Only the first request should verify the signature");
+	}
+
+	private Authentication authenticate(String token) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/supplier/query");
+		request.addHeader(SecurityConstants.JWT_HEADER, "Bearer " + token);
+		filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+		return SecurityContextHolder.getContext().getAuthentication();
+	}
+
+	private void advance(Duration duration) {
+		elapsedNanos.addAndGet(duration.toNanos());
+	}
+
+	private static Authentication authentication() {
+		return new UsernamePasswordAuthenticationToken("user@example.com", null, List.of());
+	}
+
+	private static String token(Date expiration) {
+		return Jwts.builder()
+				.claim("username", "user@example.com")
+				.claim("authorities", "")
+				.setIssuedAt(new Date())
+				.setExpiration(expiration)
+				.signWith(SecurityConstants.JWT_SECRET_KEY)
+				.compact();
+	}
+}
@@ -0,0 +1,69 @@
+package com.makersharks.ManuSearch.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Test class for the {@link UserDetailsCache}.
+ * It verifies that lookups are cached, that eviction forces a reload and that metrics are published.
+ */
+class UserDetailsCacheTests {
+
+	private final AtomicInteger loads = new AtomicInteger();
+
+	private MeterRegistry meterRegistry;
+
+	private UserDetailsCache userDetailsCache;
+
+	/**
+	 * Creates a cache bound to a simple meter registry.
+	 */
+	@BeforeEach
+	public void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+		beanFactory.addBean("meterRegistry", meterRegistry);
+		userDetailsCache = new UserDetailsCache(100, Duration.ofMinutes(1), beanFactory.getBeanProvider(MeterRegistry.class));
+	}
+
+	/**
+	 * Tests that a user is loaded once until it is evicted.
+	 */
+	@Test
+	public void testGetAndEvict() {
+		userDetailsCache.get("user@example.com", this::load);
+		userDetailsCache.get("user@example.com", this::load);
+		assertEquals(1, loads.get(), "The second lookup should be served from the cache");
+
+		userDetailsCache.evict("user@example.com");
+		userDetailsCache.get("user@example.com", this::load);
+		assertEquals(2, loads.get(), "An evicted user should be loaded again");
+
+		assertEquals(1, meterRegistry.get("cache.gets").tag("cache", "user-details").tag("result", "hit")
+				.functionCounter().count(), "Cache hits should be published as metrics");
+	}
+
+	/**
+	 * Tests that unknown users are not cached.
+	 */
+	@Test
+	public void testUnknownUserIsNotCached() {
+		assertNull(userDetailsCache.get("unknown@example.com", email -> null));
+		assertEquals(0, userDetailsCache.estimatedSize(), "Missing users should not be cached");
+	}
+
+	private UserDetailsCache.UserCredentials load(String email) {
+		loads.incrementAndGet();
+		return new UserDetailsCache.UserCredentials(email, "{noop}secret");
+	}
+}
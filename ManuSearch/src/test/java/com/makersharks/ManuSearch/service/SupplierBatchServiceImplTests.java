@@ -0,0 +1,220 @@
+package com.makersharks.ManuSearch.service;
+
+import com.makersharks.ManuSearch.dto.SupplierBatchQuery;
+import com.makersharks.ManuSearch.entity.Supplier;
+import com.makersharks.ManuSearch.enums.ManufacturingProcess;
+import com.makersharks.ManuSearch.enums.NatureOfBusiness;
+import com.makersharks.ManuSearch.enums.ProcessMatch;
+import com.makersharks.ManuSearch.exception.ManuSearchException;
+import com.makersharks.ManuSearch.exception.ServiceOverloadedException;
+import com.makersharks.ManuSearch.geo.CityGazetteer;
+import com.makersharks.ManuSearch.index.SupplierBitmapIndex;
+import com.makersharks.ManuSearch.repository.SupplierRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Test class for the {@link SupplierBatchServiceImpl}.
+ * It runs batches against the embedded H2 database of the test configuration, through the database and through
+ * the bitmap index. The suppliers are committed, since the database strategy reads them on other threads.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(CityGazetteer.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SupplierBatchServiceImplTests {
+
+	private static final SupplierBatchQuery PUNE = query(Set.of("Pune"), Set.of(), ProcessMatch.ANY, 0, 10);
+
+	private static final SupplierBatchQuery MUMBAI = query(Set.of("Mumbai"), Set.of(), ProcessMatch.ANY, 0, 10);
+
+	@Autowired
+	private SupplierRepository supplierRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private SupplierRepository repository;
+
+	private SupplierBatchServiceImpl batchService;
+
+	private final List<Supplier> suppliers = new ArrayList<>();
+
+	/**
+	 * Saves the suppliers and creates the service, counting its calls to the repository.
+	 */
+	@BeforeEach
+	public void setUp() {
+		suppliers.add(save("Pune", NatureOfBusiness.SMALL_SCALE, ManufacturingProcess.CASTING));
+		suppliers.add(save("Pune", NatureOfBusiness.MEDIUM_SCALE, ManufacturingProcess.CASTING, ManufacturingProcess.COATING));
+		suppliers.add(save("Pune", NatureOfBusiness.SMALL_SCALE, ManufacturingProcess.MOULDING));
+		suppliers.add(save("Mumbai", NatureOfBusiness.LARGE_SCALE, ManufacturingProcess.COATING));
+
+		repository = mock(SupplierRepository.class, delegatesTo(supplierRepository));
+		batchService = new SupplierBatchServiceImpl();
+		ReflectionTestUtils.setField(batchService, "supplierRepository", repository);
+		ReflectionTestUtils.setField(batchService, "transactionManager", transactionManager);
+		ReflectionTestUtils.setField(batchService, "maxQueries", 5);
+		ReflectionTestUtils.setField(batchService, "maxSize", 20);
+		ReflectionTestUtils.setField(batchService, "parallelism", 2);
+		ReflectionTestUtils.setField(batchService, "queueCapacity", 10);
+		batchService.startExecutor();
+	}
+
+	/**
+	 * Stops the service and deletes the suppliers.
+	 */
+	@AfterEach
+	public void tearDown() {
+		batchService.stopExecutor();
+		supplierRepository.deleteAll(suppliers);
+	}
+
+	/**
+	 * Tests that identical queries of a batch are run once on the database, and that the pages are
+	 * returned in request order.
+	 */
+	@Test
+	public void testIdenticalQueriesRunOnce() {
+		List<Page<Supplier>> pages = batchService.searchSuppliers(List.of(PUNE, MUMBAI, PUNE));
+
+		assertEquals(List.of(ids(0, 1, 2), ids(3), ids(0, 1, 2)), pages.stream().map(SupplierBatchServiceImplTests::ids).toList());
+		verify(repository, times(2)).search(any(), any(Pageable.class));
+	}
+
+	/**
+	 * Tests that identical queries of a batch are resolved once in the bitmap index, and that the suppliers
+	 * of all pages are loaded with a single query.
+	 */
+	@Test
+	public void testIndexLoadsSuppliersOnce() {
+		ReflectionTestUtils.setField(batchService, "supplierBitmapIndex", index());
+
+		List<Page<Supplier>> pages = batchService.searchSuppliers(List.of(MUMBAI, PUNE, MUMBAI));
+
+		assertEquals(List.of(ids(3), ids(0, 1, 2), ids(3)), pages.stream().map(SupplierBatchServiceImplTests::ids).toList());
+		verify(repository, times(1)).findAllById(anyIterable());
+		verify(repository, never()).search(any(), any(Pageable.class));
+	}
+
+	/**
+	 * Tests that the bitmap index and the database return the same pages for every query of a batch.
+	 */
+	@Test
+	public void testIndexAndDatabaseReturnSamePages() {
+		List<SupplierBatchQuery> queries = List.of(
+				PUNE,
+				query(Set.of("pune "), Set.of(ManufacturingProcess.CASTING), ProcessMatch.ANY, 0, 10),
+				query(Set.of(), Set.of(ManufacturingProcess.CASTING, ManufacturingProcess.COATING), ProcessMatch.ALL, 0, 10),
+				query(Set.of(), Set.of(ManufacturingProcess.CASTING, ManufacturingProcess.COATING), ProcessMatch.ANY, 1, 2),
+				query(Set.of("Nowhere"), Set.of(), ProcessMatch.ANY, 0, 10));
+
+		List<Page<Supplier>> fromDatabase = batchService.searchSuppliers(queries);
+		ReflectionTestUtils.setField(batchService, "supplierBitmapIndex", index());
+		List<Page<Supplier>> fromIndex = batchService.searchSuppliers(queries);
+
+		for (int i = 0; i < queries.size(); i++) {
+			assertEquals(ids(fromDatabase.get(i)), ids(fromIndex.get(i)), "Query " + i + " should return the same suppliers");
+			assertEquals(fromDatabase.get(i).getTotalElements(), fromIndex.get(i).getTotalElements(),
+					"Query " + i + " should count the same suppliers");
+		}
+		assertEquals(ids(3), ids(fromIndex.get(3)), "The second page of two should hold the last match");
+	}
+
+	/**
+	 * Tests that empty batches, batches over the maximum number of queries and pages over the maximum size are rejected.
+	 */
+	@Test
+	public void testLimits() {
+		assertThrows(ManuSearchException.class, () -> batchService.searchSuppliers(List.of()));
+		assertThrows(ManuSearchException.class, () -> batchService.searchSuppliers(Collections.nCopies(6, PUNE)));
+		assertThrows(ManuSearchException.class, () -> batchService.searchSuppliers(
+				List.of(query(Set.of("Pune"), Set.of(), ProcessMatch.ANY, 0, 21))));
+		assertThrows(ManuSearchException.class, () -> batchService.searchSuppliers(
+				List.of(query(Set.of("Pune"), Set.of(), ProcessMatch.ANY, 0, 0))));
+		assertEquals(5, batchService.searchSuppliers(Collections.nCopies(5, PUNE)).size());
+		verify(repository, times(1)).search(any(), any(Pageable.class));
+	}
+
+	/**
+	 * Tests that a batch the executor cannot accept is shed as overloaded, so it is answered with 503.
+	 */
+	@Test
+	public void testRejectedBatchIsOverloaded() {
+		ThreadPoolTaskExecutor rejecting = new ThreadPoolTaskExecutor() {
+			@Override
+			public void execute(Runnable task) {
+				throw new TaskRejectedException("Queue full");
+			}
+		};
+		ReflectionTestUtils.setField(batchService, "supplierBatchExecutor", rejecting);
+
+		assertThrows(ServiceOverloadedException.class, () -> batchService.searchSuppliers(List.of(PUNE, MUMBAI)));
+		verify(repository, never()).search(any(), any(Pageable.class));
+	}
+
+	private SupplierBitmapIndex index() {
+		SupplierBitmapIndex index = new SupplierBitmapIndex();
+		for (Supplier supplier : suppliers) {
+			index.add(supplier.getSupplierId(), supplier.getLocation(), supplier.getNatureOfBusiness(),
+					supplier.getManufacturingProcesses());
+		}
+		index.markReady();
+		return index;
+	}
+
+	private Supplier save(String location, NatureOfBusiness natureOfBusiness, ManufacturingProcess... processes) {
+		Supplier supplier = new Supplier();
+		supplier.setCompanyName("Supplier in " + location);
+		supplier.setWebsite("https://example.com");
+		supplier.setLocation(location);
+		supplier.setNatureOfBusiness(natureOfBusiness);
+		supplier.setManufacturingProcesses(List.of(processes));
+		return supplierRepository.save(supplier);
+	}
+
+	private List<Long> ids(int... positions) {
+		List<Long> ids = new ArrayList<>();
+		for (int position : positions) {
+			ids.add(suppliers.get(position).getSupplierId());
+		}
+		return ids;
+	}
+
+	private static List<Long> ids(Page<Supplier> page) {
+		return page.getContent().stream().map(Supplier::getSupplierId).toList();
+	}
+
+	private static SupplierBatchQuery query(Set<String> locations, Set<ManufacturingProcess> processes,
+			ProcessMatch processMatch, int page, int size) {
+		return new SupplierBatchQuery(locations, Set.of(), processes, processMatch, page, size);
+	}
+}
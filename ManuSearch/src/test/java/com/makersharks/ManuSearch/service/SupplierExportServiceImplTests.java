@@ -0,0 +1,121 @@
+package com.makersharks.ManuSearch.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.makersharks.ManuSearch.enums.ManufacturingProcess;
+import com.makersharks.ManuSearch.enums.NatureOfBusiness;
+import com.makersharks.ManuSearch.util.ProcessMasks;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for the {@link SupplierExportServiceImpl}.
+ * It exports from an embedded H2 database with the schema of the Flyway migrations, one row per fetch,
+ * so suppliers span several round trips.
+ */
+class SupplierExportServiceImplTests {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private JdbcTemplate jdbcTemplate;
+
+	private SupplierExportServiceImpl exportService;
+
+	/**
+	 * Creates the database and the service.
+	 */
+	@BeforeEach
+	public void setUp() {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+				"jdbc:h2:mem:export;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+		Flyway.configure().dataSource(dataSource).load().migrate();
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		exportService = new SupplierExportServiceImpl();
+		ReflectionTestUtils.setField(exportService, "jdbcTemplate", jdbcTemplate);
+		ReflectionTestUtils.setField(exportService, "objectMapper", objectMapper);
+		ReflectionTestUtils.setField(exportService, "fetchSize", 1);
+	}
+
+	/**
+	 * Drops the database.
+	 */
+	@AfterEach
+	public void tearDown() {
+		jdbcTemplate.execute("DROP ALL OBJECTS");
+	}
+
+	/**
+	 * Tests that every matching supplier is written as one newline-terminated JSON line, in identifier order,
+	 * with all of its processes folded from the joined rows, whatever the spelling of its location.
+	 */
+	@Test
+	public void testEachSupplierIsOneLine() throws Exception {
+		insertSupplier(1, "Pune", ManufacturingProcess.CASTING, ManufacturingProcess.COATING, ManufacturingProcess.MOULDING);
+		insertSupplier(2, "Mumbai", ManufacturingProcess.CASTING);
+		insertSupplier(3, "Pune", ManufacturingProcess.COATING);
+		insertSupplier(4, " PUNE ", ManufacturingProcess.CASTING);
+
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		long written = exportService.exportSuppliers("pune ", NatureOfBusiness.SMALL_SCALE, ManufacturingProcess.CASTING, output);
+
+		String ndjson = output.toString(StandardCharsets.UTF_8);
+		assertEquals(2, written);
+		assertTrue(ndjson.endsWith("\n"), "Every line should be terminated");
+		String[] lines = ndjson.split("\n");
+		assertEquals(2, lines.length);
+		JsonNode first = objectMapper.readTree(lines[0]);
+		JsonNode second = objectMapper.readTree(lines[1]);
+		assertEquals(1, first.get("supplierId").asLong());
+		assertEquals("Supplier 1", first.get("companyName").asText());
+		assertEquals(Set.of("CASTING", "COATING", "MOULDING"), processes(first),
+				"The processes of every joined row should be folded into the supplier");
+		assertEquals(4, second.get("supplierId").asLong());
+		assertEquals(Set.of("CASTING"), processes(second), "Processes should not carry over to the next supplier");
+	}
+
+	/**
+	 * Tests that an export without matches writes nothing.
+	 */
+	@Test
+	public void testEmptyExport() {
+		insertSupplier(1, "Mumbai", ManufacturingProcess.CASTING);
+
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		long written = exportService.exportSuppliers("Pune", NatureOfBusiness.SMALL_SCALE, ManufacturingProcess.CASTING, output);
+
+		assertEquals(0, written);
+		assertEquals(0, output.size());
+	}
+
+	private void insertSupplier(long supplierId, String location, ManufacturingProcess... processes) {
+		jdbcTemplate.update("INSERT INTO suppliers (supplier_id, company_name, website, location, nature_of_business, "
+				+ "manufacturing_process_mask) VALUES (?, ?, 'https://example.com', ?, 'SMALL_SCALE', ?)",
+				supplierId, "Supplier " + supplierId, location, ProcessMasks.toMask(List.of(processes)));
+		for (ManufacturingProcess process : processes) {
+			jdbcTemplate.update("INSERT INTO supplier_manufacturing_processes (supplier_supplier_id, manufacturing_processes) "
+					+ "VALUES (?, ?)", supplierId, process.name());
+		}
+	}
+
+	private static Set<String> processes(JsonNode supplier) {
+		List<String> processes = new ArrayList<>();
+		supplier.get("manufacturingProcesses").forEach(process -> processes.add(process.asText()));
+		assertEquals(processes.size(), new TreeSet<>(processes).size(), "No process should be repeated");
+		return new TreeSet<>(processes);
+	}
+}
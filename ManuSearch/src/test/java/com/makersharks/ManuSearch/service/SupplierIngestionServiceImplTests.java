@@ -0,0 +1,178 @@
+package com.makersharks.ManuSearch.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.makersharks.ManuSearch.dto.BulkIngestionReport;
+import com.makersharks.ManuSearch.dto.RejectedRow;
+import com.makersharks.ManuSearch.enums.IngestionFormat;
+import com.makersharks.ManuSearch.enums.ManufacturingProcess;
+import com.makersharks.ManuSearch.event.SupplierChangedEvent;
+import com.makersharks.ManuSearch.event.SupplierSnapshot;
+import com.makersharks.ManuSearch.exception.ManuSearchException;
+import com.makersharks.ManuSearch.geo.CityGazetteer;
+import com.makersharks.ManuSearch.util.ProcessMasks;
+import jakarta.validation.Validation;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for the {@link SupplierIngestionServiceImpl}.
+ * It runs the ingestion against an embedded H2 database with the schema of the Flyway migrations,
+ * in batches of two suppliers.
+ */
+class SupplierIngestionServiceImplTests {
+
+	private static final String CSV_HEADER = "companyName,website,location,natureOfBusiness,manufacturingProcesses\n";
+
+	private final List<SupplierChangedEvent> events = new ArrayList<>();
+
+	private JdbcTemplate jdbcTemplate;
+
+	private SupplierIngestionServiceImpl ingestionService;
+
+	/**
+	 * Creates the database and the service, publishing change events to a list.
+	 */
+	@BeforeEach
+	public void setUp() {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+				"jdbc:h2:mem:ingestion;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+		Flyway.configure().dataSource(dataSource).load().migrate();
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		ingestionService = new SupplierIngestionServiceImpl();
+		ReflectionTestUtils.setField(ingestionService, "jdbcTemplate", jdbcTemplate);
+		ReflectionTestUtils.setField(ingestionService, "transactionTemplate",
+				new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+		ReflectionTestUtils.setField(ingestionService, "validator",
+				Validation.buildDefaultValidatorFactory().getValidator());
+		ReflectionTestUtils.setField(ingestionService, "objectMapper", new ObjectMapper());
+		ReflectionTestUtils.setField(ingestionService, "eventPublisher",
+				(ApplicationEventPublisher) event -> events.add((SupplierChangedEvent) event));
+		ReflectionTestUtils.setField(ingestionService, "cityGazetteer",
+				new CityGazetteer(new ClassPathResource("geo/cities.csv")));
+		ReflectionTestUtils.setField(ingestionService, "batchSize", 2);
+		ReflectionTestUtils.setField(ingestionService, "maxReportedRejections", 2);
+	}
+
+	/**
+	 * Drops the database.
+	 */
+	@AfterEach
+	public void tearDown() {
+		jdbcTemplate.execute("DROP ALL OBJECTS");
+	}
+
+	/**
+	 * Tests that the suppliers are written in batches, get the generated identifiers of their rows,
+	 * and are written with their processes and process bitmask.
+	 */
+	@Test
+	public void testSuppliersAreWrittenInBatches() {
+		BulkIngestionReport report = ingest(IngestionFormat.CSV, CSV_HEADER
+				+ "\"Acme, Inc.\",https://acme.example,Pune,SMALL_SCALE,CASTING|COATING\n"
+				+ "\n"
+				+ "Beta,https://beta.example,Mumbai,MEDIUM_SCALE,MOULDING\n"
+				+ "Gamma,https://gamma.example,Pune,LARGE_SCALE,CASTING\n");
+
+		assertEquals(3, report.received(), "Blank lines should be skipped");
+		assertEquals(3, report.accepted());
+		assertEquals(2, report.batches());
+		assertEquals(0, report.failedBatches());
+		assertEquals(List.of(2, 1), events.stream().map(event -> event.added().size()).toList(),
+				"One change event should be published per batch");
+
+		for (SupplierSnapshot supplier : events.stream().flatMap(event -> event.added().stream()).toList()) {
+			Map<String, Object> row = jdbcTemplate.queryForMap(
+					"SELECT company_name, manufacturing_process_mask FROM suppliers WHERE supplier_id = ?", supplier.supplierId());
+			assertEquals(supplier.companyName(), row.get("company_name"), "The generated key should identify the row");
+			assertEquals(ProcessMasks.toMask(supplier.manufacturingProcesses()), row.get("manufacturing_process_mask"));
+			assertEquals(supplier.manufacturingProcesses(), EnumSet.copyOf(jdbcTemplate.queryForList(
+					"SELECT manufacturing_processes FROM supplier_manufacturing_processes WHERE supplier_supplier_id = ?",
+					String.class, supplier.supplierId()).stream().map(ManufacturingProcess::valueOf).toList()));
+		}
+		assertEquals("Acme, Inc.", events.get(0).added().get(0).companyName());
+	}
+
+	/**
+	 * Tests that unparsable and invalid rows are rejected with their line numbers, without stopping the ingestion,
+	 * and that only the first rejections are listed.
+	 */
+	@Test
+	public void testRejectedRowsAreReported() {
+		BulkIngestionReport report = ingest(IngestionFormat.CSV, CSV_HEADER
+				+ "Acme,https://acme.example,Pune,SMALL_SCALE,WELDING\n"
+				+ ",https://blank.example,Pune,SMALL_SCALE,CASTING\n"
+				+ "Beta,https://beta.example,Mumbai,MEDIUM_SCALE,MOULDING\n"
+				+ "Gamma,Pune\n");
+
+		assertEquals(4, report.received());
+		assertEquals(1, report.accepted());
+		assertEquals(3, report.rejected());
+		assertEquals(2, report.rejections().size(), "Only the configured number of rejections should be listed");
+		assertEquals(2, report.rejections().get(0).line());
+		assertTrue(report.rejections().get(0).reason().startsWith("Parse error"));
+		assertEquals(new RejectedRow(3, "Company name is required"), report.rejections().get(1));
+		assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM suppliers", Integer.class));
+	}
+
+	/**
+	 * Tests that a batch failing in the database is rolled back and reported, and that the other batches are written.
+	 */
+	@Test
+	public void testFailedBatchIsReported() {
+		jdbcTemplate.execute("ALTER TABLE suppliers ADD CONSTRAINT no_failure CHECK (company_name <> 'Failure')");
+
+		BulkIngestionReport report = ingest(IngestionFormat.NDJSON,
+				json("Acme") + json("Beta") + json("Gamma") + json("Failure") + json("Delta"));
+
+		assertEquals(5, report.received());
+		assertEquals(3, report.accepted());
+		assertEquals(2, report.rejected());
+		assertEquals(2, report.batches());
+		assertEquals(1, report.failedBatches());
+		assertEquals(List.of(3L, 4L), report.rejections().stream().map(RejectedRow::line).toList(),
+				"Every row of the failed batch should be rejected");
+		assertTrue(report.rejections().get(0).reason().startsWith("Write failed"));
+		assertEquals(List.of("Acme", "Beta", "Delta"), jdbcTemplate.queryForList(
+				"SELECT company_name FROM suppliers ORDER BY supplier_id", String.class));
+		assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM supplier_manufacturing_processes p "
+				+ "LEFT JOIN suppliers s ON s.supplier_id = p.supplier_supplier_id WHERE s.supplier_id IS NULL", Integer.class),
+				"No process of the failed batch should be left");
+	}
+
+	/**
+	 * Tests that a CSV input with an unexpected header is refused.
+	 */
+	@Test
+	public void testInvalidCsvHeader() {
+		assertThrows(ManuSearchException.class, () -> ingest(IngestionFormat.CSV, "name,website\nAcme,https://acme.example\n"));
+	}
+
+	private BulkIngestionReport ingest(IngestionFormat format, String input) {
+		return ingestionService.ingest(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), format);
+	}
+
+	private static String json(String companyName) {
+		return "{\"companyName\":\"" + companyName + "\",\"website\":\"https://example.com\",\"location\":\"Pune\","
+				+ "\"natureOfBusiness\":\"SMALL_SCALE\",\"manufacturingProcesses\":[\"CASTING\"]}\n";
+	}
+}
@@ -0,0 +1,233 @@
+package com.makersharks.ManuSearch.service;
+
+import com.makersharks.ManuSearch.cache.SupplierFilterVersions;
+import com.makersharks.ManuSearch.dto.SupplierSearchCriteria;
+import com.makersharks.ManuSearch.dto.SupplierSuggestion;
+import com.makersharks.ManuSearch.dto.SupplierSuggestions;
+import com.makersharks.ManuSearch.entity.Supplier;
+import com.makersharks.ManuSearch.enums.ManufacturingProcess;
+import com.makersharks.ManuSearch.enums.NatureOfBusiness;
+import com.makersharks.ManuSearch.enums.ProcessMatch;
+import com.makersharks.ManuSearch.exception.ManuSearchException;
+import com.makersharks.ManuSearch.index.SupplierBitmapIndex;
+import com.makersharks.ManuSearch.index.SupplierTextIndex;
+import com.makersharks.ManuSearch.projection.SupplierSummary;
+import com.makersharks.ManuSearch.ranking.SupplierRanker;
+import com.makersharks.ManuSearch.repository.SupplierRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for the {@link SupplierServiceImpl}.
+ * It verifies that queries without matches return empty pages, from the bitmap index as well as from the database,
+ * how supplier summaries are selected and ordered, and how text queries and suggestions use the text index.
+ */
+class SupplierServiceImplTests {
+
+	private static final SupplierSearchCriteria CRITERIA = new SupplierSearchCriteria(Set.of("Nowhere"),
+			Set.of(NatureOfBusiness.SMALL_SCALE), Set.of(ManufacturingProcess.CASTING), ProcessMatch.ANY);
+
+	@InjectMocks
+	private SupplierServiceImpl supplierService;
+
+	@Mock
+	private SupplierRepository supplierRepository;
+
+	@Mock
+	private SupplierRanker supplierRanker;
+
+	@Spy
+	private SupplierFilterVersions supplierFilterVersions = new SupplierFilterVersions();
+
+	/**
+	 * Initializes the mocks.
+	 */
+	@BeforeEach
+	public void setUp() {
+		MockitoAnnotations.openMocks(this);
+	}
+
+	/**
+	 * Tests that the database strategies answer a query without matches with an empty page.
+	 */
+	@Test
+	public void testEmptyDatabaseResultIsEmptyPage() {
+		when(supplierRepository.findByLocationKeyAndNatureOfBusinessAndManufacturingProcessesContains(
+				any(), any(), any(), any(Pageable.class))).thenAnswer(invocation -> Page.empty(invocation.getArgument(3)));
+		when(supplierRepository.search(any(), any(Pageable.class)))
+				.thenAnswer(invocation -> Page.empty(invocation.getArgument(1)));
+
+		assertEmptyPage(supplierService.querySuppliers("Nowhere", NatureOfBusiness.SMALL_SCALE,
+				ManufacturingProcess.CASTING, null, 2, 10));
+		assertEmptyPage(supplierService.searchSuppliers(CRITERIA, 2, 10));
+	}
+
+	/**
+	 * Tests that the bitmap index answers a query without matches with an empty page, without loading any supplier.
+	 */
+	@Test
+	public void testEmptyIndexResultIsEmptyPage() {
+		SupplierBitmapIndex index = new SupplierBitmapIndex();
+		index.markReady();
+		ReflectionTestUtils.setField(supplierService, "supplierBitmapIndex", index);
+
+		assertEmptyPage(supplierService.querySuppliers("Nowhere", NatureOfBusiness.SMALL_SCALE,
+				ManufacturingProcess.CASTING, null, 2, 10));
+		assertEmptyPage(supplierService.searchSuppliers(CRITERIA, 2, 10));
+		verify(supplierRepository, never()).findAllById(anyCollection());
+	}
+
+	/**
+	 * Tests that summaries keep only the requested fields, and that unknown fields are rejected without a query.
+	 */
+	@Test
+	public void testSummaryFieldSelection() {
+		SupplierSummary full = new SupplierSummary(1L, "Supplier", "https://example.com", "Pune", NatureOfBusiness.SMALL_SCALE);
+		when(supplierRepository.findSummaries(any(), any(), any(), any(Pageable.class)))
+				.thenAnswer(invocation -> new PageImpl<>(List.of(full), invocation.getArgument(3), 1));
+
+		Page<SupplierSummary> all = supplierService.querySupplierSummaries("Pune", NatureOfBusiness.SMALL_SCALE,
+				ManufacturingProcess.CASTING, 0, 10, null);
+		Page<SupplierSummary> selected = supplierService.querySupplierSummaries("Pune", NatureOfBusiness.SMALL_SCALE,
+				ManufacturingProcess.CASTING, 0, 10, Set.of("supplierId", "companyName"));
+
+		assertEquals(List.of(full), all.getContent());
+		assertEquals(List.of(new SupplierSummary(1L, "Supplier", null, null, null)), selected.getContent());
+		assertThrows(ManuSearchException.class, () -> supplierService.querySupplierSummaries("Pune",
+				NatureOfBusiness.SMALL_SCALE, ManufacturingProcess.CASTING, 0, 10, Set.of("companyName", "password")));
+		verify(supplierRepository, times(2)).findSummaries(any(), any(), any(), any(Pageable.class));
+	}
+
+	/**
+	 * Tests that summaries found in the bitmap index are loaded in index order, skipping suppliers deleted meanwhile.
+	 */
+	@Test
+	public void testIndexedSummariesKeepIndexOrder() {
+		SupplierBitmapIndex index = new SupplierBitmapIndex();
+		for (long id = 1; id <= 3; id++) {
+			index.add(id, "Pune", NatureOfBusiness.SMALL_SCALE, List.of(ManufacturingProcess.CASTING));
+		}
+		index.markReady();
+		ReflectionTestUtils.setField(supplierService, "supplierBitmapIndex", index);
+		when(supplierRepository.findSummariesByIdIn(List.of(1L, 2L, 3L))).thenReturn(List.of(
+				new SupplierSummary(3L, "Third", null, "Pune", NatureOfBusiness.SMALL_SCALE),
+				new SupplierSummary(1L, "First", null, "Pune", NatureOfBusiness.SMALL_SCALE)));
+
+		Page<SupplierSummary> summaries = supplierService.querySupplierSummaries("Pune", NatureOfBusiness.SMALL_SCALE,
+				ManufacturingProcess.CASTING, 0, 10, Set.of("companyName"));
+
+		assertEquals(List.of("First", "Third"), summaries.getContent().stream().map(SupplierSummary::companyName).toList());
+		verify(supplierRepository, never()).findSummaries(any(), any(), any(), any(Pageable.class));
+	}
+
+	/**
+	 * Tests that suggestions are answered by the text index without a query, and rejected while it is unavailable.
+	 */
+	@Test
+	public void testSuggestions() {
+		assertThrows(ManuSearchException.class, () -> supplierService.suggestSuppliers("prec", 5),
+				"Suggestions need the text index");
+		SupplierTextIndex textIndex = new SupplierTextIndex();
+		ReflectionTestUtils.setField(supplierService, "supplierTextIndex", textIndex);
+		textIndex.add(1L, "Precision Castings", "Pune");
+		textIndex.add(2L, "Coating Works", "Pune");
+		assertThrows(ManuSearchException.class, () -> supplierService.suggestSuppliers("prec", 5),
+				"Suggestions need the text index to be loaded");
+		textIndex.markReady();
+
+		SupplierSuggestions suggestions = supplierService.suggestSuppliers("prec", 5);
+
+		assertEquals(List.of(new SupplierSuggestion(1L, "Precision Castings", "Pune")), suggestions.suppliers());
+		verifyNoInteractions(supplierRepository);
+	}
+
+	/**
+	 * Tests that text matches are filtered by the database as an identifier list when the bitmap index is off,
+	 * up to the configured number of matches.
+	 */
+	@Test
+	public void testTextQueryWithoutIndex() {
+		SupplierTextIndex textIndex = new SupplierTextIndex();
+		textIndex.add(1L, "Precision Castings", "Pune");
+		textIndex.add(2L, "Precision Coating", "Pune");
+		textIndex.add(3L, "Moulding Works", "Pune");
+		textIndex.markReady();
+		ReflectionTestUtils.setField(supplierService, "supplierTextIndex", textIndex);
+		ReflectionTestUtils.setField(supplierService, "maxTextMatchesForDatabase", 2);
+		when(supplierRepository.findByLocationKeyAndNatureOfBusinessAndManufacturingProcessesContainsAndSupplierIdIn(
+				any(), any(), any(), any(), any(Pageable.class))).thenAnswer(invocation -> Page.empty(invocation.getArgument(4)));
+
+		supplierService.querySuppliers("Pune", NatureOfBusiness.SMALL_SCALE, ManufacturingProcess.CASTING, "precision", 0, 10);
+		assertEmptyPage(supplierService.querySuppliers("Pune", NatureOfBusiness.SMALL_SCALE, ManufacturingProcess.CASTING,
+				"nothing", 2, 10));
+
+		verify(supplierRepository).findByLocationKeyAndNatureOfBusinessAndManufacturingProcessesContainsAndSupplierIdIn(
+				eq("pune"), eq(NatureOfBusiness.SMALL_SCALE), eq(ManufacturingProcess.CASTING), eq(List.of(1L, 2L)),
+				any(Pageable.class));
+		assertThrows(ManuSearchException.class, () -> supplierService.querySuppliers("Pune", NatureOfBusiness.SMALL_SCALE,
+				ManufacturingProcess.CASTING, "pune", 0, 10), "Three matches exceed the database limit");
+	}
+
+	/**
+	 * Tests that keyset slices and text queries filter on the process bitmask when it is enabled,
+	 * without joining the process collection table.
+	 */
+	@Test
+	public void testProcessMaskPaths() {
+		SupplierTextIndex textIndex = new SupplierTextIndex();
+		textIndex.add(1L, "Precision Castings", "Pune");
+		textIndex.markReady();
+		ReflectionTestUtils.setField(supplierService, "supplierTextIndex", textIndex);
+		ReflectionTestUtils.setField(supplierService, "maxTextMatchesForDatabase", 10);
+		ReflectionTestUtils.setField(supplierService, "processMaskEnabled", true);
+		when(supplierRepository.findByLocationKeyAndNatureOfBusinessAndProcessMaskAndSupplierIdGreaterThan(
+				any(), any(), any(), any(), any(Pageable.class))).thenAnswer(invocation -> new SliceImpl<>(List.of()));
+		when(supplierRepository.findByLocationKeyAndNatureOfBusinessAndProcessMaskAndSupplierIdIn(
+				any(), any(), any(), any(), any(Pageable.class))).thenAnswer(invocation -> Page.empty(invocation.getArgument(4)));
+
+		supplierService.querySuppliersAfter("Pune", NatureOfBusiness.SMALL_SCALE, ManufacturingProcess.CASTING, 5L, 10);
+		supplierService.querySuppliers("Pune", NatureOfBusiness.SMALL_SCALE, ManufacturingProcess.CASTING, "precision", 0, 10);
+
+		verify(supplierRepository).findByLocationKeyAndNatureOfBusinessAndProcessMaskAndSupplierIdGreaterThan(
+				eq("pune"), eq(NatureOfBusiness.SMALL_SCALE), eq(EnumSet.of(ManufacturingProcess.CASTING)), eq(5L),
+				any(Pageable.class));
+		verify(supplierRepository).findByLocationKeyAndNatureOfBusinessAndProcessMaskAndSupplierIdIn(
+				eq("pune"), eq(NatureOfBusiness.SMALL_SCALE), eq(EnumSet.of(ManufacturingProcess.CASTING)), eq(List.of(1L)),
+				any(Pageable.class));
+		verify(supplierRepository, never()).findByLocationKeyAndNatureOfBusinessAndManufacturingProcessesContainsAndSupplierIdGreaterThan(
+				any(), any(), any(), any(), any(Pageable.class));
+		verify(supplierRepository, never()).findByLocationKeyAndNatureOfBusinessAndManufacturingProcessesContainsAndSupplierIdIn(
+				any(), any(), any(), any(), any(Pageable.class));
+	}
+
+	private static void assertEmptyPage(Page<Supplier> suppliers) {
+		assertTrue(suppliers.getContent().isEmpty());
+		assertEquals(0, suppliers.getTotalElements());
+		assertEquals(2, suppliers.getNumber(), "The requested page should be kept");
+	}
+}
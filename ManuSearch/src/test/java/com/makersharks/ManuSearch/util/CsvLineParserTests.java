@@ -0,0 +1,42 @@
+package com.makersharks.ManuSearch.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test class for the {@link CsvLineParser}.
+ */
+class CsvLineParserTests {
+
+	/**
+	 * Tests that unquoted fields are split on commas and trimmed, keeping empty fields.
+	 */
+	@Test
+	public void testPlainFields() {
+		assertEquals(List.of("Acme", "https://acme.example", "Pune"), CsvLineParser.parse("Acme, https://acme.example ,Pune"));
+		assertEquals(List.of("", "a", ""), CsvLineParser.parse(",a,"));
+		assertEquals(List.of(""), CsvLineParser.parse(""));
+	}
+
+	/**
+	 * Tests that quoted fields keep their commas and unescape doubled quotes.
+	 */
+	@Test
+	public void testQuotedFields() {
+		assertEquals(List.of("Acme, Inc.", "Pune"), CsvLineParser.parse("\"Acme, Inc.\",Pune"));
+		assertEquals(List.of("The \"Best\" Castings", ""), CsvLineParser.parse("\"The \"\"Best\"\" Castings\",\"\""));
+		assertEquals(List.of("a\"b"), CsvLineParser.parse("\"a\"\"b\""));
+	}
+
+	/**
+	 * Tests that an unterminated quoted field is rejected.
+	 */
+	@Test
+	public void testUnterminatedQuote() {
+		assertThrows(IllegalArgumentException.class, () -> CsvLineParser.parse("\"Acme, Inc.,Pune"));
+	}
+}
@@ -0,0 +1,58 @@
+package com.makersharks.ManuSearch.util;
+
+import com.makersharks.ManuSearch.converter.ManufacturingProcessMaskConverter;
+import com.makersharks.ManuSearch.enums.ManufacturingProcess;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Test class for the {@link ProcessMasks} and the {@link ManufacturingProcessMaskConverter} built on them.
+ */
+class ProcessMasksTests {
+
+	private static final ManufacturingProcess[] PROCESSES = ManufacturingProcess.values();
+
+	/**
+	 * Tests that every set of processes packs into a distinct mask and unpacks to the same set.
+	 */
+	@Test
+	public void testEverySetRoundTrips() {
+		for (int mask = 0; mask < 1 << PROCESSES.length; mask++) {
+			Set<ManufacturingProcess> processes = ProcessMasks.fromMask(mask);
+
+			assertEquals(Integer.bitCount(mask), processes.size());
+			assertEquals(mask, ProcessMasks.toMask(processes));
+		}
+	}
+
+	/**
+	 * Tests that duplicate processes are counted once and that missing processes pack to an empty mask.
+	 */
+	@Test
+	public void testToMask() {
+		assertEquals(ProcessMasks.bit(ManufacturingProcess.CASTING),
+				ProcessMasks.toMask(List.of(ManufacturingProcess.CASTING, ManufacturingProcess.CASTING)));
+		assertEquals(0, ProcessMasks.toMask(List.of()));
+		assertEquals(0, ProcessMasks.toMask(null));
+	}
+
+	/**
+	 * Tests that the converter round-trips sets, and maps a missing mask to a missing set.
+	 */
+	@Test
+	public void testConverter() {
+		ManufacturingProcessMaskConverter converter = new ManufacturingProcessMaskConverter();
+		Set<ManufacturingProcess> processes = EnumSet.of(ManufacturingProcess.MOULDING, ManufacturingProcess.COATING);
+
+		assertEquals(processes, converter.convertToEntityAttribute(converter.convertToDatabaseColumn(processes)));
+		assertEquals(EnumSet.noneOf(ManufacturingProcess.class), converter.convertToEntityAttribute(0));
+		assertNull(converter.convertToDatabaseColumn(null));
+		assertNull(converter.convertToEntityAttribute(null), "Rows that were not migrated have no mask");
+	}
+}
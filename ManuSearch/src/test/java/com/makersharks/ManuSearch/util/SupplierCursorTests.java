@@ -0,0 +1,56 @@
+package com.makersharks.ManuSearch.util;
+
+import com.makersharks.ManuSearch.exception.ManuSearchException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for the {@link SupplierCursor}.
+ * It verifies that cursors round-trip and that malformed cursors are rejected as client errors.
+ */
+class SupplierCursorTests {
+
+	/**
+	 * Tests that an encoded cursor decodes to the same identifier and is URL-safe.
+	 */
+	@Test
+	public void testRoundTrip() {
+		String cursor = SupplierCursor.encode(Long.MAX_VALUE);
+
+		assertEquals(Long.MAX_VALUE, SupplierCursor.decode(cursor));
+		assertTrue(cursor.matches("[A-Za-z0-9_-]+"), "The cursor should only use URL-safe characters");
+	}
+
+	/**
+	 * Tests that a blank cursor denotes the first slice.
+	 */
+	@Test
+	public void testBlankCursorStartsFromTheBeginning() {
+		assertNull(SupplierCursor.decode(null));
+		assertNull(SupplierCursor.decode(""));
+		assertNull(SupplierCursor.decode("  "));
+	}
+
+	/**
+	 * Tests that tampered and invalid cursors are rejected.
+	 */
+	@Test
+	public void testInvalidCursorsAreRejected() {
+		assertThrows(ManuSearchException.class, () -> SupplierCursor.decode("not a cursor!"), "Not Base64");
+		assertThrows(ManuSearchException.class, () -> SupplierCursor.decode(encode("x:42")), "Unknown prefix");
+		assertThrows(ManuSearchException.class, () -> SupplierCursor.decode(encode("s:forty-two")), "Not a number");
+		assertThrows(ManuSearchException.class, () -> SupplierCursor.decode(encode("s:")), "No identifier");
+		assertThrows(ManuSearchException.class, () -> SupplierCursor.decode(encode("s:99999999999999999999")), "Overflow");
+	}
+
+	private static String encode(String value) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,101 @@
+package com.makersharks.ManuSearch.warmup;
+
+import com.makersharks.ManuSearch.cache.SupplierFilterKey;
+import com.makersharks.ManuSearch.enums.ManufacturingProcess;
+import com.makersharks.ManuSearch.enums.NatureOfBusiness;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test class for the {@link FilterHitLog}.
+ * It runs the hit log against an embedded H2 database holding the {@code supplier_filter_hits} table of the migrations.
+ */
+class FilterHitLogTests {
+
+	private static final Duration MAX_AGE = Duration.ofDays(7);
+
+	private final AtomicLong now = new AtomicLong(MAX_AGE.toMillis() * 2);
+
+	private JdbcTemplate jdbcTemplate;
+
+	private FilterHitLog hitLog;
+
+	/**
+	 * Creates the database and the hit log.
+	 */
+	@BeforeEach
+	public void setUp() {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+				"jdbc:h2:mem:hits;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+		new ResourceDatabasePopulator(new ClassPathResource("db/migration/V5__supplier_filter_hits.sql")).execute(dataSource);
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		hitLog = new FilterHitLog(jdbcTemplate, now::get);
+	}
+
+	/**
+	 * Drops the database.
+	 */
+	@AfterEach
+	public void tearDown() {
+		jdbcTemplate.execute("DROP ALL OBJECTS");
+	}
+
+	/**
+	 * Tests that hits are counted per normalized filter and added up across flushes.
+	 */
+	@Test
+	public void testFlushAddsUpHits() {
+		hitLog.record("Pune", NatureOfBusiness.SMALL_SCALE, ManufacturingProcess.CASTING);
+		hitLog.record(" PUNE ", NatureOfBusiness.SMALL_SCALE, ManufacturingProcess.CASTING);
+		hitLog.record("Mumbai", NatureOfBusiness.SMALL_SCALE, ManufacturingProcess.CASTING);
+
+		assertEquals(2, hitLog.flush(), "One row per distinct filter should be written");
+		assertEquals(0, hitLog.flush(), "Flushed hits should not be written again");
+
+		hitLog.record("pune", NatureOfBusiness.SMALL_SCALE, ManufacturingProcess.CASTING);
+		hitLog.flush();
+
+		assertEquals(3L, jdbcTemplate.queryForObject(
+				"SELECT hits FROM supplier_filter_hits WHERE location = 'pune'", Long.class));
+	}
+
+	/**
+	 * Tests that the top filters are ordered by hits, leave out filters not requested within the maximum age,
+	 * and that hits recorded while recording is paused are not counted.
+	 */
+	@Test
+	public void testTopFilters() {
+		SupplierFilterKey casting = SupplierFilterKey.of("pune", NatureOfBusiness.SMALL_SCALE, ManufacturingProcess.CASTING);
+		SupplierFilterKey coating = SupplierFilterKey.of("pune", NatureOfBusiness.SMALL_SCALE, ManufacturingProcess.COATING);
+		SupplierFilterKey moulding = SupplierFilterKey.of("pune", NatureOfBusiness.SMALL_SCALE, ManufacturingProcess.MOULDING);
+		record(moulding, 5);
+		hitLog.flush();
+		now.addAndGet(MAX_AGE.toMillis() + 1);
+		record(casting, 1);
+		record(coating, 2);
+		hitLog.setRecording(false);
+		record(casting, 10);
+		hitLog.setRecording(true);
+		hitLog.flush();
+
+		assertEquals(List.of(coating, casting), hitLog.topFilters(10, MAX_AGE), "Moulding was last requested too long ago");
+		assertEquals(List.of(coating), hitLog.topFilters(1, MAX_AGE));
+	}
+
+	private void record(SupplierFilterKey filter, int hits) {
+		for (int i = 0; i < hits; i++) {
+			hitLog.record(filter.location(), filter.natureOfBusiness(), filter.manufacturingProcess());
+		}
+	}
+}